@@ -0,0 +1,204 @@
+package org.ayeseeem.say;
+
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.RandomAccess;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Hash indexes for large lists that are checked repeatedly, but that cannot
+ * check membership quickly themselves, such as a large
+ * {@link java.util.ArrayList} - see
+ * {@link ContainedItem#useAdaptiveIndexing(boolean)} and
+ * {@link ContainedItem#isInIndexed(List)}.
+ * <p>
+ * Only {@link RandomAccess} lists are indexed, because an item the index finds
+ * is checked against the list at its index, so an item that has since been
+ * removed or replaced is never reported as present. Other collections could
+ * not be checked that cheaply, so they are always scanned.
+ * <p>
+ * An item the index does not find is not checked, though. So an item put into
+ * a list by changes that leave its size the same - replacing an element with
+ * {@link List#set(int, Object)}, or removing one element and adding another
+ * between checks - is not found until the size changes, or the index is
+ * {@link #forgetAll() forgotten}.
+ * <p>
+ * Indexes are cached by the identity of the list, and only weakly, so they do
+ * not keep the list alive. An index is discarded if the size of its list
+ * changes. Looking up an index allocates nothing: each thread reuses its own
+ * probe key, which holds the list only during the lookup.
+ */
+final class AdaptiveIndex {
+
+    /**
+     * Collections smaller than this are cheap enough to scan.
+     */
+    static final int MIN_SIZE = 64;
+
+    /**
+     * Number of times a collection is scanned before it is indexed.
+     */
+    static final int CHECKS_BEFORE_INDEXING = 8;
+
+    private static final Map<Object, Entry> CACHE = new ConcurrentHashMap<>();
+    private static final ReferenceQueue<Collection<?>> COLLECTED = new ReferenceQueue<>();
+    private static final ThreadLocal<Probe> PROBES = ThreadLocal.withInitial(Probe::new);
+
+    private AdaptiveIndex() {
+    }
+
+    static boolean contains(Collection<?> collection, Object item) {
+        int size = collection.size();
+        if (size < MIN_SIZE || !(collection instanceof List && collection instanceof RandomAccess)) {
+            return collection.contains(item);
+        }
+        List<?> list = (List<?>) collection;
+
+        Entry entry = cached(list);
+        if (entry == null || entry.size != size) {
+            expungeCollected();
+            entry = new Entry(size);
+            CACHE.put(new IdentityKey(list, COLLECTED), entry);
+        }
+
+        Map<Object, Integer> index = entry.index;
+        if (index == null) {
+            if (entry.checks.incrementAndGet() < CHECKS_BEFORE_INDEXING) {
+                return list.contains(item);
+            }
+            index = indexOf(list);
+            entry.index = index;
+        }
+
+        Integer position = index.get(item);
+        if (position == null) {
+            return false;
+        }
+        if (Objects.equals(list.get(position), item)) {
+            return true;
+        }
+        forget(list);
+        return list.contains(item);
+    }
+
+    static void forgetAll() {
+        CACHE.clear();
+        expungeCollected();
+    }
+
+    static int cachedCount() {
+        expungeCollected();
+        return CACHE.size();
+    }
+
+    private static Entry cached(List<?> list) {
+        Probe probe = PROBES.get();
+        probe.list = list;
+        try {
+            return CACHE.get(probe);
+        } finally {
+            probe.list = null;
+        }
+    }
+
+    private static void forget(List<?> list) {
+        Probe probe = PROBES.get();
+        probe.list = list;
+        try {
+            CACHE.remove(probe);
+        } finally {
+            probe.list = null;
+        }
+    }
+
+    private static Map<Object, Integer> indexOf(List<?> list) {
+        Map<Object, Integer> index = new HashMap<>(list.size() * 4 / 3 + 1);
+        for (int i = list.size() - 1; i >= 0; i--) {
+            index.put(list.get(i), i);
+        }
+        return index;
+    }
+
+    private static void expungeCollected() {
+        Reference<?> collected;
+        while ((collected = COLLECTED.poll()) != null) {
+            CACHE.remove(collected);
+        }
+    }
+
+    private static final class Entry {
+        final int size;
+        final AtomicInteger checks = new AtomicInteger();
+        volatile Map<Object, Integer> index;
+
+        Entry(int size) {
+            this.size = size;
+        }
+    }
+
+    /**
+     * Gets the list a cache key refers to, or null if it no longer refers to one.
+     */
+    private static Object listOf(Object key) {
+        if (key instanceof IdentityKey) {
+            return ((IdentityKey) key).get();
+        }
+        if (key instanceof Probe) {
+            return ((Probe) key).list;
+        }
+        return null;
+    }
+
+    /**
+     * A weak reference to a list, that is equal to any other key for the same
+     * list (by identity). A cleared reference is only equal to itself.
+     */
+    private static final class IdentityKey extends WeakReference<Collection<?>> {
+        private final int hash;
+
+        IdentityKey(List<?> list, ReferenceQueue<Collection<?>> queue) {
+            super(list, queue);
+            this.hash = System.identityHashCode(list);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            Object referent = get();
+            return referent != null && referent == listOf(obj);
+        }
+    }
+
+    /**
+     * A key for looking up a list in the cache, which is reused, rather than
+     * allocating a reference for every lookup.
+     */
+    private static final class Probe {
+        List<?> list;
+
+        @Override
+        public int hashCode() {
+            return System.identityHashCode(list);
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            return list != null && list == listOf(obj);
+        }
+    }
+
+}
@@ -0,0 +1,123 @@
+package org.ayeseeem.say;
+
+import java.text.Normalizer;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/**
+ * A fixed group of strings, compared ignoring case - see
+ * {@link ContainedItem#oneOfIgnoringCase(String...)}.
+ * <p>
+ * Case is ignored in the same way as {@link String#equalsIgnoreCase(String)}.
+ * The members are case-folded once, when the group is created, and each item is
+ * hashed and compared character by character, so checking an item does not
+ * create a lower-cased copy of it.
+ * <p>
+ * If a {@link Normalizer.Form} is given, members and items are also compared
+ * after Unicode normalization. Items that are already normalized are still
+ * checked without copying them, but others have to be normalized first.
+ */
+public final class CaseInsensitiveGroup extends ItemGroup<CharSequence> {
+
+    private final Normalizer.Form form;
+    private final String[] table;
+    private final int[] hashes;
+    private final int mask;
+    private final int size;
+
+    CaseInsensitiveGroup(Normalizer.Form form, String... members) {
+        this.form = form;
+        Set<String> folded = new LinkedHashSet<>();
+        for (String member : members) {
+            folded.add(fold(form == null ? member : Normalizer.normalize(member, form)));
+        }
+
+        int capacity = Integer.highestOneBit(Math.max(folded.size(), 2) * 2 - 1) << 1;
+        this.table = new String[capacity];
+        this.hashes = new int[capacity];
+        this.mask = capacity - 1;
+        for (String member : folded) {
+            int hash = foldedHash(member);
+            int slot = hash & mask;
+            while (table[slot] != null) {
+                slot = (slot + 1) & mask;
+            }
+            table[slot] = member;
+            hashes[slot] = hash;
+        }
+        this.size = folded.size();
+    }
+
+    /**
+     * Checks whether an item is a member of this group, ignoring case (and
+     * normalization, if this group was created with a normalization form).
+     *
+     * @param item
+     *            the item to check, which is never a member unless it is a
+     *            {@link CharSequence}
+     * @return true if the item is a member of this group
+     */
+    @Override
+    public boolean contains(Object item) {
+        if (!(item instanceof CharSequence)) {
+            return false;
+        }
+        CharSequence text = (CharSequence) item;
+        if (form != null && !Normalizer.isNormalized(text, form)) {
+            text = Normalizer.normalize(text, form);
+        }
+
+        int hash = foldedHash(text);
+        int slot = hash & mask;
+        String member;
+        while ((member = table[slot]) != null) {
+            if (hashes[slot] == hash && matchesFolded(text, member)) {
+                return true;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return false;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Folds a character in the same way as {@link String#equalsIgnoreCase(String)}
+     * compares characters.
+     */
+    private static char fold(char c) {
+        return Character.toLowerCase(Character.toUpperCase(c));
+    }
+
+    private static String fold(String text) {
+        char[] chars = text.toCharArray();
+        for (int i = 0; i < chars.length; i++) {
+            chars[i] = fold(chars[i]);
+        }
+        return new String(chars);
+    }
+
+    private static int foldedHash(CharSequence text) {
+        int hash = 0;
+        for (int i = 0; i < text.length(); i++) {
+            hash = 31 * hash + fold(text.charAt(i));
+        }
+        return hash ^ (hash >>> 16);
+    }
+
+    private static boolean matchesFolded(CharSequence text, String folded) {
+        if (text.length() != folded.length()) {
+            return false;
+        }
+        for (int i = 0; i < folded.length(); i++) {
+            if (fold(text.charAt(i)) != folded.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+}
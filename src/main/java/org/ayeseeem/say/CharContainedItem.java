@@ -0,0 +1,284 @@
+package org.ayeseeem.say;
+
+import java.util.Arrays;
+
+/**
+ * A {@code char} that might be contained in some group of {@code char}s. This is
+ * the primitive equivalent of {@link ContainedItem}, so neither the item nor the
+ * group are boxed - see {@link #the(char)}.
+ */
+public class CharContainedItem {
+    private final char item;
+
+    private CharContainedItem(char item) {
+        this.item = item;
+    }
+
+    /**
+     * Creates a contained {@code char}. This method provides a way to write more
+     * expressive checks, for example:
+     *
+     * <pre>
+     * if (the(separator).isOneOf(',', ';', '|') {
+     *     // ...
+     * }
+     * </pre>
+     *
+     * @param item
+     *            the item to check
+     * @return a new {@code CharContainedItem}
+     */
+    public static CharContainedItem the(char item) {
+        return new CharContainedItem(item);
+    }
+
+    /**
+     * Checks whether the item is contained in an array.
+     *
+     * @param array
+     *            the array to check
+     * @return true if this item is in the array
+     */
+    public boolean isIn(char[] array) {
+        for (char member : array) {
+            if (member == item) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Checks whether the item is one of the characters of some text, for example:
+     *
+     * <pre>
+     * if (the(letter).isIn("aeiou") {
+     *     // ...
+     * }
+     * </pre>
+     *
+     * @param chars
+     *            the characters to check
+     * @return true if this item is in the characters
+     */
+    public boolean isIn(CharSequence chars) {
+        for (int i = 0; i < chars.length(); i++) {
+            if (chars.charAt(i) == item) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Checks whether the item is contained in a sorted array, using a binary
+     * search. The result is undefined if the array is not sorted.
+     *
+     * @param sortedArray
+     *            the array to check, sorted in ascending order
+     * @return true if this item is in the array
+     *
+     * @see Arrays#sort(char[])
+     */
+    public boolean isInSorted(char[] sortedArray) {
+        return Arrays.binarySearch(sortedArray, item) >= 0;
+    }
+
+    /**
+     * Checks whether the item equals another item, without allocating an array
+     * for varargs.
+     *
+     * @param item1
+     *            the first item to check
+     * @return true if this item is one of the items
+     */
+    public boolean isOneOf(char item1) {
+        return item == item1;
+    }
+
+    /**
+     * Checks whether the item is one of two items, without allocating an array
+     * for varargs.
+     *
+     * @param item1
+     *            the first item to check
+     * @param item2
+     *            the second item to check
+     * @return true if this item is one of the items
+     */
+    public boolean isOneOf(char item1, char item2) {
+        return item == item1
+                || item == item2;
+    }
+
+    /**
+     * Checks whether the item is one of three items, without allocating an
+     * array for varargs.
+     *
+     * @param item1
+     *            the first item to check
+     * @param item2
+     *            the second item to check
+     * @param item3
+     *            the third item to check
+     * @return true if this item is one of the items
+     */
+    public boolean isOneOf(char item1, char item2, char item3) {
+        return item == item1
+                || item == item2
+                || item == item3;
+    }
+
+    /**
+     * Checks whether the item is one of four items, without allocating an array
+     * for varargs.
+     *
+     * @param item1
+     *            the first item to check
+     * @param item2
+     *            the second item to check
+     * @param item3
+     *            the third item to check
+     * @param item4
+     *            the fourth item to check
+     * @return true if this item is one of the items
+     */
+    public boolean isOneOf(char item1, char item2, char item3, char item4) {
+        return item == item1
+                || item == item2
+                || item == item3
+                || item == item4;
+    }
+
+    /**
+     * Checks whether the item is one of five items, without allocating an array
+     * for varargs.
+     *
+     * @param item1
+     *            the first item to check
+     * @param item2
+     *            the second item to check
+     * @param item3
+     *            the third item to check
+     * @param item4
+     *            the fourth item to check
+     * @param item5
+     *            the fifth item to check
+     * @return true if this item is one of the items
+     */
+    public boolean isOneOf(char item1, char item2, char item3, char item4, char item5) {
+        return item == item1
+                || item == item2
+                || item == item3
+                || item == item4
+                || item == item5;
+    }
+
+    /**
+     * Checks whether the item is one of six items, without allocating an array
+     * for varargs.
+     *
+     * @param item1
+     *            the first item to check
+     * @param item2
+     *            the second item to check
+     * @param item3
+     *            the third item to check
+     * @param item4
+     *            the fourth item to check
+     * @param item5
+     *            the fifth item to check
+     * @param item6
+     *            the sixth item to check
+     * @return true if this item is one of the items
+     */
+    public boolean isOneOf(char item1, char item2, char item3, char item4, char item5, char item6) {
+        return item == item1
+                || item == item2
+                || item == item3
+                || item == item4
+                || item == item5
+                || item == item6;
+    }
+
+    /**
+     * Checks whether the item is one of seven items, without allocating an
+     * array for varargs.
+     *
+     * @param item1
+     *            the first item to check
+     * @param item2
+     *            the second item to check
+     * @param item3
+     *            the third item to check
+     * @param item4
+     *            the fourth item to check
+     * @param item5
+     *            the fifth item to check
+     * @param item6
+     *            the sixth item to check
+     * @param item7
+     *            the seventh item to check
+     * @return true if this item is one of the items
+     */
+    public boolean isOneOf(char item1, char item2, char item3, char item4,
+            char item5, char item6, char item7) {
+        return item == item1
+                || item == item2
+                || item == item3
+                || item == item4
+                || item == item5
+                || item == item6
+                || item == item7;
+    }
+
+    /**
+     * Checks whether the item is one of eight items, without allocating an
+     * array for varargs.
+     *
+     * @param item1
+     *            the first item to check
+     * @param item2
+     *            the second item to check
+     * @param item3
+     *            the third item to check
+     * @param item4
+     *            the fourth item to check
+     * @param item5
+     *            the fifth item to check
+     * @param item6
+     *            the sixth item to check
+     * @param item7
+     *            the seventh item to check
+     * @param item8
+     *            the eighth item to check
+     * @return true if this item is one of the items
+     */
+    public boolean isOneOf(char item1, char item2, char item3, char item4,
+            char item5, char item6, char item7, char item8) {
+        return item == item1
+                || item == item2
+                || item == item3
+                || item == item4
+                || item == item5
+                || item == item6
+                || item == item7
+                || item == item8;
+    }
+
+    /**
+     * Checks whether the item is contained in some items.
+     * <p>
+     * Up to eight items are checked by the fixed-arity overloads, such as
+     * {@link #isOneOf(char, char, char)}, which avoid creating an array for the
+     * varargs.
+     *
+     * @param items
+     *            the items to check
+     * @return true if this item is one of the items
+     */
+    public boolean isOneOf(char... items) {
+        return isIn(items);
+    }
+
+}
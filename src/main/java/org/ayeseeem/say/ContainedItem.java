@@ -1,7 +1,12 @@
 package org.ayeseeem.say;
 
+import java.text.Normalizer;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+
+import org.ayeseeem.say.java.util.ProbabilisticSet;
 
 /**
  * An item that might be contained in some group of elements. Designed to allow
@@ -11,6 +16,8 @@ import java.util.Collection;
  *            the item type
  */
 public class ContainedItem<T> {
+    private static volatile boolean adaptiveIndexing = false;
+
     private final T item;
 
     private ContainedItem(T item) {
@@ -41,17 +48,194 @@ public class ContainedItem<T> {
         return new ContainedItem<>(item);
     }
 
+    /**
+     * Creates many contained items, to check together. This method provides a
+     * way to check a batch of items without a {@code ContainedItem} for each,
+     * for example:
+     *
+     * <pre>
+     * BitSet known = each(incomingIds).whichAreIn(knownIds);
+     * </pre>
+     *
+     * @param items
+     *            the items to check
+     * @param <T>
+     *            the item type
+     * @return a new {@code ContainedItems}
+     */
+    public static <T> ContainedItems<T> each(List<? extends T> items) {
+        return new ContainedItems<>(items);
+    }
+
+    /**
+     * Creates many contained items, to check together - see {@link #each(List)}.
+     *
+     * @param items
+     *            the items to check
+     * @param <T>
+     *            the item type
+     * @return a new {@code ContainedItems}
+     */
+    @SafeVarargs
+    public static <T> ContainedItems<T> each(T... items) {
+        return new ContainedItems<>(Arrays.asList(items));
+    }
+
+    /**
+     * Creates a group of items that can be checked many times, for example:
+     *
+     * <pre>
+     * private static final ItemGroup&lt;Month&gt; LATIN_NUMBERED = oneOf(SEPTEMBER, OCTOBER, NOVEMBER, DECEMBER);
+     *
+     * if (the(month).isIn(LATIN_NUMBERED) {
+     *     // ...
+     * }
+     * </pre>
+     *
+     * The group is compiled once, into a form that suits its members, so
+     * checking it neither allocates nor scans every member. Prefer this to
+     * {@link #isOneOf(Object...)} for checks made often against the same items.
+     *
+     * @param members
+     *            the members of the group
+     * @param <T>
+     *            the member type
+     * @return a new, unmodifiable {@code ItemGroup}
+     */
+    @SafeVarargs
+    public static <T> ItemGroup<T> oneOf(T... members) {
+        return ItemGroup.compile(members);
+    }
+
+    /**
+     * Creates a group of strings that can be checked many times, ignoring case,
+     * for example:
+     *
+     * <pre>
+     * private static final ItemGroup&lt;CharSequence&gt; BODY_HEADERS = oneOfIgnoringCase("Content-Type", "Content-Length");
+     *
+     * if (the(headerName).isIn(BODY_HEADERS) {
+     *     // ...
+     * }
+     * </pre>
+     *
+     * Checking the group does not allocate, so it is cheaper than checking a
+     * lower-cased copy of each item.
+     *
+     * @param members
+     *            the members of the group
+     * @return a new, unmodifiable {@code ItemGroup}
+     *
+     * @see String#equalsIgnoreCase(String)
+     */
+    public static ItemGroup<CharSequence> oneOfIgnoringCase(String... members) {
+        return new CaseInsensitiveGroup(null, members);
+    }
+
+    /**
+     * Creates a group of strings that can be checked many times, ignoring case
+     * and differences in Unicode normalization - see
+     * {@link #oneOfIgnoringCase(String...)}.
+     *
+     * @param form
+     *            the normalization form to compare items and members in
+     * @param members
+     *            the members of the group
+     * @return a new, unmodifiable {@code ItemGroup}
+     */
+    public static ItemGroup<CharSequence> oneOfIgnoringCase(Normalizer.Form form, String... members) {
+        return new CaseInsensitiveGroup(form, members);
+    }
+
+    /**
+     * Starts building a {@link Dispatcher}, which handles an item depending on
+     * which of several groups it is in, for example:
+     *
+     * <pre>
+     * Dispatcher&lt;Month&gt; seasons = dispatch()
+     *         .when(DECEMBER, JANUARY, FEBRUARY).then(m -&gt; winter())
+     *         .when(JUNE, JULY, AUGUST).then(m -&gt; summer())
+     *         .otherwise(m -&gt; other())
+     *         .build();
+     *
+     * seasons.dispatch(month);
+     * </pre>
+     *
+     * Building checks that no item is in more than one group, and combines the
+     * groups, so each dispatch is a single lookup rather than a
+     * {@link #isOneOf(Object...)} check per group.
+     *
+     * @return the start of a new {@code Dispatcher}
+     */
+    public static Dispatcher.Start dispatch() {
+        return new Dispatcher.Start();
+    }
+
+    /**
+     * Turns adaptive indexing on or off, for every {@link #isIn(Collection)}
+     * check. It is off by default.
+     * <p>
+     * This is a setting for the whole JVM: it changes every
+     * {@code isIn(Collection)} check, by every caller, not just those of the
+     * code that turns it on. Library code should use
+     * {@link #isInIndexed(List)} instead, which indexes just the lists it is
+     * given.
+     * <p>
+     * With adaptive indexing, a large random access list (for example, a large
+     * {@link java.util.ArrayList}) is indexed once it has been checked a few
+     * times, so later checks are a hash lookup rather than a scan. This helps
+     * code that checks many items against the same list, one at a time. Other
+     * collections are checked with their own {@code contains()}.
+     * <p>
+     * Indexes are discarded when the size of their list changes, and held
+     * weakly, so they do not stop the list being garbage collected. An item an
+     * index finds is checked against the list, but an item it does not find is
+     * not. So an item put into a list by changes that leave its size the same -
+     * replacing an element with {@code set()}, or removing one element and
+     * adding another between checks - is not found until the size of the list
+     * changes again, or adaptive indexing is turned off. Do not use adaptive
+     * indexing for lists that are changed like that.
+     *
+     * @param enabled
+     *            true to turn adaptive indexing on, false to turn it off and
+     *            discard all indexes
+     */
+    public static void useAdaptiveIndexing(boolean enabled) {
+        adaptiveIndexing = enabled;
+        if (!enabled) {
+            AdaptiveIndex.forgetAll();
+        }
+    }
+
     /**
      * Checks whether the item is contained in a Java {@link Collection}.
      *
      * @param collection
      *            the collection to check
      * @return true if this item is in the collection
+     *
+     * @see #useAdaptiveIndexing(boolean)
      */
     public boolean isIn(Collection<T> collection) {
+        if (adaptiveIndexing) {
+            return AdaptiveIndex.contains(collection, item);
+        }
         return collection.contains(item);
     }
 
+    /**
+     * Checks whether the item is contained in a list, as if adaptive indexing
+     * was on for just this check - see {@link #useAdaptiveIndexing(boolean)}.
+     * The same list can be indexed, and changes to it missed, in the same way.
+     *
+     * @param list
+     *            the list to check
+     * @return true if this item is in the list
+     */
+    public boolean isInIndexed(List<T> list) {
+        return AdaptiveIndex.contains(list, item);
+    }
+
     /**
      * Checks whether the item is contained in an array.
      *
@@ -60,11 +244,240 @@ public class ContainedItem<T> {
      * @return true if this item is in the array
      */
     public boolean isIn(T[] array) {
-        return isIn(Arrays.asList(array));
+        return Arrays.asList(array).contains(item);
+    }
+
+    /**
+     * Checks whether the item is in a group of items.
+     *
+     * @param group
+     *            the group to check, as created by {@link #oneOf(Object...)}
+     * @return true if this item is in the group
+     */
+    public boolean isIn(ItemGroup<? super T> group) {
+        return group.contains(item);
+    }
+
+    /**
+     * Checks whether the item is probably in a {@link ProbabilisticSet}. The item
+     * is certainly not in the set if this is false, but might not be in the set
+     * if this is true.
+     *
+     * @param set
+     *            the set to check
+     * @return false if this item is definitely not in the set; true if it
+     *         probably is
+     *
+     * @see org.ayeseeem.say.java.util.SetSupport#probabilisticSetOf(long, double)
+     */
+    public boolean isProbablyIn(ProbabilisticSet<? super T> set) {
+        return set.mightContain(item);
+    }
+
+    /**
+     * Checks whether the item is within any of some ranges, for example:
+     *
+     * <pre>
+     * if (the(timestamp).isWithin(maintenanceWindows) {
+     *     // ...
+     * }
+     * </pre>
+     *
+     * @param ranges
+     *            the ranges to check
+     * @return true if this item is within at least one of the ranges
+     */
+    public boolean isWithin(Ranges<? super T> ranges) {
+        return ranges.contains(item);
+    }
+
+    /**
+     * Checks whether the item equals another item, without allocating an array
+     * for varargs.
+     *
+     * @param item1
+     *            the first item to check
+     * @return true if this item is one of the items
+     */
+    public boolean isOneOf(T item1) {
+        return Objects.equals(item, item1);
+    }
+
+    /**
+     * Checks whether the item is one of two items, without allocating an array
+     * for varargs.
+     *
+     * @param item1
+     *            the first item to check
+     * @param item2
+     *            the second item to check
+     * @return true if this item is one of the items
+     */
+    public boolean isOneOf(T item1, T item2) {
+        return Objects.equals(item, item1)
+                || Objects.equals(item, item2);
+    }
+
+    /**
+     * Checks whether the item is one of three items, without allocating an
+     * array for varargs.
+     *
+     * @param item1
+     *            the first item to check
+     * @param item2
+     *            the second item to check
+     * @param item3
+     *            the third item to check
+     * @return true if this item is one of the items
+     */
+    public boolean isOneOf(T item1, T item2, T item3) {
+        return Objects.equals(item, item1)
+                || Objects.equals(item, item2)
+                || Objects.equals(item, item3);
+    }
+
+    /**
+     * Checks whether the item is one of four items, without allocating an array
+     * for varargs.
+     *
+     * @param item1
+     *            the first item to check
+     * @param item2
+     *            the second item to check
+     * @param item3
+     *            the third item to check
+     * @param item4
+     *            the fourth item to check
+     * @return true if this item is one of the items
+     */
+    public boolean isOneOf(T item1, T item2, T item3, T item4) {
+        return Objects.equals(item, item1)
+                || Objects.equals(item, item2)
+                || Objects.equals(item, item3)
+                || Objects.equals(item, item4);
+    }
+
+    /**
+     * Checks whether the item is one of five items, without allocating an array
+     * for varargs.
+     *
+     * @param item1
+     *            the first item to check
+     * @param item2
+     *            the second item to check
+     * @param item3
+     *            the third item to check
+     * @param item4
+     *            the fourth item to check
+     * @param item5
+     *            the fifth item to check
+     * @return true if this item is one of the items
+     */
+    public boolean isOneOf(T item1, T item2, T item3, T item4, T item5) {
+        return Objects.equals(item, item1)
+                || Objects.equals(item, item2)
+                || Objects.equals(item, item3)
+                || Objects.equals(item, item4)
+                || Objects.equals(item, item5);
+    }
+
+    /**
+     * Checks whether the item is one of six items, without allocating an array
+     * for varargs.
+     *
+     * @param item1
+     *            the first item to check
+     * @param item2
+     *            the second item to check
+     * @param item3
+     *            the third item to check
+     * @param item4
+     *            the fourth item to check
+     * @param item5
+     *            the fifth item to check
+     * @param item6
+     *            the sixth item to check
+     * @return true if this item is one of the items
+     */
+    public boolean isOneOf(T item1, T item2, T item3, T item4, T item5, T item6) {
+        return Objects.equals(item, item1)
+                || Objects.equals(item, item2)
+                || Objects.equals(item, item3)
+                || Objects.equals(item, item4)
+                || Objects.equals(item, item5)
+                || Objects.equals(item, item6);
+    }
+
+    /**
+     * Checks whether the item is one of seven items, without allocating an
+     * array for varargs.
+     *
+     * @param item1
+     *            the first item to check
+     * @param item2
+     *            the second item to check
+     * @param item3
+     *            the third item to check
+     * @param item4
+     *            the fourth item to check
+     * @param item5
+     *            the fifth item to check
+     * @param item6
+     *            the sixth item to check
+     * @param item7
+     *            the seventh item to check
+     * @return true if this item is one of the items
+     */
+    public boolean isOneOf(T item1, T item2, T item3, T item4, T item5, T item6, T item7) {
+        return Objects.equals(item, item1)
+                || Objects.equals(item, item2)
+                || Objects.equals(item, item3)
+                || Objects.equals(item, item4)
+                || Objects.equals(item, item5)
+                || Objects.equals(item, item6)
+                || Objects.equals(item, item7);
+    }
+
+    /**
+     * Checks whether the item is one of eight items, without allocating an
+     * array for varargs.
+     *
+     * @param item1
+     *            the first item to check
+     * @param item2
+     *            the second item to check
+     * @param item3
+     *            the third item to check
+     * @param item4
+     *            the fourth item to check
+     * @param item5
+     *            the fifth item to check
+     * @param item6
+     *            the sixth item to check
+     * @param item7
+     *            the seventh item to check
+     * @param item8
+     *            the eighth item to check
+     * @return true if this item is one of the items
+     */
+    public boolean isOneOf(T item1, T item2, T item3, T item4, T item5, T item6, T item7, T item8) {
+        return Objects.equals(item, item1)
+                || Objects.equals(item, item2)
+                || Objects.equals(item, item3)
+                || Objects.equals(item, item4)
+                || Objects.equals(item, item5)
+                || Objects.equals(item, item6)
+                || Objects.equals(item, item7)
+                || Objects.equals(item, item8);
     }
 
     /**
      * Checks whether the item is contained in some items.
+     * <p>
+     * Up to eight items are checked by the fixed-arity overloads, such as
+     * {@link #isOneOf(Object, Object, Object)}, which avoid creating an array for
+     * the varargs. Note that this means an array passed as a single argument is
+     * only treated as the items to check when it cannot be an item itself.
      *
      * @param items
      *            the items to check
@@ -72,7 +485,7 @@ public class ContainedItem<T> {
      */
     @SafeVarargs
     public final boolean isOneOf(T... items) {
-        return isIn(Arrays.asList(items));
+        return Arrays.asList(items).contains(item);
     }
 
 }
@@ -0,0 +1,180 @@
+package org.ayeseeem.say;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.RandomAccess;
+import java.util.SortedSet;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.Predicate;
+
+/**
+ * Many items that might each be contained in some group of elements. This is
+ * the bulk equivalent of {@link ContainedItem} - see
+ * {@link ContainedItem#each(List)}.
+ * <p>
+ * The results are returned as a {@link BitSet}, where bit {@code i} is set if
+ * the item at index {@code i} is in the group.
+ * <p>
+ * Large batches (of at least {@value #PARALLEL_THRESHOLD} items) are checked in
+ * parallel, so the group must not be modified during the check.
+ *
+ * @param <T>
+ *            the item type
+ */
+public class ContainedItems<T> {
+
+    static final int PARALLEL_THRESHOLD = 1 << 14;
+
+    private static final int WORD_SIZE = Long.SIZE;
+
+    private final List<? extends T> items;
+
+    @SuppressWarnings("unchecked")
+    ContainedItems(List<? extends T> items) {
+        this.items = items instanceof RandomAccess ? items : (List<T>) Arrays.asList(items.toArray());
+    }
+
+    /**
+     * Finds which of the items are contained in a Java {@link Collection}.
+     * <p>
+     * If the collection is a {@link SortedSet}, and the items are already sorted
+     * in the same order, the items and the set are merged in a single pass, if
+     * that is cheaper than looking up every item. Otherwise each item is looked
+     * up in turn, which suits a hashed collection.
+     *
+     * @param collection
+     *            the collection to check
+     * @return the indexes of the items that are in the collection
+     */
+    public BitSet whichAreIn(Collection<? super T> collection) {
+        if (collection instanceof SortedSet) {
+            SortedSet<? super T> sortedSet = (SortedSet<? super T>) collection;
+            Comparator<Object> order = orderOf(sortedSet);
+            if (isMergeCheaper(sortedSet.size()) && isSorted(order)) {
+                return mergeWith(sortedSet, order);
+            }
+        }
+        return probe(collection::contains);
+    }
+
+    /**
+     * Finds which of the items are in a group of items.
+     *
+     * @param group
+     *            the group to check, as created by
+     *            {@link ContainedItem#oneOf(Object...)}
+     * @return the indexes of the items that are in the group
+     */
+    public BitSet whichAreIn(ItemGroup<? super T> group) {
+        return probe(group::contains);
+    }
+
+    /**
+     * Finds which of the items are within any of some ranges.
+     *
+     * @param ranges
+     *            the ranges to check
+     * @return the indexes of the items that are within the ranges
+     */
+    public BitSet whichAreWithin(Ranges<? super T> ranges) {
+        return probe(ranges::contains);
+    }
+
+    private BitSet probe(Predicate<? super T> isMember) {
+        long[] words = new long[(items.size() + WORD_SIZE - 1) / WORD_SIZE];
+        ProbeAction probe = new ProbeAction(isMember, words, 0, items.size());
+        if (items.size() >= PARALLEL_THRESHOLD) {
+            ForkJoinPool.commonPool().invoke(probe);
+        } else {
+            probe.compute();
+        }
+        return BitSet.valueOf(words);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Comparator<Object> orderOf(SortedSet<?> sortedSet) {
+        Comparator<?> comparator = sortedSet.comparator();
+        return comparator == null
+                ? (a, b) -> ((Comparable<Object>) a).compareTo(b)
+                : (Comparator<Object>) comparator;
+    }
+
+    private boolean isMergeCheaper(int setSize) {
+        int lookupCost = 32 - Integer.numberOfLeadingZeros(setSize);
+        return (long) items.size() * lookupCost >= setSize;
+    }
+
+    private boolean isSorted(Comparator<Object> order) {
+        for (int i = 1; i < items.size(); i++) {
+            if (order.compare(items.get(i - 1), items.get(i)) > 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private BitSet mergeWith(SortedSet<?> sortedSet, Comparator<Object> order) {
+        BitSet hits = new BitSet(items.size());
+        Iterator<?> members = sortedSet.iterator();
+        if (!members.hasNext()) {
+            return hits;
+        }
+        Object member = members.next();
+        for (int i = 0; i < items.size(); i++) {
+            T item = items.get(i);
+            int comparison;
+            while ((comparison = order.compare(member, item)) < 0) {
+                if (!members.hasNext()) {
+                    return hits;
+                }
+                member = members.next();
+            }
+            if (comparison == 0) {
+                hits.set(i);
+            }
+        }
+        return hits;
+    }
+
+    /**
+     * Checks a range of the items, splitting it in two while it is large. Ranges
+     * are split on word boundaries, so that each word of the result is only
+     * written by one task.
+     */
+    private class ProbeAction extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final transient Predicate<? super T> isMember;
+        private final long[] words;
+        private final int from;
+        private final int to;
+
+        ProbeAction(Predicate<? super T> isMember, long[] words, int from, int to) {
+            this.isMember = isMember;
+            this.words = words;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from > PARALLEL_THRESHOLD / 2 && getPool() != null) {
+                int middle = ((from + to) >>> 1) & -WORD_SIZE;
+                invokeAll(new ProbeAction(isMember, words, from, middle),
+                        new ProbeAction(isMember, words, middle, to));
+                return;
+            }
+            for (int i = from; i < to; i++) {
+                if (isMember.test(items.get(i))) {
+                    words[i / WORD_SIZE] |= 1L << i;
+                }
+            }
+        }
+    }
+
+}
@@ -0,0 +1,215 @@
+package org.ayeseeem.say;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+
+/**
+ * Chooses what to do with an item, depending on which of several groups of items
+ * it is in - see {@link ContainedItem#dispatch()}.
+ * <p>
+ * This replaces a chain of checks such as
+ *
+ * <pre>
+ * if (the(x).isOneOf(A, B, C)) {
+ *     handleFirst(x);
+ * } else if (the(x).isOneOf(D, E)) {
+ *     handleSecond(x);
+ * }
+ * </pre>
+ *
+ * which checks each group in turn, with a single lookup. When every item in every
+ * group is a constant of the same enum, the lookup is an array indexed by
+ * ordinal. Otherwise it is a hash lookup.
+ *
+ * @param <T>
+ *            the item type
+ */
+public final class Dispatcher<T> {
+
+    private final Class<?> enumType;
+    private final Object[] handlersByOrdinal;
+    private final Map<Object, Consumer<? super T>> handlers;
+    private final Consumer<? super T> otherwise;
+
+    private Dispatcher(Map<Object, Consumer<? super T>> handlers, Consumer<? super T> otherwise) {
+        this.enumType = commonEnumType(handlers.keySet());
+        if (enumType != null) {
+            this.handlersByOrdinal = new Object[enumType.getEnumConstants().length];
+            handlers.forEach((item, handler) -> handlersByOrdinal[((Enum<?>) item).ordinal()] = handler);
+            this.handlers = null;
+        } else {
+            this.handlersByOrdinal = null;
+            this.handlers = handlers;
+        }
+        this.otherwise = otherwise;
+    }
+
+    private static Class<?> commonEnumType(Set<Object> items) {
+        Class<?> type = null;
+        for (Object item : items) {
+            if (!(item instanceof Enum)) {
+                return null;
+            }
+            Class<?> itemType = ((Enum<?>) item).getDeclaringClass();
+            if (type != null && type != itemType) {
+                return null;
+            }
+            type = itemType;
+        }
+        return type;
+    }
+
+    /**
+     * Handles an item, with the handler for the group it is in. If it is not in
+     * any of the groups, it is handled by the {@link Builder#otherwise(Consumer)
+     * otherwise} handler, if there is one.
+     *
+     * @param item
+     *            the item to handle
+     * @return true if the item was in one of the groups
+     */
+    public boolean dispatch(T item) {
+        Consumer<? super T> handler = handlerFor(item);
+        if (handler != null) {
+            handler.accept(item);
+            return true;
+        }
+        if (otherwise != null) {
+            otherwise.accept(item);
+        }
+        return false;
+    }
+
+    @SuppressWarnings("unchecked")
+    private Consumer<? super T> handlerFor(T item) {
+        if (enumType == null) {
+            return handlers.get(item);
+        }
+        if (!(item instanceof Enum) || ((Enum<?>) item).getDeclaringClass() != enumType) {
+            return null;
+        }
+        return (Consumer<? super T>) handlersByOrdinal[((Enum<?>) item).ordinal()];
+    }
+
+    /**
+     * Starts building a {@link Dispatcher}, before the item type is known.
+     */
+    public static final class Start {
+
+        Start() {
+        }
+
+        /**
+         * Starts the first group of items.
+         *
+         * @param items
+         *            the items in the group
+         * @param <T>
+         *            the item type
+         * @return the group, which needs a handler
+         */
+        @SafeVarargs
+        public final <T> When<T> when(T... items) {
+            return new Builder<T>().when(items);
+        }
+    }
+
+    /**
+     * Collects groups of items and their handlers, to build a {@link Dispatcher}.
+     *
+     * @param <T>
+     *            the item type
+     */
+    public static final class Builder<T> {
+        private final List<Set<T>> groups = new ArrayList<>();
+        private final List<Consumer<? super T>> groupHandlers = new ArrayList<>();
+        private Consumer<? super T> otherwise;
+
+        private Builder() {
+        }
+
+        /**
+         * Starts another group of items.
+         *
+         * @param items
+         *            the items in the group
+         * @return the group, which needs a handler
+         */
+        @SafeVarargs
+        public final When<T> when(T... items) {
+            return new When<>(this, new LinkedHashSet<>(Arrays.asList(items)));
+        }
+
+        /**
+         * Sets the handler for items that are not in any of the groups.
+         *
+         * @param handler
+         *            the handler for all other items
+         * @return this builder
+         */
+        public Builder<T> otherwise(Consumer<? super T> handler) {
+            this.otherwise = handler;
+            return this;
+        }
+
+        /**
+         * Builds the dispatcher, combining all the groups into one lookup.
+         *
+         * @return a new {@code Dispatcher}
+         * @throws IllegalArgumentException
+         *             if an item is in more than one group
+         */
+        public Dispatcher<T> build() {
+            Map<Object, Consumer<? super T>> handlers = new HashMap<>();
+            for (int i = 0; i < groups.size(); i++) {
+                for (T item : groups.get(i)) {
+                    if (handlers.containsKey(item)) {
+                        throw new IllegalArgumentException("Item is in more than one group: " + item);
+                    }
+                    handlers.put(item, groupHandlers.get(i));
+                }
+            }
+            return new Dispatcher<>(handlers, otherwise);
+        }
+
+        private Builder<T> add(Set<T> group, Consumer<? super T> handler) {
+            groups.add(group);
+            groupHandlers.add(handler);
+            return this;
+        }
+    }
+
+    /**
+     * A group of items that needs a handler.
+     *
+     * @param <T>
+     *            the item type
+     */
+    public static final class When<T> {
+        private final Builder<T> builder;
+        private final Set<T> group;
+
+        private When(Builder<T> builder, Set<T> group) {
+            this.builder = builder;
+            this.group = group;
+        }
+
+        /**
+         * Sets the handler for the items in this group.
+         *
+         * @param handler
+         *            the handler
+         * @return the builder, to add more groups or to build the dispatcher
+         */
+        public Builder<T> then(Consumer<? super T> handler) {
+            return builder.add(group, handler);
+        }
+    }
+
+}
@@ -0,0 +1,236 @@
+package org.ayeseeem.say;
+
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.Objects;
+import java.util.function.Predicate;
+
+/**
+ * A fixed group of items, compiled once so that it can be checked repeatedly
+ * and cheaply - see {@link ContainedItem#oneOf(Object...)}.
+ * <p>
+ * The representation is chosen from the members when the group is created:
+ * <ul>
+ * <li>enum constants of a single type are held as a bitmask of ordinals;</li>
+ * <li>small groups (up to {@value #MAX_UNROLLED} members) are held in fields,
+ * and compared directly;</li>
+ * <li>larger groups are held in an open-addressed hash table.</li>
+ * </ul>
+ * None of these allocate when checking membership.
+ *
+ * @param <T>
+ *            the member type
+ */
+public abstract class ItemGroup<T> implements Predicate<T> {
+
+    static final int MAX_UNROLLED = 4;
+
+    ItemGroup() {
+    }
+
+    /**
+     * Checks whether an item is a member of this group.
+     *
+     * @param item
+     *            the item to check, which may be {@code null}
+     * @return true if the item is a member of this group
+     */
+    public abstract boolean contains(Object item);
+
+    /**
+     * Gets the number of distinct members of this group.
+     *
+     * @return the number of members
+     */
+    public abstract int size();
+
+    /**
+     * Checks whether an item is a member of this group, so that a group can be
+     * used wherever a {@link Predicate} is wanted.
+     *
+     * @param item
+     *            the item to check
+     * @return true if the item is a member of this group
+     */
+    @Override
+    public boolean test(T item) {
+        return contains(item);
+    }
+
+    @SafeVarargs
+    static <T> ItemGroup<T> compile(T... members) {
+        if (members.length == 0) {
+            return new SmallGroup<>(members, 0);
+        }
+
+        Class<?> enumType = commonEnumType(members);
+        if (enumType != null) {
+            return new EnumGroup<>(enumType, members);
+        }
+
+        Object[] distinct = distinct(members);
+        if (distinct.length <= MAX_UNROLLED) {
+            return new SmallGroup<>(distinct, distinct.length);
+        }
+        return new HashGroup<>(distinct);
+    }
+
+    private static Class<?> commonEnumType(Object[] members) {
+        Class<?> type = null;
+        for (Object member : members) {
+            if (!(member instanceof Enum)) {
+                return null;
+            }
+            Class<?> memberType = ((Enum<?>) member).getDeclaringClass();
+            if (type == null) {
+                type = memberType;
+            } else if (type != memberType) {
+                return null;
+            }
+        }
+        return type;
+    }
+
+    private static Object[] distinct(Object[] members) {
+        return new LinkedHashSet<>(Arrays.asList(members)).toArray();
+    }
+
+    /**
+     * Enum constants of a single type, held as a bitmask of their ordinals, as
+     * in {@link java.util.EnumSet}.
+     */
+    static final class EnumGroup<T> extends ItemGroup<T> {
+        private final Class<?> type;
+        private final long[] bits;
+        private final int size;
+
+        EnumGroup(Class<?> type, Object[] members) {
+            this.type = type;
+            this.bits = new long[(type.getEnumConstants().length + 63) >>> 6];
+            for (Object member : members) {
+                int ordinal = ((Enum<?>) member).ordinal();
+                bits[ordinal >>> 6] |= 1L << ordinal;
+            }
+            int count = 0;
+            for (long word : bits) {
+                count += Long.bitCount(word);
+            }
+            this.size = count;
+        }
+
+        @Override
+        public boolean contains(Object item) {
+            if (!(item instanceof Enum) || ((Enum<?>) item).getDeclaringClass() != type) {
+                return false;
+            }
+            int ordinal = ((Enum<?>) item).ordinal();
+            return (bits[ordinal >>> 6] & (1L << ordinal)) != 0;
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+    }
+
+    /**
+     * A few members, held in fields and compared in turn. Unused fields repeat
+     * the first member, so every check makes the same comparisons.
+     */
+    static final class SmallGroup<T> extends ItemGroup<T> {
+        private final Object m0;
+        private final Object m1;
+        private final Object m2;
+        private final Object m3;
+        private final int size;
+
+        SmallGroup(Object[] members, int size) {
+            this.size = size;
+            if (size == 0) {
+                this.m0 = this.m1 = this.m2 = this.m3 = null;
+                return;
+            }
+            this.m0 = members[0];
+            this.m1 = size > 1 ? members[1] : m0;
+            this.m2 = size > 2 ? members[2] : m0;
+            this.m3 = size > 3 ? members[3] : m0;
+        }
+
+        @Override
+        public boolean contains(Object item) {
+            if (size == 0) {
+                return false;
+            }
+            return Objects.equals(item, m0)
+                    || Objects.equals(item, m1)
+                    || Objects.equals(item, m2)
+                    || Objects.equals(item, m3);
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+    }
+
+    /**
+     * Members held in an open-addressed (linear probing) hash table, kept at most
+     * half full.
+     */
+    static final class HashGroup<T> extends ItemGroup<T> {
+        private final Object[] table;
+        private final int mask;
+        private final boolean containsNull;
+        private final int size;
+
+        HashGroup(Object[] distinct) {
+            int capacity = Integer.highestOneBit(Math.max(distinct.length, 2) * 2 - 1) << 1;
+            this.table = new Object[capacity];
+            this.mask = capacity - 1;
+            boolean hasNull = false;
+            for (Object member : distinct) {
+                if (member == null) {
+                    hasNull = true;
+                } else {
+                    table[slotFor(member)] = member;
+                }
+            }
+            this.containsNull = hasNull;
+            this.size = distinct.length;
+        }
+
+        private static int spread(int hash) {
+            return hash ^ (hash >>> 16);
+        }
+
+        private int slotFor(Object member) {
+            int slot = spread(member.hashCode()) & mask;
+            while (table[slot] != null) {
+                slot = (slot + 1) & mask;
+            }
+            return slot;
+        }
+
+        @Override
+        public boolean contains(Object item) {
+            if (item == null) {
+                return containsNull;
+            }
+            int slot = spread(item.hashCode()) & mask;
+            Object member;
+            while ((member = table[slot]) != null) {
+                if (member.equals(item)) {
+                    return true;
+                }
+                slot = (slot + 1) & mask;
+            }
+            return false;
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+    }
+
+}
@@ -0,0 +1,273 @@
+package org.ayeseeem.say;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.TreeMap;
+
+/**
+ * A fixed set of keywords, compiled once so that text can be searched for all
+ * of them at the same time - see {@link SearchedText#containsAnyOf(Keywords)}.
+ * <p>
+ * The keywords are compiled into an Aho-Corasick automaton, so searching takes
+ * time proportional to the length of the text (plus the number of matches
+ * reported), however many keywords there are.
+ */
+public final class Keywords {
+
+    private static final int ROOT = 0;
+    private static final int NONE = -1;
+
+    private final int[] edgeStart;
+    private final char[] edgeLabels;
+    private final int[] edgeTargets;
+    private final int[] failure;
+    private final int[] nextMatch;
+    private final String[] keywordAt;
+    private final int size;
+
+    private Keywords(Collection<String> keywords) {
+        List<Map<Character, Integer>> trie = new ArrayList<>();
+        List<String> ending = new ArrayList<>();
+        trie.add(new TreeMap<>());
+        ending.add(null);
+        int distinct = 0;
+        for (String keyword : keywords) {
+            if (keyword.isEmpty()) {
+                throw new IllegalArgumentException("Keywords cannot be empty");
+            }
+            int node = ROOT;
+            for (int i = 0; i < keyword.length(); i++) {
+                Map<Character, Integer> edges = trie.get(node);
+                Integer next = edges.get(keyword.charAt(i));
+                if (next == null) {
+                    next = trie.size();
+                    edges.put(keyword.charAt(i), next);
+                    trie.add(new TreeMap<>());
+                    ending.add(null);
+                }
+                node = next;
+            }
+            if (ending.get(node) == null) {
+                ending.set(node, keyword);
+                distinct++;
+            }
+        }
+
+        int nodes = trie.size();
+        this.edgeStart = new int[nodes + 1];
+        this.edgeLabels = new char[nodes - 1];
+        this.edgeTargets = new int[nodes - 1];
+        int edge = 0;
+        for (int node = 0; node < nodes; node++) {
+            edgeStart[node] = edge;
+            for (Map.Entry<Character, Integer> entry : trie.get(node).entrySet()) {
+                edgeLabels[edge] = entry.getKey();
+                edgeTargets[edge] = entry.getValue();
+                edge++;
+            }
+        }
+        edgeStart[nodes] = edge;
+
+        this.keywordAt = ending.toArray(new String[nodes]);
+        this.failure = new int[nodes];
+        this.nextMatch = new int[nodes];
+        this.size = distinct;
+        linkFailures();
+    }
+
+    /**
+     * Creates a set of keywords, to search for in text.
+     *
+     * @param keywords
+     *            the keywords, none of which can be empty
+     * @return a new, unmodifiable {@code Keywords}
+     * @throws IllegalArgumentException
+     *             if any of the keywords is empty
+     */
+    public static Keywords of(String... keywords) {
+        return of(Arrays.asList(keywords));
+    }
+
+    /**
+     * Creates a set of keywords, to search for in text.
+     *
+     * @param keywords
+     *            the keywords, none of which can be empty
+     * @return a new, unmodifiable {@code Keywords}
+     * @throws IllegalArgumentException
+     *             if any of the keywords is empty
+     */
+    public static Keywords of(Collection<String> keywords) {
+        return new Keywords(keywords);
+    }
+
+    /**
+     * Gets the number of distinct keywords.
+     *
+     * @return the number of keywords
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Checks whether any of the keywords occur in some text.
+     *
+     * @param text
+     *            the text to search
+     * @return true if at least one of the keywords is in the text
+     */
+    public boolean isFoundIn(CharSequence text) {
+        int node = ROOT;
+        for (int i = 0; i < text.length(); i++) {
+            node = step(node, text.charAt(i));
+            if (keywordAt[node] != null || nextMatch[node] != NONE) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Finds every occurrence of any of the keywords in some text, including
+     * overlapping occurrences. Matches are in order of where they end, and then
+     * longest first.
+     *
+     * @param text
+     *            the text to search
+     * @return the matches, which will be empty if none of the keywords are in the
+     *         text
+     */
+    public List<Match> matchesIn(CharSequence text) {
+        List<Match> matches = new ArrayList<>();
+        int node = ROOT;
+        for (int i = 0; i < text.length(); i++) {
+            node = step(node, text.charAt(i));
+            int match = keywordAt[node] != null ? node : nextMatch[node];
+            while (match != NONE) {
+                String keyword = keywordAt[match];
+                matches.add(new Match(keyword, i + 1 - keyword.length()));
+                match = nextMatch[match];
+            }
+        }
+        return Collections.unmodifiableList(matches);
+    }
+
+    private int step(int node, char c) {
+        int next;
+        while ((next = transition(node, c)) == NONE && node != ROOT) {
+            node = failure[node];
+        }
+        return next == NONE ? ROOT : next;
+    }
+
+    private int transition(int node, char c) {
+        int low = edgeStart[node];
+        int high = edgeStart[node + 1] - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            char label = edgeLabels[mid];
+            if (label < c) {
+                low = mid + 1;
+            } else if (label > c) {
+                high = mid - 1;
+            } else {
+                return edgeTargets[mid];
+            }
+        }
+        return NONE;
+    }
+
+    private void linkFailures() {
+        failure[ROOT] = ROOT;
+        nextMatch[ROOT] = NONE;
+        Queue<Integer> queue = new ArrayDeque<>();
+        for (int edge = edgeStart[ROOT]; edge < edgeStart[ROOT + 1]; edge++) {
+            int child = edgeTargets[edge];
+            failure[child] = ROOT;
+            nextMatch[child] = NONE;
+            queue.add(child);
+        }
+        while (!queue.isEmpty()) {
+            int node = queue.remove();
+            for (int edge = edgeStart[node]; edge < edgeStart[node + 1]; edge++) {
+                int child = edgeTargets[edge];
+                int fallback = step(failure[node], edgeLabels[edge]);
+                failure[child] = fallback;
+                nextMatch[child] = keywordAt[fallback] != null ? fallback : nextMatch[fallback];
+                queue.add(child);
+            }
+        }
+    }
+
+    /**
+     * An occurrence of a keyword in some text.
+     */
+    public static final class Match {
+        private final String keyword;
+        private final int start;
+
+        Match(String keyword, int start) {
+            this.keyword = keyword;
+            this.start = start;
+        }
+
+        /**
+         * Gets the keyword that was found.
+         *
+         * @return the keyword
+         */
+        public String keyword() {
+            return keyword;
+        }
+
+        /**
+         * Gets the offset in the text of the first character of the keyword.
+         *
+         * @return the (inclusive) start offset
+         */
+        public int start() {
+            return start;
+        }
+
+        /**
+         * Gets the offset in the text just after the last character of the
+         * keyword.
+         *
+         * @return the (exclusive) end offset
+         */
+        public int end() {
+            return start + keyword.length();
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(keyword, start);
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (!(obj instanceof Match)) {
+                return false;
+            }
+            Match other = (Match) obj;
+            return start == other.start && keyword.equals(other.keyword);
+        }
+
+        @Override
+        public String toString() {
+            return "\"" + keyword + "\"@" + start;
+        }
+    }
+
+}
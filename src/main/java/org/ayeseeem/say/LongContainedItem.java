@@ -0,0 +1,273 @@
+package org.ayeseeem.say;
+
+import java.util.Arrays;
+
+/**
+ * A {@code long} that might be contained in some group of {@code long}s. This is
+ * the primitive equivalent of {@link ContainedItem}, so neither the item nor the
+ * group are boxed - see {@link #the(long)}.
+ */
+public class LongContainedItem {
+    private final long item;
+
+    private LongContainedItem(long item) {
+        this.item = item;
+    }
+
+    /**
+     * Creates a contained {@code long}. This method provides a way to write more
+     * expressive checks, for example:
+     *
+     * <pre>
+     * if (the(sequenceNumber).isOneOf(0L, Long.MAX_VALUE) {
+     *     // ...
+     * }
+     * </pre>
+     *
+     * @param item
+     *            the item to check
+     * @return a new {@code LongContainedItem}
+     */
+    public static LongContainedItem the(long item) {
+        return new LongContainedItem(item);
+    }
+
+    /**
+     * Checks whether the item is contained in an array.
+     *
+     * @param array
+     *            the array to check
+     * @return true if this item is in the array
+     */
+    public boolean isIn(long[] array) {
+        for (long member : array) {
+            if (member == item) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Checks whether the item is contained in a sorted array, using a binary
+     * search. The result is undefined if the array is not sorted.
+     *
+     * @param sortedArray
+     *            the array to check, sorted in ascending order
+     * @return true if this item is in the array
+     *
+     * @see Arrays#sort(long[])
+     */
+    public boolean isInSorted(long[] sortedArray) {
+        return Arrays.binarySearch(sortedArray, item) >= 0;
+    }
+
+    /**
+     * Checks whether the item is within any of some ranges.
+     *
+     * @param ranges
+     *            the ranges to check
+     * @return true if this item is within at least one of the ranges
+     */
+    public boolean isWithin(LongRanges ranges) {
+        return ranges.contains(item);
+    }
+
+    /**
+     * Checks whether the item equals another item, without allocating an array
+     * for varargs.
+     *
+     * @param item1
+     *            the first item to check
+     * @return true if this item is one of the items
+     */
+    public boolean isOneOf(long item1) {
+        return item == item1;
+    }
+
+    /**
+     * Checks whether the item is one of two items, without allocating an array
+     * for varargs.
+     *
+     * @param item1
+     *            the first item to check
+     * @param item2
+     *            the second item to check
+     * @return true if this item is one of the items
+     */
+    public boolean isOneOf(long item1, long item2) {
+        return item == item1
+                || item == item2;
+    }
+
+    /**
+     * Checks whether the item is one of three items, without allocating an
+     * array for varargs.
+     *
+     * @param item1
+     *            the first item to check
+     * @param item2
+     *            the second item to check
+     * @param item3
+     *            the third item to check
+     * @return true if this item is one of the items
+     */
+    public boolean isOneOf(long item1, long item2, long item3) {
+        return item == item1
+                || item == item2
+                || item == item3;
+    }
+
+    /**
+     * Checks whether the item is one of four items, without allocating an array
+     * for varargs.
+     *
+     * @param item1
+     *            the first item to check
+     * @param item2
+     *            the second item to check
+     * @param item3
+     *            the third item to check
+     * @param item4
+     *            the fourth item to check
+     * @return true if this item is one of the items
+     */
+    public boolean isOneOf(long item1, long item2, long item3, long item4) {
+        return item == item1
+                || item == item2
+                || item == item3
+                || item == item4;
+    }
+
+    /**
+     * Checks whether the item is one of five items, without allocating an array
+     * for varargs.
+     *
+     * @param item1
+     *            the first item to check
+     * @param item2
+     *            the second item to check
+     * @param item3
+     *            the third item to check
+     * @param item4
+     *            the fourth item to check
+     * @param item5
+     *            the fifth item to check
+     * @return true if this item is one of the items
+     */
+    public boolean isOneOf(long item1, long item2, long item3, long item4, long item5) {
+        return item == item1
+                || item == item2
+                || item == item3
+                || item == item4
+                || item == item5;
+    }
+
+    /**
+     * Checks whether the item is one of six items, without allocating an array
+     * for varargs.
+     *
+     * @param item1
+     *            the first item to check
+     * @param item2
+     *            the second item to check
+     * @param item3
+     *            the third item to check
+     * @param item4
+     *            the fourth item to check
+     * @param item5
+     *            the fifth item to check
+     * @param item6
+     *            the sixth item to check
+     * @return true if this item is one of the items
+     */
+    public boolean isOneOf(long item1, long item2, long item3, long item4, long item5, long item6) {
+        return item == item1
+                || item == item2
+                || item == item3
+                || item == item4
+                || item == item5
+                || item == item6;
+    }
+
+    /**
+     * Checks whether the item is one of seven items, without allocating an
+     * array for varargs.
+     *
+     * @param item1
+     *            the first item to check
+     * @param item2
+     *            the second item to check
+     * @param item3
+     *            the third item to check
+     * @param item4
+     *            the fourth item to check
+     * @param item5
+     *            the fifth item to check
+     * @param item6
+     *            the sixth item to check
+     * @param item7
+     *            the seventh item to check
+     * @return true if this item is one of the items
+     */
+    public boolean isOneOf(long item1, long item2, long item3, long item4,
+            long item5, long item6, long item7) {
+        return item == item1
+                || item == item2
+                || item == item3
+                || item == item4
+                || item == item5
+                || item == item6
+                || item == item7;
+    }
+
+    /**
+     * Checks whether the item is one of eight items, without allocating an
+     * array for varargs.
+     *
+     * @param item1
+     *            the first item to check
+     * @param item2
+     *            the second item to check
+     * @param item3
+     *            the third item to check
+     * @param item4
+     *            the fourth item to check
+     * @param item5
+     *            the fifth item to check
+     * @param item6
+     *            the sixth item to check
+     * @param item7
+     *            the seventh item to check
+     * @param item8
+     *            the eighth item to check
+     * @return true if this item is one of the items
+     */
+    public boolean isOneOf(long item1, long item2, long item3, long item4,
+            long item5, long item6, long item7, long item8) {
+        return item == item1
+                || item == item2
+                || item == item3
+                || item == item4
+                || item == item5
+                || item == item6
+                || item == item7
+                || item == item8;
+    }
+
+    /**
+     * Checks whether the item is contained in some items.
+     * <p>
+     * Up to eight items are checked by the fixed-arity overloads, such as
+     * {@link #isOneOf(long, long, long)}, which avoid creating an array for the
+     * varargs.
+     *
+     * @param items
+     *            the items to check
+     * @return true if this item is one of the items
+     */
+    public boolean isOneOf(long... items) {
+        return isIn(items);
+    }
+
+}
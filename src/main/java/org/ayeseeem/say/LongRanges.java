@@ -0,0 +1,164 @@
+package org.ayeseeem.say;
+
+import java.util.Arrays;
+import java.util.BitSet;
+
+/**
+ * A fixed set of ranges of {@code long} (or {@code int}) values, compiled once so
+ * that values can be checked against all of them cheaply - see
+ * {@link LongContainedItem#isWithin(LongRanges)}. This is the primitive
+ * equivalent of {@link Ranges}.
+ * <p>
+ * The ranges are sorted, and any that overlap or are adjacent are merged, when
+ * they are built, so checking a value is a binary search: O(log n) for n ranges.
+ */
+public final class LongRanges {
+
+    private final long[] lows;
+    private final long[] highs;
+
+    private LongRanges(long[] lows, long[] highs) {
+        this.lows = lows;
+        this.highs = highs;
+    }
+
+    /**
+     * Starts building ranges.
+     *
+     * @return a new, empty {@code Builder}
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Checks whether a value is within any of the ranges.
+     *
+     * @param value
+     *            the value to check
+     * @return true if the value is within at least one of the ranges
+     */
+    public boolean contains(long value) {
+        int low = 0;
+        int high = lows.length - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            if (lows[mid] <= value) {
+                low = mid + 1;
+            } else {
+                high = mid - 1;
+            }
+        }
+        return high >= 0 && value <= highs[high];
+    }
+
+    /**
+     * Finds which of many values are within any of the ranges.
+     *
+     * @param values
+     *            the values to check
+     * @return the indexes of the values that are within the ranges
+     */
+    public BitSet whichContain(long... values) {
+        BitSet hits = new BitSet(values.length);
+        for (int i = 0; i < values.length; i++) {
+            if (contains(values[i])) {
+                hits.set(i);
+            }
+        }
+        return hits;
+    }
+
+    /**
+     * Finds which of many values are within any of the ranges.
+     *
+     * @param values
+     *            the values to check
+     * @return the indexes of the values that are within the ranges
+     */
+    public BitSet whichContain(int... values) {
+        BitSet hits = new BitSet(values.length);
+        for (int i = 0; i < values.length; i++) {
+            if (contains(values[i])) {
+                hits.set(i);
+            }
+        }
+        return hits;
+    }
+
+    /**
+     * Gets the number of ranges, after any that overlap or are adjacent have been
+     * merged.
+     *
+     * @return the number of ranges
+     */
+    public int size() {
+        return lows.length;
+    }
+
+    /**
+     * Collects ranges, to build {@link LongRanges}.
+     */
+    public static final class Builder {
+        private long[] lows = new long[8];
+        private long[] highs = new long[8];
+        private int count = 0;
+
+        private Builder() {
+        }
+
+        /**
+         * Adds a closed range: one that includes both its ends.
+         *
+         * @param from
+         *            the lowest value in the range
+         * @param to
+         *            the highest value in the range
+         * @return this builder
+         * @throws IllegalArgumentException
+         *             if {@code from} is greater than {@code to}
+         */
+        public Builder between(long from, long to) {
+            if (from > to) {
+                throw new IllegalArgumentException("Range is empty: " + from + " is greater than " + to);
+            }
+            if (count == lows.length) {
+                lows = Arrays.copyOf(lows, count * 2);
+                highs = Arrays.copyOf(highs, count * 2);
+            }
+            lows[count] = from;
+            highs[count] = to;
+            count++;
+            return this;
+        }
+
+        /**
+         * Builds the ranges, sorting them and merging any that overlap or are
+         * adjacent.
+         *
+         * @return new, unmodifiable {@code LongRanges}
+         */
+        public LongRanges build() {
+            Integer[] order = new Integer[count];
+            for (int i = 0; i < count; i++) {
+                order[i] = i;
+            }
+            Arrays.sort(order, (a, b) -> Long.compare(lows[a], lows[b]));
+
+            long[] mergedLows = new long[count];
+            long[] mergedHighs = new long[count];
+            int merged = 0;
+            for (int i : order) {
+                if (merged > 0 && (mergedHighs[merged - 1] == Long.MAX_VALUE || lows[i] <= mergedHighs[merged - 1] + 1)) {
+                    mergedHighs[merged - 1] = Math.max(mergedHighs[merged - 1], highs[i]);
+                } else {
+                    mergedLows[merged] = lows[i];
+                    mergedHighs[merged] = highs[i];
+                    merged++;
+                }
+            }
+            return new LongRanges(Arrays.copyOf(mergedLows, merged), Arrays.copyOf(mergedHighs, merged));
+        }
+    }
+
+}
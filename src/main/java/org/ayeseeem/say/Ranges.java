@@ -0,0 +1,164 @@
+package org.ayeseeem.say;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * A fixed set of ranges, compiled once so that values can be checked against
+ * all of them cheaply - see {@link ContainedItem#isWithin(Ranges)}.
+ * <p>
+ * The ranges are sorted, and any that overlap are merged, when they are built,
+ * so checking a value is a binary search: O(log n) for n ranges.
+ *
+ * @param <T>
+ *            the value type
+ *
+ * @see LongRanges
+ */
+public final class Ranges<T> {
+
+    private final Comparator<? super T> order;
+    private final Object[] lows;
+    private final Object[] highs;
+
+    private Ranges(Comparator<? super T> order, List<Range<T>> ranges) {
+        this.order = order;
+        List<Range<T>> sorted = new ArrayList<>(ranges);
+        sorted.sort((a, b) -> order.compare(a.from, b.from));
+
+        List<T> mergedLows = new ArrayList<>();
+        List<T> mergedHighs = new ArrayList<>();
+        for (Range<T> range : sorted) {
+            int last = mergedHighs.size() - 1;
+            if (last >= 0 && order.compare(range.from, mergedHighs.get(last)) <= 0) {
+                if (order.compare(range.to, mergedHighs.get(last)) > 0) {
+                    mergedHighs.set(last, range.to);
+                }
+            } else {
+                mergedLows.add(range.from);
+                mergedHighs.add(range.to);
+            }
+        }
+        this.lows = mergedLows.toArray();
+        this.highs = mergedHighs.toArray();
+    }
+
+    /**
+     * Starts building ranges of values that have a natural order.
+     *
+     * @param <T>
+     *            the value type
+     * @return a new, empty {@code Builder}
+     */
+    public static <T extends Comparable<? super T>> Builder<T> builder() {
+        return new Builder<>(Comparator.naturalOrder());
+    }
+
+    /**
+     * Starts building ranges of values ordered by a {@link Comparator}.
+     *
+     * @param order
+     *            the order of the values
+     * @param <T>
+     *            the value type
+     * @return a new, empty {@code Builder}
+     */
+    public static <T> Builder<T> builder(Comparator<? super T> order) {
+        return new Builder<>(order);
+    }
+
+    /**
+     * Checks whether a value is within any of the ranges.
+     *
+     * @param value
+     *            the value to check
+     * @return true if the value is within at least one of the ranges
+     */
+    public boolean contains(T value) {
+        int low = 0;
+        int high = lows.length - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            if (order.compare(lowOf(lows[mid]), value) <= 0) {
+                low = mid + 1;
+            } else {
+                high = mid - 1;
+            }
+        }
+        return high >= 0 && order.compare(value, highOf(highs[high])) <= 0;
+    }
+
+    /**
+     * Gets the number of ranges, after any that overlap have been merged.
+     *
+     * @return the number of ranges
+     */
+    public int size() {
+        return lows.length;
+    }
+
+    @SuppressWarnings("unchecked")
+    private T lowOf(Object low) {
+        return (T) low;
+    }
+
+    @SuppressWarnings("unchecked")
+    private T highOf(Object high) {
+        return (T) high;
+    }
+
+    private static final class Range<T> {
+        final T from;
+        final T to;
+
+        Range(T from, T to) {
+            this.from = from;
+            this.to = to;
+        }
+    }
+
+    /**
+     * Collects ranges, to build {@link Ranges}.
+     *
+     * @param <T>
+     *            the value type
+     */
+    public static final class Builder<T> {
+        private final Comparator<? super T> order;
+        private final List<Range<T>> ranges = new ArrayList<>();
+
+        private Builder(Comparator<? super T> order) {
+            this.order = order;
+        }
+
+        /**
+         * Adds a closed range: one that includes both its ends.
+         *
+         * @param from
+         *            the lowest value in the range
+         * @param to
+         *            the highest value in the range
+         * @return this builder
+         * @throws IllegalArgumentException
+         *             if {@code from} is after {@code to}
+         */
+        public Builder<T> between(T from, T to) {
+            if (order.compare(from, to) > 0) {
+                throw new IllegalArgumentException("Range is empty: " + from + " is after " + to);
+            }
+            ranges.add(new Range<>(from, to));
+            return this;
+        }
+
+        /**
+         * Builds the ranges, sorting them and merging any that overlap.
+         *
+         * @return new, unmodifiable {@code Ranges}
+         */
+        public Ranges<T> build() {
+            return new Ranges<>(order, ranges);
+        }
+    }
+
+}
@@ -0,0 +1,63 @@
+package org.ayeseeem.say;
+
+import java.util.List;
+
+/**
+ * Some text that might contain some keywords. Designed to allow more expressive
+ * {@code if} statements, in the same way as {@link ContainedItem} - see
+ * {@link #the(CharSequence)}.
+ */
+public class SearchedText {
+    private final CharSequence text;
+
+    private SearchedText(CharSequence text) {
+        this.text = text;
+    }
+
+    /**
+     * Creates some searched text. This method provides a way to write more
+     * expressive checks, for example:
+     *
+     * <pre>
+     * private static final Keywords ALERTS = Keywords.of("ERROR", "FATAL", "OutOfMemoryError");
+     *
+     * if (the(line).containsAnyOf(ALERTS) {
+     *     // ...
+     * }
+     * </pre>
+     *
+     * @param text
+     *            the text to search
+     * @return a new {@code SearchedText}
+     */
+    public static SearchedText the(CharSequence text) {
+        return new SearchedText(text);
+    }
+
+    /**
+     * Checks whether the text contains any of some keywords.
+     *
+     * @param keywords
+     *            the keywords to search for
+     * @return true if at least one of the keywords is in the text
+     */
+    public boolean containsAnyOf(Keywords keywords) {
+        return keywords.isFoundIn(text);
+    }
+
+    /**
+     * Finds every occurrence of any of some keywords in the text, with its
+     * offset.
+     *
+     * @param keywords
+     *            the keywords to search for
+     * @return the matches, which will be empty if none of the keywords are in the
+     *         text
+     *
+     * @see Keywords#matchesIn(CharSequence)
+     */
+    public List<Keywords.Match> occurrencesOf(Keywords keywords) {
+        return keywords.matchesIn(text);
+    }
+
+}
@@ -0,0 +1,188 @@
+package org.ayeseeem.say.java.util;
+
+import java.util.AbstractList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.RandomAccess;
+import java.util.Spliterator;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * A thread-safe list that can only be added to, without locks. Many threads can
+ * add to it at once, and reading it never waits.
+ * <p>
+ * Each {@link #add(Object)} claims the next slot with an atomic increment, and
+ * writes the element into it. The elements are held in segments, each twice
+ * the size of the one before, so the list grows without copying, and existing
+ * elements never move. An element becomes visible once all the elements before
+ * it have been written, so the list only ever shows the elements added to it,
+ * in the order of their slots, with no gaps.
+ * <p>
+ * Elements cannot be removed or replaced, and cannot be {@code null}. Because
+ * the elements that are visible never change, {@link #snapshot()} can give a
+ * consistent view without copying, and iterating does so, rather than failing
+ * when other threads add to the list.
+ *
+ * @param <E>
+ *            element type
+ *
+ * @see ListSupport#appendOnlyConcurrentList()
+ */
+public final class AppendOnlyConcurrentList<E> extends AbstractList<E> implements RandomAccess {
+
+    private static final int FIRST_SEGMENT_SHIFT = 4;
+    private static final int FIRST_SEGMENT_SIZE = 1 << FIRST_SEGMENT_SHIFT;
+    private static final int MAX_SIZE = Integer.MAX_VALUE - FIRST_SEGMENT_SIZE;
+
+    private final AtomicReferenceArray<AtomicReferenceArray<Object>> segments = new AtomicReferenceArray<>(
+            Integer.SIZE - FIRST_SEGMENT_SHIFT);
+    private final AtomicInteger claimed = new AtomicInteger();
+    private final AtomicInteger published = new AtomicInteger();
+
+    AppendOnlyConcurrentList() {
+    }
+
+    /**
+     * Adds an element to the end of the list.
+     *
+     * @param element
+     *            the element to add
+     * @return {@code true}
+     * @throws NullPointerException
+     *             if the element is {@code null}
+     * @throws IllegalStateException
+     *             if the list is full
+     */
+    @Override
+    public boolean add(E element) {
+        if (element == null) {
+            throw new NullPointerException("Element cannot be null");
+        }
+        int index = claimed.getAndIncrement();
+        if (index < 0 || index >= MAX_SIZE) {
+            throw new IllegalStateException("List is full");
+        }
+        slotsFor(index, true).set(offsetOf(index), element);
+        publish();
+        return true;
+    }
+
+    @Override
+    public E get(int index) {
+        int size = size();
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        }
+        return elementAt(index);
+    }
+
+    /**
+     * Gets the number of elements that are visible, which does not include any
+     * that are still being added.
+     */
+    @Override
+    public int size() {
+        return published.get();
+    }
+
+    /**
+     * Gets an unmodifiable view of the elements in the list now. Elements added
+     * later are not included, and nothing is copied, so this takes constant
+     * time.
+     *
+     * @return a view of the elements in the list now
+     */
+    public List<E> snapshot() {
+        return new Snapshot(size());
+    }
+
+    /**
+     * Iterates over a {@link #snapshot()}, so it never fails because of
+     * elements added while iterating, and never includes them.
+     */
+    @Override
+    public Iterator<E> iterator() {
+        return snapshot().iterator();
+    }
+
+    @Override
+    public Spliterator<E> spliterator() {
+        return snapshot().spliterator();
+    }
+
+    /**
+     * Moves the visible size past every element that has been written. Each
+     * thread does this after it writes, and helps any others that have written
+     * but not yet moved it. The last writer of a run of elements always sees
+     * the run, because it writes before it reads the size, so no element is
+     * left hidden.
+     */
+    private void publish() {
+        int size = published.get();
+        while (size < claimed.get() && isWritten(size)) {
+            published.compareAndSet(size, size + 1);
+            size = published.get();
+        }
+    }
+
+    private boolean isWritten(int index) {
+        AtomicReferenceArray<Object> slots = slotsFor(index, false);
+        return slots != null && slots.get(offsetOf(index)) != null;
+    }
+
+    @SuppressWarnings("unchecked")
+    private E elementAt(int index) {
+        return (E) slotsFor(index, false).get(offsetOf(index));
+    }
+
+    /**
+     * Gets the segment for an index, creating it if needed and asked to. Threads
+     * that race to create a segment each allocate one, but only one is kept.
+     */
+    private AtomicReferenceArray<Object> slotsFor(int index, boolean create) {
+        int segment = segmentOf(index);
+        AtomicReferenceArray<Object> slots = segments.get(segment);
+        if (slots == null && create) {
+            segments.compareAndSet(segment, null, new AtomicReferenceArray<>(FIRST_SEGMENT_SIZE << segment));
+            slots = segments.get(segment);
+        }
+        return slots;
+    }
+
+    private static int segmentOf(int index) {
+        return Integer.SIZE - 1 - Integer.numberOfLeadingZeros(index + FIRST_SEGMENT_SIZE) - FIRST_SEGMENT_SHIFT;
+    }
+
+    private static int offsetOf(int index) {
+        int position = index + FIRST_SEGMENT_SIZE;
+        return position - Integer.highestOneBit(position);
+    }
+
+    private final class Snapshot extends AbstractList<E> implements RandomAccess {
+        private final int size;
+
+        Snapshot(int size) {
+            this.size = size;
+        }
+
+        @Override
+        public E get(int index) {
+            if (index < 0 || index >= size) {
+                throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+            }
+            return elementAt(index);
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+
+        @Override
+        public Spliterator<E> spliterator() {
+            return new RandomAccessSpliterator<>(this);
+        }
+    }
+
+}
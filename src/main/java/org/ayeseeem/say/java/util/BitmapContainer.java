@@ -0,0 +1,696 @@
+package org.ayeseeem.say.java.util;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+/**
+ * The values of a {@link BitmapSet} that share their high 16 bits, held as
+ * their low 16 bits, in whichever of three forms is smallest: a sorted array of
+ * the values, a bitmap of all 65536 possible values, or a sorted array of runs
+ * of consecutive values.
+ * <p>
+ * Containers are modifiable, but the set operations always create new ones, so
+ * a container is only ever used by one set.
+ */
+abstract class BitmapContainer {
+
+    static final int ARRAY = 0;
+    static final int BITMAP = 1;
+    static final int RUN = 2;
+
+    static final int MAX_ARRAY_SIZE = 4096;
+    static final int WORDS = 1024;
+
+    private static final int BITMAP_BYTES = WORDS * Long.BYTES;
+
+    abstract int type();
+
+    abstract int cardinality();
+
+    abstract boolean contains(int low);
+
+    /**
+     * Adds a value that is not already in this container.
+     *
+     * @return this container, or another form of it if it has grown too large
+     */
+    abstract BitmapContainer add(int low);
+
+    /**
+     * Removes a value that is in this container.
+     *
+     * @return this container, or another form of it if it has shrunk
+     */
+    abstract BitmapContainer remove(int low);
+
+    /**
+     * Finds the lowest value that is at least {@code from}.
+     *
+     * @return the value, or -1 if there is none
+     */
+    abstract int nextValue(int from);
+
+    abstract int runCount();
+
+    abstract void orInto(long[] words);
+
+    abstract void andNotFrom(long[] words);
+
+    abstract BitmapContainer copy();
+
+    abstract int dataSize();
+
+    abstract int serializedLength();
+
+    abstract void writeData(ByteBuffer target);
+
+    static BitmapContainer read(int type, int length, ByteBuffer source, int offset) {
+        if (length < 1) {
+            throw new IllegalArgumentException("Container has no values: " + length);
+        }
+        switch (type) {
+        case ARRAY:
+            return Array.read(length, source, offset);
+        case BITMAP:
+            return Bitmap.read(length, source, offset);
+        case RUN:
+            return Run.read(length, source, offset);
+        default:
+            throw new IllegalArgumentException("Unknown container type: " + type);
+        }
+    }
+
+    static BitmapContainer of(int low) {
+        return new Array(new char[] { (char) low }, 1);
+    }
+
+    static BitmapContainer range(int first, int last) {
+        return new Run(new char[] { (char) first, (char) (last - first) }, 1);
+    }
+
+    Bitmap toBitmap() {
+        long[] words = new long[WORDS];
+        orInto(words);
+        return new Bitmap(words, cardinality());
+    }
+
+    Array toArray() {
+        char[] values = new char[cardinality()];
+        int size = 0;
+        for (int value = nextValue(0); value >= 0; value = nextValue(value + 1)) {
+            values[size++] = (char) value;
+        }
+        return new Array(values, size);
+    }
+
+    Run toRun() {
+        char[] runs = new char[runCount() * 2];
+        int count = 0;
+        int start = nextValue(0);
+        while (start >= 0) {
+            int end = start;
+            int next = nextValue(end + 1);
+            while (next == end + 1) {
+                end = next;
+                next = nextValue(end + 1);
+            }
+            runs[count * 2] = (char) start;
+            runs[count * 2 + 1] = (char) (end - start);
+            count++;
+            start = next;
+        }
+        return new Run(runs, count);
+    }
+
+    /**
+     * Converts a container to whichever form takes the fewest bytes.
+     */
+    static BitmapContainer optimize(BitmapContainer container) {
+        int cardinality = container.cardinality();
+        int runBytes = 2 + 4 * container.runCount();
+        int arrayBytes = 2 * cardinality;
+        int best;
+        if (runBytes < Math.min(arrayBytes, BITMAP_BYTES)) {
+            best = RUN;
+        } else if (cardinality <= MAX_ARRAY_SIZE) {
+            best = ARRAY;
+        } else {
+            best = BITMAP;
+        }
+        if (best == container.type()) {
+            return container;
+        }
+        return best == RUN ? container.toRun() : best == ARRAY ? container.toArray() : container.toBitmap();
+    }
+
+    static BitmapContainer and(BitmapContainer a, BitmapContainer b) {
+        if (a.type() == ARRAY && b.type() == ARRAY) {
+            return ((Array) a).intersect((Array) b);
+        }
+        if (a.type() == ARRAY) {
+            return ((Array) a).filter(b, true);
+        }
+        if (b.type() == ARRAY) {
+            return ((Array) b).filter(a, true);
+        }
+        long[] words = a.toBitmap().words;
+        b.toBitmap().andInto(words);
+        return optimize(Bitmap.of(words));
+    }
+
+    static BitmapContainer or(BitmapContainer a, BitmapContainer b) {
+        long[] words = a.toBitmap().words;
+        b.orInto(words);
+        return optimize(Bitmap.of(words));
+    }
+
+    /**
+     * Combines any number of containers at once. Arrays that together hold no
+     * more values than an array can are merged as arrays, rather than in a
+     * bitmap.
+     */
+    static BitmapContainer or(BitmapContainer[] containers, int count) {
+        boolean arrays = true;
+        int maxCardinality = 0;
+        for (int i = 0; i < count; i++) {
+            arrays &= containers[i].type() == ARRAY;
+            maxCardinality += containers[i].cardinality();
+        }
+        if (arrays && maxCardinality <= MAX_ARRAY_SIZE) {
+            return optimize(Array.union(containers, count, maxCardinality));
+        }
+        long[] words = new long[WORDS];
+        for (int i = 0; i < count; i++) {
+            containers[i].orInto(words);
+        }
+        return optimize(Bitmap.of(words));
+    }
+
+    static BitmapContainer andNot(BitmapContainer a, BitmapContainer b) {
+        if (a.type() == ARRAY) {
+            return ((Array) a).filter(b, false);
+        }
+        long[] words = a.toBitmap().words;
+        b.andNotFrom(words);
+        return optimize(Bitmap.of(words));
+    }
+
+    static int andCardinality(BitmapContainer a, BitmapContainer b) {
+        if (a.type() == ARRAY) {
+            return ((Array) a).countIn(b);
+        }
+        if (b.type() == ARRAY) {
+            return ((Array) b).countIn(a);
+        }
+        long[] aWords = a.toBitmap().words;
+        long[] bWords = b.toBitmap().words;
+        int count = 0;
+        for (int i = 0; i < WORDS; i++) {
+            count += Long.bitCount(aWords[i] & bWords[i]);
+        }
+        return count;
+    }
+
+    static boolean sameValues(BitmapContainer a, BitmapContainer b) {
+        return a.cardinality() == b.cardinality() && andCardinality(a, b) == a.cardinality();
+    }
+
+    private static void setRange(long[] words, int first, int last) {
+        int firstWord = first >>> 6;
+        int lastWord = last >>> 6;
+        long firstMask = -1L << first;
+        long lastMask = -1L >>> (63 - (last & 63));
+        if (firstWord == lastWord) {
+            words[firstWord] |= firstMask & lastMask;
+            return;
+        }
+        words[firstWord] |= firstMask;
+        Arrays.fill(words, firstWord + 1, lastWord, -1L);
+        words[lastWord] |= lastMask;
+    }
+
+    private static void clearRange(long[] words, int first, int last) {
+        int firstWord = first >>> 6;
+        int lastWord = last >>> 6;
+        long firstMask = -1L << first;
+        long lastMask = -1L >>> (63 - (last & 63));
+        if (firstWord == lastWord) {
+            words[firstWord] &= ~(firstMask & lastMask);
+            return;
+        }
+        words[firstWord] &= ~firstMask;
+        Arrays.fill(words, firstWord + 1, lastWord, 0L);
+        words[lastWord] &= ~lastMask;
+    }
+
+    static final class Array extends BitmapContainer {
+        private char[] values;
+        private int size;
+
+        Array(char[] values, int size) {
+            this.values = values;
+            this.size = size;
+        }
+
+        static Array read(int length, ByteBuffer source, int offset) {
+            if (length > MAX_ARRAY_SIZE) {
+                throw new IllegalArgumentException("Array container too large: " + length);
+            }
+            char[] values = new char[length];
+            for (int i = 0; i < length; i++) {
+                values[i] = source.getChar(offset + i * Character.BYTES);
+                if (i > 0 && values[i] <= values[i - 1]) {
+                    throw new IllegalArgumentException("Array container is not sorted");
+                }
+            }
+            return new Array(values, length);
+        }
+
+        @Override
+        int type() {
+            return ARRAY;
+        }
+
+        @Override
+        int cardinality() {
+            return size;
+        }
+
+        @Override
+        boolean contains(int low) {
+            return Arrays.binarySearch(values, 0, size, (char) low) >= 0;
+        }
+
+        @Override
+        BitmapContainer add(int low) {
+            int insertion = -Arrays.binarySearch(values, 0, size, (char) low) - 1;
+            if (size == values.length) {
+                values = Arrays.copyOf(values, Math.min(Math.max(4, size * 2), MAX_ARRAY_SIZE + 1));
+            }
+            System.arraycopy(values, insertion, values, insertion + 1, size - insertion);
+            values[insertion] = (char) low;
+            size++;
+            return size > MAX_ARRAY_SIZE ? toBitmap() : this;
+        }
+
+        @Override
+        BitmapContainer remove(int low) {
+            int index = Arrays.binarySearch(values, 0, size, (char) low);
+            System.arraycopy(values, index + 1, values, index, size - index - 1);
+            size--;
+            return this;
+        }
+
+        @Override
+        int nextValue(int from) {
+            int index = Arrays.binarySearch(values, 0, size, (char) Math.min(from, 0xFFFF));
+            if (index < 0) {
+                index = -index - 1;
+            }
+            return index < size && values[index] >= from ? values[index] : -1;
+        }
+
+        @Override
+        int runCount() {
+            int runs = 0;
+            for (int i = 0; i < size; i++) {
+                if (i == 0 || values[i] != values[i - 1] + 1) {
+                    runs++;
+                }
+            }
+            return runs;
+        }
+
+        @Override
+        void orInto(long[] words) {
+            for (int i = 0; i < size; i++) {
+                words[values[i] >>> 6] |= 1L << values[i];
+            }
+        }
+
+        @Override
+        void andNotFrom(long[] words) {
+            for (int i = 0; i < size; i++) {
+                words[values[i] >>> 6] &= ~(1L << values[i]);
+            }
+        }
+
+        @Override
+        Array toArray() {
+            return new Array(Arrays.copyOf(values, size), size);
+        }
+
+        @Override
+        BitmapContainer copy() {
+            return toArray();
+        }
+
+        Array intersect(Array other) {
+            char[] result = new char[Math.min(size, other.size)];
+            int count = 0;
+            int i = 0;
+            int j = 0;
+            while (i < size && j < other.size) {
+                if (values[i] < other.values[j]) {
+                    i++;
+                } else if (values[i] > other.values[j]) {
+                    j++;
+                } else {
+                    result[count++] = values[i];
+                    i++;
+                    j++;
+                }
+            }
+            return new Array(result, count);
+        }
+
+        static Array union(BitmapContainer[] arrays, int count, int maxCardinality) {
+            char[] result = new char[maxCardinality];
+            int size = 0;
+            for (int i = 0; i < count; i++) {
+                Array array = (Array) arrays[i];
+                System.arraycopy(array.values, 0, result, size, array.size);
+                size += array.size;
+            }
+            Arrays.sort(result, 0, size);
+            int distinct = 0;
+            for (int i = 0; i < size; i++) {
+                if (distinct == 0 || result[i] != result[distinct - 1]) {
+                    result[distinct++] = result[i];
+                }
+            }
+            return new Array(result, distinct);
+        }
+
+        Array filter(BitmapContainer other, boolean keepIfContained) {
+            char[] result = new char[size];
+            int count = 0;
+            for (int i = 0; i < size; i++) {
+                if (other.contains(values[i]) == keepIfContained) {
+                    result[count++] = values[i];
+                }
+            }
+            return new Array(result, count);
+        }
+
+        int countIn(BitmapContainer other) {
+            int count = 0;
+            for (int i = 0; i < size; i++) {
+                if (other.contains(values[i])) {
+                    count++;
+                }
+            }
+            return count;
+        }
+
+        @Override
+        int dataSize() {
+            return size * Character.BYTES;
+        }
+
+        @Override
+        int serializedLength() {
+            return size;
+        }
+
+        @Override
+        void writeData(ByteBuffer target) {
+            for (int i = 0; i < size; i++) {
+                target.putChar(values[i]);
+            }
+        }
+    }
+
+    static final class Bitmap extends BitmapContainer {
+        private final long[] words;
+        private int cardinality;
+
+        Bitmap(long[] words, int cardinality) {
+            this.words = words;
+            this.cardinality = cardinality;
+        }
+
+        static Bitmap of(long[] words) {
+            int cardinality = 0;
+            for (long word : words) {
+                cardinality += Long.bitCount(word);
+            }
+            return new Bitmap(words, cardinality);
+        }
+
+        static Bitmap read(int length, ByteBuffer source, int offset) {
+            if (length != WORDS) {
+                throw new IllegalArgumentException("Bitmap container has wrong size: " + length);
+            }
+            long[] words = new long[WORDS];
+            for (int i = 0; i < WORDS; i++) {
+                words[i] = source.getLong(offset + i * Long.BYTES);
+            }
+            return of(words);
+        }
+
+        @Override
+        int type() {
+            return BITMAP;
+        }
+
+        @Override
+        int cardinality() {
+            return cardinality;
+        }
+
+        @Override
+        boolean contains(int low) {
+            return (words[low >>> 6] & (1L << low)) != 0;
+        }
+
+        @Override
+        BitmapContainer add(int low) {
+            words[low >>> 6] |= 1L << low;
+            cardinality++;
+            return this;
+        }
+
+        @Override
+        BitmapContainer remove(int low) {
+            words[low >>> 6] &= ~(1L << low);
+            cardinality--;
+            return cardinality <= MAX_ARRAY_SIZE ? toArray() : this;
+        }
+
+        @Override
+        int nextValue(int from) {
+            if (from > 0xFFFF) {
+                return -1;
+            }
+            int index = from >>> 6;
+            long word = words[index] & (-1L << from);
+            while (word == 0) {
+                if (++index == WORDS) {
+                    return -1;
+                }
+                word = words[index];
+            }
+            return index * Long.SIZE + Long.numberOfTrailingZeros(word);
+        }
+
+        @Override
+        int runCount() {
+            int runs = 0;
+            for (int i = 0; i < WORDS; i++) {
+                long word = words[i];
+                long carry = i == 0 ? 0 : words[i - 1] >>> 63;
+                runs += Long.bitCount(word & ~((word << 1) | carry));
+            }
+            return runs;
+        }
+
+        @Override
+        void orInto(long[] target) {
+            for (int i = 0; i < WORDS; i++) {
+                target[i] |= words[i];
+            }
+        }
+
+        void andInto(long[] target) {
+            for (int i = 0; i < WORDS; i++) {
+                target[i] &= words[i];
+            }
+        }
+
+        @Override
+        void andNotFrom(long[] target) {
+            for (int i = 0; i < WORDS; i++) {
+                target[i] &= ~words[i];
+            }
+        }
+
+        @Override
+        Bitmap toBitmap() {
+            return new Bitmap(words.clone(), cardinality);
+        }
+
+        @Override
+        BitmapContainer copy() {
+            return toBitmap();
+        }
+
+        @Override
+        int dataSize() {
+            return BITMAP_BYTES;
+        }
+
+        @Override
+        int serializedLength() {
+            return WORDS;
+        }
+
+        @Override
+        void writeData(ByteBuffer target) {
+            for (long word : words) {
+                target.putLong(word);
+            }
+        }
+    }
+
+    /**
+     * Holds runs as pairs of their first value and their length less one, so
+     * that a run of all 65536 values fits.
+     */
+    static final class Run extends BitmapContainer {
+        private final char[] runs;
+        private final int count;
+
+        Run(char[] runs, int count) {
+            this.runs = runs;
+            this.count = count;
+        }
+
+        static Run read(int length, ByteBuffer source, int offset) {
+            if (length > MAX_ARRAY_SIZE * 8) {
+                throw new IllegalArgumentException("Run container too large: " + length);
+            }
+            char[] runs = new char[length * 2];
+            int previousEnd = -2;
+            for (int i = 0; i < length; i++) {
+                runs[i * 2] = source.getChar(offset + i * 2 * Character.BYTES);
+                runs[i * 2 + 1] = source.getChar(offset + (i * 2 + 1) * Character.BYTES);
+                int end = runs[i * 2] + runs[i * 2 + 1];
+                if (runs[i * 2] <= previousEnd + 1 || end > 0xFFFF) {
+                    throw new IllegalArgumentException("Run container is not sorted");
+                }
+                previousEnd = end;
+            }
+            return new Run(runs, length);
+        }
+
+        @Override
+        int type() {
+            return RUN;
+        }
+
+        @Override
+        int cardinality() {
+            int cardinality = 0;
+            for (int i = 0; i < count; i++) {
+                cardinality += runs[i * 2 + 1] + 1;
+            }
+            return cardinality;
+        }
+
+        @Override
+        boolean contains(int low) {
+            int run = runAtOrBefore(low);
+            return run >= 0 && low <= runs[run * 2] + runs[run * 2 + 1];
+        }
+
+        @Override
+        BitmapContainer add(int low) {
+            return expand().add(low);
+        }
+
+        @Override
+        BitmapContainer remove(int low) {
+            return expand().remove(low);
+        }
+
+        private BitmapContainer expand() {
+            return cardinality() <= MAX_ARRAY_SIZE ? toArray() : toBitmap();
+        }
+
+        @Override
+        int nextValue(int from) {
+            int run = runAtOrBefore(from);
+            if (run >= 0 && from <= runs[run * 2] + runs[run * 2 + 1]) {
+                return from;
+            }
+            return run + 1 < count ? runs[(run + 1) * 2] : -1;
+        }
+
+        /**
+         * Finds the last run that starts at or before a value.
+         *
+         * @return the index of the run, or -1 if there is none
+         */
+        private int runAtOrBefore(int value) {
+            int low = 0;
+            int high = count - 1;
+            while (low <= high) {
+                int middle = (low + high) >>> 1;
+                if (runs[middle * 2] <= value) {
+                    low = middle + 1;
+                } else {
+                    high = middle - 1;
+                }
+            }
+            return high;
+        }
+
+        @Override
+        int runCount() {
+            return count;
+        }
+
+        @Override
+        void orInto(long[] words) {
+            for (int i = 0; i < count; i++) {
+                setRange(words, runs[i * 2], runs[i * 2] + runs[i * 2 + 1]);
+            }
+        }
+
+        @Override
+        void andNotFrom(long[] words) {
+            for (int i = 0; i < count; i++) {
+                clearRange(words, runs[i * 2], runs[i * 2] + runs[i * 2 + 1]);
+            }
+        }
+
+        @Override
+        Run toRun() {
+            return new Run(Arrays.copyOf(runs, count * 2), count);
+        }
+
+        @Override
+        BitmapContainer copy() {
+            return toRun();
+        }
+
+        @Override
+        int dataSize() {
+            return count * 2 * Character.BYTES;
+        }
+
+        @Override
+        int serializedLength() {
+            return count;
+        }
+
+        @Override
+        void writeData(ByteBuffer target) {
+            for (int i = 0; i < count * 2; i++) {
+                target.putChar(runs[i]);
+            }
+        }
+    }
+
+}
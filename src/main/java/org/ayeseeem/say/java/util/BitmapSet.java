@@ -0,0 +1,659 @@
+package org.ayeseeem.say.java.util;
+
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+import java.util.Set;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.IntConsumer;
+import java.util.stream.IntStream;
+import java.util.stream.StreamSupport;
+
+/**
+ * A modifiable set of {@code int} values, held as a compressed bitmap, in the
+ * style of a Roaring bitmap. This suits large sets of values that are close
+ * together, such as ranges of IDs, which it holds in a fraction of the memory
+ * of a {@code Set<Integer>}, and combines a word or a run at a time.
+ * <p>
+ * Values are grouped by their high 16 bits, and each group is held in whichever
+ * is smallest of a sorted array of its values, a bitmap of all 65536 possible
+ * values, or a list of runs of consecutive values. The set operations
+ * {@link #and(BitmapSet)}, {@link #or(BitmapSet)} and {@link #andNot(BitmapSet)}
+ * create new sets, and choose the smallest form for each group of the result.
+ * Adding values one at a time may leave groups in a larger form than they need;
+ * {@link #optimize()} converts them.
+ * <p>
+ * Values are iterated in increasing order. A set can be written to a
+ * {@link ByteBuffer}, in a little-endian form that does not depend on the
+ * platform, and read back from one, including one mapped from a file. This set
+ * is not thread-safe.
+ *
+ * @see SetSupport#bitmapSetOf(int...)
+ */
+public final class BitmapSet {
+
+    private static final int FORMAT = 0x42_4D_53_01; // "BMS", version 1
+    private static final int HEADER_SIZE = 2 * Integer.BYTES;
+    private static final int DESCRIPTOR_SIZE = 3 * Integer.BYTES;
+
+    private char[] keys;
+    private BitmapContainer[] containers;
+    private int count;
+    private int modCount;
+
+    BitmapSet() {
+        this(new char[4], new BitmapContainer[4], 0);
+    }
+
+    private BitmapSet(char[] keys, BitmapContainer[] containers, int count) {
+        this.keys = keys;
+        this.containers = containers;
+        this.count = count;
+    }
+
+    /**
+     * Gets the number of values.
+     *
+     * @return the number of values in this set
+     */
+    public long cardinality() {
+        long cardinality = 0;
+        for (int i = 0; i < count; i++) {
+            cardinality += containers[i].cardinality();
+        }
+        return cardinality;
+    }
+
+    /**
+     * Checks whether there are no values.
+     *
+     * @return true if this set is empty
+     */
+    public boolean isEmpty() {
+        return count == 0;
+    }
+
+    /**
+     * Checks whether a value is in this set.
+     *
+     * @param value
+     *            the value to find
+     * @return true if the value is in this set
+     */
+    public boolean contains(int value) {
+        int index = indexOf(keyOf(value));
+        return index >= 0 && containers[index].contains(lowOf(value));
+    }
+
+    /**
+     * Adds a value, if it is not already in this set.
+     *
+     * @param value
+     *            the value to add
+     * @return true if the value was added
+     */
+    public boolean add(int value) {
+        char key = keyOf(value);
+        int low = lowOf(value);
+        int index = indexOf(key);
+        if (index < 0) {
+            insert(-index - 1, key, BitmapContainer.of(low));
+        } else if (containers[index].contains(low)) {
+            return false;
+        } else {
+            containers[index] = containers[index].add(low);
+        }
+        modCount++;
+        return true;
+    }
+
+    /**
+     * Adds every value in a range.
+     *
+     * @param first
+     *            the first value of the range
+     * @param last
+     *            the last value of the range, which is also added
+     * @throws IllegalArgumentException
+     *             if {@code last} is less than {@code first}
+     */
+    public void addRange(int first, int last) {
+        if (last < first) {
+            throw new IllegalArgumentException("Range is backwards: " + first + " to " + last);
+        }
+        char firstKey = keyOf(first);
+        char lastKey = keyOf(last);
+        for (int key = firstKey; key <= lastKey; key++) {
+            int low = key == firstKey ? lowOf(first) : 0;
+            int high = key == lastKey ? lowOf(last) : 0xFFFF;
+            BitmapContainer range = BitmapContainer.range(low, high);
+            int index = indexOf((char) key);
+            if (index < 0) {
+                insert(-index - 1, (char) key, range);
+            } else {
+                containers[index] = BitmapContainer.or(containers[index], range);
+            }
+        }
+        modCount++;
+    }
+
+    /**
+     * Adds values, leaving out any already in this set.
+     *
+     * @param values
+     *            the values to add
+     */
+    public void addAll(int... values) {
+        for (int value : values) {
+            add(value);
+        }
+    }
+
+    /**
+     * Removes a value, if it is in this set.
+     *
+     * @param value
+     *            the value to remove
+     * @return true if the value was removed
+     */
+    public boolean remove(int value) {
+        int index = indexOf(keyOf(value));
+        int low = lowOf(value);
+        if (index < 0 || !containers[index].contains(low)) {
+            return false;
+        }
+        containers[index] = containers[index].remove(low);
+        if (containers[index].cardinality() == 0) {
+            System.arraycopy(keys, index + 1, keys, index, count - index - 1);
+            System.arraycopy(containers, index + 1, containers, index, count - index - 1);
+            containers[--count] = null;
+        }
+        modCount++;
+        return true;
+    }
+
+    /**
+     * Removes all the values.
+     */
+    public void clear() {
+        keys = new char[4];
+        containers = new BitmapContainer[4];
+        count = 0;
+        modCount++;
+    }
+
+    /**
+     * Converts each group of values to whichever form takes the least memory,
+     * which may have changed as values were added and removed.
+     */
+    public void optimize() {
+        for (int i = 0; i < count; i++) {
+            containers[i] = BitmapContainer.optimize(containers[i]);
+        }
+    }
+
+    /**
+     * Creates a set of the values that are in both this set and another.
+     *
+     * @param other
+     *            the other set
+     * @return a new set of the intersection
+     */
+    public BitmapSet and(BitmapSet other) {
+        BitmapSet result = new BitmapSet(new char[Math.min(count, other.count)],
+                new BitmapContainer[Math.min(count, other.count)], 0);
+        int i = 0;
+        int j = 0;
+        while (i < count && j < other.count) {
+            if (keys[i] < other.keys[j]) {
+                i++;
+            } else if (keys[i] > other.keys[j]) {
+                j++;
+            } else {
+                result.appendIfNotEmpty(keys[i], BitmapContainer.and(containers[i], other.containers[j]));
+                i++;
+                j++;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Counts the values that are in both this set and another, without
+     * creating the intersection.
+     *
+     * @param other
+     *            the other set
+     * @return the number of values in both sets
+     */
+    public long andCardinality(BitmapSet other) {
+        long cardinality = 0;
+        int i = 0;
+        int j = 0;
+        while (i < count && j < other.count) {
+            if (keys[i] < other.keys[j]) {
+                i++;
+            } else if (keys[i] > other.keys[j]) {
+                j++;
+            } else {
+                cardinality += BitmapContainer.andCardinality(containers[i], other.containers[j]);
+                i++;
+                j++;
+            }
+        }
+        return cardinality;
+    }
+
+    /**
+     * Creates a set of the values that are in either this set or another.
+     *
+     * @param other
+     *            the other set
+     * @return a new set of the union
+     *
+     * @see #union(BitmapSet...)
+     */
+    public BitmapSet or(BitmapSet other) {
+        BitmapSet result = new BitmapSet(new char[count + other.count],
+                new BitmapContainer[count + other.count], 0);
+        int i = 0;
+        int j = 0;
+        while (i < count || j < other.count) {
+            if (j == other.count || i < count && keys[i] < other.keys[j]) {
+                result.appendIfNotEmpty(keys[i], containers[i].copy());
+                i++;
+            } else if (i == count || keys[i] > other.keys[j]) {
+                result.appendIfNotEmpty(other.keys[j], other.containers[j].copy());
+                j++;
+            } else {
+                result.appendIfNotEmpty(keys[i], BitmapContainer.or(containers[i], other.containers[j]));
+                i++;
+                j++;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Creates a set of the values that are in this set but not in another.
+     *
+     * @param other
+     *            the other set
+     * @return a new set of the difference
+     */
+    public BitmapSet andNot(BitmapSet other) {
+        BitmapSet result = new BitmapSet(new char[count], new BitmapContainer[count], 0);
+        int j = 0;
+        for (int i = 0; i < count; i++) {
+            while (j < other.count && other.keys[j] < keys[i]) {
+                j++;
+            }
+            if (j < other.count && other.keys[j] == keys[i]) {
+                result.appendIfNotEmpty(keys[i], BitmapContainer.andNot(containers[i], other.containers[j]));
+            } else {
+                result.appendIfNotEmpty(keys[i], containers[i].copy());
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Creates a set of the values that are in any of the sets. The groups of
+     * values are combined in parallel, each with all the sets at once, rather
+     * than combining the sets a pair at a time.
+     *
+     * @param sets
+     *            the sets to combine
+     * @return a new set of the union
+     */
+    public static BitmapSet union(BitmapSet... sets) {
+        int[] distinctKeys = IntStream.range(0, sets.length)
+                .flatMap(s -> IntStream.range(0, sets[s].count).map(i -> sets[s].keys[i]))
+                .sorted()
+                .distinct()
+                .toArray();
+        char[] allKeys = new char[distinctKeys.length];
+        for (int k = 0; k < distinctKeys.length; k++) {
+            allKeys[k] = (char) distinctKeys[k];
+        }
+        BitmapContainer[] unions = IntStream.range(0, allKeys.length)
+                .parallel()
+                .mapToObj(k -> unionOf(allKeys[k], sets))
+                .toArray(BitmapContainer[]::new);
+        return new BitmapSet(allKeys, unions, allKeys.length);
+    }
+
+    private static BitmapContainer unionOf(char key, BitmapSet[] sets) {
+        BitmapContainer[] containers = new BitmapContainer[sets.length];
+        int count = 0;
+        for (BitmapSet set : sets) {
+            int index = set.indexOf(key);
+            if (index >= 0) {
+                containers[count++] = set.containers[index];
+            }
+        }
+        return BitmapContainer.or(containers, count);
+    }
+
+    /**
+     * Performs an action for each value, in increasing order, without boxing
+     * the values or creating an iterator.
+     *
+     * @param action
+     *            the action to perform
+     */
+    public void forEach(IntConsumer action) {
+        for (int i = 0; i < count; i++) {
+            BitmapContainer container = containers[i];
+            int high = keys[i] << 16;
+            for (int low = container.nextValue(0); low >= 0; low = container.nextValue(low + 1)) {
+                action.accept(valueOf(high | low));
+            }
+        }
+    }
+
+    /**
+     * Creates an iterator over the values, in increasing order. Its
+     * {@code remove()} removes the last value from this set.
+     *
+     * @return a new iterator
+     */
+    public PrimitiveIterator.OfInt iterator() {
+        return new SetIterator();
+    }
+
+    /**
+     * Creates a stream of the values, in increasing order.
+     *
+     * @return a new {@code IntStream}
+     */
+    public IntStream stream() {
+        return StreamSupport.intStream(Spliterators.spliterator(iterator(), cardinality(),
+                Spliterator.ORDERED | Spliterator.SORTED | Spliterator.DISTINCT | Spliterator.NONNULL), false);
+    }
+
+    /**
+     * Copies the values to a new array, in increasing order.
+     *
+     * @return a new array, of the size of this set
+     * @throws IllegalStateException
+     *             if there are too many values for an array
+     */
+    public int[] toArray() {
+        long cardinality = cardinality();
+        if (cardinality > Integer.MAX_VALUE - 8) {
+            throw new IllegalStateException("Too many values for an array: " + cardinality);
+        }
+        int[] values = new int[(int) cardinality];
+        int[] size = { 0 };
+        forEach((int value) -> values[size[0]++] = value);
+        return values;
+    }
+
+    /**
+     * Gets a boxed view of this set, for code that needs a {@link java.util.Set}.
+     * Values are only boxed as they are read, and changes made through the view
+     * are made to this set.
+     *
+     * @return a {@code Set} view of this set
+     */
+    public Set<Integer> asSet() {
+        return new BoxedView();
+    }
+
+    /**
+     * Gets the number of bytes that {@link #serialize(ByteBuffer)} writes.
+     *
+     * @return the size of the serialized form of this set
+     */
+    public int serializedSize() {
+        int size = HEADER_SIZE + count * DESCRIPTOR_SIZE;
+        for (int i = 0; i < count; i++) {
+            size += containers[i].dataSize();
+        }
+        return size;
+    }
+
+    /**
+     * Writes this set to a buffer, starting at its position, which is moved past
+     * what is written. The form is little-endian, whatever the order of the
+     * buffer, and each group of values can be found from a table at the start,
+     * so it can be read where it is, for example from a mapped file.
+     *
+     * @param target
+     *            the buffer to write to, which must have at least
+     *            {@link #serializedSize()} bytes remaining
+     */
+    public void serialize(ByteBuffer target) {
+        ByteBuffer out = target.slice().order(ByteOrder.LITTLE_ENDIAN);
+        out.putInt(FORMAT);
+        out.putInt(count);
+        int offset = HEADER_SIZE + count * DESCRIPTOR_SIZE;
+        for (int i = 0; i < count; i++) {
+            out.putChar(keys[i]);
+            out.putShort((short) containers[i].type());
+            out.putInt(containers[i].serializedLength());
+            out.putInt(offset);
+            offset += containers[i].dataSize();
+        }
+        for (int i = 0; i < count; i++) {
+            containers[i].writeData(out);
+        }
+        target.position(target.position() + out.position());
+    }
+
+    /**
+     * Reads a set written by {@link #serialize(ByteBuffer)}, starting at the
+     * position of the buffer, which is moved past what is read.
+     *
+     * @param source
+     *            the buffer to read from
+     * @return a new set of the values read
+     * @throws IllegalArgumentException
+     *             if the buffer does not hold a serialized set
+     */
+    public static BitmapSet deserialize(ByteBuffer source) {
+        ByteBuffer in = source.slice().order(ByteOrder.LITTLE_ENDIAN);
+        try {
+            if (in.getInt(0) != FORMAT) {
+                throw new IllegalArgumentException("Not a serialized BitmapSet");
+            }
+            int count = in.getInt(Integer.BYTES);
+            if (count < 0 || count > (in.limit() - HEADER_SIZE) / DESCRIPTOR_SIZE || count > 1 << 16) {
+                throw new IllegalArgumentException("Serialized BitmapSet has a bad size: " + count);
+            }
+            char[] keys = new char[count];
+            BitmapContainer[] containers = new BitmapContainer[count];
+            int end = HEADER_SIZE + count * DESCRIPTOR_SIZE;
+            for (int i = 0; i < count; i++) {
+                int descriptor = HEADER_SIZE + i * DESCRIPTOR_SIZE;
+                keys[i] = in.getChar(descriptor);
+                if (i > 0 && keys[i] <= keys[i - 1]) {
+                    throw new IllegalArgumentException("Serialized BitmapSet is not sorted");
+                }
+                int type = in.getShort(descriptor + Character.BYTES);
+                int length = in.getInt(descriptor + Integer.BYTES);
+                int offset = in.getInt(descriptor + 2 * Integer.BYTES);
+                containers[i] = BitmapContainer.read(type, length, in, offset);
+                if (containers[i].cardinality() == 0) {
+                    throw new IllegalArgumentException("Serialized BitmapSet has an empty group");
+                }
+                end = Math.max(end, offset + containers[i].dataSize());
+            }
+            source.position(source.position() + end);
+            return new BitmapSet(keys, containers, count);
+        } catch (BufferUnderflowException | IndexOutOfBoundsException e) {
+            throw new IllegalArgumentException("Serialized BitmapSet is truncated", e);
+        }
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (!(obj instanceof BitmapSet)) {
+            return false;
+        }
+        BitmapSet other = (BitmapSet) obj;
+        if (count != other.count) {
+            return false;
+        }
+        for (int i = 0; i < count; i++) {
+            if (keys[i] != other.keys[i] || !BitmapContainer.sameValues(containers[i], other.containers[i])) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Gets a hash code, which is the same as the hash code of the equivalent
+     * {@code Set<Integer>}.
+     */
+    @Override
+    public int hashCode() {
+        int[] hash = { 0 };
+        forEach((int value) -> hash[0] += value);
+        return hash[0];
+    }
+
+    @Override
+    public String toString() {
+        return asSet().toString();
+    }
+
+    /**
+     * Gets the high 16 bits of a value, with its sign bit flipped, so that
+     * negative values sort before positive ones.
+     */
+    private static char keyOf(int value) {
+        return (char) ((value ^ Integer.MIN_VALUE) >>> 16);
+    }
+
+    private static int lowOf(int value) {
+        return value & 0xFFFF;
+    }
+
+    private static int valueOf(int flipped) {
+        return flipped ^ Integer.MIN_VALUE;
+    }
+
+    private int indexOf(char key) {
+        return Arrays.binarySearch(keys, 0, count, key);
+    }
+
+    private void insert(int index, char key, BitmapContainer container) {
+        if (count == keys.length) {
+            keys = Arrays.copyOf(keys, Math.max(4, count * 2));
+            containers = Arrays.copyOf(containers, Math.max(4, count * 2));
+        }
+        System.arraycopy(keys, index, keys, index + 1, count - index);
+        System.arraycopy(containers, index, containers, index + 1, count - index);
+        keys[index] = key;
+        containers[index] = container;
+        count++;
+    }
+
+    private void appendIfNotEmpty(char key, BitmapContainer container) {
+        if (container.cardinality() > 0) {
+            keys[count] = key;
+            containers[count] = container;
+            count++;
+        }
+    }
+
+    private final class SetIterator implements PrimitiveIterator.OfInt {
+        private int index;
+        private int nextLow = count == 0 ? -1 : containers[0].nextValue(0);
+        private int current;
+        private boolean canRemove;
+        private int expectedModCount = modCount;
+
+        @Override
+        public boolean hasNext() {
+            return nextLow >= 0;
+        }
+
+        @Override
+        public int nextInt() {
+            checkForComodification();
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            current = valueOf(keys[index] << 16 | nextLow);
+            canRemove = true;
+            nextLow = containers[index].nextValue(nextLow + 1);
+            if (nextLow < 0 && ++index < count) {
+                nextLow = containers[index].nextValue(0);
+            }
+            return current;
+        }
+
+        /**
+         * Removes the last value, which may remove its group, so the group of
+         * the next value is found again by its key.
+         */
+        @Override
+        public void remove() {
+            checkForComodification();
+            if (!canRemove) {
+                throw new IllegalStateException();
+            }
+            char nextKey = hasNext() ? keys[index] : 0;
+            BitmapSet.this.remove(current);
+            if (hasNext()) {
+                index = indexOf(nextKey);
+            }
+            canRemove = false;
+            expectedModCount = modCount;
+        }
+
+        private void checkForComodification() {
+            if (modCount != expectedModCount) {
+                throw new ConcurrentModificationException();
+            }
+        }
+    }
+
+    private final class BoxedView extends AbstractSet<Integer> {
+
+        @Override
+        public Iterator<Integer> iterator() {
+            return BitmapSet.this.iterator();
+        }
+
+        @Override
+        public int size() {
+            return (int) Math.min(cardinality(), Integer.MAX_VALUE);
+        }
+
+        @Override
+        public boolean contains(Object o) {
+            return o instanceof Integer && BitmapSet.this.contains((Integer) o);
+        }
+
+        @Override
+        public boolean add(Integer value) {
+            return BitmapSet.this.add(value);
+        }
+
+        @Override
+        public boolean remove(Object o) {
+            return o instanceof Integer && BitmapSet.this.remove((Integer) o);
+        }
+
+        @Override
+        public void clear() {
+            BitmapSet.this.clear();
+        }
+    }
+
+}
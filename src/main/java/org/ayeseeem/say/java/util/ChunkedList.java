@@ -0,0 +1,268 @@
+package org.ayeseeem.say.java.util;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.ConcurrentModificationException;
+import java.util.RandomAccess;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+
+/**
+ * A modifiable list that holds its elements in fixed size chunks, rather than
+ * one large array. When it grows, it adds another chunk, rather than copying
+ * every element into a larger array, so very large lists grow without needing
+ * one and a half times their memory, or any single large allocation.
+ * <p>
+ * Until the first chunk is full, it grows like an {@link java.util.ArrayList}, so
+ * small lists do not take a whole chunk. Adding to the end, getting and setting
+ * take constant time. Adding or removing anywhere else has to move the later
+ * elements, as in an {@code ArrayList}.
+ * <p>
+ * Its {@link #spliterator()} splits on chunk boundaries, so that parallel
+ * streams each work on whole chunks. This list is not thread-safe.
+ *
+ * @param <E>
+ *            element type
+ *
+ * @see ListSupport#chunkedList()
+ */
+public final class ChunkedList<E> extends AbstractList<E> implements RandomAccess {
+
+    static final int DEFAULT_CHUNK_SHIFT = 12;
+
+    private static final int MIN_CAPACITY = 10;
+
+    private final int shift;
+    private final int chunkSize;
+    private final int mask;
+    private Object[][] chunks;
+    private int chunkCount;
+    private int size;
+
+    ChunkedList(int shift) {
+        this.shift = shift;
+        this.chunkSize = 1 << shift;
+        this.mask = chunkSize - 1;
+        this.chunks = new Object[MIN_CAPACITY][];
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public E get(int index) {
+        checkIndex(index);
+        return (E) chunks[index >>> shift][index & mask];
+    }
+
+    @Override
+    public E set(int index, E element) {
+        E old = get(index);
+        chunks[index >>> shift][index & mask] = element;
+        return old;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public boolean add(E element) {
+        ensureCapacity(size + 1);
+        chunks[size >>> shift][size & mask] = element;
+        size++;
+        modCount++;
+        return true;
+    }
+
+    @Override
+    public void add(int index, E element) {
+        if (index < 0 || index > size) {
+            throw outOfBounds(index);
+        }
+        ensureCapacity(size + 1);
+        Object carried = element;
+        int offset = index & mask;
+        for (int c = index >>> shift; c < chunkCount; c++, offset = 0) {
+            Object[] chunk = chunks[c];
+            int used = usedIn(c);
+            if (used < chunkSize) {
+                System.arraycopy(chunk, offset, chunk, offset + 1, used - offset);
+                chunk[offset] = carried;
+                break;
+            }
+            Object last = chunk[chunkSize - 1];
+            System.arraycopy(chunk, offset, chunk, offset + 1, chunkSize - 1 - offset);
+            chunk[offset] = carried;
+            carried = last;
+        }
+        size++;
+        modCount++;
+    }
+
+    @Override
+    public E remove(int index) {
+        E old = get(index);
+        int offset = index & mask;
+        for (int c = index >>> shift; c < chunkCount; c++, offset = 0) {
+            Object[] chunk = chunks[c];
+            int used = usedIn(c);
+            System.arraycopy(chunk, offset + 1, chunk, offset, used - offset - 1);
+            if (used < chunkSize || (c + 1) << shift >= size) {
+                chunk[used - 1] = null;
+                break;
+            }
+            chunk[chunkSize - 1] = chunks[c + 1][0];
+        }
+        size--;
+        modCount++;
+        return old;
+    }
+
+    @Override
+    public void clear() {
+        chunks = new Object[MIN_CAPACITY][];
+        chunkCount = 0;
+        size = 0;
+        modCount++;
+    }
+
+    @Override
+    protected void removeRange(int fromIndex, int toIndex) {
+        int removed = toIndex - fromIndex;
+        for (int i = fromIndex; i + removed < size; i++) {
+            chunks[i >>> shift][i & mask] = chunks[(i + removed) >>> shift][(i + removed) & mask];
+        }
+        for (int i = size - removed; i < size; i++) {
+            chunks[i >>> shift][i & mask] = null;
+        }
+        size -= removed;
+        modCount++;
+    }
+
+    /**
+     * Creates a {@link Spliterator} that splits this list on chunk boundaries,
+     * while it covers more than one chunk.
+     */
+    @Override
+    public Spliterator<E> spliterator() {
+        return new ChunkSpliterator(0, size, modCount);
+    }
+
+    @Override
+    public void forEach(Consumer<? super E> action) {
+        spliterator().forEachRemaining(action);
+    }
+
+    private int usedIn(int chunk) {
+        return Math.min(chunkSize, size - (chunk << shift));
+    }
+
+    private void ensureCapacity(int minCapacity) {
+        if (minCapacity <= chunkSize) {
+            growFirstChunk(minCapacity);
+            return;
+        }
+        growFirstChunk(chunkSize);
+        int needed = ((minCapacity - 1) >>> shift) + 1;
+        if (needed > chunks.length) {
+            chunks = Arrays.copyOf(chunks, Math.max(needed, chunks.length * 2));
+        }
+        while (chunkCount < needed) {
+            chunks[chunkCount++] = new Object[chunkSize];
+        }
+    }
+
+    private void growFirstChunk(int minCapacity) {
+        Object[] first = chunks[0];
+        int capacity = first == null ? 0 : first.length;
+        if (minCapacity > capacity) {
+            int grown = Math.max(minCapacity, Math.max(MIN_CAPACITY, capacity + (capacity >> 1)));
+            chunks[0] = Arrays.copyOf(first == null ? new Object[0] : first, Math.min(grown, chunkSize));
+            chunkCount = Math.max(chunkCount, 1);
+        }
+    }
+
+    private void checkIndex(int index) {
+        if (index < 0 || index >= size) {
+            throw outOfBounds(index);
+        }
+    }
+
+    private IndexOutOfBoundsException outOfBounds(int index) {
+        return new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+    }
+
+    private final class ChunkSpliterator implements Spliterator<E> {
+        private int index;
+        private final int fence;
+        private final int expectedModCount;
+
+        ChunkSpliterator(int origin, int fence, int expectedModCount) {
+            this.index = origin;
+            this.fence = fence;
+            this.expectedModCount = expectedModCount;
+        }
+
+        @Override
+        public Spliterator<E> trySplit() {
+            if (fence - index < 2) {
+                return null;
+            }
+            int firstChunk = index >>> shift;
+            int lastChunk = (fence - 1) >>> shift;
+            int middle;
+            if (lastChunk > firstChunk) {
+                middle = ((firstChunk + lastChunk + 1) >>> 1) << shift;
+            } else {
+                middle = (index + fence) >>> 1;
+            }
+            Spliterator<E> prefix = new ChunkSpliterator(index, middle, expectedModCount);
+            index = middle;
+            return prefix;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public boolean tryAdvance(Consumer<? super E> action) {
+            if (index >= fence) {
+                return false;
+            }
+            E element = (E) chunks[index >>> shift][index & mask];
+            index++;
+            action.accept(element);
+            checkForComodification();
+            return true;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public void forEachRemaining(Consumer<? super E> action) {
+            while (index < fence) {
+                Object[] chunk = chunks[index >>> shift];
+                int end = Math.min(fence - (index & ~mask), chunkSize);
+                for (int offset = index & mask; offset < end; offset++) {
+                    action.accept((E) chunk[offset]);
+                }
+                index += end - (index & mask);
+            }
+            checkForComodification();
+        }
+
+        @Override
+        public long estimateSize() {
+            return fence - index;
+        }
+
+        @Override
+        public int characteristics() {
+            return ORDERED | SIZED | SUBSIZED;
+        }
+
+        private void checkForComodification() {
+            if (modCount != expectedModCount) {
+                throw new ConcurrentModificationException();
+            }
+        }
+    }
+
+}
@@ -0,0 +1,159 @@
+package org.ayeseeem.say.java.util;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * The built-in {@link ElementCodec}s.
+ */
+final class Codecs {
+
+    private Codecs() {
+    }
+
+    static final class IntCodec implements ElementCodec<Integer> {
+        static final IntCodec INSTANCE = new IntCodec();
+
+        @Override
+        public int fixedWidth() {
+            return Integer.BYTES;
+        }
+
+        @Override
+        public int encodedSize(Integer element) {
+            return Integer.BYTES;
+        }
+
+        @Override
+        public void encode(Integer element, ByteBuffer target) {
+            target.putInt(element);
+        }
+
+        @Override
+        public Integer decode(ByteBuffer source, int length) {
+            return source.getInt();
+        }
+    }
+
+    static final class LongCodec implements ElementCodec<Long> {
+        static final LongCodec INSTANCE = new LongCodec();
+
+        @Override
+        public int fixedWidth() {
+            return Long.BYTES;
+        }
+
+        @Override
+        public int encodedSize(Long element) {
+            return Long.BYTES;
+        }
+
+        @Override
+        public void encode(Long element, ByteBuffer target) {
+            target.putLong(element);
+        }
+
+        @Override
+        public Long decode(ByteBuffer source, int length) {
+            return source.getLong();
+        }
+    }
+
+    static final class DoubleCodec implements ElementCodec<Double> {
+        static final DoubleCodec INSTANCE = new DoubleCodec();
+
+        @Override
+        public int fixedWidth() {
+            return Double.BYTES;
+        }
+
+        @Override
+        public int encodedSize(Double element) {
+            return Double.BYTES;
+        }
+
+        @Override
+        public void encode(Double element, ByteBuffer target) {
+            target.putDouble(element);
+        }
+
+        @Override
+        public Double decode(ByteBuffer source, int length) {
+            return source.getDouble();
+        }
+    }
+
+    /**
+     * Encodes strings as UTF-8, in the same way as
+     * {@code getBytes(StandardCharsets.UTF_8)}, but without creating a byte
+     * array. An unpaired surrogate is encoded as {@code '?'}.
+     */
+    static final class Utf8Codec implements ElementCodec<String> {
+        static final Utf8Codec INSTANCE = new Utf8Codec();
+
+        @Override
+        public int fixedWidth() {
+            return VARIABLE_WIDTH;
+        }
+
+        @Override
+        public int encodedSize(String element) {
+            int size = 0;
+            for (int i = 0; i < element.length(); i++) {
+                char c = element.charAt(i);
+                if (c < 0x80) {
+                    size += 1;
+                } else if (c < 0x800) {
+                    size += 2;
+                } else if (isSurrogatePair(element, i)) {
+                    size += 4;
+                    i++;
+                } else if (Character.isSurrogate(c)) {
+                    size += 1;
+                } else {
+                    size += 3;
+                }
+            }
+            return size;
+        }
+
+        @Override
+        public void encode(String element, ByteBuffer target) {
+            for (int i = 0; i < element.length(); i++) {
+                char c = element.charAt(i);
+                if (c < 0x80) {
+                    target.put((byte) c);
+                } else if (c < 0x800) {
+                    target.put((byte) (0xc0 | c >> 6));
+                    target.put((byte) (0x80 | c & 0x3f));
+                } else if (isSurrogatePair(element, i)) {
+                    int codePoint = Character.toCodePoint(c, element.charAt(++i));
+                    target.put((byte) (0xf0 | codePoint >> 18));
+                    target.put((byte) (0x80 | codePoint >> 12 & 0x3f));
+                    target.put((byte) (0x80 | codePoint >> 6 & 0x3f));
+                    target.put((byte) (0x80 | codePoint & 0x3f));
+                } else if (Character.isSurrogate(c)) {
+                    target.put((byte) '?');
+                } else {
+                    target.put((byte) (0xe0 | c >> 12));
+                    target.put((byte) (0x80 | c >> 6 & 0x3f));
+                    target.put((byte) (0x80 | c & 0x3f));
+                }
+            }
+        }
+
+        @Override
+        public String decode(ByteBuffer source, int length) {
+            byte[] bytes = new byte[length];
+            source.get(bytes);
+            return new String(bytes, StandardCharsets.UTF_8);
+        }
+
+        private static boolean isSurrogatePair(String text, int index) {
+            return Character.isHighSurrogate(text.charAt(index))
+                    && index + 1 < text.length()
+                    && Character.isLowSurrogate(text.charAt(index + 1));
+        }
+    }
+
+}
@@ -0,0 +1,100 @@
+package org.ayeseeem.say.java.util;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Converts elements to and from bytes, so they can be stored outside the Java
+ * heap - see {@link OffHeapList}.
+ * <p>
+ * A codec either encodes every element in the same number of bytes (its
+ * {@link #fixedWidth()}), or encodes each element in as many bytes as it needs,
+ * in which case its fixed width is {@link #VARIABLE_WIDTH}.
+ *
+ * @param <T>
+ *            element type
+ *
+ * @see ListSupport#offHeapListOf(ElementCodec)
+ */
+public interface ElementCodec<T> {
+
+    /**
+     * The {@link #fixedWidth()} of a codec whose elements are encoded in
+     * different numbers of bytes.
+     */
+    int VARIABLE_WIDTH = -1;
+
+    /**
+     * Gets the number of bytes every element is encoded in.
+     *
+     * @return the width of every element, or {@link #VARIABLE_WIDTH}
+     */
+    int fixedWidth();
+
+    /**
+     * Gets the number of bytes an element will be encoded in.
+     *
+     * @param element
+     *            the element to be encoded
+     * @return the number of bytes {@link #encode(Object, ByteBuffer)} will write
+     */
+    int encodedSize(T element);
+
+    /**
+     * Encodes an element, writing exactly {@link #encodedSize(Object)} bytes at
+     * the target's position, and advancing its position past them.
+     *
+     * @param element
+     *            the element to encode
+     * @param target
+     *            the buffer to write to
+     */
+    void encode(T element, ByteBuffer target);
+
+    /**
+     * Decodes an element from the bytes at the source's position.
+     *
+     * @param source
+     *            the buffer to read from, which might be read-only
+     * @param length
+     *            the number of bytes the element was encoded in
+     * @return the decoded element
+     */
+    T decode(ByteBuffer source, int length);
+
+    /**
+     * Gets a codec for {@code Integer}s, which are encoded in 4 bytes.
+     *
+     * @return a fixed width codec
+     */
+    static ElementCodec<Integer> ints() {
+        return Codecs.IntCodec.INSTANCE;
+    }
+
+    /**
+     * Gets a codec for {@code Long}s, which are encoded in 8 bytes.
+     *
+     * @return a fixed width codec
+     */
+    static ElementCodec<Long> longs() {
+        return Codecs.LongCodec.INSTANCE;
+    }
+
+    /**
+     * Gets a codec for {@code Double}s, which are encoded in 8 bytes.
+     *
+     * @return a fixed width codec
+     */
+    static ElementCodec<Double> doubles() {
+        return Codecs.DoubleCodec.INSTANCE;
+    }
+
+    /**
+     * Gets a codec for {@code String}s, which are encoded as UTF-8.
+     *
+     * @return a variable width codec
+     */
+    static ElementCodec<String> utf8Strings() {
+        return Codecs.Utf8Codec.INSTANCE;
+    }
+
+}
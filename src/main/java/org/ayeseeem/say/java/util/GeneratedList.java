@@ -0,0 +1,110 @@
+package org.ayeseeem.say.java.util;
+
+import java.util.AbstractList;
+import java.util.RandomAccess;
+import java.util.Spliterator;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.IntFunction;
+
+/**
+ * An unmodifiable list whose elements are computed from their index when they
+ * are used, rather than when the list is created, so elements that are never
+ * used are never computed.
+ * <p>
+ * Depending on its {@link Mode}, it either computes an element every time it is
+ * used, or computes it once and keeps it. A list that keeps its elements can be
+ * used by many threads; two threads that use an element for the first time at
+ * once may both compute it, but both get the element that is kept. Kept
+ * elements are held in chunks, each only allocated when one of its elements is
+ * first used, so a very large list costs little until it is used.
+ *
+ * @param <E>
+ *            element type
+ *
+ * @see ListSupport#generatedListOf(int, IntFunction, Mode)
+ */
+public final class GeneratedList<E> extends AbstractList<E> implements RandomAccess {
+
+    /**
+     * Whether elements are computed every time they are used, or kept.
+     */
+    public enum Mode {
+        /**
+         * Computes an element every time it is used, which suits elements that
+         * are cheap to compute, or used only once.
+         */
+        RECOMPUTE,
+
+        /**
+         * Computes an element the first time it is used, and keeps it, which
+         * suits elements that are expensive to compute, and may be used again.
+         */
+        CACHE
+    }
+
+    static final int CHUNK_SHIFT = 10;
+
+    private static final int CHUNK_SIZE = 1 << CHUNK_SHIFT;
+    private static final int MASK = CHUNK_SIZE - 1;
+    private static final Object NULL = new Object();
+
+    private final int size;
+    private final IntFunction<? extends E> generator;
+    private final AtomicReferenceArray<AtomicReferenceArray<Object>> cache;
+
+    GeneratedList(int size, IntFunction<? extends E> generator, Mode mode) {
+        if (size < 0) {
+            throw new IllegalArgumentException("Size cannot be negative: " + size);
+        }
+        this.size = size;
+        this.generator = generator;
+        this.cache = mode == Mode.CACHE ? new AtomicReferenceArray<>((size + MASK) >>> CHUNK_SHIFT) : null;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public E get(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        }
+        if (cache == null) {
+            return generator.apply(index);
+        }
+
+        AtomicReferenceArray<Object> chunk = chunkOf(index);
+        int offset = index & MASK;
+        Object cached = chunk.get(offset);
+        if (cached == null) {
+            E element = generator.apply(index);
+            if (chunk.compareAndSet(offset, null, element == null ? NULL : element)) {
+                return element;
+            }
+            cached = chunk.get(offset);
+        }
+        return cached == NULL ? null : (E) cached;
+    }
+
+    private AtomicReferenceArray<Object> chunkOf(int index) {
+        int c = index >>> CHUNK_SHIFT;
+        AtomicReferenceArray<Object> chunk = cache.get(c);
+        if (chunk == null) {
+            int start = c << CHUNK_SHIFT;
+            chunk = new AtomicReferenceArray<>(Math.min(CHUNK_SIZE, size - start));
+            if (!cache.compareAndSet(c, null, chunk)) {
+                chunk = cache.get(c);
+            }
+        }
+        return chunk;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public Spliterator<E> spliterator() {
+        return new RandomAccessSpliterator<>(this);
+    }
+
+}
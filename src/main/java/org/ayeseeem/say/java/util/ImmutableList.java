@@ -0,0 +1,390 @@
+package org.ayeseeem.say.java.util;
+
+import java.io.Serializable;
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+import java.util.RandomAccess;
+import java.util.function.Predicate;
+import java.util.function.UnaryOperator;
+
+/**
+ * The unmodifiable lists created by {@link ListSupport#listOf(Object...)} and
+ * {@link ListSupport#unmodifiableListOf(Object...)}.
+ * <p>
+ * Lists of up to four members hold them in fields, with no array, and larger
+ * lists hold a copy of the members, so a list does not change if the array it
+ * was created from changes. Every method that would modify a list throws an
+ * {@link UnsupportedOperationException}, even if it would not have changed
+ * anything. Unlike the lists from Java 9's {@code List.of()}, {@code null}
+ * members are allowed.
+ *
+ * @param <E>
+ *            member type
+ */
+abstract class ImmutableList<E> extends AbstractList<E> implements RandomAccess, Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    ImmutableList() {
+    }
+
+    @SafeVarargs
+    static <E> List<E> of(E... members) {
+        switch (members.length) {
+        case 0:
+            return empty();
+        case 1:
+            return new List1<>(members[0]);
+        case 2:
+            return new List2<>(members[0], members[1]);
+        case 3:
+            return new List3<>(members[0], members[1], members[2]);
+        case 4:
+            return new List4<>(members[0], members[1], members[2], members[3]);
+        default:
+            return new ListN<>(members.clone());
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    static <E> List<E> empty() {
+        return (List<E>) List0.EMPTY;
+    }
+
+    @Override
+    public boolean contains(Object o) {
+        return indexOf(o) >= 0;
+    }
+
+    @Override
+    public final E set(int index, E element) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public final boolean add(E e) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public final void add(int index, E element) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public final boolean addAll(Collection<? extends E> c) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public final boolean addAll(int index, Collection<? extends E> c) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public final E remove(int index) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public final boolean remove(Object o) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public final boolean removeAll(Collection<?> c) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public final boolean retainAll(Collection<?> c) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public final boolean removeIf(Predicate<? super E> filter) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public final void replaceAll(UnaryOperator<E> operator) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public final void sort(Comparator<? super E> c) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public final void clear() {
+        throw new UnsupportedOperationException();
+    }
+
+    static IndexOutOfBoundsException outOfBounds(int index, int size) {
+        return new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+    }
+
+    static final class List0<E> extends ImmutableList<E> {
+        private static final long serialVersionUID = 1L;
+
+        static final List0<Object> EMPTY = new List0<>();
+
+        private List0() {
+        }
+
+        @Override
+        public E get(int index) {
+            throw outOfBounds(index, 0);
+        }
+
+        @Override
+        public int size() {
+            return 0;
+        }
+
+        @Override
+        public int indexOf(Object o) {
+            return -1;
+        }
+
+        @Override
+        public int lastIndexOf(Object o) {
+            return -1;
+        }
+
+        private Object readResolve() {
+            return EMPTY;
+        }
+    }
+
+    static final class List1<E> extends ImmutableList<E> {
+        private static final long serialVersionUID = 1L;
+
+        private final E e0;
+
+        List1(E e0) {
+            this.e0 = e0;
+        }
+
+        @Override
+        public E get(int index) {
+            if (index == 0) {
+                return e0;
+            }
+            throw outOfBounds(index, 1);
+        }
+
+        @Override
+        public int size() {
+            return 1;
+        }
+
+        @Override
+        public int indexOf(Object o) {
+            return Objects.equals(o, e0) ? 0 : -1;
+        }
+
+        @Override
+        public int lastIndexOf(Object o) {
+            return indexOf(o);
+        }
+    }
+
+    static final class List2<E> extends ImmutableList<E> {
+        private static final long serialVersionUID = 1L;
+
+        private final E e0;
+        private final E e1;
+
+        List2(E e0, E e1) {
+            this.e0 = e0;
+            this.e1 = e1;
+        }
+
+        @Override
+        public E get(int index) {
+            switch (index) {
+            case 0:
+                return e0;
+            case 1:
+                return e1;
+            default:
+                throw outOfBounds(index, 2);
+            }
+        }
+
+        @Override
+        public int size() {
+            return 2;
+        }
+
+        @Override
+        public int indexOf(Object o) {
+            return Objects.equals(o, e0) ? 0
+                    : Objects.equals(o, e1) ? 1
+                    : -1;
+        }
+
+        @Override
+        public int lastIndexOf(Object o) {
+            return Objects.equals(o, e1) ? 1
+                    : Objects.equals(o, e0) ? 0
+                    : -1;
+        }
+    }
+
+    static final class List3<E> extends ImmutableList<E> {
+        private static final long serialVersionUID = 1L;
+
+        private final E e0;
+        private final E e1;
+        private final E e2;
+
+        List3(E e0, E e1, E e2) {
+            this.e0 = e0;
+            this.e1 = e1;
+            this.e2 = e2;
+        }
+
+        @Override
+        public E get(int index) {
+            switch (index) {
+            case 0:
+                return e0;
+            case 1:
+                return e1;
+            case 2:
+                return e2;
+            default:
+                throw outOfBounds(index, 3);
+            }
+        }
+
+        @Override
+        public int size() {
+            return 3;
+        }
+
+        @Override
+        public int indexOf(Object o) {
+            return Objects.equals(o, e0) ? 0
+                    : Objects.equals(o, e1) ? 1
+                    : Objects.equals(o, e2) ? 2
+                    : -1;
+        }
+
+        @Override
+        public int lastIndexOf(Object o) {
+            return Objects.equals(o, e2) ? 2
+                    : Objects.equals(o, e1) ? 1
+                    : Objects.equals(o, e0) ? 0
+                    : -1;
+        }
+    }
+
+    static final class List4<E> extends ImmutableList<E> {
+        private static final long serialVersionUID = 1L;
+
+        private final E e0;
+        private final E e1;
+        private final E e2;
+        private final E e3;
+
+        List4(E e0, E e1, E e2, E e3) {
+            this.e0 = e0;
+            this.e1 = e1;
+            this.e2 = e2;
+            this.e3 = e3;
+        }
+
+        @Override
+        public E get(int index) {
+            switch (index) {
+            case 0:
+                return e0;
+            case 1:
+                return e1;
+            case 2:
+                return e2;
+            case 3:
+                return e3;
+            default:
+                throw outOfBounds(index, 4);
+            }
+        }
+
+        @Override
+        public int size() {
+            return 4;
+        }
+
+        @Override
+        public int indexOf(Object o) {
+            return Objects.equals(o, e0) ? 0
+                    : Objects.equals(o, e1) ? 1
+                    : Objects.equals(o, e2) ? 2
+                    : Objects.equals(o, e3) ? 3
+                    : -1;
+        }
+
+        @Override
+        public int lastIndexOf(Object o) {
+            return Objects.equals(o, e3) ? 3
+                    : Objects.equals(o, e2) ? 2
+                    : Objects.equals(o, e1) ? 1
+                    : Objects.equals(o, e0) ? 0
+                    : -1;
+        }
+    }
+
+    static final class ListN<E> extends ImmutableList<E> {
+        private static final long serialVersionUID = 1L;
+
+        private final E[] members;
+
+        ListN(E[] members) {
+            this.members = members;
+        }
+
+        @Override
+        public E get(int index) {
+            return members[index];
+        }
+
+        @Override
+        public int size() {
+            return members.length;
+        }
+
+        @Override
+        public int indexOf(Object o) {
+            for (int i = 0; i < members.length; i++) {
+                if (Objects.equals(o, members[i])) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+
+        @Override
+        public int lastIndexOf(Object o) {
+            for (int i = members.length - 1; i >= 0; i--) {
+                if (Objects.equals(o, members[i])) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+
+        @Override
+        public Object[] toArray() {
+            return Arrays.copyOf(members, members.length, Object[].class);
+        }
+    }
+
+}
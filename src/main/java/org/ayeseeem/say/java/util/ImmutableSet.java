@@ -0,0 +1,360 @@
+package org.ayeseeem.say.java.util;
+
+import java.io.InvalidObjectException;
+import java.io.ObjectInputStream;
+import java.io.Serializable;
+import java.util.AbstractSet;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Predicate;
+
+/**
+ * The unmodifiable sets created by {@link SetSupport#setOf(Object...)} and
+ * {@link SetSupport#unmodifiableSetOf(Object...)}.
+ * <p>
+ * Sets of up to two members hold them in fields. Larger sets hold them in a
+ * single array, at a position found from their hash code, moving on to the next
+ * position if that is taken, so a set takes much less memory than a
+ * {@link java.util.HashSet}, and finding a member needs no node to be followed.
+ * The array is at most half full, to keep the runs of taken positions short.
+ * <p>
+ * Every method that would modify a set throws an
+ * {@link UnsupportedOperationException}, even if it would not have changed
+ * anything. Unlike the sets from Java 9's {@code Set.of()}, {@code null}
+ * members are allowed, and duplicates are removed rather than rejected.
+ *
+ * @param <E>
+ *            member type
+ */
+abstract class ImmutableSet<E> extends AbstractSet<E> implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    ImmutableSet() {
+    }
+
+    @SafeVarargs
+    static <E> Set<E> of(E... members) {
+        switch (members.length) {
+        case 0:
+            return empty();
+        case 1:
+            return new Set1<>(members[0]);
+        case 2:
+            return Objects.equals(members[0], members[1])
+                    ? new Set1<>(members[0])
+                    : new Set2<>(members[0], members[1]);
+        default:
+            return SetN.of(members);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    static <E> Set<E> empty() {
+        return (Set<E>) Set0.EMPTY;
+    }
+
+    @Override
+    public final boolean add(E e) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public final boolean addAll(Collection<? extends E> c) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public final boolean remove(Object o) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public final boolean removeAll(Collection<?> c) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public final boolean retainAll(Collection<?> c) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public final boolean removeIf(Predicate<? super E> filter) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public final void clear() {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * Serializes the members, rather than the array, because where a member is
+     * in the array depends on hash codes, which may differ when it is read.
+     */
+    final Object writeReplace() {
+        return new SerializedForm(toArray());
+    }
+
+    private void readObject(ObjectInputStream in) throws InvalidObjectException {
+        throw new InvalidObjectException("Only the serialized form of the members can be read");
+    }
+
+    private static final class SerializedForm implements Serializable {
+        private static final long serialVersionUID = 1L;
+
+        private final Object[] members;
+
+        SerializedForm(Object[] members) {
+            this.members = members;
+        }
+
+        private Object readResolve() {
+            return of(members);
+        }
+    }
+
+    static final class Set0<E> extends ImmutableSet<E> {
+        private static final long serialVersionUID = 1L;
+
+        static final Set0<Object> EMPTY = new Set0<>();
+
+        private Set0() {
+        }
+
+        @Override
+        public Iterator<E> iterator() {
+            return Collections.emptyIterator();
+        }
+
+        @Override
+        public int size() {
+            return 0;
+        }
+
+        @Override
+        public boolean contains(Object o) {
+            return false;
+        }
+    }
+
+    static final class Set1<E> extends ImmutableSet<E> {
+        private static final long serialVersionUID = 1L;
+
+        private final E e0;
+
+        Set1(E e0) {
+            this.e0 = e0;
+        }
+
+        @Override
+        public Iterator<E> iterator() {
+            return new MembersIterator<E>(1) {
+                @Override
+                E member(int index) {
+                    return e0;
+                }
+            };
+        }
+
+        @Override
+        public int size() {
+            return 1;
+        }
+
+        @Override
+        public boolean contains(Object o) {
+            return Objects.equals(o, e0);
+        }
+    }
+
+    static final class Set2<E> extends ImmutableSet<E> {
+        private static final long serialVersionUID = 1L;
+
+        private final E e0;
+        private final E e1;
+
+        Set2(E e0, E e1) {
+            this.e0 = e0;
+            this.e1 = e1;
+        }
+
+        @Override
+        public Iterator<E> iterator() {
+            return new MembersIterator<E>(2) {
+                @Override
+                E member(int index) {
+                    return index == 0 ? e0 : e1;
+                }
+            };
+        }
+
+        @Override
+        public int size() {
+            return 2;
+        }
+
+        @Override
+        public boolean contains(Object o) {
+            return Objects.equals(o, e0) || Objects.equals(o, e1);
+        }
+    }
+
+    /**
+     * Holds its members in an array, except for any {@code null} member, which
+     * is noted by a flag, so that an empty position can be {@code null}.
+     */
+    static final class SetN<E> extends ImmutableSet<E> {
+        private static final long serialVersionUID = 1L;
+
+        private final Object[] table;
+        private final int size;
+        private final boolean containsNull;
+
+        private SetN(Object[] table, int size, boolean containsNull) {
+            this.table = table;
+            this.size = size;
+            this.containsNull = containsNull;
+        }
+
+        @SafeVarargs
+        static <E> Set<E> of(E... members) {
+            Object[] table = new Object[tableSizeFor(members.length)];
+            int size = 0;
+            boolean containsNull = false;
+            for (E member : members) {
+                if (member == null) {
+                    if (!containsNull) {
+                        containsNull = true;
+                        size++;
+                    }
+                } else if (insert(table, member)) {
+                    size++;
+                }
+            }
+
+            if (size <= 2) {
+                Object[] distinct = new SetN<E>(table, size, containsNull).toArray();
+                return size == 1 ? new Set1<>(uncheckedCast(distinct[0]))
+                        : new Set2<>(uncheckedCast(distinct[0]), uncheckedCast(distinct[1]));
+            }
+            return new SetN<>(table, size, containsNull);
+        }
+
+        private static int tableSizeFor(int members) {
+            if (members > 1 << 29) {
+                throw new IllegalArgumentException("Too many members for a set: " + members);
+            }
+            return Integer.highestOneBit(members * 2 - 1) << 1;
+        }
+
+        private static boolean insert(Object[] table, Object member) {
+            int mask = table.length - 1;
+            for (int i = indexFor(member, mask);; i = (i + 1) & mask) {
+                Object taken = table[i];
+                if (taken == null) {
+                    table[i] = member;
+                    return true;
+                }
+                if (taken.equals(member)) {
+                    return false;
+                }
+            }
+        }
+
+        private static int indexFor(Object member, int mask) {
+            int hash = member.hashCode();
+            return (hash ^ (hash >>> 16)) & mask;
+        }
+
+        @SuppressWarnings("unchecked")
+        private static <E> E uncheckedCast(Object member) {
+            return (E) member;
+        }
+
+        @Override
+        public Iterator<E> iterator() {
+            return new Iterator<E>() {
+                private int index = containsNull ? -1 : nextTaken(0);
+
+                @Override
+                public boolean hasNext() {
+                    return index < table.length;
+                }
+
+                @Override
+                public E next() {
+                    if (!hasNext()) {
+                        throw new NoSuchElementException();
+                    }
+                    E member = index < 0 ? null : uncheckedCast(table[index]);
+                    index = nextTaken(index + 1);
+                    return member;
+                }
+            };
+        }
+
+        private int nextTaken(int from) {
+            int index = from;
+            while (index < table.length && table[index] == null) {
+                index++;
+            }
+            return index;
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+
+        @Override
+        public boolean contains(Object o) {
+            if (o == null) {
+                return containsNull;
+            }
+            int mask = table.length - 1;
+            for (int i = indexFor(o, mask);; i = (i + 1) & mask) {
+                Object taken = table[i];
+                if (taken == null) {
+                    return false;
+                }
+                if (taken.equals(o)) {
+                    return true;
+                }
+            }
+        }
+    }
+
+    /**
+     * Iterates over the members of a set that holds them in fields.
+     */
+    private abstract static class MembersIterator<E> implements Iterator<E> {
+        private final int size;
+        private int index;
+
+        MembersIterator(int size) {
+            this.size = size;
+        }
+
+        abstract E member(int index);
+
+        @Override
+        public boolean hasNext() {
+            return index < size;
+        }
+
+        @Override
+        public E next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            return member(index++);
+        }
+    }
+
+}
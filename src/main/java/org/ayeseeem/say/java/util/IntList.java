@@ -0,0 +1,268 @@
+package org.ayeseeem.say.java.util;
+
+import java.util.Arrays;
+import java.util.function.IntConsumer;
+import java.util.stream.IntStream;
+
+/**
+ * A growable list of {@code int} values, held in an {@code int[]} without
+ * boxing. This takes about a fifth of the memory of an equivalent
+ * {@code List<Integer>}.
+ * <p>
+ * Use {@link #asList()} to pass the values to code that needs a
+ * {@link java.util.List}. This list is not thread-safe.
+ *
+ * @see ListSupport#intListOf(int...)
+ * @see LongList
+ * @see DoubleList
+ */
+public final class IntList extends PrimitiveList<Integer> {
+
+    private int[] values;
+
+    IntList(int[] values) {
+        super(values.length);
+        this.values = values;
+    }
+
+    /**
+     * Gets a value.
+     *
+     * @param index
+     *            the index of the value
+     * @return the value
+     * @throws IndexOutOfBoundsException
+     *             if the index is not in the list
+     */
+    public int get(int index) {
+        checkIndex(index);
+        return values[index];
+    }
+
+    /**
+     * Replaces a value.
+     *
+     * @param index
+     *            the index of the value
+     * @param value
+     *            the new value
+     * @return the old value
+     * @throws IndexOutOfBoundsException
+     *             if the index is not in the list
+     */
+    public int set(int index, int value) {
+        checkIndex(index);
+        int old = values[index];
+        values[index] = value;
+        return old;
+    }
+
+    /**
+     * Adds a value to the end.
+     *
+     * @param value
+     *            the value to add
+     */
+    public void add(int value) {
+        if (size == values.length) {
+            grow(size + 1);
+        }
+        values[size++] = value;
+        modified();
+    }
+
+    /**
+     * Inserts a value, moving later values along.
+     *
+     * @param index
+     *            the index to insert at, which can be the size of the list
+     * @param value
+     *            the value to insert
+     * @throws IndexOutOfBoundsException
+     *             if the index is not in the list, or just after it
+     */
+    public void add(int index, int value) {
+        checkPositionIndex(index);
+        if (size == values.length) {
+            grow(size + 1);
+        }
+        System.arraycopy(values, index, values, index + 1, size - index);
+        values[index] = value;
+        size++;
+        modified();
+    }
+
+    /**
+     * Adds values to the end.
+     *
+     * @param values
+     *            the values to add
+     */
+    public void addAll(int... values) {
+        if (size + values.length > this.values.length) {
+            grow(size + values.length);
+        }
+        System.arraycopy(values, 0, this.values, size, values.length);
+        size += values.length;
+        modified();
+    }
+
+    /**
+     * Removes a value, moving later values back.
+     *
+     * @param index
+     *            the index of the value to remove
+     * @return the removed value
+     * @throws IndexOutOfBoundsException
+     *             if the index is not in the list
+     */
+    public int removeAt(int index) {
+        checkIndex(index);
+        int old = values[index];
+        System.arraycopy(values, index + 1, values, index, size - index - 1);
+        size--;
+        modified();
+        return old;
+    }
+
+    /**
+     * Sorts the values into ascending order.
+     */
+    public void sort() {
+        Arrays.sort(values, 0, size);
+        modified();
+    }
+
+    /**
+     * Searches for a value, which must already be {@link #sort() sorted}.
+     *
+     * @param value
+     *            the value to search for
+     * @return the index of the value, if it is found; otherwise
+     *         {@code (-(insertion point) - 1)}, as for
+     *         {@link Arrays#binarySearch(int[], int)}
+     */
+    public int binarySearch(int value) {
+        return Arrays.binarySearch(values, 0, size, value);
+    }
+
+    /**
+     * Checks whether the list contains a value.
+     *
+     * @param value
+     *            the value to check
+     * @return true if the value is in the list
+     */
+    public boolean contains(int value) {
+        return indexOf(value) >= 0;
+    }
+
+    /**
+     * Finds the first index of a value.
+     *
+     * @param value
+     *            the value to find
+     * @return the index of the value, or -1 if it is not in the list
+     */
+    public int indexOf(int value) {
+        for (int i = 0; i < size; i++) {
+            if (values[i] == value) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Performs an action for each value, in order.
+     *
+     * @param action
+     *            the action to perform
+     */
+    public void forEach(IntConsumer action) {
+        for (int i = 0; i < size; i++) {
+            action.accept(values[i]);
+        }
+    }
+
+    /**
+     * Creates a stream of the values.
+     *
+     * @return a new {@code IntStream}
+     */
+    public IntStream stream() {
+        return Arrays.stream(values, 0, size);
+    }
+
+    /**
+     * Copies the values to a new array.
+     *
+     * @return a new array, of the size of this list
+     */
+    public int[] toArray() {
+        return Arrays.copyOf(values, size);
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (!(obj instanceof IntList)) {
+            return false;
+        }
+        IntList other = (IntList) obj;
+        if (size != other.size) {
+            return false;
+        }
+        for (int i = 0; i < size; i++) {
+            if (values[i] != other.values[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Gets a hash code, which is the same as the hash code of the equivalent
+     * {@code List<Integer>}.
+     */
+    @Override
+    public int hashCode() {
+        int hash = 1;
+        for (int i = 0; i < size; i++) {
+            hash = 31 * hash + Integer.hashCode(values[i]);
+        }
+        return hash;
+    }
+
+    @Override
+    Integer boxedGet(int index) {
+        return get(index);
+    }
+
+    @Override
+    Integer boxedSet(int index, Integer element) {
+        return set(index, element);
+    }
+
+    @Override
+    void boxedAdd(int index, Integer element) {
+        add(index, element);
+    }
+
+    @Override
+    Integer boxedRemove(int index) {
+        return removeAt(index);
+    }
+
+    @Override
+    boolean boxedContains(Object o) {
+        return o instanceof Integer && contains((Integer) o);
+    }
+
+    private void grow(int minCapacity) {
+        values = Arrays.copyOf(values, newCapacity(values.length, minCapacity));
+    }
+
+}
@@ -1,10 +1,23 @@
 package org.ayeseeem.say.java.util;
 
+import java.io.IOException;
+import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.LinkedList;
 import java.util.List;
 import java.util.Optional;
+import java.util.OptionalDouble;
+import java.util.OptionalInt;
+import java.util.OptionalLong;
+import java.util.RandomAccess;
+import java.util.SortedSet;
+import java.util.function.IntFunction;
+
+import org.ayeseeem.say.java.util.GeneratedList.Mode;
 
 /**
  * Helpers and extensions for {@link java.util.List}.
@@ -92,6 +105,37 @@ public class ListSupport {
         return modifiableListOf();
     }
 
+    /**
+     * Creates an empty, modifiable {@link ChunkedList}, which grows by adding
+     * fixed size chunks, rather than by copying all its elements to a larger
+     * array. Use this instead of {@link #initiallyEmptyList()} for lists that
+     * will grow very large.
+     *
+     * @param <T>
+     *            member type
+     * @return a new, modifiable {@code ChunkedList}
+     *
+     * @see #initiallyEmptyList()
+     */
+    public static <T> ChunkedList<T> chunkedList() {
+        return new ChunkedList<>(ChunkedList.DEFAULT_CHUNK_SHIFT);
+    }
+
+    /**
+     * Creates an empty {@link AppendOnlyConcurrentList}, which many threads can
+     * add to at once without locking. Use this instead of a synchronized
+     * {@link #initiallyEmptyList()} when threads only ever add to the list.
+     *
+     * @param <T>
+     *            member type
+     * @return a new, empty {@code AppendOnlyConcurrentList}
+     *
+     * @see #initiallyEmptyList()
+     */
+    public static <T> AppendOnlyConcurrentList<T> appendOnlyConcurrentList() {
+        return new AppendOnlyConcurrentList<>();
+    }
+
     /**
      * Creates an unmodifiable {@link List} from the members.
      * <p>
@@ -102,7 +146,9 @@ public class ListSupport {
      * {@code Arrays#asList()} does not make it clear).
      * <p>
      * This is like {@link Collections#unmodifiableList(List)}, but it takes
-     * varargs, not a list.
+     * varargs, not a list. The list holds its own copy of the members, so it does
+     * not change if the array passed in changes, and none of its members can be
+     * replaced. Lists of up to four members are held without an array.
      *
      * @param <T>
      *            member type
@@ -115,7 +161,7 @@ public class ListSupport {
      */
     @SafeVarargs
     public static <T> List<T> unmodifiableListOf(T... members) {
-        return Arrays.asList(members);
+        return ImmutableList.of(members);
     }
 
     /**
@@ -134,6 +180,150 @@ public class ListSupport {
         return unmodifiableListOf();
     }
 
+    /**
+     * Creates a {@link PersistentList} from the members. New versions of a
+     * persistent list, with elements added or replaced, share most of their
+     * structure with the original, so they are much cheaper to create than a
+     * copy of a large list.
+     * <p>
+     * To add many members at once, use {@link PersistentList#builder()} or
+     * {@link PersistentList#toBuilder()}.
+     *
+     * @param <T>
+     *            member type
+     * @param members
+     *            the members of the list
+     * @return a new {@code PersistentList}
+     *
+     * @see #unmodifiableListOf(Object...)
+     */
+    @SafeVarargs
+    public static <T> PersistentList<T> persistentListOf(T... members) {
+        return PersistentList.<T> builder().addAll(Arrays.asList(members)).build();
+    }
+
+    /**
+     * Creates an unmodifiable list whose elements are computed from their index
+     * every time they are used, so the list takes no memory for them.
+     *
+     * @param <T>
+     *            member type
+     * @param size
+     *            the number of elements
+     * @param generator
+     *            computes the element at an index
+     * @return a new {@code GeneratedList}
+     * @throws IllegalArgumentException
+     *             if {@code size} is negative
+     *
+     * @see #generatedListOf(int, IntFunction, Mode)
+     */
+    public static <T> GeneratedList<T> generatedListOf(int size, IntFunction<? extends T> generator) {
+        return generatedListOf(size, generator, Mode.RECOMPUTE);
+    }
+
+    /**
+     * Creates an unmodifiable list whose elements are computed from their index
+     * when they are used, and either computed again each time, or kept,
+     * depending on the mode.
+     *
+     * @param <T>
+     *            member type
+     * @param size
+     *            the number of elements
+     * @param generator
+     *            computes the element at an index
+     * @param mode
+     *            whether elements are computed each time, or kept
+     * @return a new {@code GeneratedList}
+     * @throws IllegalArgumentException
+     *             if {@code size} is negative
+     */
+    public static <T> GeneratedList<T> generatedListOf(int size, IntFunction<? extends T> generator, Mode mode) {
+        return new GeneratedList<>(size, generator, mode);
+    }
+
+    /**
+     * Creates an empty {@link OffHeapList}, which stores its elements outside the
+     * Java heap, encoded by a codec, so the garbage collector does not have to
+     * scan them. Close the list when it is no longer needed.
+     *
+     * @param <T>
+     *            element type
+     * @param codec
+     *            the codec to encode and decode elements, such as
+     *            {@link ElementCodec#longs()}
+     * @return a new, empty {@code OffHeapList}
+     */
+    public static <T> OffHeapList<T> offHeapListOf(ElementCodec<T> codec) {
+        return new OffHeapList<>(codec, OffHeapList.DEFAULT_SEGMENT_SIZE);
+    }
+
+    /**
+     * Creates an unmodifiable {@link MappedList} of the elements in a file. The
+     * file is mapped into memory, not read, so this takes the same time however
+     * large the file is.
+     *
+     * @param <T>
+     *            element type
+     * @param path
+     *            the file, as written by
+     *            {@link MappedList#write(Path, ElementCodec, Iterable)}
+     * @param codec
+     *            the codec the elements were written with
+     * @return a new {@code MappedList}
+     * @throws IOException
+     *             if the file cannot be mapped, or is not in the right format
+     */
+    public static <T> MappedList<T> mappedListOf(Path path, ElementCodec<T> codec) throws IOException {
+        return new MappedList<>(path, codec, MappedList.DEFAULT_CHUNK_SIZE);
+    }
+
+    /**
+     * Creates a modifiable {@link IntList} from the values. This holds the values
+     * without boxing them, so it takes much less memory than a
+     * {@code List<Integer>}.
+     *
+     * @param values
+     *            the values of the list
+     * @return a new, modifiable {@code IntList}
+     *
+     * @see #modifiableListOf(Object...)
+     */
+    public static IntList intListOf(int... values) {
+        return new IntList(values.clone());
+    }
+
+    /**
+     * Creates a modifiable {@link LongList} from the values. This holds the values
+     * without boxing them, so it takes much less memory than a
+     * {@code List<Long>}.
+     *
+     * @param values
+     *            the values of the list
+     * @return a new, modifiable {@code LongList}
+     *
+     * @see #modifiableListOf(Object...)
+     */
+    public static LongList longListOf(long... values) {
+        return new LongList(values.clone());
+    }
+
+    /**
+     * Creates a modifiable {@link DoubleList} from the values. This holds the values
+     * without boxing them, so it takes much less memory than a
+     * {@code List<Double>}.
+     *
+     * @param values
+     *            the values of the list
+     * @return a new, modifiable {@code DoubleList}
+     *
+     * @see #modifiableListOf(Object...)
+     */
+    public static DoubleList doubleListOf(double... values) {
+        return new DoubleList(values.clone());
+    }
+
     /**
      * Finds the first item in a list.
      *
@@ -165,7 +355,340 @@ public class ListSupport {
         if (list.isEmpty()) {
             return Optional.empty();
         }
-        return Optional.of(list.get(list.size() - 1));
+        if (list instanceof RandomAccess) {
+            return Optional.of(list.get(list.size() - 1));
+        }
+        return Optional.of(list.listIterator(list.size()).previous());
+    }
+
+    /**
+     * Finds the first item in a deque.
+     *
+     * @param <T>
+     *            element type
+     * @param deque
+     *            the deque to get the data from
+     * @return an {@code Optional} containing the first element in the deque, or
+     *         an empty {@code Optional} if the deque is empty.
+     */
+    public static <T> Optional<T> firstOf(Deque<T> deque) {
+        return Optional.ofNullable(deque.peekFirst());
+    }
+
+    /**
+     * Finds the last item in a deque, without going through the other items.
+     *
+     * @param <T>
+     *            element type
+     * @param deque
+     *            the deque to get the data from
+     * @return an {@code Optional} containing the last element in the deque, or
+     *         an empty {@code Optional} if the deque is empty.
+     */
+    public static <T> Optional<T> lastOf(Deque<T> deque) {
+        return Optional.ofNullable(deque.peekLast());
+    }
+
+    /**
+     * Finds the first item in a linked list.
+     * <p>
+     * A {@link LinkedList} is both a {@code List} and a {@code Deque}, so this
+     * just chooses between their overloads.
+     *
+     * @param <T>
+     *            element type
+     * @param list
+     *            the list to get the data from
+     * @return an {@code Optional} containing the first element in the list, or an
+     *         empty {@code Optional} if the list is empty.
+     */
+    public static <T> Optional<T> firstOf(LinkedList<T> list) {
+        return firstOf((List<T>) list);
+    }
+
+    /**
+     * Finds the last item in a linked list, without going through the other
+     * items.
+     *
+     * @param <T>
+     *            element type
+     * @param list
+     *            the list to get the data from
+     * @return an {@code Optional} containing the last element in the list, or an
+     *         empty {@code Optional} if the list is empty.
+     *
+     * @see #firstOf(LinkedList)
+     */
+    public static <T> Optional<T> lastOf(LinkedList<T> list) {
+        return lastOf((List<T>) list);
+    }
+
+    /**
+     * Finds the first item of anything that can be iterated.
+     *
+     * @param <T>
+     *            element type
+     * @param items
+     *            the items to get the data from
+     * @return an {@code Optional} containing the first item, or an empty
+     *         {@code Optional} if there are no items.
+     */
+    public static <T> Optional<T> firstOf(Iterable<T> items) {
+        Iterator<T> iterator = items.iterator();
+        if (!iterator.hasNext()) {
+            return Optional.empty();
+        }
+        return Optional.of(iterator.next());
+    }
+
+    /**
+     * Finds the last item of anything that can be iterated.
+     * <p>
+     * Lists, deques and sorted sets are recognized, and their last item found
+     * directly. Anything else has to be iterated to the end.
+     *
+     * @param <T>
+     *            element type
+     * @param items
+     *            the items to get the data from
+     * @return an {@code Optional} containing the last item, or an empty
+     *         {@code Optional} if there are no items.
+     */
+    public static <T> Optional<T> lastOf(Iterable<T> items) {
+        if (items instanceof List) {
+            return lastOf((List<T>) items);
+        }
+        if (items instanceof Deque) {
+            return lastOf((Deque<T>) items);
+        }
+        if (items instanceof SortedSet) {
+            return SetSupport.lastOf((SortedSet<T>) items);
+        }
+        Iterator<T> iterator = items.iterator();
+        if (!iterator.hasNext()) {
+            return Optional.empty();
+        }
+        T last = iterator.next();
+        while (iterator.hasNext()) {
+            last = iterator.next();
+        }
+        return Optional.of(last);
+    }
+
+    /**
+     * Finds the item at a position in a list, if the list is long enough.
+     *
+     * @param <T>
+     *            element type
+     * @param list
+     *            the list to get the data from
+     * @param n
+     *            the (zero based) position of the item
+     * @return an {@code Optional} containing the element at position {@code n},
+     *         or an empty {@code Optional} if the list is not that long.
+     * @throws IllegalArgumentException
+     *             if {@code n} is negative
+     */
+    public static <T> Optional<T> nthOf(List<T> list, int n) {
+        if (n < 0) {
+            throw new IllegalArgumentException("Position cannot be negative: " + n);
+        }
+        if (n >= list.size()) {
+            return Optional.empty();
+        }
+        return Optional.of(list.get(n));
+    }
+
+    /**
+     * Gets the last items of a list, as a view of that part of the list. Nothing
+     * is copied, so this takes the same time however many items are wanted.
+     * <p>
+     * The view is a {@link List#subList(int, int)}, so it shows changes to the
+     * items, but cannot be used after items are added to or removed from the
+     * list.
+     *
+     * @param <T>
+     *            element type
+     * @param list
+     *            the list to get the data from
+     * @param n
+     *            the number of items wanted
+     * @return a view of the last {@code n} elements of the list, or of the whole
+     *         list if it has fewer
+     * @throws IllegalArgumentException
+     *             if {@code n} is negative
+     */
+    public static <T> List<T> lastNOf(List<T> list, int n) {
+        if (n < 0) {
+            throw new IllegalArgumentException("Count cannot be negative: " + n);
+        }
+        int size = list.size();
+        return list.subList(Math.max(0, size - n), size);
+    }
+
+    /**
+     * Divides a list into consecutive partitions of a given size, for example to
+     * send them in batches. The last partition is smaller if the list does not
+     * divide exactly.
+     * <p>
+     * The partitions are {@link List#subList(int, int)} views of the list, so no
+     * elements are copied, and they are only created when they are used. Their
+     * {@code spliterator()} splits evenly, so parallel streams of them share the
+     * work well.
+     *
+     * @param <T>
+     *            element type
+     * @param list
+     *            the list to divide
+     * @param size
+     *            the number of elements in each partition
+     * @return an unmodifiable list of the partitions
+     * @throws IllegalArgumentException
+     *             if {@code size} is not positive
+     *
+     * @see #chunksOf(List, int)
+     */
+    public static <T> List<List<T>> partitionsOf(List<T> list, int size) {
+        return PartitionedList.partitions(list, size);
+    }
+
+    /**
+     * Gets sliding windows over a list: the first {@code size} elements, then
+     * the {@code size} elements starting {@code step} later, and so on. Only
+     * whole windows are included, so a list with fewer than {@code size}
+     * elements has none.
+     * <p>
+     * Like {@link #partitionsOf(List, int)}, the windows are views of the list,
+     * so no elements are copied.
+     *
+     * @param <T>
+     *            element type
+     * @param list
+     *            the list to get the windows of
+     * @param size
+     *            the number of elements in each window
+     * @param step
+     *            the number of elements from the start of one window to the
+     *            start of the next
+     * @return an unmodifiable list of the windows
+     * @throws IllegalArgumentException
+     *             if {@code size} or {@code step} is not positive
+     */
+    public static <T> List<List<T>> windowsOf(List<T> list, int size, int step) {
+        return PartitionedList.windows(list, size, step);
+    }
+
+    /**
+     * Divides a list into a given number of consecutive chunks, as nearly equal
+     * in size as possible, for example to give one to each of a number of
+     * workers. A list with fewer elements than that has one chunk for each
+     * element.
+     * <p>
+     * Like {@link #partitionsOf(List, int)}, the chunks are views of the list, so
+     * no elements are copied.
+     *
+     * @param <T>
+     *            element type
+     * @param list
+     *            the list to divide
+     * @param count
+     *            the number of chunks wanted
+     * @return an unmodifiable list of the chunks
+     * @throws IllegalArgumentException
+     *             if {@code count} is not positive
+     */
+    public static <T> List<List<T>> chunksOf(List<T> list, int count) {
+        return PartitionedList.chunks(list, count);
+    }
+
+    /**
+     * Finds the first value in a list of {@code int}s.
+     *
+     * @param list
+     *            the list to get the data from
+     * @return an {@code OptionalInt} containing the first value in the list, or
+     *         an empty {@code OptionalInt} if the list is empty.
+     */
+    public static OptionalInt firstOf(IntList list) {
+        if (list.isEmpty()) {
+            return OptionalInt.empty();
+        }
+        return OptionalInt.of(list.get(0));
+    }
+
+    /**
+     * Finds the last value in a list of {@code int}s.
+     *
+     * @param list
+     *            the list to get the data from
+     * @return an {@code OptionalInt} containing the last value in the list, or
+     *         an empty {@code OptionalInt} if the list is empty.
+     */
+    public static OptionalInt lastOf(IntList list) {
+        if (list.isEmpty()) {
+            return OptionalInt.empty();
+        }
+        return OptionalInt.of(list.get(list.size() - 1));
+    }
+
+    /**
+     * Finds the first value in a list of {@code long}s.
+     *
+     * @param list
+     *            the list to get the data from
+     * @return an {@code OptionalLong} containing the first value in the list, or
+     *         an empty {@code OptionalLong} if the list is empty.
+     */
+    public static OptionalLong firstOf(LongList list) {
+        if (list.isEmpty()) {
+            return OptionalLong.empty();
+        }
+        return OptionalLong.of(list.get(0));
+    }
+
+    /**
+     * Finds the last value in a list of {@code long}s.
+     *
+     * @param list
+     *            the list to get the data from
+     * @return an {@code OptionalLong} containing the last value in the list, or
+     *         an empty {@code OptionalLong} if the list is empty.
+     */
+    public static OptionalLong lastOf(LongList list) {
+        if (list.isEmpty()) {
+            return OptionalLong.empty();
+        }
+        return OptionalLong.of(list.get(list.size() - 1));
+    }
+
+    /**
+     * Finds the first value in a list of {@code double}s.
+     *
+     * @param list
+     *            the list to get the data from
+     * @return an {@code OptionalDouble} containing the first value in the list, or
+     *         an empty {@code OptionalDouble} if the list is empty.
+     */
+    public static OptionalDouble firstOf(DoubleList list) {
+        if (list.isEmpty()) {
+            return OptionalDouble.empty();
+        }
+        return OptionalDouble.of(list.get(0));
+    }
+
+    /**
+     * Finds the last value in a list of {@code double}s.
+     *
+     * @param list
+     *            the list to get the data from
+     * @return an {@code OptionalDouble} containing the last value in the list, or
+     *         an empty {@code OptionalDouble} if the list is empty.
+     */
+    public static OptionalDouble lastOf(DoubleList list) {
+        if (list.isEmpty()) {
+            return OptionalDouble.empty();
+        }
+        return OptionalDouble.of(list.get(list.size() - 1));
     }
 
 }
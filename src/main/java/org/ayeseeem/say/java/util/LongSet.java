@@ -0,0 +1,446 @@
+package org.ayeseeem.say.java.util;
+
+import java.util.AbstractSet;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+import java.util.Set;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.LongConsumer;
+import java.util.stream.LongStream;
+import java.util.stream.StreamSupport;
+
+/**
+ * A modifiable set of {@code long} values, held in an {@code long[]} without
+ * boxing. This takes a fraction of the memory of an equivalent
+ * {@code Set<Long>}, and finding a value reads neighbouring array entries,
+ * rather than following pointers.
+ * <p>
+ * Each value is held at a position found from its hash, or the next free
+ * position after it. Removing a value moves any later values in the same run
+ * back, rather than leaving a marker, so lookups never slow down as values are
+ * removed. Zero, which marks a free position, is held in a separate flag.
+ * <p>
+ * Use {@link #asSet()} to pass the values to code that needs a
+ * {@link java.util.Set}. This set is not thread-safe.
+ *
+ * @see SetSupport#longSetOf(long...)
+ * @see IntSet
+ */
+public final class LongSet {
+
+    private static final int MIN_CAPACITY = 16;
+    private static final int MAX_CAPACITY = 1 << 30;
+    private static final long FREE = 0;
+
+    private long[] table;
+    private int mask;
+    private boolean containsZero;
+    private int size;
+    private int modCount;
+
+    LongSet(int expectedSize) {
+        this.table = new long[capacityFor(expectedSize)];
+        this.mask = table.length - 1;
+    }
+
+    /**
+     * Gets the number of values.
+     *
+     * @return the size of this set
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Checks whether there are no values.
+     *
+     * @return true if this set is empty
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Checks whether a value is in this set.
+     *
+     * @param value
+     *            the value to find
+     * @return true if the value is in this set
+     */
+    public boolean contains(long value) {
+        if (value == FREE) {
+            return containsZero;
+        }
+        for (int i = slotFor(value);; i = (i + 1) & mask) {
+            long taken = table[i];
+            if (taken == FREE) {
+                return false;
+            }
+            if (taken == value) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Adds a value, if it is not already in this set.
+     *
+     * @param value
+     *            the value to add
+     * @return true if the value was added
+     */
+    public boolean add(long value) {
+        if (value == FREE) {
+            if (containsZero) {
+                return false;
+            }
+            containsZero = true;
+        } else {
+            int i = slotFor(value);
+            for (; table[i] != FREE; i = (i + 1) & mask) {
+                if (table[i] == value) {
+                    return false;
+                }
+            }
+            table[i] = value;
+        }
+        size++;
+        modCount++;
+        if (size > table.length - (table.length >> 2)) {
+            rehash(table.length * 2);
+        }
+        return true;
+    }
+
+    /**
+     * Adds values, leaving out any already in this set.
+     *
+     * @param values
+     *            the values to add
+     */
+    public void addAll(long... values) {
+        int capacity = capacityFor(size + values.length);
+        if (capacity > table.length) {
+            rehash(capacity);
+        }
+        for (long value : values) {
+            add(value);
+        }
+    }
+
+    /**
+     * Removes a value, if it is in this set.
+     *
+     * @param value
+     *            the value to remove
+     * @return true if the value was removed
+     */
+    public boolean remove(long value) {
+        if (value == FREE) {
+            if (!containsZero) {
+                return false;
+            }
+            containsZero = false;
+            size--;
+            modCount++;
+            return true;
+        }
+        for (int i = slotFor(value);; i = (i + 1) & mask) {
+            long taken = table[i];
+            if (taken == FREE) {
+                return false;
+            }
+            if (taken == value) {
+                removeSlot(i, null);
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Removes all the values.
+     */
+    public void clear() {
+        table = new long[MIN_CAPACITY];
+        mask = table.length - 1;
+        containsZero = false;
+        size = 0;
+        modCount++;
+    }
+
+    /**
+     * Performs an action for each value, in no particular order, without
+     * boxing the values or creating an iterator.
+     *
+     * @param action
+     *            the action to perform
+     */
+    public void forEach(LongConsumer action) {
+        if (containsZero) {
+            action.accept(FREE);
+        }
+        for (long value : table) {
+            if (value != FREE) {
+                action.accept(value);
+            }
+        }
+    }
+
+    /**
+     * Creates an iterator over the values, in no particular order. Its
+     * {@code remove()} removes the last value from this set.
+     *
+     * @return a new iterator
+     */
+    public PrimitiveIterator.OfLong iterator() {
+        return new SetIterator();
+    }
+
+    /**
+     * Creates a stream of the values.
+     *
+     * @return a new {@code LongStream}
+     */
+    public LongStream stream() {
+        return StreamSupport.longStream(Spliterators.spliterator(iterator(), size,
+                Spliterator.DISTINCT | Spliterator.NONNULL), false);
+    }
+
+    /**
+     * Copies the values to a new array.
+     *
+     * @return a new array, of the size of this set
+     */
+    public long[] toArray() {
+        long[] values = new long[size];
+        int i = 0;
+        if (containsZero) {
+            values[i++] = FREE;
+        }
+        for (long value : table) {
+            if (value != FREE) {
+                values[i++] = value;
+            }
+        }
+        return values;
+    }
+
+    /**
+     * Gets a boxed view of this set, for code that needs a {@link java.util.Set}.
+     * Values are only boxed as they are read, and changes made through the view
+     * are made to this set.
+     *
+     * @return a {@code Set} view of this set
+     */
+    public Set<Long> asSet() {
+        return new BoxedView();
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (!(obj instanceof LongSet)) {
+            return false;
+        }
+        LongSet other = (LongSet) obj;
+        if (size != other.size || containsZero != other.containsZero) {
+            return false;
+        }
+        for (long value : table) {
+            if (value != FREE && !other.contains(value)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Gets a hash code, which is the same as the hash code of the equivalent
+     * {@code Set<Long>}.
+     */
+    @Override
+    public int hashCode() {
+        int hash = 0;
+        for (long value : table) {
+            hash += Long.hashCode(value);
+        }
+        return hash;
+    }
+
+    @Override
+    public String toString() {
+        return asSet().toString();
+    }
+
+    private static int capacityFor(int expectedSize) {
+        long needed = (long) expectedSize * 4 / 3 + 1;
+        if (needed > MAX_CAPACITY) {
+            throw new IllegalStateException("Too many values for a set: " + expectedSize);
+        }
+        return Math.max(MIN_CAPACITY, Integer.highestOneBit((int) needed - 1) << 1);
+    }
+
+    private int slotFor(long value) {
+        long hash = value * 0x9E3779B97F4A7C15L;
+        return (int) (hash ^ (hash >>> 32)) & mask;
+    }
+
+    private void rehash(int capacity) {
+        if (capacity > MAX_CAPACITY) {
+            throw new IllegalStateException("Too many values for a set: " + size);
+        }
+        long[] old = table;
+        table = new long[capacity];
+        mask = capacity - 1;
+        for (long value : old) {
+            if (value != FREE) {
+                int i = slotFor(value);
+                while (table[i] != FREE) {
+                    i = (i + 1) & mask;
+                }
+                table[i] = value;
+            }
+        }
+    }
+
+    /**
+     * Empties a position, and moves back any values after it that could not be
+     * at their own position because it was taken, so that no run of taken
+     * positions has a gap in it.
+     * <p>
+     * A value that moves from the start of the table back around to its end may
+     * move past an iterator that has already returned it; the iterator is told
+     * of those values, so that it can skip them.
+     */
+    private void removeSlot(int slot, SetIterator iterator) {
+        int last = slot;
+        for (;;) {
+            int next = (last + 1) & mask;
+            long value;
+            for (;; next = (next + 1) & mask) {
+                value = table[next];
+                if (value == FREE) {
+                    table[last] = FREE;
+                    size--;
+                    modCount++;
+                    return;
+                }
+                int home = slotFor(value);
+                boolean canMove = last <= next
+                        ? last >= home || home > next
+                        : last >= home && home > next;
+                if (canMove) {
+                    break;
+                }
+            }
+            table[last] = value;
+            if (iterator != null && next < last) {
+                iterator.skip(value);
+            }
+            last = next;
+        }
+    }
+
+    private final class SetIterator implements PrimitiveIterator.OfLong {
+        private static final int ZERO = -1;
+        private static final int NONE = -2;
+
+        private int next = containsZero ? ZERO : nextTaken(0);
+        private int current = NONE;
+        private LongSet skipped;
+        private int expectedModCount = modCount;
+
+        @Override
+        public boolean hasNext() {
+            return next < table.length;
+        }
+
+        @Override
+        public long nextLong() {
+            checkForComodification();
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            current = next;
+            next = nextTaken(current + 1);
+            return current == ZERO ? FREE : table[current];
+        }
+
+        @Override
+        public void remove() {
+            checkForComodification();
+            if (current == NONE) {
+                throw new IllegalStateException();
+            }
+            if (current == ZERO) {
+                LongSet.this.remove(FREE);
+            } else {
+                removeSlot(current, this);
+                next = nextTaken(current);
+            }
+            current = NONE;
+            expectedModCount = modCount;
+        }
+
+        void skip(long value) {
+            if (skipped == null) {
+                skipped = new LongSet(0);
+            }
+            skipped.add(value);
+        }
+
+        private int nextTaken(int from) {
+            int i = from;
+            while (i < table.length && (table[i] == FREE || skipped != null && skipped.contains(table[i]))) {
+                i++;
+            }
+            return i;
+        }
+
+        private void checkForComodification() {
+            if (modCount != expectedModCount) {
+                throw new ConcurrentModificationException();
+            }
+        }
+    }
+
+    private final class BoxedView extends AbstractSet<Long> {
+
+        @Override
+        public Iterator<Long> iterator() {
+            return LongSet.this.iterator();
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+
+        @Override
+        public boolean contains(Object o) {
+            return o instanceof Long && LongSet.this.contains((Long) o);
+        }
+
+        @Override
+        public boolean add(Long value) {
+            return LongSet.this.add(value);
+        }
+
+        @Override
+        public boolean remove(Object o) {
+            return o instanceof Long && LongSet.this.remove((Long) o);
+        }
+
+        @Override
+        public void clear() {
+            LongSet.this.clear();
+        }
+    }
+
+}
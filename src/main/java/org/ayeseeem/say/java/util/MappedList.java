@@ -0,0 +1,196 @@
+package org.ayeseeem.say.java.util;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.AbstractList;
+import java.util.RandomAccess;
+
+/**
+ * An unmodifiable list of the elements encoded in a file, which is mapped into
+ * memory rather than read. Elements are only read from the file, by the
+ * operating system, when they are used, so creating a list takes the same time
+ * however large the file is, and processes that map the same file share the
+ * same memory.
+ * <p>
+ * Elements are decoded by an {@link ElementCodec}. With a fixed width codec, the
+ * file is just the encoded elements, one after another. With a variable width
+ * codec, the encoded elements are followed by an index of where each element
+ * starts, then the number of elements, and a format marker. Files in either
+ * format can be written by {@link #write(Path, ElementCodec, Iterable)}.
+ * <p>
+ * The file must not be changed while it is mapped. The mapping is released when
+ * the list is garbage collected.
+ *
+ * @param <T>
+ *            element type
+ *
+ * @see ListSupport#mappedListOf(Path, ElementCodec)
+ */
+public final class MappedList<T> extends AbstractList<T> implements RandomAccess {
+
+    static final int DEFAULT_CHUNK_SIZE = 1 << 30;
+
+    private static final int FORMAT = 0x49_44_58_01; // "IDX", version 1
+    private static final int TRAILER_SIZE = Long.BYTES + Integer.BYTES;
+    private static final ByteBuffer EMPTY = ByteBuffer.allocate(0).asReadOnlyBuffer();
+
+    private final ElementCodec<T> codec;
+    private final int width;
+    private final int chunkSize;
+    private final ByteBuffer[] chunks;
+    private final int size;
+    private final long indexStart;
+
+    MappedList(Path path, ElementCodec<T> codec, int chunkSize) throws IOException {
+        this.codec = codec;
+        this.width = codec.fixedWidth();
+        boolean isFixedWidth = width != ElementCodec.VARIABLE_WIDTH;
+        this.chunkSize = isFixedWidth ? chunkSize / width * width : chunkSize;
+        if (this.chunkSize <= 0) {
+            throw new IllegalArgumentException("Chunk size too small: " + chunkSize);
+        }
+
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long fileSize = channel.size();
+            this.chunks = new ByteBuffer[(int) ((fileSize + this.chunkSize - 1) / this.chunkSize)];
+            for (int i = 0; i < chunks.length; i++) {
+                long start = (long) i * this.chunkSize;
+                long length = Math.min(this.chunkSize, fileSize - start);
+                chunks[i] = channel.map(FileChannel.MapMode.READ_ONLY, start, length);
+            }
+
+            if (isFixedWidth) {
+                if (fileSize % width != 0) {
+                    throw new IOException("File is not a whole number of " + width + " byte elements: " + path);
+                }
+                this.size = checkedSize(fileSize / width, path);
+                this.indexStart = fileSize;
+            } else {
+                if (fileSize < TRAILER_SIZE || bytesAt(fileSize - Integer.BYTES, Integer.BYTES).getInt() != FORMAT) {
+                    throw new IOException("Not an indexed list file: " + path);
+                }
+                long count = bytesAt(fileSize - TRAILER_SIZE, Long.BYTES).getLong();
+                if (count < 0 || count > (fileSize - TRAILER_SIZE) / Long.BYTES) {
+                    throw new IOException("Corrupt indexed list file: " + path);
+                }
+                this.indexStart = fileSize - TRAILER_SIZE - count * Long.BYTES;
+                this.size = checkedSize(count, path);
+            }
+        }
+    }
+
+    private static int checkedSize(long count, Path path) throws IOException {
+        if (count > Integer.MAX_VALUE) {
+            throw new IOException("Too many elements for a list: " + count + " in " + path);
+        }
+        return (int) count;
+    }
+
+    /**
+     * Writes elements to a file, in the format read by a {@code MappedList} with
+     * the same codec. An existing file is replaced.
+     *
+     * @param path
+     *            the file to write
+     * @param codec
+     *            the codec to encode the elements
+     * @param elements
+     *            the elements to write
+     * @param <T>
+     *            element type
+     * @throws IOException
+     *             if the file cannot be written
+     */
+    public static <T> void write(Path path, ElementCodec<T> codec, Iterable<? extends T> elements)
+            throws IOException {
+        boolean isFixedWidth = codec.fixedWidth() != ElementCodec.VARIABLE_WIDTH;
+        LongList starts = ListSupport.longListOf();
+        try (OutputStream file = Files.newOutputStream(path);
+                DataOutputStream out = new DataOutputStream(new BufferedOutputStream(file))) {
+            ByteBuffer buffer = ByteBuffer.allocate(Math.max(codec.fixedWidth(), 64));
+            long position = 0;
+            for (T element : elements) {
+                int length = codec.encodedSize(element);
+                if (length > buffer.capacity()) {
+                    buffer = ByteBuffer.allocate(Math.max(length, buffer.capacity() * 2));
+                }
+                buffer.clear();
+                codec.encode(element, buffer);
+                out.write(buffer.array(), 0, buffer.position());
+                if (!isFixedWidth) {
+                    starts.add(position);
+                }
+                position += buffer.position();
+            }
+
+            if (!isFixedWidth) {
+                for (int i = 0; i < starts.size(); i++) {
+                    out.writeLong(starts.get(i));
+                }
+                out.writeLong(starts.size());
+                out.writeInt(FORMAT);
+            }
+        }
+    }
+
+    @Override
+    public T get(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        }
+        if (width != ElementCodec.VARIABLE_WIDTH) {
+            return codec.decode(bytesAt((long) index * width, width), width);
+        }
+        long start = startOf(index);
+        long end = index + 1 < size ? startOf(index + 1) : indexStart;
+        int length = (int) (end - start);
+        return codec.decode(bytesAt(start, length), length);
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    private long startOf(int index) {
+        return bytesAt(indexStart + (long) index * Long.BYTES, Long.BYTES).getLong();
+    }
+
+    /**
+     * Gets the bytes of the file at a position, as a buffer positioned at them.
+     * Bytes that are all in one chunk are read from its mapping; bytes that cross
+     * into the next chunk are copied.
+     */
+    private ByteBuffer bytesAt(long position, int length) {
+        int chunk = (int) (position / chunkSize);
+        int offset = (int) (position % chunkSize);
+        if (length == 0) {
+            return EMPTY;
+        }
+        if (offset + length <= chunkSize) {
+            ByteBuffer bytes = chunks[chunk].duplicate();
+            bytes.limit(offset + length).position(offset);
+            return bytes;
+        }
+
+        ByteBuffer copy = ByteBuffer.allocate(length);
+        while (copy.hasRemaining()) {
+            ByteBuffer source = chunks[chunk].duplicate();
+            source.position(offset);
+            source.limit(Math.min(source.limit(), offset + copy.remaining()));
+            copy.put(source);
+            chunk++;
+            offset = 0;
+        }
+        copy.flip();
+        return copy;
+    }
+
+}
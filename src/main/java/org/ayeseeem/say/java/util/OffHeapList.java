@@ -0,0 +1,320 @@
+package org.ayeseeem.say.java.util;
+
+import java.nio.ByteBuffer;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.RandomAccess;
+
+/**
+ * A list whose elements are encoded and stored outside the Java heap, in direct
+ * {@link ByteBuffer}s, and decoded when they are read. The garbage collector
+ * does not have to scan the elements, however many there are, so very large
+ * lists do not make collections take longer.
+ * <p>
+ * Elements are encoded by an {@link ElementCodec}. With a fixed width codec, the
+ * only memory used on the heap is for a handful of buffers. With a variable width
+ * codec, the position of each element is also kept on the heap, in 8 bytes.
+ * <p>
+ * Elements can only be added to the end of the list. Use {@link #cursor()} to
+ * read through the encoded elements without decoding them, or creating any
+ * objects for each element.
+ * <p>
+ * When a list is no longer needed, {@link #close()} it, so that its buffers can
+ * be freed. Direct buffers are freed when they are garbage collected, which
+ * (unlike heap memory) might not happen soon, so a list should not be left to
+ * be collected.
+ * <p>
+ * This list is not thread-safe.
+ *
+ * @param <T>
+ *            element type
+ *
+ * @see ListSupport#offHeapListOf(ElementCodec)
+ */
+public final class OffHeapList<T> extends AbstractList<T> implements RandomAccess, AutoCloseable {
+
+    static final int DEFAULT_SEGMENT_SIZE = 1 << 20;
+
+    private final ElementCodec<T> codec;
+    private final int width;
+    private final int segmentSize;
+    private final int elementsPerSegment;
+    private final LongList positions;
+    private List<ByteBuffer> segments = new ArrayList<>();
+    private int size;
+
+    OffHeapList(ElementCodec<T> codec, int segmentSize) {
+        this.codec = codec;
+        this.width = codec.fixedWidth();
+        if (width != ElementCodec.VARIABLE_WIDTH && width <= 0) {
+            throw new IllegalArgumentException("Invalid fixed width: " + width);
+        }
+        if (segmentSize < Math.max(width, 1)) {
+            throw new IllegalArgumentException("Segment size too small: " + segmentSize);
+        }
+        this.elementsPerSegment = isFixedWidth() ? segmentSize / width : 0;
+        this.segmentSize = isFixedWidth() ? elementsPerSegment * width : segmentSize;
+        this.positions = isFixedWidth() ? null : ListSupport.longListOf();
+    }
+
+    @Override
+    public T get(int index) {
+        checkIndex(index);
+        ByteBuffer source = segmentFor(index).asReadOnlyBuffer();
+        source.position(offsetOf(index));
+        return codec.decode(source, lengthOf(index));
+    }
+
+    @Override
+    public int size() {
+        checkOpen();
+        return size;
+    }
+
+    /**
+     * Adds an element to the end of the list.
+     *
+     * @param element
+     *            the element to add
+     * @return true
+     * @throws IllegalStateException
+     *             if the list has been closed
+     */
+    @Override
+    public boolean add(T element) {
+        checkOpen();
+        int length = isFixedWidth() ? width : codec.encodedSize(element);
+        ByteBuffer segment = segmentWithRoom(length);
+        int offset = isFixedWidth() ? offsetOf(size) : segment.position();
+        segment.position(offset);
+        try {
+            codec.encode(element, segment);
+        } catch (RuntimeException e) {
+            segment.position(offset);
+            throw e;
+        }
+        if (segment.position() - offset != length) {
+            int written = segment.position() - offset;
+            segment.position(offset);
+            throw new IllegalStateException("Codec wrote " + written + " bytes, not " + length);
+        }
+        if (!isFixedWidth()) {
+            positions.add((long) (segments.size() - 1) << 32 | offset);
+        }
+        size++;
+        modCount++;
+        return true;
+    }
+
+    /**
+     * Adds all the elements to the end of the list, in order.
+     *
+     * @param elements
+     *            the elements to add
+     * @return true if any elements were added
+     * @throws IllegalStateException
+     *             if the list has been closed
+     */
+    @Override
+    public boolean addAll(Collection<? extends T> elements) {
+        checkOpen();
+        if (isFixedWidth()) {
+            reserveFixedWidth(elements.size());
+        }
+        for (T element : elements) {
+            add(element);
+        }
+        return !elements.isEmpty();
+    }
+
+    /**
+     * Creates a cursor, to read through the encoded elements in order.
+     *
+     * @return a new {@code Cursor}, before the first element
+     */
+    public Cursor cursor() {
+        checkOpen();
+        return new Cursor();
+    }
+
+    /**
+     * Gets the number of bytes reserved outside the heap.
+     *
+     * @return the total size of the buffers
+     */
+    public long reservedBytes() {
+        checkOpen();
+        long total = 0;
+        for (ByteBuffer segment : segments) {
+            total += segment.capacity();
+        }
+        return total;
+    }
+
+    /**
+     * Releases the buffers, so their memory can be freed. After this, the list
+     * cannot be used. Closing a list more than once has no effect.
+     */
+    @Override
+    public void close() {
+        segments = null;
+        size = 0;
+        modCount++;
+    }
+
+    private boolean isFixedWidth() {
+        return width != ElementCodec.VARIABLE_WIDTH;
+    }
+
+    private void reserveFixedWidth(int count) {
+        long needed = (long) size + count - (long) segments.size() * elementsPerSegment;
+        while (needed > 0) {
+            segments.add(ByteBuffer.allocateDirect(segmentSize));
+            needed -= elementsPerSegment;
+        }
+    }
+
+    private ByteBuffer segmentWithRoom(int length) {
+        if (isFixedWidth()) {
+            reserveFixedWidth(1);
+            return segments.get(size / elementsPerSegment);
+        }
+        if (!segments.isEmpty()) {
+            ByteBuffer last = segments.get(segments.size() - 1);
+            if (last.remaining() >= length) {
+                return last;
+            }
+        }
+        ByteBuffer segment = ByteBuffer.allocateDirect(Math.max(segmentSize, length));
+        segments.add(segment);
+        return segment;
+    }
+
+    private ByteBuffer segmentFor(int index) {
+        return isFixedWidth()
+                ? segments.get(index / elementsPerSegment)
+                : segments.get((int) (positions.get(index) >>> 32));
+    }
+
+    private int offsetOf(int index) {
+        return isFixedWidth()
+                ? (index % elementsPerSegment) * width
+                : (int) positions.get(index);
+    }
+
+    private int lengthOf(int index) {
+        if (isFixedWidth()) {
+            return width;
+        }
+        long position = positions.get(index);
+        if (index + 1 < size) {
+            long next = positions.get(index + 1);
+            if (next >>> 32 == position >>> 32) {
+                return (int) next - (int) position;
+            }
+        }
+        return segments.get((int) (position >>> 32)).position() - (int) position;
+    }
+
+    private void checkIndex(int index) {
+        checkOpen();
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        }
+    }
+
+    private void checkOpen() {
+        if (segments == null) {
+            throw new IllegalStateException("List has been closed");
+        }
+    }
+
+    /**
+     * Reads through the encoded elements of an {@link OffHeapList}, in order,
+     * reusing the same {@link ByteBuffer} for every element in a segment, so that
+     * moving to the next element does not create any objects.
+     * <p>
+     * The list must not be changed while a cursor is being used.
+     */
+    public final class Cursor {
+        private final int expectedModCount = modCount;
+        private int index = -1;
+        private int segmentIndex = -1;
+        private ByteBuffer bytes;
+
+        private Cursor() {
+        }
+
+        /**
+         * Moves to the next element.
+         *
+         * @return true if there is a next element; false if the cursor has
+         *         passed the end of the list
+         */
+        public boolean next() {
+            checkOpen();
+            if (modCount != expectedModCount) {
+                throw new IllegalStateException("List has changed");
+            }
+            if (index + 1 >= size) {
+                index = size;
+                return false;
+            }
+            index++;
+            int segmentOfIndex = isFixedWidth()
+                    ? index / elementsPerSegment
+                    : (int) (positions.get(index) >>> 32);
+            if (segmentOfIndex != segmentIndex) {
+                segmentIndex = segmentOfIndex;
+                bytes = segments.get(segmentIndex).asReadOnlyBuffer();
+            }
+            int offset = offsetOf(index);
+            bytes.limit(offset + lengthOf(index)).position(offset);
+            return true;
+        }
+
+        /**
+         * Gets the index of the current element.
+         *
+         * @return the index of the element
+         */
+        public int index() {
+            return index;
+        }
+
+        /**
+         * Gets the encoded bytes of the current element, as a read-only buffer
+         * whose position and limit are the start and end of the element. The same
+         * buffer is reused for later elements.
+         *
+         * @return the buffer holding the element
+         * @throws NoSuchElementException
+         *             if the cursor is not on an element
+         */
+        public ByteBuffer bytes() {
+            if (index < 0 || index >= size) {
+                throw new NoSuchElementException();
+            }
+            return bytes;
+        }
+
+        /**
+         * Decodes the current element.
+         *
+         * @return the element
+         * @throws NoSuchElementException
+         *             if the cursor is not on an element
+         */
+        public T decode() {
+            ByteBuffer source = bytes();
+            int position = source.position();
+            T element = codec.decode(source, source.remaining());
+            source.position(position);
+            return element;
+        }
+    }
+
+}
@@ -0,0 +1,122 @@
+package org.ayeseeem.say.java.util;
+
+import java.util.AbstractList;
+import java.util.List;
+import java.util.RandomAccess;
+import java.util.Spliterator;
+
+/**
+ * An unmodifiable list of parts of another list, each of which is a
+ * {@link List#subList(int, int)} view, so no elements are copied. The parts are
+ * worked out from the size of the other list whenever they are used.
+ *
+ * @param <T>
+ *            element type of the other list
+ *
+ * @see ListSupport#partitionsOf(List, int)
+ * @see ListSupport#windowsOf(List, int, int)
+ * @see ListSupport#chunksOf(List, int)
+ */
+abstract class PartitionedList<T> extends AbstractList<List<T>> implements RandomAccess {
+
+    private final List<T> source;
+
+    PartitionedList(List<T> source) {
+        this.source = source;
+    }
+
+    static <T> PartitionedList<T> partitions(List<T> source, int size) {
+        checkPositive(size, "Partition size");
+        return new PartitionedList<T>(source) {
+            @Override
+            int count(int sourceSize) {
+                return (int) (((long) sourceSize + size - 1) / size);
+            }
+
+            @Override
+            int startOf(int index, int sourceSize) {
+                return index * size;
+            }
+
+            @Override
+            int endOf(int index, int sourceSize) {
+                return (int) Math.min((long) startOf(index, sourceSize) + size, sourceSize);
+            }
+        };
+    }
+
+    static <T> PartitionedList<T> windows(List<T> source, int size, int step) {
+        checkPositive(size, "Window size");
+        checkPositive(step, "Window step");
+        return new PartitionedList<T>(source) {
+            @Override
+            int count(int sourceSize) {
+                return sourceSize < size ? 0 : (sourceSize - size) / step + 1;
+            }
+
+            @Override
+            int startOf(int index, int sourceSize) {
+                return index * step;
+            }
+
+            @Override
+            int endOf(int index, int sourceSize) {
+                return startOf(index, sourceSize) + size;
+            }
+        };
+    }
+
+    static <T> PartitionedList<T> chunks(List<T> source, int count) {
+        checkPositive(count, "Chunk count");
+        return new PartitionedList<T>(source) {
+            @Override
+            int count(int sourceSize) {
+                return Math.min(count, sourceSize);
+            }
+
+            @Override
+            int startOf(int index, int sourceSize) {
+                int chunks = count(sourceSize);
+                return index * (sourceSize / chunks) + Math.min(index, sourceSize % chunks);
+            }
+
+            @Override
+            int endOf(int index, int sourceSize) {
+                return startOf(index + 1, sourceSize);
+            }
+        };
+    }
+
+    private static void checkPositive(int value, String name) {
+        if (value <= 0) {
+            throw new IllegalArgumentException(name + " must be positive: " + value);
+        }
+    }
+
+    abstract int count(int sourceSize);
+
+    abstract int startOf(int index, int sourceSize);
+
+    abstract int endOf(int index, int sourceSize);
+
+    @Override
+    public List<T> get(int index) {
+        int sourceSize = source.size();
+        int count = count(sourceSize);
+        if (index < 0 || index >= count) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + count);
+        }
+        return source.subList(startOf(index, sourceSize), endOf(index, sourceSize));
+    }
+
+    @Override
+    public int size() {
+        return count(source.size());
+    }
+
+    @Override
+    public Spliterator<List<T>> spliterator() {
+        return new RandomAccessSpliterator<>(this);
+    }
+
+}
@@ -0,0 +1,371 @@
+package org.ayeseeem.say.java.util;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.RandomAccess;
+
+/**
+ * An immutable list that can be cheaply "changed" by creating a new version of
+ * it. Each new version shares almost all of its structure with the version it
+ * came from, so adding or replacing an element takes O(log<sub>32</sub> n) time
+ * and space, rather than the O(n) needed to copy the whole list. Getting an
+ * element also takes O(log<sub>32</sub> n) time, which is at most 7 steps for any
+ * list that fits in memory.
+ * <p>
+ * The elements are held in a tree of 32-element arrays (a bit-partitioned
+ * vector trie), with the last (up to) 32 elements held separately, so most
+ * additions only copy that last array.
+ * <p>
+ * This is a read-only {@link java.util.List}: the methods that would modify it
+ * throw an {@link UnsupportedOperationException}. Use {@link #plus(Object)} and
+ * {@link #with(int, Object)} to create new versions, and a {@link Builder} to
+ * add many elements at once.
+ *
+ * @param <E>
+ *            element type
+ *
+ * @see ListSupport#persistentListOf(Object...)
+ */
+public final class PersistentList<E> extends AbstractList<E> implements RandomAccess {
+
+    private static final int BITS = 5;
+    private static final int WIDTH = 1 << BITS;
+    private static final int MASK = WIDTH - 1;
+
+    private static final Node EMPTY_NODE = new Node(null, new Object[WIDTH]);
+    private static final PersistentList<Object> EMPTY = new PersistentList<>(0, BITS, EMPTY_NODE, new Object[0]);
+
+    private final int size;
+    private final int shift;
+    private final Node root;
+    private final Object[] tail;
+
+    private PersistentList(int size, int shift, Node root, Object[] tail) {
+        this.size = size;
+        this.shift = shift;
+        this.root = root;
+        this.tail = tail;
+    }
+
+    /**
+     * Gets the empty list.
+     *
+     * @param <E>
+     *            element type
+     * @return the empty {@code PersistentList}
+     */
+    @SuppressWarnings("unchecked")
+    public static <E> PersistentList<E> empty() {
+        return (PersistentList<E>) EMPTY;
+    }
+
+    /**
+     * Creates a builder, for adding many elements to an empty list.
+     *
+     * @param <E>
+     *            element type
+     * @return a new {@code Builder}
+     */
+    public static <E> Builder<E> builder() {
+        return new Builder<>(empty());
+    }
+
+    /**
+     * Creates a builder, for adding many elements to, or replacing many elements
+     * of, this list. This list is not changed.
+     *
+     * @return a new {@code Builder}, starting with the elements of this list
+     */
+    public Builder<E> toBuilder() {
+        return new Builder<>(this);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public E get(int index) {
+        checkIndex(index, size);
+        return (E) arrayFor(index)[index & MASK];
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public Iterator<E> iterator() {
+        return new Iterator<E>() {
+            private int index;
+            private Object[] array = size == 0 ? null : arrayFor(0);
+
+            @Override
+            public boolean hasNext() {
+                return index < size;
+            }
+
+            @Override
+            @SuppressWarnings("unchecked")
+            public E next() {
+                if (index >= size) {
+                    throw new NoSuchElementException();
+                }
+                if (index != 0 && (index & MASK) == 0) {
+                    array = arrayFor(index);
+                }
+                return (E) array[index++ & MASK];
+            }
+        };
+    }
+
+    /**
+     * Creates a new version of this list, with an element added to the end.
+     * This list is not changed.
+     *
+     * @param element
+     *            the element to add
+     * @return a new {@code PersistentList}, with one more element
+     */
+    public PersistentList<E> plus(E element) {
+        if (size - tailOffset(size) < WIDTH) {
+            Object[] newTail = Arrays.copyOf(tail, tail.length + 1);
+            newTail[tail.length] = element;
+            return new PersistentList<>(size + 1, shift, root, newTail);
+        }
+
+        Node tailNode = new Node(null, tail);
+        Node newRoot;
+        int newShift = shift;
+        if (isRootFull(size, shift)) {
+            newRoot = new Node(null, new Object[WIDTH]);
+            newRoot.array[0] = root;
+            newRoot.array[1] = newPath(null, shift, tailNode);
+            newShift += BITS;
+        } else {
+            newRoot = pushTail(null, size, shift, root, tailNode);
+        }
+        return new PersistentList<>(size + 1, newShift, newRoot, new Object[] { element });
+    }
+
+    /**
+     * Creates a new version of this list, with an element replaced. This list is
+     * not changed.
+     *
+     * @param index
+     *            the index of the element to replace
+     * @param element
+     *            the new element
+     * @return a new {@code PersistentList}, with the element replaced
+     * @throws IndexOutOfBoundsException
+     *             if the index is not in the list
+     */
+    public PersistentList<E> with(int index, E element) {
+        checkIndex(index, size);
+        if (index >= tailOffset(size)) {
+            Object[] newTail = tail.clone();
+            newTail[index & MASK] = element;
+            return new PersistentList<>(size, shift, root, newTail);
+        }
+        return new PersistentList<>(size, shift, replace(null, shift, root, index, element), tail);
+    }
+
+    private Object[] arrayFor(int index) {
+        if (index >= tailOffset(size)) {
+            return tail;
+        }
+        Node node = root;
+        for (int level = shift; level > 0; level -= BITS) {
+            node = (Node) node.array[(index >>> level) & MASK];
+        }
+        return node.array;
+    }
+
+    private static int tailOffset(int size) {
+        return size < WIDTH ? 0 : ((size - 1) >>> BITS) << BITS;
+    }
+
+    private static boolean isRootFull(int size, int shift) {
+        return (size >>> BITS) > (1 << shift);
+    }
+
+    private static void checkIndex(int index, int size) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        }
+    }
+
+    /**
+     * Adds a full tail to the tree, copying the nodes on the path to it, unless
+     * they can be edited by {@code owner}.
+     */
+    private static Node pushTail(Object owner, int size, int level, Node parent, Node tailNode) {
+        int subIndex = ((size - 1) >>> level) & MASK;
+        Node result = parent.editable(owner);
+        Node toInsert;
+        if (level == BITS) {
+            toInsert = tailNode;
+        } else {
+            Node child = (Node) parent.array[subIndex];
+            toInsert = child != null
+                    ? pushTail(owner, size, level - BITS, child, tailNode)
+                    : newPath(owner, level - BITS, tailNode);
+        }
+        result.array[subIndex] = toInsert;
+        return result;
+    }
+
+    private static Node newPath(Object owner, int level, Node node) {
+        if (level == 0) {
+            return node;
+        }
+        Node result = new Node(owner, new Object[WIDTH]);
+        result.array[0] = newPath(owner, level - BITS, node);
+        return result;
+    }
+
+    private static Node replace(Object owner, int level, Node node, int index, Object element) {
+        Node result = node.editable(owner);
+        if (level == 0) {
+            result.array[index & MASK] = element;
+        } else {
+            int subIndex = (index >>> level) & MASK;
+            result.array[subIndex] = replace(owner, level - BITS, (Node) node.array[subIndex], index, element);
+        }
+        return result;
+    }
+
+    /**
+     * A node of the tree. A node can only be changed in place by the builder that
+     * owns it, and only until that builder builds a list; otherwise it is copied.
+     */
+    private static final class Node {
+        final Object owner;
+        final Object[] array;
+
+        Node(Object owner, Object[] array) {
+            this.owner = owner;
+            this.array = array;
+        }
+
+        Node editable(Object editor) {
+            return editor != null && owner == editor ? this : new Node(editor, array.clone());
+        }
+    }
+
+    /**
+     * Builds a {@link PersistentList} from many elements, without creating a new
+     * version of the list for each one. Nodes created by a builder are changed in
+     * place until {@link #build()} is called, so a builder is much faster for
+     * bulk loading.
+     * <p>
+     * A builder can still be used after it has built a list, without affecting
+     * that list. A builder is not thread-safe.
+     *
+     * @param <E>
+     *            element type
+     */
+    public static final class Builder<E> {
+        private Object owner = new Object();
+        private int size;
+        private int shift;
+        private Node root;
+        private Object[] tail;
+
+        private Builder(PersistentList<E> from) {
+            this.size = from.size;
+            this.shift = from.shift;
+            this.root = from.root;
+            this.tail = Arrays.copyOf(from.tail, WIDTH);
+        }
+
+        /**
+         * Adds an element to the end.
+         *
+         * @param element
+         *            the element to add
+         * @return this builder
+         */
+        public Builder<E> add(E element) {
+            int tailLength = size - tailOffset(size);
+            if (tailLength < WIDTH) {
+                tail[tailLength] = element;
+                size++;
+                return this;
+            }
+
+            Node tailNode = new Node(owner, tail);
+            tail = new Object[WIDTH];
+            tail[0] = element;
+            if (isRootFull(size, shift)) {
+                Node newRoot = new Node(owner, new Object[WIDTH]);
+                newRoot.array[0] = root;
+                newRoot.array[1] = newPath(owner, shift, tailNode);
+                root = newRoot;
+                shift += BITS;
+            } else {
+                root = pushTail(owner, size, shift, root, tailNode);
+            }
+            size++;
+            return this;
+        }
+
+        /**
+         * Adds all the elements, in order, to the end.
+         *
+         * @param elements
+         *            the elements to add
+         * @return this builder
+         */
+        public Builder<E> addAll(Iterable<? extends E> elements) {
+            for (E element : elements) {
+                add(element);
+            }
+            return this;
+        }
+
+        /**
+         * Replaces an element.
+         *
+         * @param index
+         *            the index of the element to replace
+         * @param element
+         *            the new element
+         * @return this builder
+         * @throws IndexOutOfBoundsException
+         *             if the index is not in the list being built
+         */
+        public Builder<E> set(int index, E element) {
+            checkIndex(index, size);
+            if (index >= tailOffset(size)) {
+                tail[index & MASK] = element;
+            } else {
+                root = replace(owner, shift, root, index, element);
+            }
+            return this;
+        }
+
+        /**
+         * Gets the number of elements added so far.
+         *
+         * @return the size of the list being built
+         */
+        public int size() {
+            return size;
+        }
+
+        /**
+         * Builds the list. Later changes to this builder do not affect it.
+         *
+         * @return a new {@code PersistentList}
+         */
+        public PersistentList<E> build() {
+            if (size == 0) {
+                return empty();
+            }
+            owner = new Object();
+            return new PersistentList<>(size, shift, root, Arrays.copyOf(tail, size - tailOffset(size)));
+        }
+    }
+
+}
@@ -0,0 +1,154 @@
+package org.ayeseeem.say.java.util;
+
+import java.util.AbstractList;
+import java.util.List;
+import java.util.RandomAccess;
+
+/**
+ * The parts of {@link IntList}, {@link LongList} and {@link DoubleList} that do
+ * not depend on the type of their values: the size, checking indexes, growing
+ * the array, and the boxed {@code List} view.
+ * <p>
+ * Every change to the size of a list is passed on to its view, so that
+ * iterators of the view fail fast when the list is changed directly, as well
+ * as when it is changed through the view.
+ *
+ * @param <E>
+ *            the boxed type of the values
+ */
+abstract class PrimitiveList<E> {
+
+    private static final int MIN_CAPACITY = 10;
+
+    int size;
+    private BoxedView view;
+
+    PrimitiveList(int size) {
+        this.size = size;
+    }
+
+    /**
+     * Gets the number of values.
+     *
+     * @return the size of this list
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Checks whether there are no values.
+     *
+     * @return true if this list is empty
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Removes all the values.
+     */
+    public void clear() {
+        size = 0;
+        modified();
+    }
+
+    /**
+     * Gets a boxed view of this list, for code that needs a
+     * {@link java.util.List}. Values are only boxed as they are read, and
+     * changes made through the view (including adding and removing values) are
+     * made to this list. Iterators of the view fail fast, if values are added
+     * to or removed from this list other than through the iterator.
+     *
+     * @return a {@code List} view of this list
+     */
+    public List<E> asList() {
+        if (view == null) {
+            view = new BoxedView();
+        }
+        return view;
+    }
+
+    @Override
+    public String toString() {
+        return asList().toString();
+    }
+
+    abstract E boxedGet(int index);
+
+    abstract E boxedSet(int index, E element);
+
+    abstract void boxedAdd(int index, E element);
+
+    abstract E boxedRemove(int index);
+
+    abstract boolean boxedContains(Object o);
+
+    /**
+     * Records a change to the size of this list, or to the order of all its
+     * values.
+     */
+    void modified() {
+        if (view != null) {
+            view.modified();
+        }
+    }
+
+    static int newCapacity(int length, int minCapacity) {
+        return Math.max(Math.max(minCapacity, MIN_CAPACITY), length + (length >> 1));
+    }
+
+    void checkIndex(int index) {
+        if (index < 0 || index >= size) {
+            throw outOfBounds(index);
+        }
+    }
+
+    void checkPositionIndex(int index) {
+        if (index < 0 || index > size) {
+            throw outOfBounds(index);
+        }
+    }
+
+    private IndexOutOfBoundsException outOfBounds(int index) {
+        return new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+    }
+
+    private final class BoxedView extends AbstractList<E> implements RandomAccess {
+
+        @Override
+        public E get(int index) {
+            return boxedGet(index);
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+
+        @Override
+        public E set(int index, E element) {
+            return boxedSet(index, element);
+        }
+
+        @Override
+        public void add(int index, E element) {
+            boxedAdd(index, element);
+        }
+
+        @Override
+        public E remove(int index) {
+            return boxedRemove(index);
+        }
+
+        @Override
+        public boolean contains(Object o) {
+            return boxedContains(o);
+        }
+
+        void modified() {
+            modCount++;
+        }
+    }
+
+}
@@ -0,0 +1,263 @@
+package org.ayeseeem.say.java.util;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.ToLongFunction;
+
+/**
+ * A set that only remembers enough about its members to say whether an item is
+ * <em>probably</em> a member - a Bloom filter. It can say for certain that an
+ * item is <em>not</em> a member, but will sometimes (at roughly the false
+ * positive rate it was created with) say that an item is a member when it is
+ * not. In exchange, it takes a small fraction of the memory of a
+ * {@link java.util.HashSet}, and that memory does not grow as members are added.
+ * <p>
+ * This is not a {@link java.util.Set}: members cannot be removed, listed or
+ * counted. Members can be added safely from many threads at the same time.
+ * <p>
+ * Members are hashed to 64 bits. Strings (and other {@link CharSequence}s),
+ * {@code Long}s and {@code Integer}s are hashed from their values, so the same
+ * members always set the same bits, and a set {@link #writeTo(OutputStream)
+ * written} by one JVM can be {@link #readFrom(InputStream) read} by another.
+ * Other types are hashed from their {@code hashCode()}, unless a hash function is
+ * given when the set is created.
+ *
+ * @param <T>
+ *            member type
+ *
+ * @see SetSupport#probabilisticSetOf(long, double)
+ */
+public final class ProbabilisticSet<T> {
+
+    private static final int FORMAT = 0x42_4c_4d_01; // "BLM", version 1
+
+    private final AtomicLongArray words;
+    private final long bitCount;
+    private final int hashCount;
+    private final ToLongFunction<? super T> hash;
+
+    private ProbabilisticSet(AtomicLongArray words, int hashCount, ToLongFunction<? super T> hash) {
+        this.words = words;
+        this.bitCount = (long) words.length() * Long.SIZE;
+        this.hashCount = hashCount;
+        this.hash = hash;
+    }
+
+    static <T> ProbabilisticSet<T> create(long expectedSize, double falsePositiveRate,
+            ToLongFunction<? super T> hash) {
+        if (expectedSize <= 0) {
+            throw new IllegalArgumentException("Expected size must be positive: " + expectedSize);
+        }
+        if (!(falsePositiveRate > 0.0 && falsePositiveRate < 1.0)) {
+            throw new IllegalArgumentException("False positive rate must be between 0 and 1: " + falsePositiveRate);
+        }
+
+        double ln2 = Math.log(2);
+        double bits = Math.ceil(-expectedSize * Math.log(falsePositiveRate) / (ln2 * ln2));
+        long wordCount = (long) Math.ceil(bits / Long.SIZE);
+        if (wordCount > Integer.MAX_VALUE - 8) {
+            throw new IllegalArgumentException("Too large: " + expectedSize + " at " + falsePositiveRate);
+        }
+        int hashCount = (int) Math.max(1, Math.round(wordCount * Long.SIZE / (double) expectedSize * ln2));
+        return new ProbabilisticSet<>(new AtomicLongArray((int) wordCount), hashCount, hash);
+    }
+
+    /**
+     * Hashes an item to 64 bits, from its value for {@link CharSequence}s,
+     * {@code Long}s and {@code Integer}s, or else from its {@code hashCode()}.
+     *
+     * @param item
+     *            the item to hash
+     * @return the hash
+     */
+    static long defaultHash(Object item) {
+        if (item instanceof CharSequence) {
+            CharSequence text = (CharSequence) item;
+            long hash = 0xcbf29ce484222325L;
+            for (int i = 0; i < text.length(); i++) {
+                hash = (hash ^ text.charAt(i)) * 0x100000001b3L;
+            }
+            return mix(hash);
+        }
+        if (item instanceof Long || item instanceof Integer) {
+            return mix(((Number) item).longValue());
+        }
+        return mix(item.hashCode());
+    }
+
+    /**
+     * Adds a member.
+     *
+     * @param member
+     *            the member to add
+     * @return true if the set changed, so the member was certainly not already a
+     *         member; false if it might already have been
+     */
+    public boolean add(T member) {
+        long h1 = hash.applyAsLong(member);
+        long h2 = mix(h1) | 1;
+        boolean changed = false;
+        for (int i = 0; i < hashCount; i++) {
+            long bit = ((h1 + i * h2) & Long.MAX_VALUE) % bitCount;
+            int word = (int) (bit >>> 6);
+            long mask = 1L << bit;
+            long before = words.get(word);
+            if ((before & mask) == 0) {
+                changed |= (words.getAndAccumulate(word, mask, (w, m) -> w | m) & mask) == 0;
+            }
+        }
+        return changed;
+    }
+
+    /**
+     * Checks whether an item is probably a member.
+     *
+     * @param item
+     *            the item to check
+     * @return false if the item is definitely not a member; true if it probably
+     *         is
+     */
+    public boolean mightContain(T item) {
+        long h1 = hash.applyAsLong(item);
+        long h2 = mix(h1) | 1;
+        for (int i = 0; i < hashCount; i++) {
+            long bit = ((h1 + i * h2) & Long.MAX_VALUE) % bitCount;
+            if ((words.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Adds all the members of another set, so that this set probably contains
+     * the members of both. The other set must have been created in the same way
+     * as this one, with the same expected size and false positive rate.
+     *
+     * @param other
+     *            the set to merge into this one
+     * @throws IllegalArgumentException
+     *             if the other set is not compatible with this one
+     */
+    public void merge(ProbabilisticSet<? extends T> other) {
+        if (other.bitCount != bitCount || other.hashCount != hashCount) {
+            throw new IllegalArgumentException("Cannot merge sets created with different sizes or rates");
+        }
+        for (int i = 0; i < words.length(); i++) {
+            long bits = other.words.get(i);
+            if (bits != 0) {
+                words.getAndAccumulate(i, bits, (w, m) -> w | m);
+            }
+        }
+    }
+
+    /**
+     * Estimates the current false positive rate, from the proportion of bits
+     * that have been set.
+     *
+     * @return the probability that an item that is not a member is reported as
+     *         a member
+     */
+    public double falsePositiveRate() {
+        long set = 0;
+        for (int i = 0; i < words.length(); i++) {
+            set += Long.bitCount(words.get(i));
+        }
+        return Math.pow((double) set / bitCount, hashCount);
+    }
+
+    /**
+     * Gets the number of bits used to remember members.
+     *
+     * @return the number of bits
+     */
+    public long bitCount() {
+        return bitCount;
+    }
+
+    /**
+     * Writes this set to a stream, in a portable form that can be read back with
+     * {@link #readFrom(InputStream)}. The stream is not closed.
+     *
+     * @param out
+     *            the stream to write to
+     * @throws IOException
+     *             if the stream cannot be written to
+     */
+    public void writeTo(OutputStream out) throws IOException {
+        DataOutputStream data = new DataOutputStream(out);
+        data.writeInt(FORMAT);
+        data.writeInt(hashCount);
+        data.writeInt(words.length());
+        for (int i = 0; i < words.length(); i++) {
+            data.writeLong(words.get(i));
+        }
+        data.flush();
+    }
+
+    /**
+     * Reads a set written by {@link #writeTo(OutputStream)}, hashing members with
+     * the default hash. The stream is not closed.
+     *
+     * @param in
+     *            the stream to read from
+     * @param <T>
+     *            member type
+     * @return a new {@code ProbabilisticSet}
+     * @throws IOException
+     *             if the stream cannot be read, or does not contain a set
+     */
+    public static <T> ProbabilisticSet<T> readFrom(InputStream in) throws IOException {
+        return readFrom(in, ProbabilisticSet::defaultHash);
+    }
+
+    /**
+     * Reads a set written by {@link #writeTo(OutputStream)}, hashing members with
+     * a given hash function, which must be the one the set was written with. The
+     * stream is not closed.
+     *
+     * @param in
+     *            the stream to read from
+     * @param hash
+     *            the hash function the set was created with
+     * @param <T>
+     *            member type
+     * @return a new {@code ProbabilisticSet}
+     * @throws IOException
+     *             if the stream cannot be read, or does not contain a set
+     */
+    public static <T> ProbabilisticSet<T> readFrom(InputStream in, ToLongFunction<? super T> hash)
+            throws IOException {
+        DataInputStream data = new DataInputStream(in);
+        if (data.readInt() != FORMAT) {
+            throw new IOException("Not a ProbabilisticSet, or an unsupported version");
+        }
+        int hashCount = data.readInt();
+        int wordCount = data.readInt();
+        if (hashCount <= 0 || wordCount <= 0) {
+            throw new IOException("Corrupt ProbabilisticSet");
+        }
+        AtomicLongArray words = new AtomicLongArray(wordCount);
+        for (int i = 0; i < wordCount; i++) {
+            words.set(i, data.readLong());
+        }
+        return new ProbabilisticSet<>(words, hashCount, hash);
+    }
+
+    /**
+     * Spreads the bits of a hash, using the finalizer from MurmurHash3.
+     */
+    private static long mix(long hash) {
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb9fe1a85ec53L;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+
+}
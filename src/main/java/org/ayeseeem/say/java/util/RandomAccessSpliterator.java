@@ -0,0 +1,72 @@
+package org.ayeseeem.say.java.util;
+
+import java.util.List;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+
+/**
+ * A {@link Spliterator} over a range of a {@link java.util.RandomAccess} list,
+ * which gets elements by index, and splits the range in half. Unlike the
+ * default spliterator of a list, it knows the exact size of each half, so
+ * parallel streams can share the work evenly.
+ * <p>
+ * It does not check whether the list is changed while it is used, so it is
+ * only for lists that cannot be changed, or views of them.
+ *
+ * @param <E>
+ *            element type
+ */
+final class RandomAccessSpliterator<E> implements Spliterator<E> {
+
+    private final List<E> list;
+    private int index;
+    private final int fence;
+
+    RandomAccessSpliterator(List<E> list) {
+        this(list, 0, list.size());
+    }
+
+    private RandomAccessSpliterator(List<E> list, int origin, int fence) {
+        this.list = list;
+        this.index = origin;
+        this.fence = fence;
+    }
+
+    @Override
+    public Spliterator<E> trySplit() {
+        int middle = (index + fence) >>> 1;
+        if (middle <= index) {
+            return null;
+        }
+        Spliterator<E> prefix = new RandomAccessSpliterator<>(list, index, middle);
+        index = middle;
+        return prefix;
+    }
+
+    @Override
+    public boolean tryAdvance(Consumer<? super E> action) {
+        if (index >= fence) {
+            return false;
+        }
+        action.accept(list.get(index++));
+        return true;
+    }
+
+    @Override
+    public void forEachRemaining(Consumer<? super E> action) {
+        while (index < fence) {
+            action.accept(list.get(index++));
+        }
+    }
+
+    @Override
+    public long estimateSize() {
+        return fence - index;
+    }
+
+    @Override
+    public int characteristics() {
+        return ORDERED | SIZED | SUBSIZED;
+    }
+
+}
@@ -2,9 +2,13 @@ package org.ayeseeem.say.java.util;
 
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.EnumSet;
 import java.util.HashSet;
 import java.util.LinkedHashSet;
+import java.util.Optional;
 import java.util.Set;
+import java.util.SortedSet;
+import java.util.function.ToLongFunction;
 
 /**
  * Helpers and extensions for {@link java.util.Set}.
@@ -59,6 +63,10 @@ public class SetSupport {
      * ("set of things", rather than "array as a set"), and the set it produces is
      * modifiable (whereas the list produced by {@code Arrays#asList()} is
      * unmodifiable).
+     * <p>
+     * The set is always a {@link HashSet}, which takes any member later, even
+     * {@code null}. For a modifiable set of {@code enum} values held as bits, use
+     * {@link #enumSetOf(Enum, Enum...)}.
      *
      * @param <T>
      *            member type
@@ -68,6 +76,7 @@ public class SetSupport {
      *
      * @see #unmodifiableSetOf(Object...)
      * @see #initiallyEmptySet()
+     * @see #enumSetOf(Enum, Enum...)
      */
     @SafeVarargs
     public static <T> Set<T> modifiableSetOf(T... members) {
@@ -104,6 +113,11 @@ public class SetSupport {
      * This is like {@link Collections#unmodifiableSet(Set)}, but it takes
      * varargs, not a set. Also, it removes any duplicates rather than throwing
      * an exception.
+     * <p>
+     * The set holds its members in a single array (or, for up to two members,
+     * in fields), so it takes much less memory than a {@link HashSet}.
+     * Members that are an array of an {@code enum} type, with no {@code null},
+     * are held in an {@link EnumSet} instead.
      *
      * @param <T>
      *            member type
@@ -116,9 +130,11 @@ public class SetSupport {
      */
     @SafeVarargs
     public static <T> Set<T> unmodifiableSetOf(T... members) {
-        Set<T> set = new HashSet<>();
-        set.addAll(Arrays.asList(members));
-        return Collections.unmodifiableSet(set);
+        Set<T> enumSet = enumSetOrNull(members);
+        if (enumSet != null) {
+            return Collections.unmodifiableSet(enumSet);
+        }
+        return ImmutableSet.of(members);
     }
 
     /**
@@ -153,4 +169,336 @@ public class SetSupport {
         return new LinkedHashSet<>();
     }
 
+    /**
+     * Creates an empty {@link ProbabilisticSet} (a Bloom filter), sized for a
+     * number of members and a false positive rate.
+     * <p>
+     * Use this when a set would be too large to hold in memory, and it is enough
+     * to know that an item is <em>probably</em> a member - for example, to
+     * filter out most items before a slower, exact check.
+     *
+     * @param <T>
+     *            member type
+     * @param expectedSize
+     *            the number of members expected to be added
+     * @param falsePositiveRate
+     *            the rate at which non-members can be reported as members, once
+     *            the expected number of members have been added, for example
+     *            {@code 0.01}
+     * @return a new, empty {@code ProbabilisticSet}
+     * @throws IllegalArgumentException
+     *             if the size is not positive, or the rate is not between 0 and 1
+     */
+    public static <T> ProbabilisticSet<T> probabilisticSetOf(long expectedSize, double falsePositiveRate) {
+        return ProbabilisticSet.create(expectedSize, falsePositiveRate, ProbabilisticSet::defaultHash);
+    }
+
+    /**
+     * Creates an empty {@link ProbabilisticSet} (a Bloom filter), sized for a
+     * number of members and a false positive rate, that hashes its members with
+     * a given hash function - see {@link #probabilisticSetOf(long, double)}.
+     *
+     * @param <T>
+     *            member type
+     * @param expectedSize
+     *            the number of members expected to be added
+     * @param falsePositiveRate
+     *            the rate at which non-members can be reported as members, once
+     *            the expected number of members have been added
+     * @param hash
+     *            a 64-bit hash function for members, which should be well
+     *            distributed
+     * @return a new, empty {@code ProbabilisticSet}
+     * @throws IllegalArgumentException
+     *             if the size is not positive, or the rate is not between 0 and 1
+     */
+    public static <T> ProbabilisticSet<T> probabilisticSetOf(long expectedSize, double falsePositiveRate,
+            ToLongFunction<? super T> hash) {
+        return ProbabilisticSet.create(expectedSize, falsePositiveRate, hash);
+    }
+
+    /**
+     * Finds the first (lowest) member of a sorted set.
+     *
+     * @param <T>
+     *            member type
+     * @param set
+     *            the set to get the data from
+     * @return an {@code Optional} containing the first member of the set, or an
+     *         empty {@code Optional} if the set is empty.
+     *
+     * @see ListSupport#firstOf(java.util.List)
+     */
+    public static <T> Optional<T> firstOf(SortedSet<T> set) {
+        if (set.isEmpty()) {
+            return Optional.empty();
+        }
+        return Optional.of(set.first());
+    }
+
+    /**
+     * Finds the last (highest) member of a sorted set, without going through
+     * the other members.
+     *
+     * @param <T>
+     *            member type
+     * @param set
+     *            the set to get the data from
+     * @return an {@code Optional} containing the last member of the set, or an
+     *         empty {@code Optional} if the set is empty.
+     *
+     * @see ListSupport#lastOf(java.util.List)
+     */
+    public static <T> Optional<T> lastOf(SortedSet<T> set) {
+        if (set.isEmpty()) {
+            return Optional.empty();
+        }
+        return Optional.of(set.last());
+    }
+
+    /**
+     * Creates a modifiable {@link IntSet} from the values, removing any
+     * duplicates. This holds the values without boxing them, so it takes much
+     * less memory than a {@code Set<Integer>}.
+     *
+     * @param values
+     *            the values of the set
+     * @return a new, modifiable {@code IntSet}
+     *
+     * @see #modifiableSetOf(Object...)
+     */
+    public static IntSet intSetOf(int... values) {
+        IntSet set = new IntSet(values.length);
+        set.addAll(values);
+        return set;
+    }
+
+    /**
+     * Creates a modifiable {@link LongSet} from the values, removing any
+     * duplicates. This holds the values without boxing them, so it takes much
+     * less memory than a {@code Set<Long>}.
+     *
+     * @param values
+     *            the values of the set
+     * @return a new, modifiable {@code LongSet}
+     *
+     * @see #modifiableSetOf(Object...)
+     */
+    public static LongSet longSetOf(long... values) {
+        LongSet set = new LongSet(values.length);
+        set.addAll(values);
+        return set;
+    }
+
+    /**
+     * Creates a modifiable {@link BitmapSet} from the values, removing any
+     * duplicates. This holds the values as a compressed bitmap, which suits
+     * large sets of values that are close together, and combines whole sets
+     * with {@code and}, {@code or} and {@code andNot} a word at a time.
+     *
+     * @param values
+     *            the values of the set
+     * @return a new, modifiable {@code BitmapSet}
+     *
+     * @see #intSetOf(int...)
+     */
+    public static BitmapSet bitmapSetOf(int... values) {
+        BitmapSet set = new BitmapSet();
+        set.addAll(values);
+        set.optimize();
+        return set;
+    }
+
+    /**
+     * Creates a modifiable {@link EnumSet} of the members, which holds them as
+     * bits, rather than as objects.
+     *
+     * @param <E>
+     *            member type
+     * @param first
+     *            a member of the set, which gives the type of the set
+     * @param rest
+     *            the other members of the set
+     * @return a new, modifiable {@code EnumSet}
+     *
+     * @see #enumSetOf(Class, Enum...)
+     */
+    @SafeVarargs
+    public static <E extends Enum<E>> EnumSet<E> enumSetOf(E first, E... rest) {
+        return EnumSet.of(first, rest);
+    }
+
+    /**
+     * Creates a modifiable {@link EnumSet} of the members, which can be empty,
+     * because the type is given separately.
+     *
+     * @param <E>
+     *            member type
+     * @param type
+     *            the type of the members
+     * @param members
+     *            the members of the set
+     * @return a new, modifiable {@code EnumSet}
+     */
+    @SafeVarargs
+    public static <E extends Enum<E>> EnumSet<E> enumSetOf(Class<E> type, E... members) {
+        EnumSet<E> set = EnumSet.noneOf(type);
+        Collections.addAll(set, members);
+        return set;
+    }
+
+    /**
+     * Gets a view of the members that are in either set, without copying them.
+     * The view is unmodifiable, but reflects changes to the sets.
+     *
+     * @param <T>
+     *            member type
+     * @param a
+     *            a set
+     * @param b
+     *            another set
+     * @return an unmodifiable view of the union of the sets
+     *
+     * @see SetView#materialize()
+     * @see #enumUnion(EnumSet, EnumSet)
+     */
+    public static <T> SetView<T> union(Set<? extends T> a, Set<? extends T> b) {
+        return SetView.union(a, b);
+    }
+
+    /**
+     * Gets a view of the members that are in both sets, without copying them.
+     * The view iterates the smaller set, and checks each member against the
+     * larger one.
+     *
+     * @param <T>
+     *            member type
+     * @param a
+     *            a set
+     * @param b
+     *            another set
+     * @return an unmodifiable view of the intersection of the sets
+     *
+     * @see #union(Set, Set)
+     */
+    public static <T> SetView<T> intersection(Set<? extends T> a, Set<? extends T> b) {
+        return SetView.intersection(a, b);
+    }
+
+    /**
+     * Gets a view of the members of one set that are not in another, without
+     * copying them.
+     *
+     * @param <T>
+     *            member type
+     * @param a
+     *            the set to take members from
+     * @param b
+     *            the set of members to leave out
+     * @return an unmodifiable view of the difference of the sets
+     *
+     * @see #union(Set, Set)
+     */
+    public static <T> SetView<T> difference(Set<? extends T> a, Set<? extends T> b) {
+        return SetView.difference(a, b);
+    }
+
+    /**
+     * Creates a new {@link EnumSet} of the members that are in either set.
+     * <p>
+     * Like the other {@code enum} set operations here, this works on the bits of
+     * the sets a word at a time, rather than member by member.
+     *
+     * @param <E>
+     *            member type
+     * @param a
+     *            a set
+     * @param b
+     *            another set
+     * @return a new, modifiable {@code EnumSet} of the union of the sets
+     */
+    public static <E extends Enum<E>> EnumSet<E> enumUnion(EnumSet<E> a, EnumSet<E> b) {
+        EnumSet<E> result = a.clone();
+        result.addAll(b);
+        return result;
+    }
+
+    /**
+     * Creates a new {@link EnumSet} of the members that are in both sets.
+     *
+     * @param <E>
+     *            member type
+     * @param a
+     *            a set
+     * @param b
+     *            another set
+     * @return a new, modifiable {@code EnumSet} of the intersection of the sets
+     *
+     * @see #enumUnion(EnumSet, EnumSet)
+     */
+    public static <E extends Enum<E>> EnumSet<E> enumIntersection(EnumSet<E> a, EnumSet<E> b) {
+        EnumSet<E> result = a.clone();
+        result.retainAll(b);
+        return result;
+    }
+
+    /**
+     * Creates a new {@link EnumSet} of the members of one set that are not in
+     * another.
+     *
+     * @param <E>
+     *            member type
+     * @param a
+     *            the set to take members from
+     * @param b
+     *            the set of members to leave out
+     * @return a new, modifiable {@code EnumSet} of the difference of the sets
+     *
+     * @see #enumUnion(EnumSet, EnumSet)
+     */
+    public static <E extends Enum<E>> EnumSet<E> enumDifference(EnumSet<E> a, EnumSet<E> b) {
+        EnumSet<E> result = a.clone();
+        result.removeAll(b);
+        return result;
+    }
+
+    /**
+     * Creates a new {@link EnumSet} of the values of the {@code enum} type that
+     * are not in a set.
+     *
+     * @param <E>
+     *            member type
+     * @param set
+     *            the set of values to leave out
+     * @return a new, modifiable {@code EnumSet} of the complement of the set
+     *
+     * @see #enumUnion(EnumSet, EnumSet)
+     */
+    public static <E extends Enum<E>> EnumSet<E> enumComplement(EnumSet<E> set) {
+        return EnumSet.complementOf(set);
+    }
+
+    /**
+     * Creates an {@link EnumSet} of the members if they are an array of an
+     * {@code enum} type, with no {@code null} members. This is only used for
+     * unmodifiable sets, because an {@code EnumSet} rejects {@code null} and
+     * members of other types, which a modifiable set of a wider static type
+     * would have to take later.
+     */
+    @SuppressWarnings({ "unchecked", "rawtypes" })
+    private static <T> Set<T> enumSetOrNull(T[] members) {
+        Class<?> type = members.getClass().getComponentType();
+        if (!type.isEnum()) {
+            return null;
+        }
+        for (T member : members) {
+            if (member == null) {
+                return null;
+            }
+        }
+        EnumSet set = EnumSet.noneOf((Class<Enum>) type);
+        Collections.addAll(set, members);
+        return set;
+    }
+
 }
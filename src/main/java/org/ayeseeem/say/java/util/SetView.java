@@ -0,0 +1,273 @@
+package org.ayeseeem.say.java.util;
+
+import java.util.AbstractSet;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Set;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+
+/**
+ * An unmodifiable, live view of the union, intersection or difference of two
+ * sets, which is worked out as it is read, rather than copied. This suits
+ * checking a few members, or a single pass over the result; use
+ * {@link #materialize()} to copy it, if it will be read many times.
+ * <p>
+ * Where the result allows, the smaller of the two sets is iterated, and the
+ * larger one is only probed with {@code contains()}. Which set is smaller is
+ * decided on each read, so the view follows any changes to the sets. Unlike
+ * most sets, {@link #size()} takes a pass over one of the sets.
+ *
+ * @param <E>
+ *            member type
+ *
+ * @see SetSupport#union(Set, Set)
+ * @see SetSupport#intersection(Set, Set)
+ * @see SetSupport#difference(Set, Set)
+ */
+public abstract class SetView<E> extends AbstractSet<E> {
+
+    static final int PARALLEL_THRESHOLD = 1 << 14;
+
+    final Set<E> a;
+    final Set<E> b;
+
+    @SuppressWarnings("unchecked")
+    SetView(Set<? extends E> a, Set<? extends E> b) {
+        this.a = (Set<E>) a;
+        this.b = (Set<E>) b;
+    }
+
+    static <E> SetView<E> union(Set<? extends E> a, Set<? extends E> b) {
+        return new Union<>(a, b);
+    }
+
+    static <E> SetView<E> intersection(Set<? extends E> a, Set<? extends E> b) {
+        return new Intersection<>(a, b);
+    }
+
+    static <E> SetView<E> difference(Set<? extends E> a, Set<? extends E> b) {
+        return new Difference<>(a, b);
+    }
+
+    /**
+     * Copies the members to a new set, sized for the most members the result
+     * could have, so that it is not resized as it is filled.
+     *
+     * @return a new, modifiable {@code Set}
+     */
+    public Set<E> materialize() {
+        Set<E> result = new HashSet<>(capacityFor(maxSize()));
+        members(false).forEach(result::add);
+        return result;
+    }
+
+    /**
+     * Copies the members to a new set, finding them by working on parts of the
+     * sets in parallel, then adding them all to one set, sized for them. Small
+     * results (of fewer than {@value #PARALLEL_THRESHOLD} members at most) are
+     * copied as by {@link #materialize()}, because dividing the work would take
+     * longer than doing it. The sets must not be modified during the copy.
+     *
+     * @return a new, modifiable {@code Set}
+     */
+    @SuppressWarnings("unchecked")
+    public Set<E> materializeInParallel() {
+        if (maxSize() < PARALLEL_THRESHOLD) {
+            return materialize();
+        }
+        Object[] members = members(true).toArray();
+        Set<E> result = new HashSet<>(capacityFor(members.length));
+        for (Object member : members) {
+            result.add((E) member);
+        }
+        return result;
+    }
+
+    @Override
+    public Iterator<E> iterator() {
+        return members(false).iterator();
+    }
+
+    @Override
+    public Stream<E> stream() {
+        return members(false);
+    }
+
+    @Override
+    public Stream<E> parallelStream() {
+        return members(true);
+    }
+
+    @Override
+    public final boolean add(E e) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public final boolean remove(Object o) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public final boolean addAll(Collection<? extends E> c) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public final boolean removeAll(Collection<?> c) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public final boolean retainAll(Collection<?> c) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public final boolean removeIf(Predicate<? super E> filter) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public final void clear() {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * Creates a stream of the members, which is lazy, like the view.
+     */
+    abstract Stream<E> members(boolean parallel);
+
+    /**
+     * Gets the most members the result could have, without a pass over either
+     * set.
+     */
+    abstract int maxSize();
+
+    Set<E> smaller() {
+        return a.size() <= b.size() ? a : b;
+    }
+
+    Set<E> larger() {
+        return a.size() <= b.size() ? b : a;
+    }
+
+    static <E> Stream<E> streamOf(Set<E> set, boolean parallel) {
+        return parallel ? set.parallelStream() : set.stream();
+    }
+
+    private static int capacityFor(int size) {
+        return (int) Math.min((long) size * 4 / 3 + 1, Integer.MAX_VALUE);
+    }
+
+    private static final class Union<E> extends SetView<E> {
+
+        Union(Set<? extends E> a, Set<? extends E> b) {
+            super(a, b);
+        }
+
+        @Override
+        Stream<E> members(boolean parallel) {
+            Set<E> larger = larger();
+            return Stream.concat(streamOf(larger, parallel),
+                    streamOf(smaller(), parallel).filter(e -> !larger.contains(e)));
+        }
+
+        @Override
+        int maxSize() {
+            return (int) Math.min((long) a.size() + b.size(), Integer.MAX_VALUE);
+        }
+
+        @Override
+        public int size() {
+            Set<E> larger = larger();
+            long extra = smaller().stream().filter(e -> !larger.contains(e)).count();
+            return (int) Math.min(larger.size() + extra, Integer.MAX_VALUE);
+        }
+
+        @Override
+        public boolean isEmpty() {
+            return a.isEmpty() && b.isEmpty();
+        }
+
+        @Override
+        public boolean contains(Object o) {
+            return a.contains(o) || b.contains(o);
+        }
+    }
+
+    private static final class Intersection<E> extends SetView<E> {
+
+        Intersection(Set<? extends E> a, Set<? extends E> b) {
+            super(a, b);
+        }
+
+        @Override
+        Stream<E> members(boolean parallel) {
+            return streamOf(smaller(), parallel).filter(larger()::contains);
+        }
+
+        @Override
+        int maxSize() {
+            return Math.min(a.size(), b.size());
+        }
+
+        @Override
+        public int size() {
+            return (int) members(false).count();
+        }
+
+        @Override
+        public boolean isEmpty() {
+            return !members(false).findAny().isPresent();
+        }
+
+        @Override
+        public boolean contains(Object o) {
+            return a.contains(o) && b.contains(o);
+        }
+    }
+
+    /**
+     * The members of {@code a} that are not in {@code b}. These can only be
+     * found by iterating {@code a}, but if {@code b} is smaller, the size is
+     * found by iterating {@code b}.
+     */
+    private static final class Difference<E> extends SetView<E> {
+
+        Difference(Set<? extends E> a, Set<? extends E> b) {
+            super(a, b);
+        }
+
+        @Override
+        Stream<E> members(boolean parallel) {
+            return streamOf(a, parallel).filter(e -> !b.contains(e));
+        }
+
+        @Override
+        int maxSize() {
+            return a.size();
+        }
+
+        @Override
+        public int size() {
+            if (b.size() < a.size()) {
+                return a.size() - (int) b.stream().filter(a::contains).count();
+            }
+            return (int) members(false).count();
+        }
+
+        @Override
+        public boolean isEmpty() {
+            return !members(false).findAny().isPresent();
+        }
+
+        @Override
+        public boolean contains(Object o) {
+            return a.contains(o) && !b.contains(o);
+        }
+    }
+
+}
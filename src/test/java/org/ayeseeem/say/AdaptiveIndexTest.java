@@ -0,0 +1,157 @@
+package org.ayeseeem.say;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedList;
+import java.util.List;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class AdaptiveIndexTest {
+
+    @Before
+    public void setUp() {
+        AdaptiveIndex.forgetAll();
+    }
+
+    @After
+    public void tearDown() {
+        AdaptiveIndex.forgetAll();
+    }
+
+    @Test
+    public void testContains_LargeList() {
+        List<String> list = numbers(1000);
+
+        for (int check = 0; check < AdaptiveIndex.CHECKS_BEFORE_INDEXING * 2; check++) {
+            assertThat(AdaptiveIndex.contains(list, "0"), is(true));
+            assertThat(AdaptiveIndex.contains(list, "999"), is(true));
+            assertThat(AdaptiveIndex.contains(list, "1000"), is(false));
+            assertThat(AdaptiveIndex.contains(list, null), is(false));
+        }
+        assertThat(AdaptiveIndex.cachedCount(), is(1));
+    }
+
+    @Test
+    public void testContains_NonRandomAccessCollectionsAreNotIndexed() {
+        List<String> collection = new LinkedList<>(numbers(1000));
+
+        for (int check = 0; check < AdaptiveIndex.CHECKS_BEFORE_INDEXING * 2; check++) {
+            assertThat(AdaptiveIndex.contains(collection, "500"), is(true));
+            assertThat(AdaptiveIndex.contains(collection, "1000"), is(false));
+        }
+        collection.set(500, "replacement");
+
+        assertThat(AdaptiveIndex.contains(collection, "500"), is(false));
+        assertThat(AdaptiveIndex.contains(collection, "replacement"), is(true));
+        assertThat(AdaptiveIndex.cachedCount(), is(0));
+    }
+
+    @Test
+    public void testContains_SmallCollectionsAndSetsAreNotIndexed() {
+        List<String> small = numbers(AdaptiveIndex.MIN_SIZE - 1);
+        Collection<String> set = new HashSet<>(numbers(1000));
+
+        for (int check = 0; check < AdaptiveIndex.CHECKS_BEFORE_INDEXING * 2; check++) {
+            assertThat(AdaptiveIndex.contains(small, "1"), is(true));
+            assertThat(AdaptiveIndex.contains(set, "1"), is(true));
+        }
+        assertThat(AdaptiveIndex.cachedCount(), is(0));
+    }
+
+    @Test
+    public void testContains_NoticesSizeChanges() {
+        List<String> list = numbers(1000);
+        for (int check = 0; check < AdaptiveIndex.CHECKS_BEFORE_INDEXING * 2; check++) {
+            assertThat(AdaptiveIndex.contains(list, "new"), is(false));
+        }
+
+        list.add("new");
+        assertThat(AdaptiveIndex.contains(list, "new"), is(true));
+
+        list.remove("new");
+        assertThat(AdaptiveIndex.contains(list, "new"), is(false));
+    }
+
+    @Test
+    public void testContains_MissesItemsAddedWithoutASizeChange() {
+        List<String> list = numbers(1000);
+        for (int check = 0; check < AdaptiveIndex.CHECKS_BEFORE_INDEXING * 2; check++) {
+            assertThat(AdaptiveIndex.contains(list, "new"), is(false));
+        }
+
+        list.remove("50");
+        list.add("new");
+
+        assertThat(list.contains("new"), is(true));
+        assertThat(AdaptiveIndex.contains(list, "new"), is(false));
+
+        list.add("another");
+        assertThat(AdaptiveIndex.contains(list, "new"), is(true));
+    }
+
+    @Test
+    public void testContains_NoticesReplacedElementsThatWereFound() {
+        List<String> list = numbers(1000);
+        for (int check = 0; check < AdaptiveIndex.CHECKS_BEFORE_INDEXING * 2; check++) {
+            assertThat(AdaptiveIndex.contains(list, "500"), is(true));
+        }
+
+        list.set(500, "replacement");
+
+        assertThat(AdaptiveIndex.contains(list, "500"), is(false));
+        assertThat(AdaptiveIndex.contains(list, "replacement"), is(true));
+    }
+
+    @Test
+    public void testContains_DuplicateElements() {
+        List<String> list = numbers(1000);
+        list.addAll(numbers(1000));
+        for (int check = 0; check < AdaptiveIndex.CHECKS_BEFORE_INDEXING * 2; check++) {
+            assertThat(AdaptiveIndex.contains(list, "500"), is(true));
+        }
+
+        list.set(500, "replacement");
+
+        assertThat(AdaptiveIndex.contains(list, "500"), is(true));
+    }
+
+    @Test
+    public void testContains_IndexesAreByIdentity() {
+        List<String> list1 = numbers(1000);
+        List<String> list2 = numbers(1000);
+        for (int check = 0; check < AdaptiveIndex.CHECKS_BEFORE_INDEXING * 2; check++) {
+            AdaptiveIndex.contains(list1, "1");
+            AdaptiveIndex.contains(list2, "1");
+        }
+
+        assertThat(list1.equals(list2), is(true));
+        assertThat(AdaptiveIndex.cachedCount(), is(2));
+    }
+
+    @Test
+    public void testForgetAll() {
+        List<String> list = numbers(1000);
+        AdaptiveIndex.contains(list, "1");
+        assertThat(AdaptiveIndex.cachedCount(), is(1));
+
+        AdaptiveIndex.forgetAll();
+
+        assertThat(AdaptiveIndex.cachedCount(), is(0));
+    }
+
+    private static List<String> numbers(int count) {
+        List<String> numbers = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            numbers.add(Integer.toString(i));
+        }
+        return numbers;
+    }
+
+}
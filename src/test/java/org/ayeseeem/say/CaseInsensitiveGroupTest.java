@@ -0,0 +1,83 @@
+package org.ayeseeem.say;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+import java.text.Normalizer;
+
+import org.junit.Test;
+
+public class CaseInsensitiveGroupTest {
+
+    @Test
+    public void testContains_IgnoresCase() {
+        CaseInsensitiveGroup group = new CaseInsensitiveGroup(null, "Content-Type", "Content-Length");
+
+        assertThat(group.contains("content-type"), is(true));
+        assertThat(group.contains("CONTENT-LENGTH"), is(true));
+        assertThat(group.contains("Content-Type"), is(true));
+        assertThat(group.contains(new StringBuilder("cOnTeNt-TyPe")), is(true));
+
+        assertThat(group.contains("Content-Encoding"), is(false));
+        assertThat(group.contains("Content-Typ"), is(false));
+        assertThat(group.contains(""), is(false));
+    }
+
+    @Test
+    public void testContains_MatchesEqualsIgnoreCase() {
+        String[] pairs = { "\u0130", "i", "\u03a3", "\u03c2", "stra\u00dfe", "STRASSE", "\u212a", "k" };
+        for (int i = 0; i < pairs.length; i += 2) {
+            CaseInsensitiveGroup group = new CaseInsensitiveGroup(null, pairs[i]);
+
+            assertThat(pairs[i] + " vs " + pairs[i + 1],
+                    group.contains(pairs[i + 1]), is(pairs[i].equalsIgnoreCase(pairs[i + 1])));
+        }
+    }
+
+    @Test
+    public void testContains_OnlyCharSequences() {
+        CaseInsensitiveGroup group = new CaseInsensitiveGroup(null, "1");
+
+        assertThat(group.contains(1), is(false));
+        assertThat(group.contains(null), is(false));
+    }
+
+    @Test
+    public void testContains_Normalized() {
+        String composed = "caf\u00e9";
+        String decomposed = "cafe\u0301";
+        CaseInsensitiveGroup group = new CaseInsensitiveGroup(Normalizer.Form.NFC, composed);
+
+        assertThat(group.contains(decomposed), is(true));
+        assertThat(group.contains("CAF\u00c9"), is(true));
+        assertThat(group.contains("cafe"), is(false));
+    }
+
+    @Test
+    public void testContains_NotNormalized() {
+        CaseInsensitiveGroup group = new CaseInsensitiveGroup(null, "caf\u00e9");
+
+        assertThat(group.contains("cafe\u0301"), is(false));
+    }
+
+    @Test
+    public void testSize_CountsMembersThatDifferOnlyInCaseOnce() {
+        assertThat(new CaseInsensitiveGroup(null, "a", "A", "b").size(), is(2));
+        assertThat(new CaseInsensitiveGroup(null).size(), is(0));
+    }
+
+    @Test
+    public void testContains_ManyMembers() {
+        String[] members = new String[100];
+        for (int i = 0; i < members.length; i++) {
+            members[i] = "Header-" + i;
+        }
+        CaseInsensitiveGroup group = new CaseInsensitiveGroup(null, members);
+
+        for (int i = 0; i < members.length; i++) {
+            assertThat(group.contains("HEADER-" + i), is(true));
+        }
+        assertThat(group.contains("HEADER-100"), is(false));
+    }
+
+}
@@ -0,0 +1,128 @@
+package org.ayeseeem.say;
+
+import static org.ayeseeem.say.CharContainedItem.the;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+import org.junit.Test;
+
+public class CharContainedItemTest {
+
+    @Test
+    public void testIsIn_Array() {
+        char[] array = new char[] { 'a', 'b', 'c' };
+
+        assertThat(the('a').isIn(array), is(true));
+        assertThat(the('b').isIn(array), is(true));
+        assertThat(the('c').isIn(array), is(true));
+
+        assertThat(the('z').isIn(array), is(false));
+    }
+
+    @Test
+    public void testIsIn_CharSequence() {
+        assertThat(the('a').isIn("aeiou"), is(true));
+        assertThat(the('u').isIn("aeiou"), is(true));
+        assertThat(the('u').isIn(new StringBuilder("aeiou")), is(true));
+
+        assertThat(the('z').isIn("aeiou"), is(false));
+        assertThat(the('a').isIn(""), is(false));
+    }
+
+    @Test
+    public void testIsInSorted() {
+        char[] sortedArray = new char[] { 'a', 'e', 'i', 'o', 'u' };
+
+        assertThat(the('a').isInSorted(sortedArray), is(true));
+        assertThat(the('i').isInSorted(sortedArray), is(true));
+        assertThat(the('u').isInSorted(sortedArray), is(true));
+
+        assertThat(the('b').isInSorted(sortedArray), is(false));
+        assertThat(the('z').isInSorted(sortedArray), is(false));
+    }
+
+    @Test
+    public void testIsOneOf() {
+        assertThat(the(',').isOneOf(',', ';', '|'), is(true));
+        assertThat(the('|').isOneOf(',', ';', '|'), is(true));
+
+        assertThat(the(':').isOneOf(',', ';', '|'), is(false));
+    }
+
+    @Test
+    public void testIsOneOf_FixedArity_FindsLastItem() {
+        assertThat(the('a').isOneOf('a'), is(true));
+        assertThat(the('b').isOneOf('a', 'b'), is(true));
+        assertThat(the('c').isOneOf('a', 'b', 'c'), is(true));
+        assertThat(the('d').isOneOf('a', 'b', 'c', 'd'), is(true));
+        assertThat(the('e').isOneOf('a', 'b', 'c', 'd', 'e'), is(true));
+        assertThat(the('f').isOneOf('a', 'b', 'c', 'd', 'e', 'f'), is(true));
+        assertThat(the('g').isOneOf('a', 'b', 'c', 'd', 'e', 'f', 'g'), is(true));
+        assertThat(the('h').isOneOf('a', 'b', 'c', 'd', 'e', 'f', 'g', 'h'), is(true));
+    }
+
+    @Test
+    public void testIsOneOf_FixedArity_FindsEveryItem() {
+        assertThat(the('a').isOneOf('a'), is(true));
+
+        assertThat(the('a').isOneOf('a', 'b'), is(true));
+        assertThat(the('b').isOneOf('a', 'b'), is(true));
+
+        assertThat(the('a').isOneOf('a', 'b', 'c'), is(true));
+        assertThat(the('b').isOneOf('a', 'b', 'c'), is(true));
+        assertThat(the('c').isOneOf('a', 'b', 'c'), is(true));
+
+        assertThat(the('a').isOneOf('a', 'b', 'c', 'd'), is(true));
+        assertThat(the('b').isOneOf('a', 'b', 'c', 'd'), is(true));
+        assertThat(the('c').isOneOf('a', 'b', 'c', 'd'), is(true));
+        assertThat(the('d').isOneOf('a', 'b', 'c', 'd'), is(true));
+
+        assertThat(the('a').isOneOf('a', 'b', 'c', 'd', 'e'), is(true));
+        assertThat(the('b').isOneOf('a', 'b', 'c', 'd', 'e'), is(true));
+        assertThat(the('c').isOneOf('a', 'b', 'c', 'd', 'e'), is(true));
+        assertThat(the('d').isOneOf('a', 'b', 'c', 'd', 'e'), is(true));
+        assertThat(the('e').isOneOf('a', 'b', 'c', 'd', 'e'), is(true));
+
+        assertThat(the('a').isOneOf('a', 'b', 'c', 'd', 'e', 'f'), is(true));
+        assertThat(the('b').isOneOf('a', 'b', 'c', 'd', 'e', 'f'), is(true));
+        assertThat(the('c').isOneOf('a', 'b', 'c', 'd', 'e', 'f'), is(true));
+        assertThat(the('d').isOneOf('a', 'b', 'c', 'd', 'e', 'f'), is(true));
+        assertThat(the('e').isOneOf('a', 'b', 'c', 'd', 'e', 'f'), is(true));
+        assertThat(the('f').isOneOf('a', 'b', 'c', 'd', 'e', 'f'), is(true));
+
+        assertThat(the('a').isOneOf('a', 'b', 'c', 'd', 'e', 'f', 'g'), is(true));
+        assertThat(the('b').isOneOf('a', 'b', 'c', 'd', 'e', 'f', 'g'), is(true));
+        assertThat(the('c').isOneOf('a', 'b', 'c', 'd', 'e', 'f', 'g'), is(true));
+        assertThat(the('d').isOneOf('a', 'b', 'c', 'd', 'e', 'f', 'g'), is(true));
+        assertThat(the('e').isOneOf('a', 'b', 'c', 'd', 'e', 'f', 'g'), is(true));
+        assertThat(the('f').isOneOf('a', 'b', 'c', 'd', 'e', 'f', 'g'), is(true));
+        assertThat(the('g').isOneOf('a', 'b', 'c', 'd', 'e', 'f', 'g'), is(true));
+
+        assertThat(the('a').isOneOf('a', 'b', 'c', 'd', 'e', 'f', 'g', 'h'), is(true));
+        assertThat(the('b').isOneOf('a', 'b', 'c', 'd', 'e', 'f', 'g', 'h'), is(true));
+        assertThat(the('c').isOneOf('a', 'b', 'c', 'd', 'e', 'f', 'g', 'h'), is(true));
+        assertThat(the('d').isOneOf('a', 'b', 'c', 'd', 'e', 'f', 'g', 'h'), is(true));
+        assertThat(the('e').isOneOf('a', 'b', 'c', 'd', 'e', 'f', 'g', 'h'), is(true));
+        assertThat(the('f').isOneOf('a', 'b', 'c', 'd', 'e', 'f', 'g', 'h'), is(true));
+        assertThat(the('g').isOneOf('a', 'b', 'c', 'd', 'e', 'f', 'g', 'h'), is(true));
+        assertThat(the('h').isOneOf('a', 'b', 'c', 'd', 'e', 'f', 'g', 'h'), is(true));
+    }
+
+    @Test
+    public void testIsOneOf_FixedArity_MissingItem() {
+        assertThat(the('i').isOneOf('a'), is(false));
+        assertThat(the('i').isOneOf('a', 'b'), is(false));
+        assertThat(the('i').isOneOf('a', 'b', 'c'), is(false));
+        assertThat(the('i').isOneOf('a', 'b', 'c', 'd'), is(false));
+        assertThat(the('i').isOneOf('a', 'b', 'c', 'd', 'e'), is(false));
+        assertThat(the('i').isOneOf('a', 'b', 'c', 'd', 'e', 'f'), is(false));
+        assertThat(the('i').isOneOf('a', 'b', 'c', 'd', 'e', 'f', 'g'), is(false));
+        assertThat(the('i').isOneOf('a', 'b', 'c', 'd', 'e', 'f', 'g', 'h'), is(false));
+    }
+
+    @Test
+    public void testIsOneOf_CanBeEmpty() {
+        assertThat(the(',').isOneOf(), is(false));
+    }
+
+}
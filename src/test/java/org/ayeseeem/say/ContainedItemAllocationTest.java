@@ -0,0 +1,109 @@
+package org.ayeseeem.say;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.lessThan;
+import static org.junit.Assume.assumeTrue;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.BooleanSupplier;
+
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Measures the bytes allocated by each membership check, using the
+ * HotSpot-specific {@link com.sun.management.ThreadMXBean}. The measurements
+ * are skipped on JVMs that cannot provide them.
+ */
+public class ContainedItemAllocationTest {
+
+    private static final int OPERATIONS = 1_000_000;
+
+    /**
+     * Allows for the few bytes that reading the allocation counter can itself
+     * allocate - anything less than this rounds to zero bytes per operation.
+     */
+    private static final long MEASUREMENT_ALLOWANCE = 1024;
+
+    private com.sun.management.ThreadMXBean threads;
+
+    @Before
+    public void setUp() {
+        assumeTrue(ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean);
+        threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        assumeTrue(threads.isThreadAllocatedMemorySupported());
+        threads.setThreadAllocatedMemoryEnabled(true);
+    }
+
+    @Test
+    public void testIsOneOf_FixedArity_DoesNotAllocate() {
+        ContainedItem<String> subject = ContainedItem.the("zzz");
+
+        long bytes = bytesAllocatedBy(() -> subject.isOneOf("aaa", "bbb", "ccc", "ddd", "eee", "fff", "ggg", "hhh"));
+
+        assertThat(bytes, lessThan(MEASUREMENT_ALLOWANCE));
+    }
+
+    @Test
+    public void testIsIn_ItemGroup_DoesNotAllocate() {
+        ContainedItem<String> subject = ContainedItem.the("zzz");
+        ItemGroup<String> group = ContainedItem.oneOf("aaa", "bbb", "ccc", "ddd", "eee", "fff", "ggg", "hhh");
+
+        long bytes = bytesAllocatedBy(() -> subject.isIn(group));
+
+        assertThat(bytes, lessThan(MEASUREMENT_ALLOWANCE));
+    }
+
+    @Test
+    public void testIsIn_ItemGroup_IgnoringCase_DoesNotAllocate() {
+        ContainedItem<String> subject = ContainedItem.the("CONTENT-LENGTH");
+        ItemGroup<CharSequence> group = ContainedItem.oneOfIgnoringCase("Content-Type", "Content-Encoding");
+
+        long bytes = bytesAllocatedBy(() -> subject.isIn(group));
+
+        assertThat(bytes, lessThan(MEASUREMENT_ALLOWANCE));
+    }
+
+    @Test
+    public void testIsIn_AdaptivelyIndexedList_DoesNotAllocate() {
+        ContainedItem<String> subject = ContainedItem.the("zzz");
+        List<String> list = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            list.add(Integer.toString(i));
+        }
+
+        long bytes = bytesAllocatedBy(() -> subject.isInIndexed(list));
+
+        assertThat(bytes, lessThan(MEASUREMENT_ALLOWANCE));
+    }
+
+    @Test
+    public void testIntIsOneOf_FixedArity_DoesNotAllocate() {
+        IntContainedItem subject = IntContainedItem.the(404);
+
+        long bytes = bytesAllocatedBy(() -> subject.isOneOf(200, 201, 202, 203, 204, 205, 206, 207));
+
+        assertThat(bytes, lessThan(MEASUREMENT_ALLOWANCE));
+    }
+
+    private long bytesAllocatedBy(BooleanSupplier operation) {
+        long threadId = Thread.currentThread().getId();
+        int found = 0;
+        // warm up, so that any one-off allocation (class loading, etc.) is excluded
+        for (int i = 0; i < OPERATIONS; i++) {
+            found += operation.getAsBoolean() ? 1 : 0;
+        }
+
+        long before = threads.getThreadAllocatedBytes(threadId);
+        for (int i = 0; i < OPERATIONS; i++) {
+            found += operation.getAsBoolean() ? 1 : 0;
+        }
+        long after = threads.getThreadAllocatedBytes(threadId);
+
+        assertThat(found, lessThan(1));
+        return after - before;
+    }
+
+}
@@ -3,9 +3,14 @@ package org.ayeseeem.say;
 import static org.hamcrest.CoreMatchers.is;
 import static org.hamcrest.MatcherAssert.assertThat;
 
+import java.text.Normalizer;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.List;
 
+import org.ayeseeem.say.java.util.ProbabilisticSet;
+import org.ayeseeem.say.java.util.SetSupport;
 import org.ayeseeem.test.Characterization;
 import org.junit.Test;
 
@@ -47,6 +52,57 @@ public class ContainedItemTest {
         assertThat(ContainedItem.<Number>the(8888).isIn(collection), is(false));
     }
 
+    @Test
+    public void testIsIn_Collection_WithAdaptiveIndexing() {
+        List<Integer> collection = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            collection.add(i);
+        }
+
+        try {
+            ContainedItem.useAdaptiveIndexing(true);
+            for (int check = 0; check < 100; check++) {
+                assertThat(ContainedItem.the(check).isIn(collection), is(true));
+                assertThat(ContainedItem.the(-check - 1).isIn(collection), is(false));
+            }
+        } finally {
+            ContainedItem.useAdaptiveIndexing(false);
+        }
+    }
+
+    @Test
+    public void testIsInIndexed() {
+        List<Integer> list = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            list.add(i);
+        }
+
+        for (int check = 0; check < 100; check++) {
+            assertThat(ContainedItem.the(check).isInIndexed(list), is(true));
+            assertThat(ContainedItem.the(-check - 1).isInIndexed(list), is(false));
+        }
+    }
+
+    @Test
+    public void testIsIn_ArraysAreNotAdaptivelyIndexed() {
+        String[] array = new String[100];
+        for (int i = 0; i < array.length; i++) {
+            array[i] = Integer.toString(i);
+        }
+
+        try {
+            ContainedItem.useAdaptiveIndexing(true);
+            for (int check = 0; check < 1000; check++) {
+                assertThat(ContainedItem.the("5").isIn(array), is(true));
+                assertThat(ContainedItem.the("5").isOneOf(array), is(true));
+                assertThat(ContainedItem.the("zzz").isOneOf("0", "1", "2", "3", "4", "5", "6", "7", "8"), is(false));
+            }
+            assertThat(AdaptiveIndex.cachedCount(), is(0));
+        } finally {
+            ContainedItem.useAdaptiveIndexing(false);
+        }
+    }
+
     @Test
     public void testIsIn_Array() {
         String[] array = new String[] { "aaa", "bbb", "ccc" };
@@ -87,6 +143,91 @@ public class ContainedItemTest {
         assertThat(ContainedItem.the(888).isOneOf(111, 222, 333), is(false));
     }
 
+    @Test
+    public void testIsOneOf_FixedArity_FindsLastItem() {
+        assertThat(ContainedItem.the("h").isOneOf("h"), is(true));
+        assertThat(ContainedItem.the("h").isOneOf("a", "h"), is(true));
+        assertThat(ContainedItem.the("h").isOneOf("a", "b", "h"), is(true));
+        assertThat(ContainedItem.the("h").isOneOf("a", "b", "c", "h"), is(true));
+        assertThat(ContainedItem.the("h").isOneOf("a", "b", "c", "d", "h"), is(true));
+        assertThat(ContainedItem.the("h").isOneOf("a", "b", "c", "d", "e", "h"), is(true));
+        assertThat(ContainedItem.the("h").isOneOf("a", "b", "c", "d", "e", "f", "h"), is(true));
+        assertThat(ContainedItem.the("h").isOneOf("a", "b", "c", "d", "e", "f", "g", "h"), is(true));
+        assertThat(ContainedItem.the("i").isOneOf("a", "b", "c", "d", "e", "f", "g", "h", "i"), is(true));
+    }
+
+    @Test
+    public void testIsOneOf_FixedArity_FindsEveryItem() {
+        assertThat(ContainedItem.the("a").isOneOf("a"), is(true));
+
+        assertThat(ContainedItem.the("a").isOneOf("a", "b"), is(true));
+        assertThat(ContainedItem.the("b").isOneOf("a", "b"), is(true));
+
+        assertThat(ContainedItem.the("a").isOneOf("a", "b", "c"), is(true));
+        assertThat(ContainedItem.the("b").isOneOf("a", "b", "c"), is(true));
+        assertThat(ContainedItem.the("c").isOneOf("a", "b", "c"), is(true));
+
+        assertThat(ContainedItem.the("a").isOneOf("a", "b", "c", "d"), is(true));
+        assertThat(ContainedItem.the("b").isOneOf("a", "b", "c", "d"), is(true));
+        assertThat(ContainedItem.the("c").isOneOf("a", "b", "c", "d"), is(true));
+        assertThat(ContainedItem.the("d").isOneOf("a", "b", "c", "d"), is(true));
+
+        assertThat(ContainedItem.the("a").isOneOf("a", "b", "c", "d", "e"), is(true));
+        assertThat(ContainedItem.the("b").isOneOf("a", "b", "c", "d", "e"), is(true));
+        assertThat(ContainedItem.the("c").isOneOf("a", "b", "c", "d", "e"), is(true));
+        assertThat(ContainedItem.the("d").isOneOf("a", "b", "c", "d", "e"), is(true));
+        assertThat(ContainedItem.the("e").isOneOf("a", "b", "c", "d", "e"), is(true));
+
+        assertThat(ContainedItem.the("a").isOneOf("a", "b", "c", "d", "e", "f"), is(true));
+        assertThat(ContainedItem.the("b").isOneOf("a", "b", "c", "d", "e", "f"), is(true));
+        assertThat(ContainedItem.the("c").isOneOf("a", "b", "c", "d", "e", "f"), is(true));
+        assertThat(ContainedItem.the("d").isOneOf("a", "b", "c", "d", "e", "f"), is(true));
+        assertThat(ContainedItem.the("e").isOneOf("a", "b", "c", "d", "e", "f"), is(true));
+        assertThat(ContainedItem.the("f").isOneOf("a", "b", "c", "d", "e", "f"), is(true));
+
+        assertThat(ContainedItem.the("a").isOneOf("a", "b", "c", "d", "e", "f", "g"), is(true));
+        assertThat(ContainedItem.the("b").isOneOf("a", "b", "c", "d", "e", "f", "g"), is(true));
+        assertThat(ContainedItem.the("c").isOneOf("a", "b", "c", "d", "e", "f", "g"), is(true));
+        assertThat(ContainedItem.the("d").isOneOf("a", "b", "c", "d", "e", "f", "g"), is(true));
+        assertThat(ContainedItem.the("e").isOneOf("a", "b", "c", "d", "e", "f", "g"), is(true));
+        assertThat(ContainedItem.the("f").isOneOf("a", "b", "c", "d", "e", "f", "g"), is(true));
+        assertThat(ContainedItem.the("g").isOneOf("a", "b", "c", "d", "e", "f", "g"), is(true));
+
+        assertThat(ContainedItem.the("a").isOneOf("a", "b", "c", "d", "e", "f", "g", "h"), is(true));
+        assertThat(ContainedItem.the("b").isOneOf("a", "b", "c", "d", "e", "f", "g", "h"), is(true));
+        assertThat(ContainedItem.the("c").isOneOf("a", "b", "c", "d", "e", "f", "g", "h"), is(true));
+        assertThat(ContainedItem.the("d").isOneOf("a", "b", "c", "d", "e", "f", "g", "h"), is(true));
+        assertThat(ContainedItem.the("e").isOneOf("a", "b", "c", "d", "e", "f", "g", "h"), is(true));
+        assertThat(ContainedItem.the("f").isOneOf("a", "b", "c", "d", "e", "f", "g", "h"), is(true));
+        assertThat(ContainedItem.the("g").isOneOf("a", "b", "c", "d", "e", "f", "g", "h"), is(true));
+        assertThat(ContainedItem.the("h").isOneOf("a", "b", "c", "d", "e", "f", "g", "h"), is(true));
+    }
+
+    @Test
+    public void testIsOneOf_FixedArity_MissingItem() {
+        assertThat(ContainedItem.the("z").isOneOf("a"), is(false));
+        assertThat(ContainedItem.the("z").isOneOf("a", "b"), is(false));
+        assertThat(ContainedItem.the("z").isOneOf("a", "b", "c"), is(false));
+        assertThat(ContainedItem.the("z").isOneOf("a", "b", "c", "d"), is(false));
+        assertThat(ContainedItem.the("z").isOneOf("a", "b", "c", "d", "e"), is(false));
+        assertThat(ContainedItem.the("z").isOneOf("a", "b", "c", "d", "e", "f"), is(false));
+        assertThat(ContainedItem.the("z").isOneOf("a", "b", "c", "d", "e", "f", "g"), is(false));
+        assertThat(ContainedItem.the("z").isOneOf("a", "b", "c", "d", "e", "f", "g", "h"), is(false));
+        assertThat(ContainedItem.the("z").isOneOf("a", "b", "c", "d", "e", "f", "g", "h", "i"), is(false));
+    }
+
+    @Test
+    public void testIsOneOf_HandlesNulls() {
+        assertThat(ContainedItem.the((String) null).isOneOf("aaa", null), is(true));
+        assertThat(ContainedItem.the((String) null).isOneOf("aaa", "bbb"), is(false));
+        assertThat(ContainedItem.the("aaa").isOneOf(null, "aaa"), is(true));
+    }
+
+    @Test
+    public void testIsOneOf_CanBeEmpty() {
+        assertThat(ContainedItem.the("aaa").isOneOf(), is(false));
+    }
+
     @Characterization
     @Test
     public void testIsOneOf_ofSubTypes_RequiresTypeSpec_forExample_Cast() {
@@ -97,6 +238,66 @@ public class ContainedItemTest {
         assertThat(ContainedItem.the((Number) 8888).isOneOf(1111, 22.2, 3.33), is(false));
     }
 
+    @Test
+    public void testIsIn_ItemGroup() {
+        ItemGroup<String> group = ContainedItem.oneOf("aaa", "bbb", "ccc");
+
+        assertThat(ContainedItem.the("aaa").isIn(group), is(true));
+        assertThat(ContainedItem.the("bbb").isIn(group), is(true));
+        assertThat(ContainedItem.the("ccc").isIn(group), is(true));
+
+        assertThat(ContainedItem.the("zzz").isIn(group), is(false));
+    }
+
+    @Test
+    public void testIsIn_ItemGroup_OfSuperType() {
+        ItemGroup<Number> group = ContainedItem.oneOf(1111, 22.2, 3.33);
+
+        assertThat(ContainedItem.the(1111).isIn(group), is(true));
+        assertThat(ContainedItem.the(22.2).isIn(group), is(true));
+
+        assertThat(ContainedItem.the(8888).isIn(group), is(false));
+    }
+
+    @Test
+    public void testIsIn_ItemGroup_IgnoringCase() {
+        ItemGroup<CharSequence> group = ContainedItem.oneOfIgnoringCase("Content-Type", "Content-Length");
+
+        assertThat(ContainedItem.the("content-type").isIn(group), is(true));
+        assertThat(ContainedItem.the("CONTENT-LENGTH").isIn(group), is(true));
+
+        assertThat(ContainedItem.the("Content-Encoding").isIn(group), is(false));
+    }
+
+    @Test
+    public void testIsIn_ItemGroup_IgnoringCaseAndNormalization() {
+        ItemGroup<CharSequence> group = ContainedItem.oneOfIgnoringCase(Normalizer.Form.NFC, "Caf\u00e9");
+
+        assertThat(ContainedItem.the("CAFE\u0301").isIn(group), is(true));
+
+        assertThat(ContainedItem.the("CAFE").isIn(group), is(false));
+    }
+
+    @Test
+    public void testIsProbablyIn() {
+        ProbabilisticSet<String> set = SetSupport.probabilisticSetOf(100, 0.01);
+        set.add("aaa");
+
+        assertThat(ContainedItem.the("aaa").isProbablyIn(set), is(true));
+
+        assertThat(ContainedItem.the("zzz").isProbablyIn(set), is(false));
+    }
+
+    @Test
+    public void testIsWithin() {
+        Ranges<Integer> ranges = Ranges.<Integer>builder().between(1024, 2047).build();
+
+        assertThat(ContainedItem.the(1024).isWithin(ranges), is(true));
+        assertThat(ContainedItem.the(2047).isWithin(ranges), is(true));
+
+        assertThat(ContainedItem.the(80).isWithin(ranges), is(false));
+    }
+
     @Test
     public void testContainedItem_WrapsTheItem() {
         Collection<String> collection = Arrays.asList("aaa", "bbb", "ccc");
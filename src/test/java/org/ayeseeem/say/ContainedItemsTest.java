@@ -0,0 +1,137 @@
+package org.ayeseeem.say;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+
+import org.junit.Test;
+
+public class ContainedItemsTest {
+
+    @Test
+    public void testWhichAreIn_Collection() {
+        Set<String> set = new HashSet<>();
+        set.add("bbb");
+        set.add("ddd");
+
+        BitSet hits = ContainedItem.each("aaa", "bbb", "ccc", "ddd", "bbb").whichAreIn(set);
+
+        assertThat(hits, is(bitsOf(1, 3, 4)));
+    }
+
+    @Test
+    public void testWhichAreIn_NonRandomAccessList() {
+        List<String> items = new LinkedList<>();
+        items.add("aaa");
+        items.add("bbb");
+
+        BitSet hits = ContainedItem.each(items).whichAreIn(new HashSet<>(items.subList(1, 2)));
+
+        assertThat(hits, is(bitsOf(1)));
+    }
+
+    @Test
+    public void testWhichAreIn_ItemGroup() {
+        BitSet hits = ContainedItem.each(1, 2, 3, 4).whichAreIn(ContainedItem.oneOf(2, 4, 6));
+
+        assertThat(hits, is(bitsOf(1, 3)));
+    }
+
+    @Test
+    public void testWhichAreWithin() {
+        Ranges<Integer> ranges = Ranges.<Integer>builder().between(2, 3).between(10, 20).build();
+
+        BitSet hits = ContainedItem.each(1, 2, 3, 4, 15, 21).whichAreWithin(ranges);
+
+        assertThat(hits, is(bitsOf(1, 2, 4)));
+    }
+
+    @Test
+    public void testWhichAreIn_NoItems() {
+        assertThat(ContainedItem.each().whichAreIn(new HashSet<>()).isEmpty(), is(true));
+    }
+
+    @Test
+    public void testWhichAreIn_LargeBatch_IsCheckedInParallel() {
+        List<Integer> items = range(0, ContainedItems.PARALLEL_THRESHOLD * 4 + 3);
+        Set<Integer> evens = new HashSet<>();
+        for (int i = 0; i < items.size(); i += 2) {
+            evens.add(i);
+        }
+
+        BitSet hits = ContainedItem.each(items).whichAreIn(evens);
+
+        assertThat(hits.cardinality(), is(evens.size()));
+        for (int i = 0; i < items.size(); i++) {
+            assertThat(hits.get(i), is(i % 2 == 0));
+        }
+    }
+
+    @Test
+    public void testWhichAreIn_SortedItemsAndSortedSet_AreMerged() {
+        TreeSet<Integer> set = new TreeSet<>(range(10, 20));
+        List<Integer> items = new ArrayList<>(range(0, 30));
+        items.add(15, 15);
+
+        BitSet hits = ContainedItem.each(items).whichAreIn(set);
+
+        BitSet expected = new BitSet();
+        expected.set(10, 21);
+        assertThat(hits, is(expected));
+    }
+
+    @Test
+    public void testWhichAreIn_SortedSetWithComparator() {
+        TreeSet<String> set = new TreeSet<>(Comparator.reverseOrder());
+        set.add("d");
+        set.add("b");
+
+        BitSet hits = ContainedItem.each("e", "d", "c", "b", "a").whichAreIn(set);
+
+        assertThat(hits, is(bitsOf(1, 3)));
+    }
+
+    @Test
+    public void testWhichAreIn_UnsortedItemsAndSortedSet() {
+        TreeSet<Integer> set = new TreeSet<>(range(0, 10));
+
+        BitSet hits = ContainedItem.each(9, 20, 3, 0, 10, 2, 4, 5, 6, 7, 8, 1).whichAreIn(set);
+
+        assertThat(hits, is(bitsOf(0, 2, 3, 5, 6, 7, 8, 9, 10, 11)));
+    }
+
+    @Test
+    public void testWhichAreIn_ItemsBeyondEndOfSortedSet() {
+        TreeSet<Integer> set = new TreeSet<>(range(0, 3));
+
+        BitSet hits = ContainedItem.each(range(0, 10)).whichAreIn(set);
+
+        assertThat(hits, is(bitsOf(0, 1, 2)));
+        assertThat(ContainedItem.each(range(0, 10)).whichAreIn(new TreeSet<>()).isEmpty(), is(true));
+    }
+
+    private static BitSet bitsOf(int... indexes) {
+        BitSet bits = new BitSet();
+        for (int index : indexes) {
+            bits.set(index);
+        }
+        return bits;
+    }
+
+    private static List<Integer> range(int from, int to) {
+        List<Integer> range = new ArrayList<>();
+        for (int i = from; i < to; i++) {
+            range.add(i);
+        }
+        return range;
+    }
+
+}
@@ -0,0 +1,117 @@
+package org.ayeseeem.say;
+
+import static java.time.Month.APRIL;
+import static java.time.Month.AUGUST;
+import static java.time.Month.DECEMBER;
+import static java.time.Month.FEBRUARY;
+import static java.time.Month.JANUARY;
+import static java.time.Month.JULY;
+import static java.time.Month.JUNE;
+import static org.ayeseeem.say.ContainedItem.dispatch;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+import java.time.DayOfWeek;
+import java.time.Month;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Test;
+
+public class DispatcherTest {
+
+    private final List<String> handled = new ArrayList<>();
+
+    @Test
+    public void testDispatch_Enums() {
+        Dispatcher<Month> seasons = dispatch()
+                .when(DECEMBER, JANUARY, FEBRUARY).then(m -> handled.add("winter " + m))
+                .when(JUNE, JULY, AUGUST).then(m -> handled.add("summer " + m))
+                .build();
+
+        assertThat(seasons.dispatch(JANUARY), is(true));
+        assertThat(seasons.dispatch(JULY), is(true));
+        assertThat(seasons.dispatch(APRIL), is(false));
+        assertThat(handled, is(Arrays.asList("winter JANUARY", "summer JULY")));
+    }
+
+    @Test
+    public void testDispatch_Otherwise() {
+        Dispatcher<Month> seasons = dispatch()
+                .when(DECEMBER, JANUARY, FEBRUARY).then(m -> handled.add("winter " + m))
+                .otherwise(m -> handled.add("other " + m))
+                .build();
+
+        assertThat(seasons.dispatch(FEBRUARY), is(true));
+        assertThat(seasons.dispatch(APRIL), is(false));
+        assertThat(seasons.dispatch(null), is(false));
+        assertThat(handled, is(Arrays.asList("winter FEBRUARY", "other APRIL", "other null")));
+    }
+
+    @Test
+    public void testDispatch_Enums_DoesNotConfuseOrdinalsOfDifferentTypes() {
+        Dispatcher<Object> dispatcher = dispatch()
+                .when((Object) JANUARY).then(m -> handled.add("month"))
+                .build();
+
+        assertThat(JANUARY.ordinal(), is(DayOfWeek.MONDAY.ordinal()));
+        assertThat(dispatcher.dispatch(DayOfWeek.MONDAY), is(false));
+        assertThat(dispatcher.dispatch("JANUARY"), is(false));
+        assertThat(handled.isEmpty(), is(true));
+    }
+
+    @Test
+    public void testDispatch_MixedEnums() {
+        Dispatcher<Object> dispatcher = dispatch()
+                .<Object> when(JANUARY, DayOfWeek.MONDAY).then(x -> handled.add("first " + x))
+                .build();
+
+        assertThat(dispatcher.dispatch(DayOfWeek.MONDAY), is(true));
+        assertThat(dispatcher.dispatch(JANUARY), is(true));
+        assertThat(dispatcher.dispatch(DayOfWeek.TUESDAY), is(false));
+        assertThat(handled, is(Arrays.asList("first MONDAY", "first JANUARY")));
+    }
+
+    @Test
+    public void testDispatch_Objects() {
+        Dispatcher<Integer> statuses = dispatch()
+                .when(200, 201, 204).then(s -> handled.add("ok " + s))
+                .when(301, 302).then(s -> handled.add("redirect " + s))
+                .when((Integer) null).then(s -> handled.add("none"))
+                .build();
+
+        assertThat(statuses.dispatch(204), is(true));
+        assertThat(statuses.dispatch(302), is(true));
+        assertThat(statuses.dispatch(null), is(true));
+        assertThat(statuses.dispatch(404), is(false));
+        assertThat(handled, is(Arrays.asList("ok 204", "redirect 302", "none")));
+    }
+
+    @Test
+    public void testDispatch_RepeatedItemInOneGroupIsAllowed() {
+        Dispatcher<String> dispatcher = dispatch()
+                .when("a", "b", "a").then(s -> handled.add(s))
+                .build();
+
+        assertThat(dispatcher.dispatch("a"), is(true));
+        assertThat(handled, is(Arrays.asList("a")));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testBuild_ItemInTwoGroups() {
+        dispatch()
+                .when(DECEMBER, JANUARY, FEBRUARY).then(m -> handled.add("winter"))
+                .when(JANUARY, JUNE).then(m -> handled.add("other"))
+                .build();
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testBuild_ItemInTwoGroups_Objects() {
+        dispatch()
+                .when("a", "b").then(s -> handled.add(s))
+                .when("c", "b").then(s -> handled.add(s))
+                .build();
+    }
+
+}
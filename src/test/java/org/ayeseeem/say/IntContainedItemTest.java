@@ -0,0 +1,134 @@
+package org.ayeseeem.say;
+
+import static org.ayeseeem.say.IntContainedItem.the;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+import org.junit.Test;
+
+public class IntContainedItemTest {
+
+    @Test
+    public void testIsIn_Array() {
+        int[] array = new int[] { 111, 222, 333 };
+
+        assertThat(the(111).isIn(array), is(true));
+        assertThat(the(222).isIn(array), is(true));
+        assertThat(the(333).isIn(array), is(true));
+
+        assertThat(the(888).isIn(array), is(false));
+    }
+
+    @Test
+    public void testIsIn_Array_CanBeEmpty() {
+        assertThat(the(111).isIn(new int[0]), is(false));
+    }
+
+    @Test
+    public void testIsInSorted() {
+        int[] sortedArray = new int[] { -5, 111, 222, 333, 444 };
+
+        assertThat(the(-5).isInSorted(sortedArray), is(true));
+        assertThat(the(111).isInSorted(sortedArray), is(true));
+        assertThat(the(444).isInSorted(sortedArray), is(true));
+
+        assertThat(the(0).isInSorted(sortedArray), is(false));
+        assertThat(the(888).isInSorted(sortedArray), is(false));
+    }
+
+    @Test
+    public void testIsWithin() {
+        LongRanges ranges = LongRanges.builder().between(1024, 2047).build();
+
+        assertThat(the(1024).isWithin(ranges), is(true));
+        assertThat(the(2047).isWithin(ranges), is(true));
+
+        assertThat(the(80).isWithin(ranges), is(false));
+    }
+
+    @Test
+    public void testIsOneOf() {
+        assertThat(the(200).isOneOf(200, 201, 204), is(true));
+        assertThat(the(201).isOneOf(200, 201, 204), is(true));
+        assertThat(the(204).isOneOf(200, 201, 204), is(true));
+
+        assertThat(the(404).isOneOf(200, 201, 204), is(false));
+    }
+
+    @Test
+    public void testIsOneOf_FixedArity_FindsLastItem() {
+        assertThat(the(1).isOneOf(1), is(true));
+        assertThat(the(2).isOneOf(1, 2), is(true));
+        assertThat(the(3).isOneOf(1, 2, 3), is(true));
+        assertThat(the(4).isOneOf(1, 2, 3, 4), is(true));
+        assertThat(the(5).isOneOf(1, 2, 3, 4, 5), is(true));
+        assertThat(the(6).isOneOf(1, 2, 3, 4, 5, 6), is(true));
+        assertThat(the(7).isOneOf(1, 2, 3, 4, 5, 6, 7), is(true));
+        assertThat(the(8).isOneOf(1, 2, 3, 4, 5, 6, 7, 8), is(true));
+    }
+
+    @Test
+    public void testIsOneOf_FixedArity_FindsEveryItem() {
+        assertThat(the(1).isOneOf(1), is(true));
+
+        assertThat(the(1).isOneOf(1, 2), is(true));
+        assertThat(the(2).isOneOf(1, 2), is(true));
+
+        assertThat(the(1).isOneOf(1, 2, 3), is(true));
+        assertThat(the(2).isOneOf(1, 2, 3), is(true));
+        assertThat(the(3).isOneOf(1, 2, 3), is(true));
+
+        assertThat(the(1).isOneOf(1, 2, 3, 4), is(true));
+        assertThat(the(2).isOneOf(1, 2, 3, 4), is(true));
+        assertThat(the(3).isOneOf(1, 2, 3, 4), is(true));
+        assertThat(the(4).isOneOf(1, 2, 3, 4), is(true));
+
+        assertThat(the(1).isOneOf(1, 2, 3, 4, 5), is(true));
+        assertThat(the(2).isOneOf(1, 2, 3, 4, 5), is(true));
+        assertThat(the(3).isOneOf(1, 2, 3, 4, 5), is(true));
+        assertThat(the(4).isOneOf(1, 2, 3, 4, 5), is(true));
+        assertThat(the(5).isOneOf(1, 2, 3, 4, 5), is(true));
+
+        assertThat(the(1).isOneOf(1, 2, 3, 4, 5, 6), is(true));
+        assertThat(the(2).isOneOf(1, 2, 3, 4, 5, 6), is(true));
+        assertThat(the(3).isOneOf(1, 2, 3, 4, 5, 6), is(true));
+        assertThat(the(4).isOneOf(1, 2, 3, 4, 5, 6), is(true));
+        assertThat(the(5).isOneOf(1, 2, 3, 4, 5, 6), is(true));
+        assertThat(the(6).isOneOf(1, 2, 3, 4, 5, 6), is(true));
+
+        assertThat(the(1).isOneOf(1, 2, 3, 4, 5, 6, 7), is(true));
+        assertThat(the(2).isOneOf(1, 2, 3, 4, 5, 6, 7), is(true));
+        assertThat(the(3).isOneOf(1, 2, 3, 4, 5, 6, 7), is(true));
+        assertThat(the(4).isOneOf(1, 2, 3, 4, 5, 6, 7), is(true));
+        assertThat(the(5).isOneOf(1, 2, 3, 4, 5, 6, 7), is(true));
+        assertThat(the(6).isOneOf(1, 2, 3, 4, 5, 6, 7), is(true));
+        assertThat(the(7).isOneOf(1, 2, 3, 4, 5, 6, 7), is(true));
+
+        assertThat(the(1).isOneOf(1, 2, 3, 4, 5, 6, 7, 8), is(true));
+        assertThat(the(2).isOneOf(1, 2, 3, 4, 5, 6, 7, 8), is(true));
+        assertThat(the(3).isOneOf(1, 2, 3, 4, 5, 6, 7, 8), is(true));
+        assertThat(the(4).isOneOf(1, 2, 3, 4, 5, 6, 7, 8), is(true));
+        assertThat(the(5).isOneOf(1, 2, 3, 4, 5, 6, 7, 8), is(true));
+        assertThat(the(6).isOneOf(1, 2, 3, 4, 5, 6, 7, 8), is(true));
+        assertThat(the(7).isOneOf(1, 2, 3, 4, 5, 6, 7, 8), is(true));
+        assertThat(the(8).isOneOf(1, 2, 3, 4, 5, 6, 7, 8), is(true));
+    }
+
+    @Test
+    public void testIsOneOf_FixedArity_MissingItem() {
+        assertThat(the(9).isOneOf(1), is(false));
+        assertThat(the(9).isOneOf(1, 2), is(false));
+        assertThat(the(9).isOneOf(1, 2, 3), is(false));
+        assertThat(the(9).isOneOf(1, 2, 3, 4), is(false));
+        assertThat(the(9).isOneOf(1, 2, 3, 4, 5), is(false));
+        assertThat(the(9).isOneOf(1, 2, 3, 4, 5, 6), is(false));
+        assertThat(the(9).isOneOf(1, 2, 3, 4, 5, 6, 7), is(false));
+        assertThat(the(9).isOneOf(1, 2, 3, 4, 5, 6, 7, 8), is(false));
+    }
+
+    @Test
+    public void testIsOneOf_CanBeEmpty() {
+        assertThat(the(200).isOneOf(), is(false));
+    }
+
+}
@@ -0,0 +1,137 @@
+package org.ayeseeem.say;
+
+import static java.time.Month.DECEMBER;
+import static java.time.Month.JANUARY;
+import static java.time.Month.NOVEMBER;
+import static java.time.Month.OCTOBER;
+import static java.time.Month.SEPTEMBER;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.instanceOf;
+
+import java.time.DayOfWeek;
+import java.util.stream.Stream;
+
+import org.junit.Test;
+
+public class ItemGroupTest {
+
+    @Test
+    public void testCompile_Empty() {
+        ItemGroup<String> group = ItemGroup.compile();
+
+        assertThat(group.contains("aaa"), is(false));
+        assertThat(group.contains(null), is(false));
+        assertThat(group.size(), is(0));
+    }
+
+    @Test
+    public void testCompile_Enums() {
+        ItemGroup<Object> group = ItemGroup.compile(SEPTEMBER, OCTOBER, NOVEMBER, DECEMBER, OCTOBER);
+
+        assertThat(group, is(instanceOf(ItemGroup.EnumGroup.class)));
+        assertThat(group.contains(SEPTEMBER), is(true));
+        assertThat(group.contains(DECEMBER), is(true));
+        assertThat(group.contains(JANUARY), is(false));
+        assertThat(group.size(), is(4));
+    }
+
+    @Test
+    public void testCompile_Enums_DoesNotConfuseOrdinalsOfDifferentTypes() {
+        ItemGroup<Object> group = ItemGroup.compile(JANUARY);
+
+        assertThat(JANUARY.ordinal(), is(DayOfWeek.MONDAY.ordinal()));
+        assertThat(group.contains(DayOfWeek.MONDAY), is(false));
+        assertThat(group.contains("JANUARY"), is(false));
+        assertThat(group.contains(null), is(false));
+    }
+
+    @Test
+    public void testCompile_MixedEnumsAreNotEnumGroup() {
+        ItemGroup<Object> group = ItemGroup.compile(JANUARY, DayOfWeek.MONDAY);
+
+        assertThat(group, is(instanceOf(ItemGroup.SmallGroup.class)));
+        assertThat(group.contains(JANUARY), is(true));
+        assertThat(group.contains(DayOfWeek.MONDAY), is(true));
+        assertThat(group.contains(DayOfWeek.TUESDAY), is(false));
+    }
+
+    @Test
+    public void testCompile_Small() {
+        ItemGroup<String> group = ItemGroup.compile("aaa", "bbb", "aaa");
+
+        assertThat(group, is(instanceOf(ItemGroup.SmallGroup.class)));
+        assertThat(group.contains("aaa"), is(true));
+        assertThat(group.contains("bbb"), is(true));
+        assertThat(group.contains("zzz"), is(false));
+        assertThat(group.contains(null), is(false));
+        assertThat(group.size(), is(2));
+    }
+
+    @Test
+    public void testCompile_Small_WithNull() {
+        ItemGroup<String> group = ItemGroup.compile("aaa", null);
+
+        assertThat(group.contains(null), is(true));
+        assertThat(group.contains("aaa"), is(true));
+        assertThat(group.contains("zzz"), is(false));
+    }
+
+    @Test
+    public void testCompile_Large() {
+        String[] members = Stream.of("a", "b", "c", "d", "e", "f", "g", "h", "i")
+                .map(s -> s + s + s)
+                .toArray(String[]::new);
+        ItemGroup<String> group = ItemGroup.compile(members);
+
+        assertThat(group, is(instanceOf(ItemGroup.HashGroup.class)));
+        for (String member : members) {
+            assertThat(group.contains(member), is(true));
+            assertThat(group.contains(new String(member)), is(true));
+        }
+        assertThat(group.contains("zzz"), is(false));
+        assertThat(group.contains(null), is(false));
+        assertThat(group.size(), is(members.length));
+    }
+
+    @Test
+    public void testCompile_Large_WithNullAndDuplicates() {
+        ItemGroup<Integer> group = ItemGroup.compile(1, 2, 3, 4, 5, 5, 5, null, 1);
+
+        assertThat(group, is(instanceOf(ItemGroup.HashGroup.class)));
+        assertThat(group.contains(null), is(true));
+        assertThat(group.contains(5), is(true));
+        assertThat(group.contains(6), is(false));
+        assertThat(group.size(), is(6));
+    }
+
+    @Test
+    public void testCompile_Large_CollidingHashes() {
+        // "Aa" and "BB" have the same hash code
+        ItemGroup<String> group = ItemGroup.compile("Aa", "BB", "AaAa", "BBBB", "AaBB", "BBAa");
+
+        assertThat(group.contains("Aa"), is(true));
+        assertThat(group.contains("BB"), is(true));
+        assertThat(group.contains("BBAa"), is(true));
+        assertThat(group.contains("AaAaAa"), is(false));
+    }
+
+    @Test
+    public void testCompile_CopiesMembers() {
+        String[] members = { "aaa", "bbb" };
+        ItemGroup<String> group = ItemGroup.compile(members);
+
+        members[0] = "zzz";
+
+        assertThat(group.contains("aaa"), is(true));
+        assertThat(group.contains("zzz"), is(false));
+    }
+
+    @Test
+    public void testTest_IsAPredicate() {
+        ItemGroup<String> group = ItemGroup.compile("aaa", "bbb");
+
+        assertThat(Stream.of("aaa", "zzz", "bbb").filter(group).count(), is(2L));
+    }
+
+}
@@ -0,0 +1,103 @@
+package org.ayeseeem.say;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.empty;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.ayeseeem.say.Keywords.Match;
+import org.junit.Test;
+
+public class KeywordsTest {
+
+    @Test
+    public void testIsFoundIn() {
+        Keywords keywords = Keywords.of("he", "she", "his", "hers");
+
+        assertThat(keywords.isFoundIn("ushers"), is(true));
+        assertThat(keywords.isFoundIn("this"), is(true));
+        assertThat(keywords.isFoundIn("xhx"), is(false));
+        assertThat(keywords.isFoundIn(""), is(false));
+    }
+
+    @Test
+    public void testIsFoundIn_KeywordOnlyReachedByFailureLink() {
+        Keywords keywords = Keywords.of("abcd", "bc");
+
+        assertThat(keywords.isFoundIn("xabcx"), is(true));
+        assertThat(keywords.isFoundIn("xabdx"), is(false));
+    }
+
+    @Test
+    public void testIsFoundIn_NoKeywords() {
+        assertThat(Keywords.of().isFoundIn("anything"), is(false));
+    }
+
+    @Test
+    public void testMatchesIn_ReportsOverlappingMatchesWithOffsets() {
+        Keywords keywords = Keywords.of("he", "she", "his", "hers");
+
+        assertThat(keywords.matchesIn("ushers"), contains(
+                new Match("she", 1),
+                new Match("he", 2),
+                new Match("hers", 2)));
+    }
+
+    @Test
+    public void testMatchesIn_RepeatedMatches() {
+        Keywords keywords = Keywords.of("aa", "a");
+
+        assertThat(keywords.matchesIn("aaa"), contains(
+                new Match("a", 0),
+                new Match("aa", 0),
+                new Match("a", 1),
+                new Match("aa", 1),
+                new Match("a", 2)));
+    }
+
+    @Test
+    public void testMatchesIn_None() {
+        assertThat(Keywords.of("abc").matchesIn("ab bc"), is(empty()));
+    }
+
+    @Test
+    public void testMatchesIn_AgreesWithIndexOf() {
+        List<String> words = new ArrayList<>();
+        for (int i = 0; i < 500; i++) {
+            words.add(Integer.toString(i * 7919, 36));
+        }
+        Keywords keywords = Keywords.of(words);
+        String text = "the quick brown fox 1a2b3c jumps over 5k9z the lazy dog zz0 qq9";
+
+        int expected = 0;
+        for (String word : words) {
+            for (int at = text.indexOf(word); at >= 0; at = text.indexOf(word, at + 1)) {
+                expected++;
+            }
+        }
+
+        assertThat(keywords.matchesIn(text).size(), is(expected));
+        for (Match match : keywords.matchesIn(text)) {
+            assertThat(text.substring(match.start(), match.end()), is(match.keyword()));
+        }
+    }
+
+    @Test
+    public void testSize_CountsDistinctKeywords() {
+        assertThat(Keywords.of("a", "b", "a", "ab").size(), is(3));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testOf_RejectsEmptyKeywords() {
+        Keywords.of("a", "");
+    }
+
+    @Test
+    public void testMatch_ToString() {
+        assertThat(new Match("abc", 3).toString(), is("\"abc\"@3"));
+    }
+
+}
@@ -0,0 +1,140 @@
+package org.ayeseeem.say;
+
+import static org.ayeseeem.say.LongContainedItem.the;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+import org.junit.Test;
+
+public class LongContainedItemTest {
+
+    @Test
+    public void testIsIn_Array() {
+        long[] array = new long[] { 111L, 222L, 333L };
+
+        assertThat(the(111L).isIn(array), is(true));
+        assertThat(the(222L).isIn(array), is(true));
+        assertThat(the(333L).isIn(array), is(true));
+
+        assertThat(the(888L).isIn(array), is(false));
+    }
+
+    @Test
+    public void testIsIn_Array_CanBeEmpty() {
+        assertThat(the(111L).isIn(new long[0]), is(false));
+    }
+
+    @Test
+    public void testIsInSorted() {
+        long[] sortedArray = new long[] { -5L, 111L, 222L, 333L, 444L };
+
+        assertThat(the(-5L).isInSorted(sortedArray), is(true));
+        assertThat(the(111L).isInSorted(sortedArray), is(true));
+        assertThat(the(444L).isInSorted(sortedArray), is(true));
+
+        assertThat(the(0L).isInSorted(sortedArray), is(false));
+        assertThat(the(888L).isInSorted(sortedArray), is(false));
+    }
+
+    @Test
+    public void testIsWithin() {
+        LongRanges ranges = LongRanges.builder().between(1024, 2047).build();
+
+        assertThat(the(1024L).isWithin(ranges), is(true));
+        assertThat(the(2047L).isWithin(ranges), is(true));
+
+        assertThat(the(80L).isWithin(ranges), is(false));
+    }
+
+    @Test
+    public void testIsOneOf() {
+        assertThat(the(200L).isOneOf(200L, 201L, 204L), is(true));
+        assertThat(the(201L).isOneOf(200L, 201L, 204L), is(true));
+        assertThat(the(204L).isOneOf(200L, 201L, 204L), is(true));
+
+        assertThat(the(404L).isOneOf(200L, 201L, 204L), is(false));
+    }
+
+    @Test
+    public void testIsOneOf_BeyondIntRange() {
+        assertThat(the(Long.MAX_VALUE).isOneOf(0L, Long.MAX_VALUE), is(true));
+        assertThat(the(1L + Integer.MAX_VALUE).isOneOf(0L, Integer.MIN_VALUE), is(false));
+    }
+
+    @Test
+    public void testIsOneOf_FixedArity_FindsLastItem() {
+        assertThat(the(1L).isOneOf(1L), is(true));
+        assertThat(the(2L).isOneOf(1L, 2L), is(true));
+        assertThat(the(3L).isOneOf(1L, 2L, 3L), is(true));
+        assertThat(the(4L).isOneOf(1L, 2L, 3L, 4L), is(true));
+        assertThat(the(5L).isOneOf(1L, 2L, 3L, 4L, 5L), is(true));
+        assertThat(the(6L).isOneOf(1L, 2L, 3L, 4L, 5L, 6L), is(true));
+        assertThat(the(7L).isOneOf(1L, 2L, 3L, 4L, 5L, 6L, 7L), is(true));
+        assertThat(the(8L).isOneOf(1L, 2L, 3L, 4L, 5L, 6L, 7L, 8L), is(true));
+    }
+
+    @Test
+    public void testIsOneOf_FixedArity_FindsEveryItem() {
+        assertThat(the(1L).isOneOf(1L), is(true));
+
+        assertThat(the(1L).isOneOf(1L, 2L), is(true));
+        assertThat(the(2L).isOneOf(1L, 2L), is(true));
+
+        assertThat(the(1L).isOneOf(1L, 2L, 3L), is(true));
+        assertThat(the(2L).isOneOf(1L, 2L, 3L), is(true));
+        assertThat(the(3L).isOneOf(1L, 2L, 3L), is(true));
+
+        assertThat(the(1L).isOneOf(1L, 2L, 3L, 4L), is(true));
+        assertThat(the(2L).isOneOf(1L, 2L, 3L, 4L), is(true));
+        assertThat(the(3L).isOneOf(1L, 2L, 3L, 4L), is(true));
+        assertThat(the(4L).isOneOf(1L, 2L, 3L, 4L), is(true));
+
+        assertThat(the(1L).isOneOf(1L, 2L, 3L, 4L, 5L), is(true));
+        assertThat(the(2L).isOneOf(1L, 2L, 3L, 4L, 5L), is(true));
+        assertThat(the(3L).isOneOf(1L, 2L, 3L, 4L, 5L), is(true));
+        assertThat(the(4L).isOneOf(1L, 2L, 3L, 4L, 5L), is(true));
+        assertThat(the(5L).isOneOf(1L, 2L, 3L, 4L, 5L), is(true));
+
+        assertThat(the(1L).isOneOf(1L, 2L, 3L, 4L, 5L, 6L), is(true));
+        assertThat(the(2L).isOneOf(1L, 2L, 3L, 4L, 5L, 6L), is(true));
+        assertThat(the(3L).isOneOf(1L, 2L, 3L, 4L, 5L, 6L), is(true));
+        assertThat(the(4L).isOneOf(1L, 2L, 3L, 4L, 5L, 6L), is(true));
+        assertThat(the(5L).isOneOf(1L, 2L, 3L, 4L, 5L, 6L), is(true));
+        assertThat(the(6L).isOneOf(1L, 2L, 3L, 4L, 5L, 6L), is(true));
+
+        assertThat(the(1L).isOneOf(1L, 2L, 3L, 4L, 5L, 6L, 7L), is(true));
+        assertThat(the(2L).isOneOf(1L, 2L, 3L, 4L, 5L, 6L, 7L), is(true));
+        assertThat(the(3L).isOneOf(1L, 2L, 3L, 4L, 5L, 6L, 7L), is(true));
+        assertThat(the(4L).isOneOf(1L, 2L, 3L, 4L, 5L, 6L, 7L), is(true));
+        assertThat(the(5L).isOneOf(1L, 2L, 3L, 4L, 5L, 6L, 7L), is(true));
+        assertThat(the(6L).isOneOf(1L, 2L, 3L, 4L, 5L, 6L, 7L), is(true));
+        assertThat(the(7L).isOneOf(1L, 2L, 3L, 4L, 5L, 6L, 7L), is(true));
+
+        assertThat(the(1L).isOneOf(1L, 2L, 3L, 4L, 5L, 6L, 7L, 8L), is(true));
+        assertThat(the(2L).isOneOf(1L, 2L, 3L, 4L, 5L, 6L, 7L, 8L), is(true));
+        assertThat(the(3L).isOneOf(1L, 2L, 3L, 4L, 5L, 6L, 7L, 8L), is(true));
+        assertThat(the(4L).isOneOf(1L, 2L, 3L, 4L, 5L, 6L, 7L, 8L), is(true));
+        assertThat(the(5L).isOneOf(1L, 2L, 3L, 4L, 5L, 6L, 7L, 8L), is(true));
+        assertThat(the(6L).isOneOf(1L, 2L, 3L, 4L, 5L, 6L, 7L, 8L), is(true));
+        assertThat(the(7L).isOneOf(1L, 2L, 3L, 4L, 5L, 6L, 7L, 8L), is(true));
+        assertThat(the(8L).isOneOf(1L, 2L, 3L, 4L, 5L, 6L, 7L, 8L), is(true));
+    }
+
+    @Test
+    public void testIsOneOf_FixedArity_MissingItem() {
+        assertThat(the(9L).isOneOf(1L), is(false));
+        assertThat(the(9L).isOneOf(1L, 2L), is(false));
+        assertThat(the(9L).isOneOf(1L, 2L, 3L), is(false));
+        assertThat(the(9L).isOneOf(1L, 2L, 3L, 4L), is(false));
+        assertThat(the(9L).isOneOf(1L, 2L, 3L, 4L, 5L), is(false));
+        assertThat(the(9L).isOneOf(1L, 2L, 3L, 4L, 5L, 6L), is(false));
+        assertThat(the(9L).isOneOf(1L, 2L, 3L, 4L, 5L, 6L, 7L), is(false));
+        assertThat(the(9L).isOneOf(1L, 2L, 3L, 4L, 5L, 6L, 7L, 8L), is(false));
+    }
+
+    @Test
+    public void testIsOneOf_CanBeEmpty() {
+        assertThat(the(200L).isOneOf(), is(false));
+    }
+
+}
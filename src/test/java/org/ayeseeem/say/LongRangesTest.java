@@ -0,0 +1,92 @@
+package org.ayeseeem.say;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+import java.util.BitSet;
+
+import org.junit.Test;
+
+public class LongRangesTest {
+
+    @Test
+    public void testContains() {
+        LongRanges ranges = LongRanges.builder()
+                .between(8000, 8080)
+                .between(1024, 2047)
+                .build();
+
+        assertThat(ranges.contains(1024), is(true));
+        assertThat(ranges.contains(2047), is(true));
+        assertThat(ranges.contains(8080), is(true));
+
+        assertThat(ranges.contains(1023), is(false));
+        assertThat(ranges.contains(2048), is(false));
+        assertThat(ranges.contains(8081), is(false));
+    }
+
+    @Test
+    public void testContains_NoRanges() {
+        assertThat(LongRanges.builder().build().contains(1), is(false));
+    }
+
+    @Test
+    public void testBuild_MergesOverlappingAndAdjacentRanges() {
+        LongRanges ranges = LongRanges.builder()
+                .between(10, 20)
+                .between(1, 5)
+                .between(21, 30)
+                .between(6, 7)
+                .between(40, 50)
+                .between(12, 13)
+                .build();
+
+        assertThat(ranges.size(), is(3));
+        assertThat(ranges.contains(7), is(true));
+        assertThat(ranges.contains(8), is(false));
+        assertThat(ranges.contains(30), is(true));
+        assertThat(ranges.contains(35), is(false));
+    }
+
+    @Test
+    public void testBuild_ExtremeValues() {
+        LongRanges ranges = LongRanges.builder()
+                .between(Long.MIN_VALUE, -10)
+                .between(Long.MIN_VALUE, Long.MIN_VALUE)
+                .between(10, Long.MAX_VALUE)
+                .between(Long.MAX_VALUE, Long.MAX_VALUE)
+                .build();
+
+        assertThat(ranges.size(), is(2));
+        assertThat(ranges.contains(Long.MIN_VALUE), is(true));
+        assertThat(ranges.contains(Long.MAX_VALUE), is(true));
+        assertThat(ranges.contains(0), is(false));
+    }
+
+    @Test
+    public void testBuild_ManyRanges() {
+        LongRanges.Builder builder = LongRanges.builder();
+        for (int i = 0; i < 100; i++) {
+            builder.between(i * 10, i * 10 + 4);
+        }
+
+        assertThat(builder.build().size(), is(100));
+    }
+
+    @Test
+    public void testWhichContain() {
+        LongRanges ranges = LongRanges.builder().between(10, 20).build();
+
+        BitSet expected = new BitSet();
+        expected.set(1);
+        expected.set(2);
+        assertThat(ranges.whichContain(5L, 10L, 20L, 21L), is(expected));
+        assertThat(ranges.whichContain(5, 10, 20, 21), is(expected));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testBetween_RejectsEmptyRanges() {
+        LongRanges.builder().between(2, 1);
+    }
+
+}
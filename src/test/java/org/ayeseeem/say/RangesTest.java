@@ -0,0 +1,91 @@
+package org.ayeseeem.say;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+import java.time.LocalDate;
+import java.util.Comparator;
+
+import org.junit.Test;
+
+public class RangesTest {
+
+    @Test
+    public void testContains() {
+        Ranges<Integer> ranges = Ranges.<Integer>builder()
+                .between(8000, 8080)
+                .between(1024, 2047)
+                .build();
+
+        assertThat(ranges.contains(1024), is(true));
+        assertThat(ranges.contains(1500), is(true));
+        assertThat(ranges.contains(2047), is(true));
+        assertThat(ranges.contains(8080), is(true));
+
+        assertThat(ranges.contains(0), is(false));
+        assertThat(ranges.contains(1023), is(false));
+        assertThat(ranges.contains(2048), is(false));
+        assertThat(ranges.contains(8081), is(false));
+    }
+
+    @Test
+    public void testContains_NoRanges() {
+        assertThat(Ranges.<Integer>builder().build().contains(1), is(false));
+    }
+
+    @Test
+    public void testBuild_MergesOverlappingRanges() {
+        Ranges<Integer> ranges = Ranges.<Integer>builder()
+                .between(10, 20)
+                .between(1, 5)
+                .between(15, 30)
+                .between(5, 6)
+                .between(12, 13)
+                .build();
+
+        assertThat(ranges.size(), is(2));
+        assertThat(ranges.contains(6), is(true));
+        assertThat(ranges.contains(7), is(false));
+        assertThat(ranges.contains(30), is(true));
+    }
+
+    @Test
+    public void testContains_Dates() {
+        Ranges<LocalDate> ranges = Ranges.<LocalDate>builder()
+                .between(LocalDate.of(2024, 12, 24), LocalDate.of(2025, 1, 1))
+                .build();
+
+        assertThat(ranges.contains(LocalDate.of(2024, 12, 31)), is(true));
+        assertThat(ranges.contains(LocalDate.of(2025, 1, 2)), is(false));
+    }
+
+    @Test
+    public void testContains_WithComparator() {
+        Ranges<String> ranges = Ranges.builder(String.CASE_INSENSITIVE_ORDER)
+                .between("a", "c")
+                .build();
+
+        assertThat(ranges.contains("B"), is(true));
+        assertThat(ranges.contains("D"), is(false));
+    }
+
+    @Test
+    public void testContains_ManyRanges() {
+        Ranges.Builder<Integer> builder = Ranges.builder(Comparator.naturalOrder());
+        for (int i = 0; i < 2000; i++) {
+            builder.between(i * 10, i * 10 + 4);
+        }
+        Ranges<Integer> ranges = builder.build();
+
+        assertThat(ranges.size(), is(2000));
+        for (int value = -1; value < 20010; value++) {
+            assertThat(ranges.contains(value), is(value >= 0 && value < 20000 && value % 10 <= 4));
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testBetween_RejectsEmptyRanges() {
+        Ranges.<Integer>builder().between(2, 1);
+    }
+
+}
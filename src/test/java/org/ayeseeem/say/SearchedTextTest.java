@@ -0,0 +1,33 @@
+package org.ayeseeem.say;
+
+import static org.ayeseeem.say.SearchedText.the;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.empty;
+
+import org.ayeseeem.say.Keywords.Match;
+import org.junit.Test;
+
+public class SearchedTextTest {
+
+    private final Keywords keywords = Keywords.of("ERROR", "FATAL");
+
+    @Test
+    public void testContainsAnyOf() {
+        assertThat(the("2024-01-01 ERROR failed").containsAnyOf(keywords), is(true));
+        assertThat(the(new StringBuilder("FATAL: stopping")).containsAnyOf(keywords), is(true));
+
+        assertThat(the("2024-01-01 INFO started").containsAnyOf(keywords), is(false));
+    }
+
+    @Test
+    public void testOccurrencesOf() {
+        assertThat(the("ERROR then FATAL").occurrencesOf(keywords), contains(
+                new Match("ERROR", 0),
+                new Match("FATAL", 11)));
+
+        assertThat(the("INFO").occurrencesOf(keywords), is(empty()));
+    }
+
+}
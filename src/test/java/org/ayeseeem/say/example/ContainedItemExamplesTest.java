@@ -5,6 +5,7 @@ import static java.time.Month.JANUARY;
 import static java.time.Month.NOVEMBER;
 import static java.time.Month.OCTOBER;
 import static java.time.Month.SEPTEMBER;
+import static org.ayeseeem.say.ContainedItem.oneOf;
 import static org.ayeseeem.say.ContainedItem.the;
 import static org.hamcrest.CoreMatchers.is;
 import static org.hamcrest.MatcherAssert.assertThat;
@@ -13,6 +14,7 @@ import java.nio.charset.Charset;
 import java.time.Month;
 import java.util.Collection;
 
+import org.ayeseeem.say.ItemGroup;
 import org.junit.Test;
 
 public class ContainedItemExamplesTest {
@@ -67,6 +69,23 @@ public class ContainedItemExamplesTest {
         }
     }
 
+    public static class IsInItemGroupExample {
+        static final ItemGroup<Month> LATIN_NUMBERED = oneOf(SEPTEMBER, OCTOBER, NOVEMBER, DECEMBER);
+
+        boolean isLatinNumbered(Month month) {
+            if (the(month).isIn(LATIN_NUMBERED)) {
+                return true;
+            }
+            return false;
+        }
+
+        @Test
+        public void testExampleContainedItem_IsIn_ItemGroup() {
+            assertThat(isLatinNumbered(SEPTEMBER), is(true));
+            assertThat(isLatinNumbered(JANUARY), is(false));
+        }
+    }
+
     public static class AvoidVariableNameErrorExample {
         int longComplicatedlyNamedThing1 = 3;
         int longComplicatedlyNamedThing2 = 6;
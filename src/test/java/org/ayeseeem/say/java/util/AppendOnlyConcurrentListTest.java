@@ -0,0 +1,151 @@
+package org.ayeseeem.say.java.util;
+
+import static org.ayeseeem.say.java.util.ListSupport.appendOnlyConcurrentList;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.empty;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.junit.Test;
+
+public class AppendOnlyConcurrentListTest {
+
+    @Test
+    public void testAppendOnlyConcurrentList() {
+        List<String> list = appendOnlyConcurrentList();
+
+        assertThat(list, is(empty()));
+        list.add("a");
+        list.add("b");
+
+        assertThat(list, contains("a", "b"));
+    }
+
+    @Test
+    public void testAdd_ManySegments() {
+        List<Integer> list = appendOnlyConcurrentList();
+        List<Integer> expected = new ArrayList<>();
+        for (int i = 0; i < 10_000; i++) {
+            list.add(i);
+            expected.add(i);
+        }
+
+        assertThat(list, is(expected));
+        assertThat(list.get(15), is(15));
+        assertThat(list.get(16), is(16));
+        assertThat(list.get(9_999), is(9_999));
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void testAdd_Null() {
+        appendOnlyConcurrentList().add(null);
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void testGet_OutOfBounds() {
+        List<String> list = appendOnlyConcurrentList();
+        list.add("a");
+
+        list.get(1);
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void testSet_IsNotSupported() {
+        List<String> list = appendOnlyConcurrentList();
+        list.add("a");
+
+        list.set(0, "b");
+    }
+
+    @Test
+    public void testSnapshot_DoesNotChange() {
+        AppendOnlyConcurrentList<String> list = appendOnlyConcurrentList();
+        list.add("a");
+        list.add("b");
+
+        List<String> snapshot = list.snapshot();
+        list.add("c");
+
+        assertThat(snapshot, contains("a", "b"));
+        assertThat(list, contains("a", "b", "c"));
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void testSnapshot_GetOutOfBounds() {
+        AppendOnlyConcurrentList<String> list = appendOnlyConcurrentList();
+        list.add("a");
+        List<String> snapshot = list.snapshot();
+        list.add("b");
+
+        snapshot.get(1);
+    }
+
+    @Test
+    public void testIterator_IgnoresLaterAdds() {
+        List<String> list = appendOnlyConcurrentList();
+        list.add("a");
+        list.add("b");
+        List<String> seen = new ArrayList<>();
+
+        for (Iterator<String> iterator = list.iterator(); iterator.hasNext();) {
+            String element = iterator.next();
+            seen.add(element);
+            list.add(element + "!");
+        }
+
+        assertThat(seen, contains("a", "b"));
+        assertThat(list, contains("a", "b", "a!", "b!"));
+    }
+
+    @Test
+    public void testConcurrentAdds() throws InterruptedException {
+        AppendOnlyConcurrentList<Integer> list = appendOnlyConcurrentList();
+        int threads = 8;
+        int perThread = 20_000;
+        CountDownLatch start = new CountDownLatch(1);
+        List<Thread> writers = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            int first = t * perThread;
+            Thread writer = new Thread(() -> {
+                awaitQuietly(start);
+                for (int i = first; i < first + perThread; i++) {
+                    list.add(i);
+                }
+            });
+            writer.start();
+            writers.add(writer);
+        }
+
+        start.countDown();
+        boolean sawGap = false;
+        while (writers.stream().anyMatch(Thread::isAlive)) {
+            List<Integer> snapshot = list.snapshot();
+            for (int i = 0; i < snapshot.size(); i++) {
+                sawGap |= snapshot.get(i) == null;
+            }
+        }
+        for (Thread writer : writers) {
+            writer.join();
+        }
+
+        List<Integer> sorted = list.parallelStream().sorted().collect(Collectors.toList());
+        assertThat(sorted, is(IntStream.range(0, threads * perThread).boxed().collect(Collectors.toList())));
+        assertThat(sawGap, is(false));
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+}
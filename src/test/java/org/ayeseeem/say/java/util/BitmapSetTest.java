@@ -0,0 +1,447 @@
+package org.ayeseeem.say.java.util;
+
+import static org.ayeseeem.say.java.util.SetSupport.bitmapSetOf;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.not;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.junit.Assert.fail;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.ArrayList;
+import java.util.ConcurrentModificationException;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+import java.util.Random;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.stream.Collectors;
+
+import org.junit.Test;
+
+public class BitmapSetTest {
+
+    @Test
+    public void testBitmapSetOf() {
+        BitmapSet set = bitmapSetOf(3, 1, 3, 70_000, -7);
+
+        assertThat(set.cardinality(), is(4L));
+        assertThat(set.contains(70_000), is(true));
+        assertThat(set.contains(-7), is(true));
+        assertThat(set.contains(2), is(false));
+        assertThat(set.contains(-65_536 + 3), is(false));
+        assertThat(bitmapSetOf().isEmpty(), is(true));
+    }
+
+    @Test
+    public void testIteratesInOrder() {
+        BitmapSet set = bitmapSetOf(5, Integer.MAX_VALUE, -1, Integer.MIN_VALUE, 0, 65_536);
+
+        assertThat(set.asSet(), contains(Integer.MIN_VALUE, -1, 0, 5, 65_536, Integer.MAX_VALUE));
+        assertThat(set.toArray(), is(new int[] { Integer.MIN_VALUE, -1, 0, 5, 65_536, Integer.MAX_VALUE }));
+    }
+
+    @Test
+    public void testBehavesLikeTreeSet() {
+        Random random = new Random(42);
+        BitmapSet set = bitmapSetOf();
+        TreeSet<Integer> expected = new TreeSet<>();
+        for (int step = 0; step < 200_000; step++) {
+            int value = random.nextBoolean() ? random.nextInt(12_000) : random.nextInt(1 << 20) - (1 << 19);
+            if (random.nextInt(4) == 0) {
+                assertThat(set.remove(value), is(expected.remove(value)));
+            } else {
+                assertThat(set.add(value), is(expected.add(value)));
+            }
+        }
+
+        assertThat(set.cardinality(), is((long) expected.size()));
+        assertThat(set.asSet(), contains(expected.toArray()));
+        set.optimize();
+        assertThat(set.asSet(), contains(expected.toArray()));
+    }
+
+    @Test
+    public void testAddAndRemove_ChangesForm() {
+        BitmapSet set = bitmapSetOf();
+        for (int value = 0; value < 10_000; value += 2) {
+            set.add(value);
+        }
+        for (int value = 0; value < 10_000; value += 4) {
+            set.remove(value);
+        }
+
+        assertThat(set.cardinality(), is(2_500L));
+        assertThat(set.contains(2), is(true));
+        assertThat(set.contains(4), is(false));
+
+        set.addRange(0, 9_999);
+        set.remove(5_000);
+        set.add(5_000);
+        set.remove(5_001);
+
+        assertThat(set.cardinality(), is(9_999L));
+        assertThat(set.contains(5_000), is(true));
+        assertThat(set.contains(5_001), is(false));
+        for (int value = 0; value < 10_000; value++) {
+            set.remove(value);
+        }
+        assertThat(set.isEmpty(), is(true));
+    }
+
+    @Test
+    public void testAdd_ToEmptyResults() {
+        BitmapSet intersection = bitmapSetOf(1).and(bitmapSetOf());
+        BitmapSet union = BitmapSet.union();
+        ByteBuffer buffer = ByteBuffer.allocate(bitmapSetOf().serializedSize());
+        bitmapSetOf().serialize(buffer);
+        buffer.flip();
+        BitmapSet read = BitmapSet.deserialize(buffer);
+
+        intersection.add(5);
+        union.add(5);
+        read.add(5);
+
+        assertThat(intersection, is(bitmapSetOf(5)));
+        assertThat(union, is(bitmapSetOf(5)));
+        assertThat(read, is(bitmapSetOf(5)));
+    }
+
+    @Test
+    public void testClear() {
+        BitmapSet set = bitmapSetOf(1, 100_000);
+
+        set.clear();
+        set.add(4);
+
+        assertThat(set, is(bitmapSetOf(4)));
+    }
+
+    @Test
+    public void testAddRange() {
+        BitmapSet set = bitmapSetOf(-100_000, 5);
+
+        set.addRange(-70_000, 200_000);
+
+        assertThat(set.cardinality(), is(270_002L));
+        assertThat(set.contains(-70_001), is(false));
+        assertThat(set.contains(-70_000), is(true));
+        assertThat(set.contains(200_000), is(true));
+        assertThat(set.contains(200_001), is(false));
+        assertThat(set.serializedSize() < 150, is(true));
+    }
+
+    @Test
+    public void testAddRange_Everything() {
+        BitmapSet set = bitmapSetOf();
+
+        set.addRange(Integer.MIN_VALUE, Integer.MAX_VALUE);
+
+        assertThat(set.cardinality(), is(1L << 32));
+        assertThat(set.contains(Integer.MIN_VALUE), is(true));
+        assertThat(set.contains(Integer.MAX_VALUE), is(true));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testAddRange_Backwards() {
+        bitmapSetOf().addRange(2, 1);
+    }
+
+    @Test
+    public void testSetOperations() {
+        Random random = new Random(7);
+        for (int trial = 0; trial < 20; trial++) {
+            TreeSet<Integer> a = randomValues(random);
+            TreeSet<Integer> b = randomValues(random);
+            BitmapSet aSet = toBitmapSet(a);
+            BitmapSet bSet = toBitmapSet(b);
+
+            TreeSet<Integer> and = new TreeSet<>(a);
+            and.retainAll(b);
+            TreeSet<Integer> or = new TreeSet<>(a);
+            or.addAll(b);
+            TreeSet<Integer> andNot = new TreeSet<>(a);
+            andNot.removeAll(b);
+
+            assertThat(aSet.and(bSet).asSet(), is(and));
+            assertThat(aSet.andCardinality(bSet), is((long) and.size()));
+            assertThat(aSet.or(bSet).asSet(), is(or));
+            assertThat(aSet.andNot(bSet).asSet(), is(andNot));
+            assertThat(BitmapSet.union(aSet, bSet).asSet(), is(or));
+            assertThat(BitmapSet.union(aSet, bSet), is(aSet.or(bSet)));
+        }
+    }
+
+    @Test
+    public void testSetOperations_LeaveOperandsUnchanged() {
+        BitmapSet a = bitmapSetOf(1, 2, 3);
+        BitmapSet b = bitmapSetOf(3, 4);
+
+        a.or(b).add(10);
+        a.andNot(b).add(11);
+        a.and(b).add(12);
+
+        assertThat(a, is(bitmapSetOf(1, 2, 3)));
+        assertThat(b, is(bitmapSetOf(3, 4)));
+    }
+
+    @Test
+    public void testUnion() {
+        BitmapSet[] sets = new BitmapSet[20];
+        Set<Integer> expected = new TreeSet<>();
+        Random random = new Random(3);
+        for (int i = 0; i < sets.length; i++) {
+            TreeSet<Integer> values = randomValues(random);
+            sets[i] = toBitmapSet(values);
+            expected.addAll(values);
+        }
+
+        assertThat(BitmapSet.union(sets).asSet(), is(expected));
+        assertThat(BitmapSet.union().isEmpty(), is(true));
+    }
+
+    @Test
+    public void testUnion_SmallGroups() {
+        BitmapSet a = bitmapSetOf(1, 3, 5, 70_000);
+        BitmapSet b = bitmapSetOf(2, 3, 4, 70_001);
+        BitmapSet c = bitmapSetOf(5, 6, 70_000);
+
+        BitmapSet union = BitmapSet.union(a, b, c);
+
+        assertThat(union, is(bitmapSetOf(1, 2, 3, 4, 5, 6, 70_000, 70_001)));
+        assertThat(union.serializedSize(), is(bitmapSetOf(1, 2, 3, 4, 5, 6, 70_000, 70_001).serializedSize()));
+        union.add(7);
+        assertThat(a, is(bitmapSetOf(1, 3, 5, 70_000)));
+    }
+
+    @Test
+    public void testUnion_SmallGroupsThatOverflowAnArray() {
+        BitmapSet evens = new BitmapSet();
+        BitmapSet odds = new BitmapSet();
+        for (int i = 0; i < 6000; i += 2) {
+            evens.add(i * 3);
+            odds.add(i * 3 + 3);
+        }
+
+        BitmapSet union = BitmapSet.union(evens, odds);
+
+        assertThat(union.cardinality(), is(6000L));
+        assertThat(union, is(evens.or(odds)));
+    }
+
+    @Test
+    public void testSerialize() {
+        BitmapSet set = toBitmapSet(randomValues(new Random(11)));
+        set.addRange(-1_000_000, -900_000);
+        ByteBuffer buffer = ByteBuffer.allocateDirect(set.serializedSize() + 10);
+        buffer.position(3);
+
+        set.serialize(buffer);
+
+        assertThat(buffer.position(), is(set.serializedSize() + 3));
+        buffer.position(3);
+        BitmapSet read = BitmapSet.deserialize(buffer);
+        assertThat(read, is(set));
+        assertThat(read.cardinality(), is(set.cardinality()));
+        assertThat(buffer.position(), is(set.serializedSize() + 3));
+    }
+
+    @Test
+    public void testSerialize_IsLittleEndian() {
+        ByteBuffer buffer = ByteBuffer.allocate(bitmapSetOf(1).serializedSize());
+
+        bitmapSetOf(1).serialize(buffer);
+
+        assertThat(buffer.order(ByteOrder.LITTLE_ENDIAN).getInt(0), is(0x42_4D_53_01));
+        assertThat(buffer.order(ByteOrder.LITTLE_ENDIAN).getChar(buffer.limit() - 2), is((char) 1));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testDeserialize_NotASet() {
+        BitmapSet.deserialize(ByteBuffer.allocate(16));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testDeserialize_Truncated() {
+        BitmapSet set = bitmapSetOf(1, 2, 3);
+        ByteBuffer buffer = ByteBuffer.allocate(set.serializedSize());
+        set.serialize(buffer);
+        buffer.flip();
+        buffer.limit(buffer.limit() - 1);
+
+        BitmapSet.deserialize(buffer);
+    }
+
+    @Test
+    public void testDeserialize_Corrupt() {
+        BitmapSet set = bitmapSetOf(1, 2, 3, 100_000);
+        int[] corruptions = { 4, 8, 10, 12, 21, 26, 34 };
+        for (int corruption : corruptions) {
+            ByteBuffer buffer = ByteBuffer.allocate(set.serializedSize());
+            set.serialize(buffer);
+            buffer.put(corruption, (byte) 0x7F);
+            buffer.flip();
+            try {
+                BitmapSet.deserialize(buffer);
+                fail("Corruption at " + corruption + " not noticed");
+            } catch (IllegalArgumentException e) {
+                assertThat(e.getMessage(), is(not("")));
+            }
+        }
+    }
+
+    @Test
+    public void testIterator() {
+        PrimitiveIterator.OfInt iterator = bitmapSetOf(65_535, 65_536).iterator();
+
+        assertThat(iterator.nextInt(), is(65_535));
+        assertThat(iterator.nextInt(), is(65_536));
+        assertThat(iterator.hasNext(), is(false));
+    }
+
+    @Test(expected = NoSuchElementException.class)
+    public void testIterator_End() {
+        bitmapSetOf().iterator().nextInt();
+    }
+
+    @Test(expected = ConcurrentModificationException.class)
+    public void testIterator_Added() {
+        BitmapSet set = bitmapSetOf(1, 200_000);
+        PrimitiveIterator.OfInt iterator = set.iterator();
+        iterator.nextInt();
+        set.add(100_000);
+
+        iterator.nextInt();
+    }
+
+    @Test(expected = ConcurrentModificationException.class)
+    public void testIterator_Removed() {
+        BitmapSet set = bitmapSetOf(1, 2, 3);
+        PrimitiveIterator.OfInt iterator = set.iterator();
+        iterator.nextInt();
+        set.remove(2);
+
+        iterator.nextInt();
+    }
+
+    @Test
+    public void testIteratorRemove() {
+        Random random = new Random(5);
+        for (int trial = 0; trial < 200; trial++) {
+            TreeSet<Integer> expected = randomValues(random);
+            BitmapSet set = toBitmapSet(expected);
+            List<Integer> visited = new ArrayList<>();
+
+            for (PrimitiveIterator.OfInt iterator = set.iterator(); iterator.hasNext();) {
+                int value = iterator.nextInt();
+                visited.add(value);
+                if (random.nextInt(3) == 0 || value < 0) {
+                    iterator.remove();
+                    expected.remove(value);
+                }
+            }
+
+            assertThat(visited.size(), is(new TreeSet<>(visited).size()));
+            assertThat(set.asSet(), is(expected));
+        }
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testIteratorRemove_Twice() {
+        PrimitiveIterator.OfInt iterator = bitmapSetOf(1, 2).iterator();
+        iterator.nextInt();
+        iterator.remove();
+
+        iterator.remove();
+    }
+
+    @Test
+    public void testForEachAndStream() {
+        BitmapSet set = bitmapSetOf(30, 0, 20, 10);
+        List<Integer> seen = new ArrayList<>();
+
+        set.forEach((int value) -> seen.add(value));
+
+        assertThat(seen, contains(0, 10, 20, 30));
+        assertThat(set.stream().sum(), is(60));
+        assertThat(set.stream().boxed().collect(Collectors.toList()), is(seen));
+    }
+
+    @Test
+    public void testAsSet() {
+        BitmapSet set = bitmapSetOf(1, 2);
+        Set<Integer> view = set.asSet();
+
+        view.add(3);
+        view.remove(1);
+
+        assertThat(set.asSet(), contains(2, 3));
+        assertThat(view.size(), is(2));
+        assertThat(view.contains(2), is(true));
+        assertThat(view.contains("2"), is(false));
+        assertThat(view.remove("2"), is(false));
+    }
+
+    @Test
+    public void testAsSet_BulkRemovals() {
+        BitmapSet set = bitmapSetOf();
+        set.addRange(0, 99_999);
+        Set<Integer> view = set.asSet();
+
+        view.removeIf(value -> value % 2 == 0);
+        view.removeAll(ListSupport.listOf(1, 3, 99_999));
+        view.retainAll(ListSupport.listOf(5, 7, 70_001, 100_001));
+
+        assertThat(view, contains(5, 7, 70_001));
+        view.clear();
+        assertThat(set.isEmpty(), is(true));
+    }
+
+    @Test
+    public void testEqualsAndHashCode() {
+        BitmapSet set = bitmapSetOf(1, 2, 0, 300_000);
+        BitmapSet ranged = bitmapSetOf(300_000);
+        ranged.addRange(0, 2);
+        Set<Integer> expected = new TreeSet<>(ListSupport.listOf(300_000, 0, 2, 1));
+
+        assertThat(set, is(ranged));
+        assertThat(set, is(not(bitmapSetOf(1, 2, 300_000))));
+        assertThat(set, is(not(bitmapSetOf(1, 2, 3, 300_000))));
+        assertThat(set, is(not(bitmapSetOf(1, 2, 0, 300_001))));
+        assertThat(set.equals(expected), is(false));
+        assertThat(set.hashCode(), is(expected.hashCode()));
+        assertThat(set.toString(), is(expected.toString()));
+    }
+
+    /**
+     * Creates values that make all three forms of container: sparse values,
+     * dense values, and runs.
+     */
+    private static TreeSet<Integer> randomValues(Random random) {
+        TreeSet<Integer> values = new TreeSet<>();
+        for (int i = random.nextInt(200); i > 0; i--) {
+            values.add(random.nextInt(1 << 20) - (1 << 19));
+        }
+        for (int i = random.nextInt(10_000); i > 0; i--) {
+            values.add(random.nextInt(20_000));
+        }
+        for (int i = random.nextInt(5); i > 0; i--) {
+            int start = random.nextInt(1 << 18);
+            int end = start + random.nextInt(20_000);
+            for (int value = start; value < end; value++) {
+                values.add(value);
+            }
+        }
+        return values;
+    }
+
+    private static BitmapSet toBitmapSet(Set<Integer> values) {
+        BitmapSet set = bitmapSetOf();
+        values.forEach(set::add);
+        set.optimize();
+        return set;
+    }
+
+}
@@ -0,0 +1,180 @@
+package org.ayeseeem.say.java.util;
+
+import static org.ayeseeem.say.java.util.ListSupport.chunkedList;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.empty;
+
+import java.util.ArrayList;
+import java.util.ConcurrentModificationException;
+import java.util.List;
+import java.util.Random;
+import java.util.Spliterator;
+import java.util.stream.Collectors;
+import java.util.stream.StreamSupport;
+
+import org.junit.Test;
+
+public class ChunkedListTest {
+
+    private static final int SMALL_CHUNKS = 2;
+
+    @Test
+    public void testChunkedList() {
+        List<String> list = chunkedList();
+
+        list.add("a");
+        list.add("b");
+
+        assertThat(list, contains("a", "b"));
+    }
+
+    @Test
+    public void testAdd_ManyChunks() {
+        List<Integer> list = new ChunkedList<>(SMALL_CHUNKS);
+        List<Integer> expected = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            list.add(i);
+            expected.add(i);
+        }
+
+        assertThat(list, is(expected));
+        assertThat(list.get(999), is(999));
+    }
+
+    @Test
+    public void testBehavesLikeArrayList() {
+        Random random = new Random(42);
+        for (int shift : new int[] { 1, SMALL_CHUNKS, 4, ChunkedList.DEFAULT_CHUNK_SHIFT }) {
+            List<Integer> list = new ChunkedList<>(shift);
+            List<Integer> expected = new ArrayList<>();
+            for (int step = 0; step < 3000; step++) {
+                int operation = random.nextInt(10);
+                if (operation < 4 || expected.isEmpty()) {
+                    list.add(step);
+                    expected.add(step);
+                } else if (operation < 6) {
+                    int index = random.nextInt(expected.size() + 1);
+                    list.add(index, step);
+                    expected.add(index, step);
+                } else if (operation < 8) {
+                    int index = random.nextInt(expected.size());
+                    assertThat(list.remove(index), is(expected.remove(index)));
+                } else {
+                    int index = random.nextInt(expected.size());
+                    assertThat(list.set(index, -step), is(expected.set(index, -step)));
+                }
+            }
+            assertThat(list, is(expected));
+        }
+    }
+
+    @Test
+    public void testRemove_LastElementOfFullChunk() {
+        List<Integer> list = new ChunkedList<>(SMALL_CHUNKS);
+        for (int i = 0; i < 8; i++) {
+            list.add(i);
+        }
+
+        list.remove(7);
+        list.remove(3);
+
+        assertThat(list, contains(0, 1, 2, 4, 5, 6));
+    }
+
+    @Test
+    public void testRemoveRange() {
+        List<Integer> list = new ChunkedList<>(SMALL_CHUNKS);
+        for (int i = 0; i < 20; i++) {
+            list.add(i);
+        }
+
+        list.subList(3, 17).clear();
+
+        assertThat(list, contains(0, 1, 2, 17, 18, 19));
+    }
+
+    @Test
+    public void testClear() {
+        List<Integer> list = new ChunkedList<>(SMALL_CHUNKS);
+        for (int i = 0; i < 20; i++) {
+            list.add(i);
+        }
+
+        list.clear();
+        assertThat(list, is(empty()));
+
+        list.add(1);
+        assertThat(list, contains(1));
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void testGet_OutOfBounds() {
+        List<Integer> list = new ChunkedList<>(SMALL_CHUNKS);
+        list.add(1);
+
+        list.get(1);
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void testAdd_OutOfBounds() {
+        new ChunkedList<Integer>(SMALL_CHUNKS).add(1, 1);
+    }
+
+    @Test
+    public void testSpliterator_SplitsOnChunkBoundaries() {
+        List<Integer> list = new ChunkedList<>(SMALL_CHUNKS);
+        for (int i = 0; i < 10; i++) {
+            list.add(i);
+        }
+        Spliterator<Integer> suffix = list.spliterator();
+
+        Spliterator<Integer> prefix = suffix.trySplit();
+
+        assertThat(prefix.estimateSize(), is(4L));
+        assertThat(suffix.estimateSize(), is(6L));
+        assertThat(suffix.trySplit().estimateSize(), is(4L));
+        assertThat(suffix.trySplit().estimateSize(), is(1L));
+        assertThat(suffix.trySplit(), is((Spliterator<Integer>) null));
+        assertThat(suffix.hasCharacteristics(Spliterator.SUBSIZED), is(true));
+    }
+
+    @Test
+    public void testSpliterator_Traverses() {
+        List<Integer> list = new ChunkedList<>(SMALL_CHUNKS);
+        for (int i = 0; i < 10; i++) {
+            list.add(i);
+        }
+        Spliterator<Integer> spliterator = list.spliterator();
+        List<Integer> seen = new ArrayList<>();
+
+        spliterator.tryAdvance(seen::add);
+        spliterator.tryAdvance(seen::add);
+        spliterator.forEachRemaining(seen::add);
+
+        assertThat(seen, is(list));
+        assertThat(spliterator.tryAdvance(seen::add), is(false));
+    }
+
+    @Test
+    public void testParallelStream() {
+        List<Integer> list = new ChunkedList<>(SMALL_CHUNKS);
+        for (int i = 0; i < 100_000; i++) {
+            list.add(i);
+        }
+
+        assertThat(list.parallelStream().mapToLong(Integer::longValue).sum(), is(4_999_950_000L));
+        assertThat(StreamSupport.stream(list.spliterator(), true).collect(Collectors.toList()), is(list));
+    }
+
+    @Test(expected = ConcurrentModificationException.class)
+    public void testForEach_Modified() {
+        List<Integer> list = new ChunkedList<>(SMALL_CHUNKS);
+        list.add(1);
+        list.add(2);
+
+        list.forEach(list::add);
+    }
+
+}
@@ -0,0 +1,118 @@
+package org.ayeseeem.say.java.util;
+
+import static org.ayeseeem.say.java.util.ListSupport.doubleListOf;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.not;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+import java.util.Arrays;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.List;
+
+import org.junit.Test;
+
+public class DoubleListTest {
+
+    @Test
+    public void testAddAndGet() {
+        DoubleList list = doubleListOf();
+        for (int i = 0; i < 1000; i++) {
+            list.add(i / 4.0);
+        }
+        list.add(0, -1.0);
+        list.addAll(0.1, 0.2);
+
+        assertThat(list.size(), is(1003));
+        assertThat(list.get(0), is(-1.0));
+        assertThat(list.get(1000), is(999 / 4.0));
+        assertThat(list.get(1002), is(0.2));
+    }
+
+    @Test
+    public void testSetAndRemove() {
+        DoubleList list = doubleListOf(0.5, 0.6, 0.7);
+
+        assertThat(list.set(0, 5.0), is(0.5));
+        assertThat(list.removeAt(1), is(0.6));
+        assertThat(list.toArray(), is(new double[] { 5.0, 0.7 }));
+    }
+
+    @Test
+    public void testSortAndBinarySearch() {
+        DoubleList list = doubleListOf(Double.NaN, 2.5, -0.0, 0.0, Double.NEGATIVE_INFINITY);
+
+        list.sort();
+
+        assertThat(list.toArray(), is(new double[] { Double.NEGATIVE_INFINITY, -0.0, 0.0, 2.5, Double.NaN }));
+        assertThat(list.binarySearch(2.5), is(3));
+        assertThat(list.binarySearch(Double.NaN), is(4));
+        assertThat(list.binarySearch(1.0), is(-4));
+        assertThat(list.stream().limit(4).sum(), is(Double.NEGATIVE_INFINITY));
+    }
+
+    @Test
+    public void testContains_MatchesListOfDouble() {
+        DoubleList list = doubleListOf(Double.NaN, 0.0);
+        List<Double> boxed = Arrays.asList(Double.NaN, 0.0);
+
+        assertThat(list.contains(Double.NaN), is(boxed.contains(Double.NaN)));
+        assertThat(list.contains(-0.0), is(boxed.contains(-0.0)));
+        assertThat(list.indexOf(0.0), is(boxed.indexOf(0.0)));
+    }
+
+    @Test
+    public void testAsList() {
+        DoubleList list = doubleListOf(1, 2, 3);
+        List<Double> view = list.asList();
+
+        view.add(4.0);
+        view.remove(0);
+
+        assertThat(view, is(Arrays.asList(2.0, 3.0, 4.0)));
+    }
+
+    @Test(expected = ConcurrentModificationException.class)
+    public void testAsList_IteratorFailsFast() {
+        DoubleList list = doubleListOf(1, 2, 3);
+        Iterator<Double> iterator = list.asList().iterator();
+        iterator.next();
+        list.add(4);
+
+        iterator.next();
+    }
+
+    @Test(expected = ConcurrentModificationException.class)
+    public void testAsList_SubListFailsFast() {
+        DoubleList list = doubleListOf(1, 2, 3);
+        List<Double> subList = list.asList().subList(0, 2);
+        list.removeAt(2);
+
+        subList.get(0);
+    }
+
+    @Test
+    public void testAsList_IteratorRemove() {
+        DoubleList list = doubleListOf(1, 2, 3);
+
+        for (Iterator<Double> iterator = list.asList().iterator(); iterator.hasNext();) {
+            if (iterator.next() == 2.0) {
+                iterator.remove();
+            }
+        }
+
+        assertThat(list.toArray(), is(new double[] { 1.0, 3.0 }));
+    }
+
+    @Test
+    public void testEqualsAndHashCode() {
+        DoubleList list = doubleListOf(1, Double.NaN, 3);
+
+        assertThat(list, is(doubleListOf(1, Double.NaN, 3)));
+        assertThat(list, is(not(doubleListOf(1, Double.NaN, 4))));
+        assertThat(doubleListOf(0.0), is(not(doubleListOf(-0.0))));
+        assertThat(list.hashCode(), is(Arrays.asList(1.0, Double.NaN, 3.0).hashCode()));
+        assertThat(list.toString(), is("[1.0, NaN, 3.0]"));
+    }
+
+}
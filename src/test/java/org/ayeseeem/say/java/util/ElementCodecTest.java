@@ -0,0 +1,57 @@
+package org.ayeseeem.say.java.util;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+import org.junit.Test;
+
+public class ElementCodecTest {
+
+    @Test
+    public void testFixedWidthCodecs() {
+        assertThat(roundTrip(ElementCodec.ints(), Integer.MIN_VALUE), is(Integer.MIN_VALUE));
+        assertThat(roundTrip(ElementCodec.longs(), Long.MAX_VALUE), is(Long.MAX_VALUE));
+        assertThat(roundTrip(ElementCodec.doubles(), -0.5), is(-0.5));
+
+        assertThat(ElementCodec.ints().fixedWidth(), is(4));
+        assertThat(ElementCodec.longs().fixedWidth(), is(8));
+        assertThat(ElementCodec.doubles().fixedWidth(), is(8));
+    }
+
+    @Test
+    public void testUtf8Strings() {
+        ElementCodec<String> codec = ElementCodec.utf8Strings();
+
+        assertThat(codec.fixedWidth(), is(ElementCodec.VARIABLE_WIDTH));
+        for (String text : new String[] { "", "ascii", "caf\u00e9", "\u20ac5", "\ud83d\ude00 smile",
+                "\u07ff\u0800\uffff" }) {
+            assertThat(codec.encodedSize(text), is(text.getBytes(StandardCharsets.UTF_8).length));
+            assertThat(roundTrip(codec, text), is(text));
+        }
+    }
+
+    @Test
+    public void testUtf8Strings_UnpairedSurrogates_MatchGetBytes() {
+        ElementCodec<String> codec = ElementCodec.utf8Strings();
+
+        for (String text : new String[] { "a\ud83d", "\ude00b", "\ude00\ud83d" }) {
+            byte[] expected = text.getBytes(StandardCharsets.UTF_8);
+            ByteBuffer buffer = ByteBuffer.allocate(codec.encodedSize(text));
+            codec.encode(text, buffer);
+
+            assertThat(buffer.array(), is(expected));
+        }
+    }
+
+    private static <T> T roundTrip(ElementCodec<T> codec, T element) {
+        ByteBuffer buffer = ByteBuffer.allocate(codec.encodedSize(element));
+        codec.encode(element, buffer);
+        assertThat(buffer.remaining(), is(0));
+        buffer.flip();
+        return codec.decode(buffer, buffer.remaining());
+    }
+
+}
@@ -0,0 +1,145 @@
+package org.ayeseeem.say.java.util;
+
+import static org.ayeseeem.say.java.util.ListSupport.generatedListOf;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.empty;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.ayeseeem.say.java.util.GeneratedList.Mode;
+import org.junit.Test;
+
+public class GeneratedListTest {
+
+    @Test
+    public void testGeneratedListOf() {
+        List<Integer> squares = generatedListOf(5, i -> i * i);
+
+        assertThat(squares, contains(0, 1, 4, 9, 16));
+        assertThat(generatedListOf(0, i -> i), is(empty()));
+    }
+
+    @Test
+    public void testGeneratedListOf_ComputesOnlyWhatIsUsed() {
+        AtomicInteger computed = new AtomicInteger();
+
+        List<Integer> list = generatedListOf(1_000_000, i -> {
+            computed.incrementAndGet();
+            return i;
+        });
+        list.get(7);
+
+        assertThat(computed.get(), is(1));
+        assertThat(list.size(), is(1_000_000));
+    }
+
+    @Test
+    public void testRecompute() {
+        AtomicInteger computed = new AtomicInteger();
+        List<Integer> list = generatedListOf(3, i -> computed.incrementAndGet(), Mode.RECOMPUTE);
+
+        assertThat(list.get(1), is(1));
+        assertThat(list.get(1), is(2));
+    }
+
+    @Test
+    public void testCache() {
+        AtomicInteger computed = new AtomicInteger();
+        List<Integer> list = generatedListOf(3, i -> computed.incrementAndGet(), Mode.CACHE);
+
+        assertThat(list.get(1), is(1));
+        assertThat(list.get(1), is(1));
+        assertThat(list.get(0), is(2));
+        assertThat(computed.get(), is(2));
+    }
+
+    @Test
+    public void testCache_ChunkBoundaries() {
+        int chunkSize = 1 << GeneratedList.CHUNK_SHIFT;
+        AtomicInteger computed = new AtomicInteger();
+        List<Integer> list = generatedListOf(chunkSize * 2 + 1, i -> {
+            computed.incrementAndGet();
+            return i;
+        }, Mode.CACHE);
+
+        for (int index : new int[] { 0, chunkSize - 1, chunkSize, chunkSize * 2 - 1, chunkSize * 2 }) {
+            assertThat(list.get(index), is(index));
+            assertThat(list.get(index), is(index));
+        }
+        assertThat(computed.get(), is(5));
+    }
+
+    @Test
+    public void testCache_VeryLargeList() {
+        List<Integer> list = generatedListOf(Integer.MAX_VALUE, i -> i, Mode.CACHE);
+
+        assertThat(list.get(0), is(0));
+        assertThat(list.get(Integer.MAX_VALUE - 1), is(Integer.MAX_VALUE - 1));
+        assertThat(list.get(Integer.MAX_VALUE - 1), is(Integer.MAX_VALUE - 1));
+    }
+
+    @Test
+    public void testCache_Null() {
+        AtomicInteger computed = new AtomicInteger();
+        List<String> list = generatedListOf(1, i -> {
+            computed.incrementAndGet();
+            return null;
+        }, Mode.CACHE);
+
+        assertThat(list.get(0), is(nullValue()));
+        assertThat(list.get(0), is(nullValue()));
+        assertThat(computed.get(), is(1));
+    }
+
+    @Test
+    public void testCache_ThreadsGetTheSameElement() throws InterruptedException {
+        List<Object> list = generatedListOf(1_000, i -> new Object(), Mode.CACHE);
+        List<List<Object>> seen = new ArrayList<>();
+        List<Thread> threads = new ArrayList<>();
+        for (int t = 0; t < 4; t++) {
+            List<Object> elements = new ArrayList<>();
+            seen.add(elements);
+            Thread thread = new Thread(() -> elements.addAll(list));
+            thread.start();
+            threads.add(thread);
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        for (List<Object> elements : seen) {
+            for (int i = 0; i < list.size(); i++) {
+                assertThat(elements.get(i), is(sameInstance(list.get(i))));
+            }
+        }
+    }
+
+    @Test
+    public void testParallelStream() {
+        List<Long> list = generatedListOf(100_000, i -> (long) i);
+
+        assertThat(list.parallelStream().mapToLong(Long::longValue).sum(), is(4_999_950_000L));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testNegativeSize() {
+        generatedListOf(-1, i -> i);
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void testGet_OutOfBounds() {
+        generatedListOf(3, i -> i, Mode.CACHE).get(3);
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void testIsUnmodifiable() {
+        generatedListOf(3, i -> i).set(0, 1);
+    }
+
+}
@@ -0,0 +1,129 @@
+package org.ayeseeem.say.java.util;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.instanceOf;
+import static org.junit.Assert.fail;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.RandomAccess;
+
+import org.junit.Test;
+
+public class ImmutableListTest {
+
+    @Test
+    public void testOf_ChoosesSmallestRepresentation() {
+        assertThat(ImmutableList.of(), is(instanceOf(ImmutableList.List0.class)));
+        assertThat(ImmutableList.of("a"), is(instanceOf(ImmutableList.List1.class)));
+        assertThat(ImmutableList.of("a", "b"), is(instanceOf(ImmutableList.List2.class)));
+        assertThat(ImmutableList.of("a", "b", "c"), is(instanceOf(ImmutableList.List3.class)));
+        assertThat(ImmutableList.of("a", "b", "c", "d"), is(instanceOf(ImmutableList.List4.class)));
+        assertThat(ImmutableList.of("a", "b", "c", "d", "e"), is(instanceOf(ImmutableList.ListN.class)));
+    }
+
+    @Test
+    public void testOf_EmptyIsShared() {
+        assertThat(ImmutableList.of(), is(sameInstance(ImmutableList.of())));
+        assertThat(ImmutableList.of(new String[0]), is(sameInstance(ImmutableList.empty())));
+    }
+
+    @Test
+    public void testOf_BehavesLikeArrayList() {
+        for (int size = 0; size <= 6; size++) {
+            String[] members = new String[size];
+            for (int i = 0; i < size; i++) {
+                members[i] = "m" + (i % 3);
+            }
+            List<String> expected = new ArrayList<>(Arrays.asList(members));
+            List<String> list = ImmutableList.of(members);
+
+            assertThat(list, is(expected));
+            assertThat(list.hashCode(), is(expected.hashCode()));
+            assertThat(list.toString(), is(expected.toString()));
+            assertThat(list.size(), is(size));
+            assertThat(list instanceof RandomAccess, is(true));
+            for (String item : Arrays.asList("m0", "m1", "m2", "zz", null)) {
+                assertThat(list.contains(item), is(expected.contains(item)));
+                assertThat(list.indexOf(item), is(expected.indexOf(item)));
+                assertThat(list.lastIndexOf(item), is(expected.lastIndexOf(item)));
+            }
+            assertThat(list.toArray(), is(expected.toArray()));
+        }
+    }
+
+    @Test
+    public void testOf_AllowsNull() {
+        List<String> list = ImmutableList.of("a", null, "c");
+
+        assertThat(list, contains("a", null, "c"));
+        assertThat(list.indexOf(null), is(1));
+    }
+
+    @Test
+    public void testGet_OutOfBounds() {
+        for (int size = 0; size <= 5; size++) {
+            List<Integer> list = ImmutableList.of(new Integer[size]);
+            for (int index : new int[] { -1, size }) {
+                try {
+                    list.get(index);
+                    fail("Expected exception for index " + index + " of " + size);
+                } catch (IndexOutOfBoundsException expected) {
+                    // expected
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testModifiers_AlwaysThrow_EvenIfNothingWouldChange() {
+        List<String> list = ImmutableList.of();
+        List<Runnable> modifications = Arrays.asList(
+                () -> list.clear(),
+                () -> list.addAll(Collections.emptyList()),
+                () -> list.removeAll(Collections.emptyList()),
+                () -> list.retainAll(Collections.emptyList()),
+                () -> list.removeIf(x -> false),
+                () -> list.replaceAll(x -> x),
+                () -> list.sort(null),
+                () -> list.remove("a"));
+
+        for (Runnable modification : modifications) {
+            try {
+                modification.run();
+                fail("Expected exception");
+            } catch (UnsupportedOperationException expected) {
+                // expected
+            }
+        }
+    }
+
+    @Test
+    public void testSerializable() throws IOException, ClassNotFoundException {
+        assertThat(roundTrip(ImmutableList.of()), is(sameInstance(ImmutableList.of())));
+        assertThat(roundTrip(ImmutableList.of("a", "b")), contains("a", "b"));
+        assertThat(roundTrip(ImmutableList.of("a", "b", "c", "d", "e")), contains("a", "b", "c", "d", "e"));
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T roundTrip(T object) throws IOException, ClassNotFoundException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+            out.writeObject(object);
+        }
+        try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()))) {
+            return (T) in.readObject();
+        }
+    }
+
+}
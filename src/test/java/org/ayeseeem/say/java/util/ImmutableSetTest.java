@@ -0,0 +1,175 @@
+package org.ayeseeem.say.java.util;
+
+import static org.hamcrest.CoreMatchers.instanceOf;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.hamcrest.Matchers.empty;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+import org.junit.Test;
+
+public class ImmutableSetTest {
+
+    @Test
+    public void testOf_Sizes() {
+        assertThat(ImmutableSet.of(), is(empty()));
+        assertThat(ImmutableSet.of("a"), contains("a"));
+        assertThat(ImmutableSet.of("a", "b"), containsInAnyOrder("a", "b"));
+        assertThat(ImmutableSet.of("a", "b", "c"), containsInAnyOrder("a", "b", "c"));
+    }
+
+    @Test
+    public void testOf_UsesFieldsForSmallSets() {
+        assertThat(ImmutableSet.of(), is(sameInstance(ImmutableSet.of())));
+        assertThat(ImmutableSet.of("a"), is(instanceOf(ImmutableSet.Set1.class)));
+        assertThat(ImmutableSet.of("a", "a"), is(instanceOf(ImmutableSet.Set1.class)));
+        assertThat(ImmutableSet.of("a", "b"), is(instanceOf(ImmutableSet.Set2.class)));
+        assertThat(ImmutableSet.of("a", "b", "a"), is(instanceOf(ImmutableSet.Set2.class)));
+        assertThat(ImmutableSet.of("a", "a", "a"), is(instanceOf(ImmutableSet.Set1.class)));
+        assertThat(ImmutableSet.of("a", "b", "c"), is(instanceOf(ImmutableSet.SetN.class)));
+    }
+
+    @Test
+    public void testOf_RemovesDuplicates() {
+        Set<String> set = ImmutableSet.of("a", "b", "a", "c", "b");
+
+        assertThat(set.size(), is(3));
+        assertThat(set, containsInAnyOrder("a", "b", "c"));
+    }
+
+    @Test
+    public void testNullMembers() {
+        Set<String> small = ImmutableSet.of(null, "a");
+        Set<String> large = ImmutableSet.of("a", null, "b", null);
+
+        assertThat(small.contains(null), is(true));
+        assertThat(large.contains(null), is(true));
+        assertThat(large.size(), is(3));
+        assertThat(large, containsInAnyOrder(null, "a", "b"));
+        assertThat(ImmutableSet.of("a", "b", "c").contains(null), is(false));
+        assertThat(ImmutableSet.of(null, null, "a"), containsInAnyOrder(null, "a"));
+    }
+
+    @Test
+    public void testContains_Large() {
+        List<Integer> members = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            members.add(i * 64);
+        }
+        Set<Integer> set = ImmutableSet.of(members.toArray(new Integer[0]));
+
+        for (int i = 0; i < 64_000; i++) {
+            assertThat(set.contains(i), is(i % 64 == 0));
+        }
+        assertThat(set.contains("not an integer"), is(false));
+        assertThat(set, is(new HashSet<>(members)));
+    }
+
+    @Test
+    public void testContains_Small() {
+        assertThat(ImmutableSet.of().contains("a"), is(false));
+        assertThat(ImmutableSet.of("a").contains("b"), is(false));
+        assertThat(ImmutableSet.of("a", "b").contains("b"), is(true));
+        assertThat(ImmutableSet.of("a", "b").contains("c"), is(false));
+    }
+
+    @Test
+    public void testEqualsAndHashCode() {
+        Set<String> set = ImmutableSet.of("a", "b", "c", "d");
+        Set<String> expected = new HashSet<>(ListSupport.listOf("d", "c", "b", "a"));
+
+        assertThat(set, is(expected));
+        assertThat(expected, is(set));
+        assertThat(set.hashCode(), is(expected.hashCode()));
+        assertThat(ImmutableSet.of("a", "b").hashCode(), is(new HashSet<>(ListSupport.listOf("a", "b")).hashCode()));
+    }
+
+    @Test
+    public void testDoesNotChangeWhenArrayChanges() {
+        String[] members = { "a", "b", "c" };
+        Set<String> set = ImmutableSet.of(members);
+
+        members[0] = "z";
+
+        assertThat(set, containsInAnyOrder("a", "b", "c"));
+    }
+
+    @Test
+    public void testIterator_End() {
+        for (Set<String> set : ListSupport.listOf(ImmutableSet.<String> of(), ImmutableSet.of("a"),
+                ImmutableSet.of("a", "b"), ImmutableSet.of("a", "b", "c"))) {
+            Iterator<String> iterator = set.iterator();
+            for (int i = 0; i < set.size(); i++) {
+                iterator.next();
+            }
+            assertThat(iterator.hasNext(), is(false));
+            try {
+                iterator.next();
+                throw new AssertionError("expected NoSuchElementException");
+            } catch (NoSuchElementException expected) {
+                // expected
+            }
+        }
+    }
+
+    @Test
+    public void testModifiersAreNotSupported() {
+        Set<String> set = ImmutableSet.of("a", "b", "c");
+        List<Runnable> modifiers = ListSupport.listOf(
+                () -> set.add("d"),
+                () -> set.addAll(Collections.singleton("d")),
+                () -> set.remove("a"),
+                () -> set.removeAll(Collections.singleton("a")),
+                () -> set.retainAll(Collections.singleton("a")),
+                () -> set.removeIf(member -> true),
+                () -> set.clear(),
+                () -> ImmutableSet.of().clear());
+
+        for (Runnable modifier : modifiers) {
+            try {
+                modifier.run();
+                throw new AssertionError("expected UnsupportedOperationException");
+            } catch (UnsupportedOperationException expected) {
+                // expected
+            }
+        }
+        assertThat(set, containsInAnyOrder("a", "b", "c"));
+    }
+
+    @Test
+    public void testSerialization() throws IOException, ClassNotFoundException {
+        assertThat(roundTrip(ImmutableSet.of()), is(sameInstance(ImmutableSet.of())));
+        assertThat(roundTrip(ImmutableSet.of("a")), contains("a"));
+        assertThat(roundTrip(ImmutableSet.of("a", null)), containsInAnyOrder("a", null));
+        Set<String> large = roundTrip(ImmutableSet.of("a", "b", "c", null));
+        assertThat(large, containsInAnyOrder("a", "b", "c", null));
+        assertThat(large.contains("c"), is(true));
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T roundTrip(T object) throws IOException, ClassNotFoundException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+            out.writeObject(object);
+        }
+        try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()))) {
+            return (T) in.readObject();
+        }
+    }
+
+}
@@ -0,0 +1,206 @@
+package org.ayeseeem.say.java.util;
+
+import static org.ayeseeem.say.java.util.ListSupport.intListOf;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.not;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.List;
+
+import org.junit.Test;
+
+public class IntListTest {
+
+    @Test
+    public void testAdd() {
+        IntList list = intListOf();
+        List<Integer> expected = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            list.add(i * 3);
+            expected.add(i * 3);
+        }
+
+        assertThat(list.size(), is(1000));
+        assertThat(list.asList(), is(expected));
+    }
+
+    @Test
+    public void testAdd_AtIndex() {
+        IntList list = intListOf(1, 3);
+
+        list.add(1, 2);
+        list.add(0, 0);
+        list.add(4, 4);
+
+        assertThat(list.toArray(), is(new int[] { 0, 1, 2, 3, 4 }));
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void testAdd_AtIndex_OutOfBounds() {
+        intListOf(1, 3).add(3, 2);
+    }
+
+    @Test
+    public void testAddAll() {
+        IntList list = intListOf(1);
+
+        list.addAll(2, 3, 4);
+        list.addAll();
+
+        assertThat(list.toArray(), is(new int[] { 1, 2, 3, 4 }));
+    }
+
+    @Test
+    public void testGetAndSet() {
+        IntList list = intListOf(5, 6, 7);
+
+        assertThat(list.set(1, 60), is(6));
+        assertThat(list.get(1), is(60));
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void testGet_OutOfBounds() {
+        IntList list = intListOf(5, 6, 7);
+        list.removeAt(2);
+
+        list.get(2);
+    }
+
+    @Test
+    public void testRemoveAt() {
+        IntList list = intListOf(5, 6, 7);
+
+        assertThat(list.removeAt(1), is(6));
+        assertThat(list.toArray(), is(new int[] { 5, 7 }));
+    }
+
+    @Test
+    public void testClear() {
+        IntList list = intListOf(5, 6, 7);
+
+        list.clear();
+
+        assertThat(list.isEmpty(), is(true));
+        assertThat(list.size(), is(0));
+    }
+
+    @Test
+    public void testSortAndBinarySearch() {
+        IntList list = intListOf(30, -10, 20, 0);
+
+        list.sort();
+
+        assertThat(list.toArray(), is(new int[] { -10, 0, 20, 30 }));
+        assertThat(list.binarySearch(20), is(2));
+        assertThat(list.binarySearch(10), is(-3));
+    }
+
+    @Test
+    public void testBinarySearch_IgnoresUnusedCapacity() {
+        IntList list = intListOf(1, 2, 3);
+        list.add(4);
+        list.clear();
+        list.add(1);
+
+        assertThat(list.binarySearch(4), is(-2));
+    }
+
+    @Test
+    public void testContainsAndIndexOf() {
+        IntList list = intListOf(5, 6, 5);
+
+        assertThat(list.contains(6), is(true));
+        assertThat(list.contains(7), is(false));
+        assertThat(list.indexOf(5), is(0));
+        assertThat(list.indexOf(7), is(-1));
+    }
+
+    @Test
+    public void testForEachAndStream() {
+        IntList list = intListOf(1, 2, 3);
+        List<Integer> seen = new ArrayList<>();
+
+        list.forEach(seen::add);
+
+        assertThat(seen, contains(1, 2, 3));
+        assertThat(list.stream().sum(), is(6));
+    }
+
+    @Test
+    public void testToArray_IsACopy() {
+        int[] values = { 1, 2, 3 };
+        IntList list = intListOf(values);
+
+        values[0] = 10;
+        list.toArray()[1] = 20;
+
+        assertThat(list.toArray(), is(new int[] { 1, 2, 3 }));
+    }
+
+    @Test
+    public void testAsList() {
+        IntList list = intListOf(1, 2, 3);
+        List<Integer> view = list.asList();
+
+        view.set(0, 10);
+        view.add(4);
+        view.remove(1);
+        Collections.sort(view);
+
+        assertThat(list.toArray(), is(new int[] { 3, 4, 10 }));
+        assertThat(view.contains(4), is(true));
+        assertThat(view.contains(4L), is(false));
+        assertThat(view.indexOf(10), is(2));
+    }
+
+    @Test(expected = ConcurrentModificationException.class)
+    public void testAsList_IteratorFailsFast() {
+        IntList list = intListOf(1, 2, 3);
+        Iterator<Integer> iterator = list.asList().iterator();
+        iterator.next();
+        list.add(4);
+
+        iterator.next();
+    }
+
+    @Test(expected = ConcurrentModificationException.class)
+    public void testAsList_SubListFailsFast() {
+        IntList list = intListOf(1, 2, 3);
+        List<Integer> subList = list.asList().subList(0, 2);
+        list.removeAt(2);
+
+        subList.get(0);
+    }
+
+    @Test
+    public void testAsList_IteratorRemove() {
+        IntList list = intListOf(1, 2, 3);
+
+        for (Iterator<Integer> iterator = list.asList().iterator(); iterator.hasNext();) {
+            if (iterator.next() == 2) {
+                iterator.remove();
+            }
+        }
+
+        assertThat(list.toArray(), is(new int[] { 1, 3 }));
+    }
+
+    @Test
+    public void testEqualsAndHashCode() {
+        IntList list = intListOf(1, 2, 3);
+
+        assertThat(list, is(intListOf(1, 2, 3)));
+        assertThat(list, is(not(intListOf(1, 2))));
+        assertThat(list, is(not(intListOf(1, 2, 4))));
+        assertThat(list.equals(Arrays.asList(1, 2, 3)), is(false));
+        assertThat(list.hashCode(), is(Arrays.asList(1, 2, 3).hashCode()));
+        assertThat(list.toString(), is("[1, 2, 3]"));
+    }
+
+}
@@ -0,0 +1,187 @@
+package org.ayeseeem.say.java.util;
+
+import static org.ayeseeem.say.java.util.SetSupport.intSetOf;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.not;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsInAnyOrder;
+
+import java.util.ArrayList;
+import java.util.ConcurrentModificationException;
+import java.util.HashSet;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+import java.util.Random;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import org.junit.Test;
+
+public class IntSetTest {
+
+    @Test
+    public void testIntSetOf() {
+        IntSet set = intSetOf(3, 1, 3, 0, -7);
+
+        assertThat(set.size(), is(4));
+        assertThat(set.contains(3), is(true));
+        assertThat(set.contains(0), is(true));
+        assertThat(set.contains(-7), is(true));
+        assertThat(set.contains(2), is(false));
+        assertThat(intSetOf().isEmpty(), is(true));
+    }
+
+    @Test
+    public void testAddAndRemove() {
+        IntSet set = intSetOf();
+
+        assertThat(set.add(5), is(true));
+        assertThat(set.add(5), is(false));
+        assertThat(set.add(0), is(true));
+        assertThat(set.add(0), is(false));
+        assertThat(set.remove(5), is(true));
+        assertThat(set.remove(5), is(false));
+        assertThat(set.remove(0), is(true));
+        assertThat(set.remove(0), is(false));
+        assertThat(set.isEmpty(), is(true));
+    }
+
+    @Test
+    public void testBehavesLikeHashSet() {
+        Random random = new Random(42);
+        IntSet set = intSetOf();
+        Set<Integer> expected = new HashSet<>();
+        for (int step = 0; step < 200_000; step++) {
+            int value = random.nextInt(5_000) - 100;
+            if (random.nextInt(3) == 0) {
+                assertThat(set.remove(value), is(expected.remove(value)));
+            } else {
+                assertThat(set.add(value), is(expected.add(value)));
+            }
+            assertThat(set.size(), is(expected.size()));
+        }
+
+        for (int value = -200; value < 5_000; value++) {
+            assertThat(set.contains(value), is(expected.contains(value)));
+        }
+        assertThat(set.asSet(), is(expected));
+    }
+
+    @Test
+    public void testIteratorRemove_VisitsEveryValueOnce() {
+        Random random = new Random(7);
+        for (int trial = 0; trial < 2_000; trial++) {
+            IntSet set = intSetOf();
+            for (int i = random.nextInt(40); i > 0; i--) {
+                set.add(random.nextInt(100));
+            }
+            Set<Integer> original = new HashSet<>(set.asSet());
+            List<Integer> visited = new ArrayList<>();
+            Set<Integer> removed = new HashSet<>();
+
+            for (PrimitiveIterator.OfInt iterator = set.iterator(); iterator.hasNext();) {
+                int value = iterator.nextInt();
+                visited.add(value);
+                if (random.nextBoolean()) {
+                    iterator.remove();
+                    removed.add(value);
+                }
+            }
+
+            assertThat(visited.size(), is(original.size()));
+            assertThat(new HashSet<>(visited), is(original));
+            original.removeAll(removed);
+            assertThat(set.asSet(), is(original));
+        }
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testIteratorRemove_Twice() {
+        PrimitiveIterator.OfInt iterator = intSetOf(1, 2).iterator();
+        iterator.nextInt();
+        iterator.remove();
+
+        iterator.remove();
+    }
+
+    @Test(expected = NoSuchElementException.class)
+    public void testIterator_End() {
+        PrimitiveIterator.OfInt iterator = intSetOf(0).iterator();
+        iterator.nextInt();
+
+        iterator.nextInt();
+    }
+
+    @Test(expected = ConcurrentModificationException.class)
+    public void testIterator_Modified() {
+        IntSet set = intSetOf(1, 2);
+        PrimitiveIterator.OfInt iterator = set.iterator();
+        set.add(3);
+
+        iterator.nextInt();
+    }
+
+    @Test
+    public void testForEachAndStream() {
+        IntSet set = intSetOf(0, 10, 20, 30);
+        List<Integer> seen = new ArrayList<>();
+
+        set.forEach((int value) -> seen.add(value));
+
+        assertThat(seen, containsInAnyOrder(0, 10, 20, 30));
+        assertThat(set.stream().sum(), is(60));
+        assertThat(set.stream().boxed().collect(Collectors.toSet()), is(set.asSet()));
+    }
+
+    @Test
+    public void testToArray() {
+        int[] values = intSetOf(3, 0, 1).toArray();
+
+        assertThat(values.length, is(3));
+        assertThat(intSetOf(values), is(intSetOf(0, 1, 3)));
+    }
+
+    @Test
+    public void testClear() {
+        IntSet set = intSetOf(0, 1, 2);
+
+        set.clear();
+        set.add(4);
+
+        assertThat(set.asSet(), containsInAnyOrder(4));
+    }
+
+    @Test
+    public void testAsSet() {
+        IntSet set = intSetOf(1, 2);
+        Set<Integer> view = set.asSet();
+
+        view.add(3);
+        view.remove(1);
+        view.removeIf(value -> value == 2);
+
+        assertThat(set.contains(3), is(true));
+        assertThat(set.size(), is(1));
+        assertThat(view.contains(3), is(true));
+        assertThat(view.contains("3"), is(false));
+        assertThat(view.remove("3"), is(false));
+        view.clear();
+        assertThat(set.isEmpty(), is(true));
+    }
+
+    @Test
+    public void testEqualsAndHashCode() {
+        IntSet set = intSetOf(1, 2, 0, 300);
+        Set<Integer> expected = new HashSet<>(ListSupport.listOf(300, 0, 2, 1));
+
+        assertThat(set, is(intSetOf(300, 0, 2, 1)));
+        assertThat(set, is(not(intSetOf(1, 2, 300))));
+        assertThat(set, is(not(intSetOf(1, 2, 300, 4))));
+        assertThat(intSetOf(1, 2, 0), is(not(intSetOf(1, 2, 3))));
+        assertThat(set.equals(expected), is(false));
+        assertThat(set.hashCode(), is(expected.hashCode()));
+        assertThat(set.toString(), is(set.asSet().toString()));
+    }
+
+}
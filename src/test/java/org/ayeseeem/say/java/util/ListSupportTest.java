@@ -2,12 +2,18 @@ package org.ayeseeem.say.java.util;
 
 import static org.ayeseeem.say.java.util.DummyValue.dummy;
 import static org.ayeseeem.say.java.util.ListSupport.alwaysEmptyList;
+import static org.ayeseeem.say.java.util.ListSupport.doubleListOf;
 import static org.ayeseeem.say.java.util.ListSupport.emptyList;
 import static org.ayeseeem.say.java.util.ListSupport.firstOf;
 import static org.ayeseeem.say.java.util.ListSupport.initiallyEmptyList;
+import static org.ayeseeem.say.java.util.ListSupport.intListOf;
+import static org.ayeseeem.say.java.util.ListSupport.lastNOf;
 import static org.ayeseeem.say.java.util.ListSupport.lastOf;
 import static org.ayeseeem.say.java.util.ListSupport.listOf;
+import static org.ayeseeem.say.java.util.ListSupport.longListOf;
 import static org.ayeseeem.say.java.util.ListSupport.modifiableListOf;
+import static org.ayeseeem.say.java.util.ListSupport.nthOf;
+import static org.ayeseeem.say.java.util.ListSupport.persistentListOf;
 import static org.ayeseeem.say.java.util.ListSupport.unmodifiableListOf;
 import static org.ayeseeem.say.java.util.SetSupport.setOf;
 import static org.hamcrest.CoreMatchers.is;
@@ -16,9 +22,17 @@ import static org.hamcrest.Matchers.contains;
 import static org.hamcrest.Matchers.containsInAnyOrder;
 import static org.hamcrest.Matchers.empty;
 
+import java.util.AbstractSequentialList;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.LinkedList;
 import java.util.List;
+import java.util.ListIterator;
 import java.util.Set;
+import java.util.TreeSet;
 
 import org.ayeseeem.test.Characterization;
 import org.junit.Test;
@@ -32,6 +46,16 @@ public class ListSupportTest {
         assertThat(firstOf(listOf("b", "d", "a", "c")).get(), is("b"));
     }
 
+    @Test
+    public void testFirstOf_Primitives() {
+        assertThat(firstOf(intListOf()).isPresent(), is(false));
+        assertThat(firstOf(intListOf(2, 4, 1)).getAsInt(), is(2));
+        assertThat(firstOf(longListOf()).isPresent(), is(false));
+        assertThat(firstOf(longListOf(2, 4, 1)).getAsLong(), is(2L));
+        assertThat(firstOf(doubleListOf()).isPresent(), is(false));
+        assertThat(firstOf(doubleListOf(2, 4, 1)).getAsDouble(), is(2.0));
+    }
+
     @Test
     public void testLastOf() {
         assertThat(lastOf(emptyList()).isPresent(), is(false));
@@ -39,6 +63,112 @@ public class ListSupportTest {
         assertThat(lastOf(listOf("b", "d", "a", "c")).get(), is("c"));
     }
 
+    @Test
+    public void testLastOf_NotRandomAccess() {
+        List<String> linked = new LinkedList<>(listOf("b", "d", "a", "c"));
+        List<String> noGet = new AbstractSequentialList<String>() {
+            @Override
+            public ListIterator<String> listIterator(int index) {
+                return linked.listIterator(index);
+            }
+
+            @Override
+            public String get(int index) {
+                throw new AssertionError("walks the list");
+            }
+
+            @Override
+            public int size() {
+                return linked.size();
+            }
+        };
+
+        assertThat(lastOf(noGet).get(), is("c"));
+    }
+
+    @Test
+    public void testFirstAndLastOf_Deque() {
+        Deque<String> deque = new ArrayDeque<>(listOf("b", "d", "a", "c"));
+
+        assertThat(firstOf(deque).get(), is("b"));
+        assertThat(lastOf(deque).get(), is("c"));
+        assertThat(firstOf(new ArrayDeque<String>()).isPresent(), is(false));
+        assertThat(lastOf(new ArrayDeque<String>()).isPresent(), is(false));
+    }
+
+    @Test
+    public void testFirstAndLastOf_LinkedList() {
+        LinkedList<String> list = new LinkedList<>(listOf("b", "d", "a", "c"));
+
+        assertThat(firstOf(list).get(), is("b"));
+        assertThat(lastOf(list).get(), is("c"));
+        assertThat(lastOf(new LinkedList<String>()).isPresent(), is(false));
+    }
+
+    @Test
+    public void testFirstAndLastOf_Iterable() {
+        Iterable<String> items = () -> listOf("b", "d", "a", "c").iterator();
+        Iterable<String> none = () -> new ArrayList<String>().iterator();
+
+        assertThat(firstOf(items).get(), is("b"));
+        assertThat(lastOf(items).get(), is("c"));
+        assertThat(firstOf(none).isPresent(), is(false));
+        assertThat(lastOf(none).isPresent(), is(false));
+    }
+
+    @Test
+    public void testLastOf_Iterable_RecognizesCollections() {
+        Collection<String> list = new LinkedList<>(listOf("b", "d", "a", "c"));
+        Collection<String> deque = new ArrayDeque<>(listOf("b", "d", "a", "c"));
+        Collection<String> sorted = new TreeSet<>(listOf("b", "d", "a", "c"));
+
+        assertThat(lastOf((Iterable<String>) list).get(), is("c"));
+        assertThat(lastOf((Iterable<String>) deque).get(), is("c"));
+        assertThat(lastOf((Iterable<String>) sorted).get(), is("d"));
+    }
+
+    @Test
+    public void testNthOf() {
+        List<String> list = listOf("b", "d", "a", "c");
+
+        assertThat(nthOf(list, 0).get(), is("b"));
+        assertThat(nthOf(list, 3).get(), is("c"));
+        assertThat(nthOf(list, 4).isPresent(), is(false));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testNthOf_Negative() {
+        nthOf(listOf("a"), -1);
+    }
+
+    @Test
+    public void testLastNOf() {
+        List<String> list = modifiableListOf("b", "d", "a", "c");
+
+        List<String> last = lastNOf(list, 2);
+        assertThat(last, contains("a", "c"));
+        assertThat(lastNOf(list, 9), contains("b", "d", "a", "c"));
+        assertThat(lastNOf(list, 0), is(empty()));
+
+        list.set(3, "e");
+        assertThat(last, contains("a", "e"));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testLastNOf_Negative() {
+        lastNOf(listOf("a"), -1);
+    }
+
+    @Test
+    public void testLastOf_Primitives() {
+        assertThat(lastOf(intListOf()).isPresent(), is(false));
+        assertThat(lastOf(intListOf(2, 4, 1)).getAsInt(), is(1));
+        assertThat(lastOf(longListOf()).isPresent(), is(false));
+        assertThat(lastOf(longListOf(2, 4, 1)).getAsLong(), is(1L));
+        assertThat(lastOf(doubleListOf()).isPresent(), is(false));
+        assertThat(lastOf(doubleListOf(2, 4, 1)).getAsDouble(), is(1.0));
+    }
+
     @Test
     public void testListOf() {
         assertThat(listOf("a", "b", "c"), contains("a", "b", "c"));
@@ -99,11 +229,11 @@ public class ListSupportTest {
         list.add("d");
     }
 
-    @Test
-    public void testListOf_CreatesListWhereElementsCanBeSubstituted() {
+    @Test(expected = UnsupportedOperationException.class)
+    public void testListOf_CreatesListWhereElementsCannotBeSubstituted() {
         List<String> list = listOf("a", "b");
+
         list.set(0, "new entry");
-        assertThat(list, contains("new entry", "b"));
     }
 
     @Test
@@ -314,12 +444,42 @@ public class ListSupportTest {
         list.add("d");
     }
 
-    @Characterization
-    @Test
-    public void testUnmodifiableListOf_CreatesListWhereElementsCanBeSubstituted() {
+    @Test(expected = UnsupportedOperationException.class)
+    public void testUnmodifiableListOf_CreatesListWhereElementsCannotBeSubstituted() {
         List<String> list = unmodifiableListOf("a", "b");
+
         list.set(0, "new entry");
-        assertThat(list, contains("new entry", "b"));
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void testUnmodifiableListOf_CreatesListWhereElementsCannotBeSubstituted_Large() {
+        List<String> list = unmodifiableListOf("a", "b", "c", "d", "e", "f");
+
+        list.set(0, "new entry");
+    }
+
+    @Test
+    public void testUnmodifiableListOf_DoesNotChangeWhenArrayChanges() {
+        String[] anArray = { "a", "b", "c", "d", "e", "f" };
+        List<String> list = unmodifiableListOf(anArray);
+
+        anArray[0] = "new entry";
+        assertThat(list, contains("a", "b", "c", "d", "e", "f"));
+    }
+
+    @Test
+    public void testPersistentListOf() {
+        PersistentList<String> list = persistentListOf("a", "b", "c");
+
+        assertThat(list, contains("a", "b", "c"));
+        assertThat(list.plus("d"), contains("a", "b", "c", "d"));
+        assertThat(list.with(1, "z"), contains("a", "z", "c"));
+        assertThat(list, contains("a", "b", "c"));
+    }
+
+    @Test
+    public void testPersistentListOf_CanBeEmpty() {
+        assertThat(persistentListOf(), is(empty()));
     }
 
     @Test
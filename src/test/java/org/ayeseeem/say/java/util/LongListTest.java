@@ -0,0 +1,110 @@
+package org.ayeseeem.say.java.util;
+
+import static org.ayeseeem.say.java.util.ListSupport.longListOf;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.not;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+import java.util.Arrays;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.List;
+
+import org.junit.Test;
+
+public class LongListTest {
+
+    @Test
+    public void testAddAndGet() {
+        LongList list = longListOf();
+        for (long i = 0; i < 1000; i++) {
+            list.add(i << 33);
+        }
+        list.add(0, -1L);
+        list.addAll(1L, 2L);
+
+        assertThat(list.size(), is(1003));
+        assertThat(list.get(0), is(-1L));
+        assertThat(list.get(1000), is(999L << 33));
+        assertThat(list.get(1002), is(2L));
+    }
+
+    @Test
+    public void testSetAndRemove() {
+        LongList list = longListOf(5, 6, 7);
+
+        assertThat(list.set(0, 50), is(5L));
+        assertThat(list.removeAt(1), is(6L));
+        assertThat(list.toArray(), is(new long[] { 50, 7 }));
+        assertThat(list.indexOf(7), is(1));
+        assertThat(list.contains(6), is(false));
+    }
+
+    @Test
+    public void testSortAndBinarySearch() {
+        LongList list = longListOf(Long.MAX_VALUE, Long.MIN_VALUE, 0);
+
+        list.sort();
+
+        assertThat(list.toArray(), is(new long[] { Long.MIN_VALUE, 0, Long.MAX_VALUE }));
+        assertThat(list.binarySearch(Long.MAX_VALUE), is(2));
+        assertThat(list.binarySearch(1), is(-3));
+        assertThat(list.stream().count(), is(3L));
+    }
+
+    @Test
+    public void testAsList() {
+        LongList list = longListOf(1, 2, 3);
+        List<Long> view = list.asList();
+
+        view.add(4L);
+        view.remove(0);
+
+        assertThat(view, is(Arrays.asList(2L, 3L, 4L)));
+        assertThat(view.contains(2L), is(true));
+        assertThat(view.contains(2), is(false));
+    }
+
+    @Test(expected = ConcurrentModificationException.class)
+    public void testAsList_IteratorFailsFast() {
+        LongList list = longListOf(1, 2, 3);
+        Iterator<Long> iterator = list.asList().iterator();
+        iterator.next();
+        list.add(4);
+
+        iterator.next();
+    }
+
+    @Test(expected = ConcurrentModificationException.class)
+    public void testAsList_SubListFailsFast() {
+        LongList list = longListOf(1, 2, 3);
+        List<Long> subList = list.asList().subList(0, 2);
+        list.removeAt(2);
+
+        subList.get(0);
+    }
+
+    @Test
+    public void testAsList_IteratorRemove() {
+        LongList list = longListOf(1, 2, 3);
+
+        for (Iterator<Long> iterator = list.asList().iterator(); iterator.hasNext();) {
+            if (iterator.next() == 2L) {
+                iterator.remove();
+            }
+        }
+
+        assertThat(list.toArray(), is(new long[] { 1L, 3L }));
+    }
+
+    @Test
+    public void testEqualsAndHashCode() {
+        LongList list = longListOf(1, 2, 3);
+
+        assertThat(list, is(longListOf(1, 2, 3)));
+        assertThat(list, is(not(longListOf(1, 2, 4))));
+        assertThat(list.hashCode(), is(Arrays.asList(1L, 2L, 3L).hashCode()));
+        assertThat(list.toString(), is("[1, 2, 3]"));
+    }
+
+}
@@ -0,0 +1,112 @@
+package org.ayeseeem.say.java.util;
+
+import static org.ayeseeem.say.java.util.SetSupport.longSetOf;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.not;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsInAnyOrder;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.PrimitiveIterator;
+import java.util.Random;
+import java.util.Set;
+
+import org.junit.Test;
+
+public class LongSetTest {
+
+    @Test
+    public void testLongSetOf() {
+        LongSet set = longSetOf(3, 1L << 40, 3, 0);
+
+        assertThat(set.size(), is(3));
+        assertThat(set.contains(1L << 40), is(true));
+        assertThat(set.contains(0), is(true));
+        assertThat(set.contains(1), is(false));
+    }
+
+    @Test
+    public void testBehavesLikeHashSet() {
+        Random random = new Random(42);
+        LongSet set = longSetOf();
+        Set<Long> expected = new HashSet<>();
+        for (int step = 0; step < 100_000; step++) {
+            long value = (random.nextInt(5_000) - 100L) << 32;
+            if (random.nextInt(3) == 0) {
+                assertThat(set.remove(value), is(expected.remove(value)));
+            } else {
+                assertThat(set.add(value), is(expected.add(value)));
+            }
+        }
+
+        assertThat(set.size(), is(expected.size()));
+        assertThat(set.asSet(), is(expected));
+    }
+
+    @Test
+    public void testIteratorRemove_VisitsEveryValueOnce() {
+        Random random = new Random(7);
+        for (int trial = 0; trial < 1_000; trial++) {
+            LongSet set = longSetOf();
+            for (int i = random.nextInt(40); i > 0; i--) {
+                set.add(random.nextInt(100));
+            }
+            Set<Long> original = new HashSet<>(set.asSet());
+            List<Long> visited = new ArrayList<>();
+            Set<Long> removed = new HashSet<>();
+
+            for (PrimitiveIterator.OfLong iterator = set.iterator(); iterator.hasNext();) {
+                long value = iterator.nextLong();
+                visited.add(value);
+                if (random.nextBoolean()) {
+                    iterator.remove();
+                    removed.add(value);
+                }
+            }
+
+            assertThat(visited.size(), is(original.size()));
+            assertThat(new HashSet<>(visited), is(original));
+            original.removeAll(removed);
+            assertThat(set.asSet(), is(original));
+        }
+    }
+
+    @Test
+    public void testForEachAndStream() {
+        LongSet set = longSetOf(0, 10, 20, 1L << 40);
+        List<Long> seen = new ArrayList<>();
+
+        set.forEach((long value) -> seen.add(value));
+
+        assertThat(seen, containsInAnyOrder(0L, 10L, 20L, 1L << 40));
+        assertThat(set.stream().sum(), is(30L + (1L << 40)));
+        assertThat(set.toArray().length, is(4));
+    }
+
+    @Test
+    public void testAsSet() {
+        LongSet set = longSetOf(1, 2);
+        Set<Long> view = set.asSet();
+
+        view.add(3L);
+        view.remove(1L);
+
+        assertThat(set.asSet(), containsInAnyOrder(2L, 3L));
+        assertThat(view.contains(2), is(false));
+        assertThat(view.contains(2L), is(true));
+    }
+
+    @Test
+    public void testEqualsAndHashCode() {
+        LongSet set = longSetOf(1, 2, 0, 1L << 40);
+        Set<Long> expected = new HashSet<>(ListSupport.listOf(1L << 40, 0L, 2L, 1L));
+
+        assertThat(set, is(longSetOf(1L << 40, 0, 2, 1)));
+        assertThat(set, is(not(longSetOf(1, 2, 1L << 40))));
+        assertThat(set.hashCode(), is(expected.hashCode()));
+        assertThat(set.toString(), is(set.asSet().toString()));
+    }
+
+}
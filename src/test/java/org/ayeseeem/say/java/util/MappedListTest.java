@@ -0,0 +1,138 @@
+package org.ayeseeem.say.java.util;
+
+import static org.ayeseeem.say.java.util.ListSupport.mappedListOf;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.empty;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class MappedListTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void testMappedListOf_FixedWidth() throws IOException {
+        Path path = folder.newFile().toPath();
+        MappedList.write(path, ElementCodec.longs(), Arrays.asList(3L, -1L, Long.MAX_VALUE));
+
+        List<Long> list = mappedListOf(path, ElementCodec.longs());
+
+        assertThat(Files.size(path), is(24L));
+        assertThat(list, contains(3L, -1L, Long.MAX_VALUE));
+    }
+
+    @Test
+    public void testMappedListOf_VariableWidth() throws IOException {
+        Path path = folder.newFile().toPath();
+        MappedList.write(path, ElementCodec.utf8Strings(), Arrays.asList("a", "", "bcd"));
+
+        List<String> list = mappedListOf(path, ElementCodec.utf8Strings());
+
+        assertThat(list, contains("a", "", "bcd"));
+    }
+
+    @Test
+    public void testMappedListOf_Empty() throws IOException {
+        Path fixed = folder.newFile().toPath();
+        Path variable = folder.newFile().toPath();
+        MappedList.write(fixed, ElementCodec.ints(), Collections.emptyList());
+        MappedList.write(variable, ElementCodec.utf8Strings(), Collections.emptyList());
+
+        assertThat(mappedListOf(fixed, ElementCodec.ints()), is(empty()));
+        assertThat(mappedListOf(variable, ElementCodec.utf8Strings()), is(empty()));
+    }
+
+    @Test
+    public void testFixedWidth_ManyChunks() throws IOException {
+        Path path = folder.newFile().toPath();
+        List<Integer> expected = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            expected.add(i * 7);
+        }
+        MappedList.write(path, ElementCodec.ints(), expected);
+
+        MappedList<Integer> list = new MappedList<>(path, ElementCodec.ints(), 10);
+
+        assertThat(list, is(expected));
+    }
+
+    @Test
+    public void testVariableWidth_ElementsAndIndexCrossChunks() throws IOException {
+        Path path = folder.newFile().toPath();
+        List<String> expected = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            expected.add(i % 5 == 0 ? "" : "element " + i);
+        }
+        expected.add("a longer element, longer than several chunks");
+        MappedList.write(path, ElementCodec.utf8Strings(), expected);
+
+        for (int chunkSize : new int[] { 1, 3, 7, 64 }) {
+            assertThat(new MappedList<>(path, ElementCodec.utf8Strings(), chunkSize), is(expected));
+        }
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void testIsUnmodifiable() throws IOException {
+        Path path = folder.newFile().toPath();
+        MappedList.write(path, ElementCodec.ints(), Arrays.asList(1, 2));
+
+        mappedListOf(path, ElementCodec.ints()).set(0, 3);
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void testGet_OutOfBounds() throws IOException {
+        Path path = folder.newFile().toPath();
+        MappedList.write(path, ElementCodec.ints(), Arrays.asList(1, 2));
+
+        mappedListOf(path, ElementCodec.ints()).get(2);
+    }
+
+    @Test(expected = IOException.class)
+    public void testFixedWidth_PartialElement() throws IOException {
+        Path path = folder.newFile().toPath();
+        Files.write(path, new byte[10]);
+
+        mappedListOf(path, ElementCodec.longs());
+    }
+
+    @Test(expected = IOException.class)
+    public void testVariableWidth_NotIndexed() throws IOException {
+        Path path = folder.newFile().toPath();
+        Files.write(path, "not an index at all".getBytes("UTF-8"));
+
+        mappedListOf(path, ElementCodec.utf8Strings());
+    }
+
+    @Test(expected = IOException.class)
+    public void testVariableWidth_TooShort() throws IOException {
+        Path path = folder.newFile().toPath();
+
+        mappedListOf(path, ElementCodec.utf8Strings());
+    }
+
+    @Test(expected = IOException.class)
+    public void testVariableWidth_CorruptCount() throws IOException {
+        Path path = folder.newFile().toPath();
+        MappedList.write(path, ElementCodec.utf8Strings(), Arrays.asList("a"));
+        byte[] bytes = Files.readAllBytes(path);
+        ByteBuffer.wrap(bytes).putLong(bytes.length - 12, 1000);
+        Files.write(path, bytes);
+
+        mappedListOf(path, ElementCodec.utf8Strings());
+    }
+
+}
@@ -0,0 +1,206 @@
+package org.ayeseeem.say.java.util;
+
+import static org.ayeseeem.say.java.util.ListSupport.offHeapListOf;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+import org.junit.Test;
+
+public class OffHeapListTest {
+
+    @Test
+    public void testOffHeapListOf() {
+        try (OffHeapList<Long> list = offHeapListOf(ElementCodec.longs())) {
+            list.add(1L);
+            list.add(-2L);
+
+            assertThat(list, contains(1L, -2L));
+            assertThat(list.reservedBytes(), is((long) OffHeapList.DEFAULT_SEGMENT_SIZE));
+        }
+    }
+
+    @Test
+    public void testFixedWidth_AcrossSegments() {
+        try (OffHeapList<Long> list = new OffHeapList<>(ElementCodec.longs(), 20)) {
+            List<Long> expected = new ArrayList<>();
+            for (long i = 0; i < 25; i++) {
+                list.add(i * i);
+                expected.add(i * i);
+            }
+
+            assertThat(list, is(expected));
+            assertThat(list.get(24), is(576L));
+            assertThat(list.reservedBytes(), is(13 * 16L));
+        }
+    }
+
+    @Test
+    public void testVariableWidth_AcrossSegments() {
+        try (OffHeapList<String> list = new OffHeapList<>(ElementCodec.utf8Strings(), 8)) {
+            List<String> expected = Arrays.asList("abc", "", "defgh", "i", "a longer string than a segment", "",
+                    "\u00e9t\u00e9", "z");
+            list.addAll(expected);
+
+            assertThat(list, is(expected));
+            for (int i = expected.size() - 1; i >= 0; i--) {
+                assertThat(list.get(i), is(expected.get(i)));
+            }
+        }
+    }
+
+    @Test
+    public void testAddAll_FixedWidth() {
+        try (OffHeapList<Integer> list = new OffHeapList<>(ElementCodec.ints(), 64)) {
+            list.add(-1);
+            List<Integer> more = new ArrayList<>();
+            for (int i = 0; i < 100; i++) {
+                more.add(i);
+            }
+
+            assertThat(list.addAll(more), is(true));
+            assertThat(list.addAll(new ArrayList<>()), is(false));
+
+            assertThat(list.size(), is(101));
+            assertThat(list.get(0), is(-1));
+            assertThat(list.get(100), is(99));
+            assertThat(list.reservedBytes(), is(7 * 64L));
+        }
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void testSet_IsNotSupported() {
+        try (OffHeapList<Integer> list = offHeapListOf(ElementCodec.ints())) {
+            list.add(1);
+
+            list.set(0, 2);
+        }
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void testGet_OutOfBounds() {
+        try (OffHeapList<Integer> list = offHeapListOf(ElementCodec.ints())) {
+            list.add(1);
+
+            list.get(1);
+        }
+    }
+
+    @Test
+    public void testCursor() {
+        try (OffHeapList<String> list = new OffHeapList<>(ElementCodec.utf8Strings(), 4)) {
+            list.addAll(Arrays.asList("ab", "cd", "efg", ""));
+            OffHeapList<String>.Cursor cursor = list.cursor();
+            List<String> decoded = new ArrayList<>();
+            List<Integer> lengths = new ArrayList<>();
+
+            while (cursor.next()) {
+                lengths.add(cursor.bytes().remaining());
+                decoded.add(cursor.decode());
+                assertThat(cursor.decode(), is(decoded.get(cursor.index())));
+            }
+
+            assertThat(decoded, contains("ab", "cd", "efg", ""));
+            assertThat(lengths, contains(2, 2, 3, 0));
+            assertThat(cursor.next(), is(false));
+        }
+    }
+
+    @Test
+    public void testCursor_ReusesBufferWithinSegment() {
+        try (OffHeapList<Long> list = offHeapListOf(ElementCodec.longs())) {
+            list.addAll(Arrays.asList(1L, 2L, 3L));
+            OffHeapList<Long>.Cursor cursor = list.cursor();
+
+            cursor.next();
+            ByteBuffer first = cursor.bytes();
+            assertThat(first.getLong(first.position()), is(1L));
+            cursor.next();
+
+            assertThat(cursor.bytes() == first, is(true));
+            assertThat(first.isReadOnly(), is(true));
+            assertThat(first.getLong(first.position()), is(2L));
+        }
+    }
+
+    @Test(expected = NoSuchElementException.class)
+    public void testCursor_BeforeFirst() {
+        try (OffHeapList<Long> list = offHeapListOf(ElementCodec.longs())) {
+            list.add(1L);
+
+            list.cursor().bytes();
+        }
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testCursor_ListChanged() {
+        try (OffHeapList<Long> list = offHeapListOf(ElementCodec.longs())) {
+            OffHeapList<Long>.Cursor cursor = list.cursor();
+            list.add(1L);
+
+            cursor.next();
+        }
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testClose() {
+        OffHeapList<Long> list = offHeapListOf(ElementCodec.longs());
+        list.add(1L);
+        list.close();
+        list.close();
+
+        list.get(0);
+    }
+
+    @Test
+    public void testCodecFailure_LeavesListUnchanged() {
+        ElementCodec<String> failing = new ElementCodec<String>() {
+            @Override
+            public int fixedWidth() {
+                return VARIABLE_WIDTH;
+            }
+
+            @Override
+            public int encodedSize(String element) {
+                return ElementCodec.utf8Strings().encodedSize(element);
+            }
+
+            @Override
+            public void encode(String element, ByteBuffer target) {
+                ElementCodec.utf8Strings().encode(element, target);
+                if (element.startsWith("bad")) {
+                    target.put((byte) 0);
+                }
+            }
+
+            @Override
+            public String decode(ByteBuffer source, int length) {
+                return ElementCodec.utf8Strings().decode(source, length);
+            }
+        };
+
+        try (OffHeapList<String> list = offHeapListOf(failing)) {
+            list.add("good");
+            try {
+                list.add("bad");
+            } catch (IllegalStateException expected) {
+                // expected
+            }
+            list.add("ok");
+
+            assertThat(list, contains("good", "ok"));
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testSegmentTooSmall() {
+        new OffHeapList<>(ElementCodec.longs(), 7);
+    }
+
+}
@@ -0,0 +1,126 @@
+package org.ayeseeem.say.java.util;
+
+import static org.ayeseeem.say.java.util.ListSupport.chunksOf;
+import static org.ayeseeem.say.java.util.ListSupport.listOf;
+import static org.ayeseeem.say.java.util.ListSupport.modifiableListOf;
+import static org.ayeseeem.say.java.util.ListSupport.partitionsOf;
+import static org.ayeseeem.say.java.util.ListSupport.windowsOf;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.empty;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Spliterator;
+import java.util.stream.Collectors;
+
+import org.junit.Test;
+
+public class PartitionedListTest {
+
+    private final List<Integer> ten = listOf(0, 1, 2, 3, 4, 5, 6, 7, 8, 9);
+
+    @Test
+    public void testPartitionsOf() {
+        assertThat(partitionsOf(ten, 4), is(listOf(listOf(0, 1, 2, 3), listOf(4, 5, 6, 7), listOf(8, 9))));
+        assertThat(partitionsOf(ten, 5), is(listOf(listOf(0, 1, 2, 3, 4), listOf(5, 6, 7, 8, 9))));
+        assertThat(partitionsOf(ten, 20), is(listOf(ten)));
+        assertThat(partitionsOf(listOf(), 3), is(empty()));
+    }
+
+    @Test
+    public void testPartitionsOf_IsAView() {
+        List<Integer> list = modifiableListOf(0, 1, 2);
+        List<List<Integer>> partitions = partitionsOf(list, 2);
+
+        list.add(3);
+        list.add(4);
+        partitions.get(1).set(0, 20);
+
+        assertThat(partitions, is(listOf(listOf(0, 1), listOf(20, 3), listOf(4))));
+        assertThat(list, contains(0, 1, 20, 3, 4));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testPartitionsOf_SizeNotPositive() {
+        partitionsOf(ten, 0);
+    }
+
+    @Test
+    public void testWindowsOf() {
+        assertThat(windowsOf(ten, 4, 3), is(listOf(listOf(0, 1, 2, 3), listOf(3, 4, 5, 6), listOf(6, 7, 8, 9))));
+        assertThat(windowsOf(ten, 2, 4), is(listOf(listOf(0, 1), listOf(4, 5), listOf(8, 9))));
+        assertThat(windowsOf(ten, 10, 1), is(listOf(ten)));
+        assertThat(windowsOf(ten, 11, 1), is(empty()));
+    }
+
+    @Test
+    public void testWindowsOf_OnlyWholeWindows() {
+        assertThat(windowsOf(ten, 3, 3), is(listOf(listOf(0, 1, 2), listOf(3, 4, 5), listOf(6, 7, 8))));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testWindowsOf_SizeNotPositive() {
+        windowsOf(ten, 0, 1);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testWindowsOf_StepNotPositive() {
+        windowsOf(ten, 1, -1);
+    }
+
+    @Test
+    public void testChunksOf() {
+        assertThat(chunksOf(ten, 3), is(listOf(listOf(0, 1, 2, 3), listOf(4, 5, 6), listOf(7, 8, 9))));
+        assertThat(chunksOf(ten, 5), is(listOf(listOf(0, 1), listOf(2, 3), listOf(4, 5), listOf(6, 7), listOf(8, 9))));
+        assertThat(chunksOf(ten, 1), is(listOf(ten)));
+        assertThat(chunksOf(listOf(0, 1), 3), is(listOf(listOf(0), listOf(1))));
+        assertThat(chunksOf(listOf(), 3), is(empty()));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testChunksOf_CountNotPositive() {
+        chunksOf(ten, 0);
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void testGet_OutOfBounds() {
+        partitionsOf(ten, 4).get(3);
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void testIsUnmodifiable() {
+        partitionsOf(ten, 4).set(0, listOf());
+    }
+
+    @Test
+    public void testSpliterator_SplitsEvenly() {
+        Spliterator<List<Integer>> suffix = partitionsOf(ten, 1).spliterator();
+
+        Spliterator<List<Integer>> prefix = suffix.trySplit();
+
+        assertThat(prefix.estimateSize(), is(5L));
+        assertThat(suffix.estimateSize(), is(5L));
+        assertThat(suffix.hasCharacteristics(Spliterator.SIZED | Spliterator.SUBSIZED), is(true));
+    }
+
+    @Test
+    public void testParallelStream() {
+        List<Integer> large = new ArrayList<>();
+        for (int i = 0; i < 100_000; i++) {
+            large.add(i);
+        }
+
+        long sum = partitionsOf(large, 1000).parallelStream()
+                .mapToLong(partition -> partition.stream().mapToLong(Integer::longValue).sum())
+                .sum();
+        List<Integer> firsts = chunksOf(large, 7).parallelStream()
+                .map(chunk -> chunk.get(0))
+                .collect(Collectors.toList());
+
+        assertThat(sum, is(4_999_950_000L));
+        assertThat(firsts, contains(0, 14286, 28572, 42858, 57144, 71430, 85715));
+    }
+
+}
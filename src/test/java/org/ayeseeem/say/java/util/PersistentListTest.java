@@ -0,0 +1,145 @@
+package org.ayeseeem.say.java.util;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.empty;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Test;
+
+public class PersistentListTest {
+
+    private static final int LARGE = 40_000;
+
+    @Test
+    public void testEmpty() {
+        PersistentList<String> list = PersistentList.empty();
+
+        assertThat(list, is(empty()));
+        assertThat(list.iterator().hasNext(), is(false));
+        assertThat(PersistentList.<String> builder().build(), is(sameInstance(list)));
+    }
+
+    @Test
+    public void testPlus() {
+        PersistentList<Integer> list = PersistentList.empty();
+        List<Integer> expected = new ArrayList<>();
+        for (int i = 0; i < LARGE; i++) {
+            list = list.plus(i);
+            expected.add(i);
+            if (isInteresting(i + 1)) {
+                assertThat(list, is(expected));
+            }
+        }
+        assertThat(list, is(expected));
+        assertThat(list.hashCode(), is(expected.hashCode()));
+    }
+
+    @Test
+    public void testPlus_DoesNotChangeOriginal() {
+        PersistentList<Integer> original = PersistentList.<Integer> builder().addAll(range(1056)).build();
+
+        PersistentList<Integer> longer = original.plus(-1);
+
+        assertThat(original, is(range(1056)));
+        assertThat(longer.size(), is(1057));
+        assertThat(longer.get(1056), is(-1));
+        assertThat(original.plus(-2).get(1056), is(-2));
+        assertThat(longer.get(1056), is(-1));
+    }
+
+    @Test
+    public void testWith() {
+        PersistentList<Integer> original = PersistentList.<Integer> builder().addAll(range(LARGE)).build();
+
+        for (int index : new int[] { 0, 31, 32, 1055, 1056, LARGE - 33, LARGE - 1 }) {
+            PersistentList<Integer> changed = original.with(index, -1);
+
+            assertThat(changed.get(index), is(-1));
+            assertThat(original.get(index), is(index));
+            List<Integer> expected = range(LARGE);
+            expected.set(index, -1);
+            assertThat(changed, is(expected));
+        }
+        assertThat(original, is(range(LARGE)));
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void testWith_OutOfBounds() {
+        PersistentList.<Integer> builder().addAll(range(3)).build().with(3, -1);
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void testGet_OutOfBounds() {
+        PersistentList.<Integer> builder().addAll(range(33)).build().get(33);
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void testGet_Negative() {
+        PersistentList.<Integer> builder().addAll(range(33)).build().get(-1);
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void testIsReadOnly() {
+        PersistentList.<Integer> builder().addAll(range(3)).build().set(0, -1);
+    }
+
+    @Test
+    public void testBuilder() {
+        for (int size : new int[] { 1, 31, 32, 33, 1024, 1056, 1057, LARGE }) {
+            assertThat(PersistentList.<Integer> builder().addAll(range(size)).build(), is(range(size)));
+        }
+    }
+
+    @Test
+    public void testBuilder_CanBeUsedAfterBuild() {
+        PersistentList.Builder<Integer> builder = PersistentList.<Integer> builder().addAll(range(2000));
+        PersistentList<Integer> first = builder.build();
+
+        builder.set(0, -1).set(1999, -2).add(-3);
+        PersistentList<Integer> second = builder.build();
+
+        assertThat(first, is(range(2000)));
+        assertThat(second.size(), is(2001));
+        assertThat(second.get(0), is(-1));
+        assertThat(second.get(1999), is(-2));
+        assertThat(second.get(2000), is(-3));
+        assertThat(builder.size(), is(2001));
+    }
+
+    @Test
+    public void testToBuilder_DoesNotChangeOriginal() {
+        PersistentList<Integer> original = PersistentList.<Integer> builder().addAll(range(LARGE)).build();
+
+        PersistentList<Integer> changed = original.toBuilder().set(5, -1).set(LARGE - 1, -2).addAll(range(100))
+                .build();
+
+        assertThat(original, is(range(LARGE)));
+        assertThat(changed.size(), is(LARGE + 100));
+        assertThat(changed.get(5), is(-1));
+        assertThat(changed.get(LARGE - 1), is(-2));
+        assertThat(changed.get(LARGE + 99), is(99));
+    }
+
+    @Test
+    public void testAllowsNull() {
+        assertThat(PersistentList.<String> empty().plus(null).plus("b"), contains(null, "b"));
+    }
+
+    private static boolean isInteresting(int size) {
+        return size <= 70 || (size & 31) <= 1 && size < 2000;
+    }
+
+    private static List<Integer> range(int size) {
+        List<Integer> range = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            range.add(i);
+        }
+        return range;
+    }
+
+}
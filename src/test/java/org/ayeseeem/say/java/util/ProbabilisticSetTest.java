@@ -0,0 +1,161 @@
+package org.ayeseeem.say.java.util;
+
+import static org.ayeseeem.say.java.util.DummyValue.dummy;
+import static org.ayeseeem.say.java.util.SetSupport.probabilisticSetOf;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.lessThan;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.stream.IntStream;
+
+import org.junit.Test;
+
+public class ProbabilisticSetTest {
+
+    @Test
+    public void testMightContain_MembersAreAlwaysFound() {
+        ProbabilisticSet<String> set = probabilisticSetOf(10_000, 0.01);
+        for (int i = 0; i < 10_000; i++) {
+            set.add("member-" + i);
+        }
+
+        for (int i = 0; i < 10_000; i++) {
+            assertThat(set.mightContain("member-" + i), is(true));
+        }
+    }
+
+    @Test
+    public void testMightContain_FalsePositivesAreRoughlyAtTheRequestedRate() {
+        ProbabilisticSet<String> set = probabilisticSetOf(10_000, 0.01);
+        for (int i = 0; i < 10_000; i++) {
+            set.add("member-" + i);
+        }
+
+        int falsePositives = 0;
+        for (int i = 0; i < 100_000; i++) {
+            if (set.mightContain("other-" + i)) {
+                falsePositives++;
+            }
+        }
+
+        assertThat(falsePositives, is(lessThan(2_000)));
+        assertThat(set.falsePositiveRate(), is(lessThan(0.02)));
+    }
+
+    @Test
+    public void testMightContain_Empty() {
+        ProbabilisticSet<Long> set = probabilisticSetOf(100, 0.01);
+
+        assertThat(set.mightContain(1L), is(false));
+        assertThat(set.falsePositiveRate(), is(0.0));
+    }
+
+    @Test
+    public void testAdd_ReportsWhetherTheSetChanged() {
+        ProbabilisticSet<Integer> set = probabilisticSetOf(100, 0.01);
+
+        assertThat(set.add(123), is(true));
+        assertThat(set.add(123), is(false));
+    }
+
+    @Test
+    public void testAdd_ArbitraryType() {
+        ProbabilisticSet<DummyValue> set = probabilisticSetOf(100, 0.01);
+        set.add(dummy(1));
+
+        assertThat(set.mightContain(dummy(1)), is(true));
+    }
+
+    @Test
+    public void testAdd_ConcurrentlyFromManyThreads() {
+        ProbabilisticSet<Integer> set = probabilisticSetOf(100_000, 0.01);
+
+        IntStream.range(0, 100_000).parallel().forEach(set::add);
+
+        for (int i = 0; i < 100_000; i++) {
+            assertThat(set.mightContain(i), is(true));
+        }
+    }
+
+    @Test
+    public void testAdd_CustomHash() {
+        ProbabilisticSet<String> set = probabilisticSetOf(100, 0.01, s -> s.length());
+        set.add("abc");
+
+        assertThat(set.mightContain("xyz"), is(true));
+        assertThat(set.mightContain("ab"), is(false));
+    }
+
+    @Test
+    public void testMerge() {
+        ProbabilisticSet<String> set1 = probabilisticSetOf(100, 0.01);
+        ProbabilisticSet<String> set2 = probabilisticSetOf(100, 0.01);
+        set1.add("one");
+        set2.add("two");
+
+        set1.merge(set2);
+
+        assertThat(set1.mightContain("one"), is(true));
+        assertThat(set1.mightContain("two"), is(true));
+        assertThat(set2.mightContain("one"), is(false));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testMerge_RejectsDifferentlySizedSets() {
+        ProbabilisticSet<String> set1 = probabilisticSetOf(100, 0.01);
+        ProbabilisticSet<String> set2 = probabilisticSetOf(1000, 0.01);
+
+        set1.merge(set2);
+    }
+
+    @Test
+    public void testWriteTo_ReadFrom() throws IOException {
+        ProbabilisticSet<String> set = probabilisticSetOf(1000, 0.01);
+        set.add("one");
+        set.add("two");
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        set.writeTo(out);
+        ProbabilisticSet<String> copy = ProbabilisticSet.readFrom(new ByteArrayInputStream(out.toByteArray()));
+
+        assertThat(copy.mightContain("one"), is(true));
+        assertThat(copy.mightContain("two"), is(true));
+        assertThat(copy.mightContain("three"), is(false));
+        assertThat(copy.bitCount(), is(set.bitCount()));
+    }
+
+    @Test(expected = IOException.class)
+    public void testReadFrom_RejectsOtherData() throws IOException {
+        ProbabilisticSet.readFrom(new ByteArrayInputStream(new byte[] { 1, 2, 3, 4, 5, 6, 7, 8 }));
+    }
+
+    @Test
+    public void testBitCount_IsFarSmallerThanAHashSet() {
+        ProbabilisticSet<Long> set = probabilisticSetOf(1_000_000, 0.01);
+
+        assertThat(set.bitCount(), is(greaterThan(9_000_000L)));
+        assertThat(set.bitCount(), is(lessThan(10_000_000L)));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testProbabilisticSetOf_RejectsNonPositiveSize() {
+        probabilisticSetOf(0, 0.01);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testProbabilisticSetOf_RejectsImpossibleRate() {
+        probabilisticSetOf(100, 1.0);
+    }
+
+    @Test
+    public void testDefaultHash_IsStableForStringsAndNumbers() {
+        assertThat(ProbabilisticSet.defaultHash("abc"), is(ProbabilisticSet.defaultHash(new StringBuilder("abc"))));
+        assertThat(ProbabilisticSet.defaultHash(123), is(ProbabilisticSet.defaultHash(123L)));
+        assertThat(ProbabilisticSet.defaultHash(1L) == ProbabilisticSet.defaultHash(1L << 32), is(false));
+    }
+
+}
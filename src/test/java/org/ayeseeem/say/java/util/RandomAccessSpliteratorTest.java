@@ -0,0 +1,41 @@
+package org.ayeseeem.say.java.util;
+
+import static org.ayeseeem.say.java.util.ListSupport.listOf;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Spliterator;
+
+import org.junit.Test;
+
+public class RandomAccessSpliteratorTest {
+
+    @Test
+    public void testTrySplit() {
+        Spliterator<String> suffix = new RandomAccessSpliterator<>(listOf("a", "b", "c", "d", "e"));
+
+        Spliterator<String> prefix = suffix.trySplit();
+
+        assertThat(prefix.estimateSize(), is(2L));
+        assertThat(suffix.estimateSize(), is(3L));
+        assertThat(prefix.trySplit().estimateSize(), is(1L));
+        assertThat(prefix.trySplit(), is((Spliterator<String>) null));
+    }
+
+    @Test
+    public void testTraverses() {
+        Spliterator<String> spliterator = new RandomAccessSpliterator<>(listOf("a", "b", "c"));
+        List<String> seen = new ArrayList<>();
+
+        spliterator.tryAdvance(seen::add);
+        spliterator.forEachRemaining(seen::add);
+
+        assertThat(seen, contains("a", "b", "c"));
+        assertThat(spliterator.tryAdvance(seen::add), is(false));
+        assertThat(spliterator.hasCharacteristics(Spliterator.ORDERED), is(true));
+    }
+
+}
@@ -4,29 +4,58 @@ import static org.ayeseeem.say.java.util.DummyValue.dummy;
 import static org.ayeseeem.say.java.util.ListSupport.listOf;
 import static org.ayeseeem.say.java.util.SetSupport.alwaysEmptySet;
 import static org.ayeseeem.say.java.util.SetSupport.emptySet;
+import static org.ayeseeem.say.java.util.SetSupport.enumComplement;
+import static org.ayeseeem.say.java.util.SetSupport.enumDifference;
+import static org.ayeseeem.say.java.util.SetSupport.enumIntersection;
+import static org.ayeseeem.say.java.util.SetSupport.enumSetOf;
+import static org.ayeseeem.say.java.util.SetSupport.enumUnion;
+import static org.ayeseeem.say.java.util.SetSupport.firstOf;
 import static org.ayeseeem.say.java.util.SetSupport.initiallyEmptySet;
 import static org.ayeseeem.say.java.util.SetSupport.insertionOrderedSet;
+import static org.ayeseeem.say.java.util.SetSupport.lastOf;
 import static org.ayeseeem.say.java.util.SetSupport.modifiableSetOf;
 import static org.ayeseeem.say.java.util.SetSupport.setOf;
 import static org.ayeseeem.say.java.util.SetSupport.unmodifiableSetOf;
 import static org.hamcrest.CoreMatchers.is;
+import static java.time.DayOfWeek.FRIDAY;
+import static java.time.DayOfWeek.MONDAY;
+import static java.time.DayOfWeek.SATURDAY;
+import static java.time.DayOfWeek.SUNDAY;
+import static java.time.DayOfWeek.THURSDAY;
+import static java.time.DayOfWeek.TUESDAY;
+import static java.time.DayOfWeek.WEDNESDAY;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.contains;
 import static org.hamcrest.Matchers.containsInAnyOrder;
 import static org.hamcrest.Matchers.empty;
 import static org.hamcrest.Matchers.instanceOf;
 
+import java.time.DayOfWeek;
+import java.util.EnumSet;
 import java.util.HashSet;
 import java.util.Iterator;
 import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Set;
+import java.util.TreeSet;
 
 import org.ayeseeem.test.Characterization;
 import org.junit.Test;
 
 public class SetSupportTest {
 
+    @Test
+    public void testFirstOf_SortedSet() {
+        assertThat(firstOf(new TreeSet<String>()).isPresent(), is(false));
+        assertThat(firstOf(new TreeSet<>(listOf("b", "d", "a", "c"))).get(), is("a"));
+    }
+
+    @Test
+    public void testLastOf_SortedSet() {
+        assertThat(lastOf(new TreeSet<String>()).isPresent(), is(false));
+        assertThat(lastOf(new TreeSet<>(listOf("b", "d", "a", "c"))).get(), is("d"));
+    }
+
     @Test
     public void testSetOf() {
         assertThat(setOf("a", "b", "c"), containsInAnyOrder("a", "b", "c"));
@@ -325,4 +354,77 @@ public class SetSupportTest {
         assertThat(result, is(instanceOf(LinkedHashSet.class)));
     }
 
+    @Test
+    public void testSetOf_Enums() {
+        Set<DayOfWeek> set = setOf(SUNDAY, MONDAY, SUNDAY);
+
+        assertThat(set, contains(MONDAY, SUNDAY));
+        assertThat(setOf(DayOfWeek.values()).size(), is(7));
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void testSetOf_Enums_CannotAddElement() {
+        setOf(MONDAY, TUESDAY, WEDNESDAY).add(SUNDAY);
+    }
+
+    @Test
+    public void testSetOf_EnumsAndNull() {
+        Set<DayOfWeek> set = setOf(SUNDAY, null, MONDAY);
+
+        assertThat(set, containsInAnyOrder(SUNDAY, null, MONDAY));
+    }
+
+    @Test
+    public void testModifiableSetOf_Enums() {
+        Set<DayOfWeek> set = modifiableSetOf(SUNDAY, MONDAY);
+        set.add(FRIDAY);
+        set.add(null);
+
+        assertThat(set, is(instanceOf(HashSet.class)));
+        assertThat(set, containsInAnyOrder(MONDAY, FRIDAY, SUNDAY, null));
+    }
+
+    @Test
+    public void testModifiableSetOf_EnumArrayAsObjects() {
+        Set<Object> days = modifiableSetOf((Object[]) DayOfWeek.values());
+
+        days.add("not a day");
+
+        assertThat(days.size(), is(8));
+        assertThat(days.contains("not a day"), is(true));
+    }
+
+    @Test
+    public void testModifiableSetOf_EnumsAsObjects() {
+        Set<Object> set = modifiableSetOf(SUNDAY, MONDAY, (Object) "not a day");
+        Set<Object> days = modifiableSetOf((Object) SUNDAY);
+        days.add("not a day");
+
+        assertThat(set, containsInAnyOrder(SUNDAY, MONDAY, "not a day"));
+        assertThat(days, containsInAnyOrder(SUNDAY, "not a day"));
+    }
+
+    @Test
+    public void testEnumSetOf() {
+        EnumSet<DayOfWeek> set = enumSetOf(SUNDAY, MONDAY);
+        set.add(TUESDAY);
+
+        assertThat(set, contains(MONDAY, TUESDAY, SUNDAY));
+        assertThat(enumSetOf(DayOfWeek.class), is(empty()));
+        assertThat(enumSetOf(DayOfWeek.class, FRIDAY, MONDAY), contains(MONDAY, FRIDAY));
+    }
+
+    @Test
+    public void testEnumSetAlgebra() {
+        EnumSet<DayOfWeek> a = enumSetOf(MONDAY, TUESDAY, WEDNESDAY);
+        EnumSet<DayOfWeek> b = enumSetOf(WEDNESDAY, THURSDAY);
+
+        assertThat(enumUnion(a, b), contains(MONDAY, TUESDAY, WEDNESDAY, THURSDAY));
+        assertThat(enumIntersection(a, b), contains(WEDNESDAY));
+        assertThat(enumDifference(a, b), contains(MONDAY, TUESDAY));
+        assertThat(enumComplement(a), contains(THURSDAY, FRIDAY, SATURDAY, SUNDAY));
+        assertThat(a, contains(MONDAY, TUESDAY, WEDNESDAY));
+        assertThat(b, contains(WEDNESDAY, THURSDAY));
+    }
+
 }
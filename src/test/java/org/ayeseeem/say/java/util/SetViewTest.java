@@ -0,0 +1,235 @@
+package org.ayeseeem.say.java.util;
+
+import static org.ayeseeem.say.java.util.SetSupport.difference;
+import static org.ayeseeem.say.java.util.SetSupport.intersection;
+import static org.ayeseeem.say.java.util.SetSupport.modifiableSetOf;
+import static org.ayeseeem.say.java.util.SetSupport.union;
+import static org.hamcrest.CoreMatchers.instanceOf;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsInAnyOrder;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.junit.Test;
+
+public class SetViewTest {
+
+    private final Set<Integer> small = modifiableSetOf(1, 2, 3, 4);
+    private final Set<Integer> large = modifiableSetOf(3, 4, 5, 6, 7, 8, 9, 10);
+
+    @Test
+    public void testUnion() {
+        SetView<Integer> union = union(small, large);
+
+        assertThat(union, containsInAnyOrder(1, 2, 3, 4, 5, 6, 7, 8, 9, 10));
+        assertThat(union.size(), is(10));
+        assertThat(union.isEmpty(), is(false));
+        assertThat(union.contains(1), is(true));
+        assertThat(union.contains(10), is(true));
+        assertThat(union.contains(11), is(false));
+        assertThat(union(large, small), is(union));
+    }
+
+    @Test
+    public void testIntersection() {
+        SetView<Integer> intersection = intersection(small, large);
+
+        assertThat(intersection, containsInAnyOrder(3, 4));
+        assertThat(intersection.size(), is(2));
+        assertThat(intersection.isEmpty(), is(false));
+        assertThat(intersection.contains(3), is(true));
+        assertThat(intersection.contains(1), is(false));
+        assertThat(intersection.contains(5), is(false));
+        assertThat(intersection(large, small), is(intersection));
+        assertThat(intersection(small, modifiableSetOf(11)).isEmpty(), is(true));
+    }
+
+    @Test
+    public void testDifference() {
+        SetView<Integer> difference = difference(small, large);
+
+        assertThat(difference, containsInAnyOrder(1, 2));
+        assertThat(difference.size(), is(2));
+        assertThat(difference.isEmpty(), is(false));
+        assertThat(difference.contains(1), is(true));
+        assertThat(difference.contains(3), is(false));
+        assertThat(difference.contains(5), is(false));
+        assertThat(difference(large, small), containsInAnyOrder(5, 6, 7, 8, 9, 10));
+        assertThat(difference(large, small).size(), is(6));
+        assertThat(difference(small, small).isEmpty(), is(true));
+    }
+
+    @Test
+    public void testEmpty() {
+        Set<Integer> empty = modifiableSetOf();
+
+        assertThat(union(empty, empty).isEmpty(), is(true));
+        assertThat(union(empty, small), is(small));
+        assertThat(intersection(empty, small).isEmpty(), is(true));
+        assertThat(difference(empty, small).isEmpty(), is(true));
+        assertThat(difference(small, empty), is(small));
+    }
+
+    @Test
+    public void testIsLive() {
+        SetView<Integer> union = union(small, large);
+        SetView<Integer> intersection = intersection(small, large);
+
+        small.add(11);
+        large.remove(3);
+
+        assertThat(union.contains(11), is(true));
+        assertThat(union.contains(3), is(true));
+        assertThat(intersection, containsInAnyOrder(4));
+    }
+
+    @Test
+    public void testIntersection_ProbesLargerSet() {
+        CountingSet<Integer> countedSmall = new CountingSet<>(small);
+        CountingSet<Integer> countedLarge = new CountingSet<>(large);
+
+        intersection(countedLarge, countedSmall).materialize();
+
+        assertThat(countedSmall.probes, is(0));
+        assertThat(countedLarge.probes, is(small.size()));
+    }
+
+    @Test
+    public void testUnion_ProbesLargerSet() {
+        CountingSet<Integer> countedSmall = new CountingSet<>(small);
+        CountingSet<Integer> countedLarge = new CountingSet<>(large);
+
+        union(countedSmall, countedLarge).materialize();
+
+        assertThat(countedSmall.probes, is(0));
+        assertThat(countedLarge.probes, is(small.size()));
+    }
+
+    @Test
+    public void testDifference_SizeProbesLargerSet() {
+        CountingSet<Integer> countedSmall = new CountingSet<>(small);
+        CountingSet<Integer> countedLarge = new CountingSet<>(large);
+
+        int size = difference(countedLarge, countedSmall).size();
+
+        assertThat(size, is(6));
+        assertThat(countedSmall.probes, is(0));
+        assertThat(countedLarge.probes, is(small.size()));
+    }
+
+    @Test
+    public void testMaterialize() {
+        Set<Integer> copy = union(small, large).materialize();
+        copy.add(11);
+
+        assertThat(copy, instanceOf(HashSet.class));
+        assertThat(copy.size(), is(11));
+        assertThat(small.contains(11), is(false));
+        assertThat(intersection(small, large).materialize(), containsInAnyOrder(3, 4));
+        assertThat(difference(small, large).materialize(), containsInAnyOrder(1, 2));
+    }
+
+    @Test
+    public void testMaterializeInParallel() {
+        Set<Integer> evens = IntStream.range(0, 100_000).map(i -> i * 2).boxed().collect(Collectors.toSet());
+        Set<Integer> threes = IntStream.range(0, 100_000).map(i -> i * 3).boxed().collect(Collectors.toSet());
+
+        assertThat(union(evens, threes).materializeInParallel(), is(union(evens, threes).materialize()));
+        assertThat(intersection(evens, threes).materializeInParallel().size(), is(33_334));
+        assertThat(difference(evens, threes).materializeInParallel().size(), is(100_000 - 33_334));
+        assertThat(union(small, large).materializeInParallel().size(), is(10));
+    }
+
+    @Test
+    public void testMaterializeInParallel_Contents() {
+        Set<Integer> evens = new HashSet<>();
+        Set<Integer> threes = new HashSet<>();
+        for (int i = 0; i < SetView.PARALLEL_THRESHOLD * 3; i++) {
+            evens.add(i * 2);
+            threes.add(i * 3);
+        }
+        evens.add(null);
+        Set<Integer> sixes = new HashSet<>();
+        Set<Integer> evensNotSixes = new HashSet<>();
+        for (Integer even : evens) {
+            (threes.contains(even) ? sixes : evensNotSixes).add(even);
+        }
+
+        assertThat(intersection(evens, threes).materializeInParallel(), is(sixes));
+        assertThat(difference(evens, threes).materializeInParallel(), is(evensNotSixes));
+        assertThat(difference(evens, threes).materializeInParallel().contains(null), is(true));
+        assertThat(union(evens, threes).materializeInParallel().size(), is(evens.size() + threes.size() - sixes.size()));
+    }
+
+    @Test
+    public void testStreams() {
+        SetView<Integer> union = union(small, large);
+
+        assertThat(union.stream().mapToInt(Integer::intValue).sum(), is(55));
+        assertThat(union.parallelStream().mapToInt(Integer::intValue).sum(), is(55));
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void testAdd() {
+        union(small, large).add(11);
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void testRemove() {
+        union(small, large).remove(1);
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void testAddAll() {
+        union(small, large).addAll(small);
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void testRemoveAll() {
+        intersection(small, large).removeAll(small);
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void testRetainAll() {
+        intersection(small, large).retainAll(small);
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void testRemoveIf() {
+        difference(small, large).removeIf(member -> true);
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void testClear() {
+        difference(small, large).clear();
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void testIteratorRemove() {
+        difference(small, large).iterator().remove();
+    }
+
+    /**
+     * A set that counts calls of {@code contains()}.
+     */
+    private static class CountingSet<T> extends HashSet<T> {
+        private static final long serialVersionUID = 1L;
+
+        int probes;
+
+        CountingSet(Set<T> members) {
+            super(members);
+        }
+
+        @Override
+        public boolean contains(Object o) {
+            probes++;
+            return super.contains(o);
+        }
+    }
+
+}